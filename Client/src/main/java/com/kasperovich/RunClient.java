@@ -1,6 +1,7 @@
 package com.kasperovich;
 
 import com.kasperovich.clientconnection.ClientConnection;
+import com.kasperovich.clientconnection.ServerEndpoint;
 import com.kasperovich.commands.fromserver.ResponseFromServer;
 import com.kasperovich.config.AlertManager;
 import com.kasperovich.ui.MainScreenController;
@@ -15,6 +16,7 @@ import org.apache.logging.log4j.Logger;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 
@@ -45,13 +47,18 @@ public class RunClient extends Application {
             var properties = getPropertiesFromConfig();
             String serverIp = properties.getProperty("serverIp");
             int serverPort = Integer.parseInt(properties.getProperty("serverPort"));
+            // Optional comma-separated list of host:port entries; the client picks the least loaded server
+            String serverEndpoints = properties.getProperty("serverEndpoints");
+            List<ServerEndpoint> endpoints = serverEndpoints == null || serverEndpoints.isBlank()
+                    ? List.of(new ServerEndpoint(serverIp, serverPort))
+                    : ServerEndpoint.parseList(serverEndpoints, serverPort);
             
-            logger.info("Connecting to server at {}:{}", serverIp, serverPort);
-            ClientConnection clientConnectionModule = new ClientConnection(serverIp, serverPort);
+            logger.info("Connecting to servers {}", endpoints);
+            ClientConnection clientConnectionModule = new ClientConnection(endpoints);
 
             var state = clientConnectionModule.connectToServer();
             if (!state) {
-                logger.error("Failed to connect to server at {}:{}", serverIp, serverPort);
+                logger.error("Failed to connect to servers {}", endpoints);
                 AlertManager.showWarningAlert("Cannot connect to server", "");
                 return;
             }
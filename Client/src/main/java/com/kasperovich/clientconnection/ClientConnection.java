@@ -5,11 +5,17 @@ import com.kasperovich.commands.toserver.*;
 import com.kasperovich.dto.auth.LoginRequest;
 import com.kasperovich.dto.auth.RegistrationRequest;
 import com.kasperovich.dto.auth.UserDTO;
+import com.kasperovich.dto.export.ExportType;
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
 import com.kasperovich.dto.report.AcademicPerformanceReportDTO;
 import com.kasperovich.dto.report.ApplicationStatusDTO;
+import com.kasperovich.dto.report.QueryStatisticDTO;
+import com.kasperovich.dto.report.ReportJobStatusDTO;
 import com.kasperovich.dto.report.ScholarshipDistributionDTO;
 import com.kasperovich.dto.report.UserActivityDTO;
 import com.kasperovich.dto.scholarship.*;
+import com.kasperovich.dto.sync.DataSet;
 import com.kasperovich.entities.BudgetStatus;
 import com.kasperovich.entities.UserRole;
 import com.kasperovich.utils.LoggerUtil;
@@ -17,72 +23,344 @@ import lombok.Getter;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
+/**
+ * Connection to the server. A single socket is shared by the whole client, so request
+ * methods are synchronized to keep each request and its response together when they
+ * are called from background threads.
+ * <p>
+ * If the connection drops, for example when the server restarts, the connection is opened
+ * again with {@link ReconnectBackoff jittered exponential backoff} and the logged-in session is
+ * resumed with its token instead of asking the user to log in again. The request whose response
+ * was lost, because the connection dropped or the response timed out, is then sent again. Every
+ * request that changes data carries an idempotency key, so the server answers a request it has
+ * already carried out with the original response instead of carrying it out twice. Only the
+ * server process that received the request knows its key, so such a request is sent again only
+ * if the new connection reached the same process; after a restart or on another server it fails.
+ * <p>
+ * Several server endpoints may be configured. The client connects to the least loaded server
+ * that answers, as chosen by the {@link EndpointSelector}, and when its server goes down it
+ * reconnects to the next one.
+ */
 public class ClientConnection {
     private static final Logger logger = LoggerUtil.getLogger(ClientConnection.class);
     private static final int DEFAULT_TIMEOUT_MS = 10000;
+    private static final int CONNECT_TIMEOUT_MS = 3000;
+    private static final String PROGRAMS_KEY = "programs";
+    private static final String PERIODS_KEY = "periods";
+    private static final String ALL_PERIODS_KEY = "periods.all";
+    private static final String ACTIVE_PERIODS_KEY = "periods.active";
+    private static final String BUDGETS_KEY = "budgets";
+    private static final String USERS_KEY = "users";
     
     private Socket connectionSocket;
-    private final String serverIp;
-    private final int serverPort;
+    private final EndpointSelector endpoints;
+    private ServerEndpoint currentEndpoint;
     private ObjectOutputStream objectOutputStream;
     private ObjectInputStream objectInputStream;
     private String authToken;
     @Getter
     private UserDTO currentUser;
+    private final ResponseCache responseCache = new ResponseCache(ResponseCache.DEFAULT_TTL_MILLIS);
+    private final ReconnectBackoff backoff = new ReconnectBackoff();
+    // The last request sent, and whether no part of its response has been read yet
+    private CommandWrapper lastRequest;
+    private boolean awaitingResponse;
+    // The server process of the current connection, known once it has sent a response,
+    // and the process the last request was sent to
+    private String serverInstanceId;
+    private String lastRequestServerInstanceId;
 
+    /**
+     * Creates a connection to a single server.
+     *
+     * @param serverIp the host name or IP address of the server
+     * @param serverPort the port of the server
+     */
     public ClientConnection(String serverIp, int serverPort) {
-        this.serverIp = serverIp;
-        this.serverPort = serverPort;
-        logger.debug("ClientConnection initialized with server {}:{}", serverIp, serverPort);
+        this(List.of(new ServerEndpoint(serverIp, serverPort)));
+    }
+
+    /**
+     * Creates a connection to one of several servers.
+     *
+     * @param serverEndpoints the server endpoints
+     */
+    public ClientConnection(List<ServerEndpoint> serverEndpoints) {
+        this.endpoints = new EndpointSelector(serverEndpoints);
+        logger.debug("ClientConnection initialized with servers {}", serverEndpoints);
     }
 
     /**
-     * Connects to the server using the configured IP and port.
+     * Connects to the least loaded server that answers, and keeps probing the servers in the
+     * background so that a reconnect picks a healthy one.
      * 
      * @return true if connection was successful, false otherwise
-     * @throws IOException if an I/O error occurs when creating the socket
+     * @throws IOException if no server can be connected to
      */
-    public boolean connectToServer() throws IOException {
+    public synchronized boolean connectToServer() throws IOException {
         try {
-            logger.debug("Attempting to connect to server at {}:{}", serverIp, serverPort);
-            connectionSocket = new Socket(serverIp, serverPort);
-            connectionSocket.setSoTimeout(DEFAULT_TIMEOUT_MS);
-            
-            if (!connectionSocket.isConnected()) {
-                logger.error("Failed to connect to server at {}:{}", serverIp, serverPort);
-                return false;
-            }
-            
-            logger.debug("Socket connected, initializing object streams");
-            objectOutputStream = new ObjectOutputStream(connectionSocket.getOutputStream());
-            objectInputStream = new ObjectInputStream(connectionSocket.getInputStream());
-            logger.debug("Object streams initialized successfully");
-            
-            return true;
+            endpoints.probeAll();
+            endpoints.start(EndpointSelector.DEFAULT_PROBE_INTERVAL_MILLIS);
+            return openSocket(null);
         } catch (IOException e) {
-            logger.error("Error connecting to server at {}:{}", serverIp, serverPort, e);
+            logger.error("Error connecting to servers {}", endpoints.ranked(), e);
             throw e;
         }
     }
 
     /**
-     * Sends a serializable object to the server.
+     * Opens the socket and its object streams to the preferred server or, if it does not accept
+     * the connection, to the first server in the ranking that does.
+     *
+     * @param preferred the server to try first, or null to follow the ranking
+     * @return true if the socket is connected
+     * @throws IOException if no server accepts the connection
+     */
+    private boolean openSocket(ServerEndpoint preferred) throws IOException {
+        List<ServerEndpoint> candidates = new ArrayList<>(endpoints.ranked());
+        if (preferred != null && candidates.remove(preferred)) {
+            candidates.add(0, preferred);
+        }
+        IOException lastError = null;
+        for (ServerEndpoint endpoint : candidates) {
+            try {
+                logger.debug("Attempting to connect to server at {}", endpoint);
+                connectionSocket = new Socket();
+                connectionSocket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), CONNECT_TIMEOUT_MS);
+                currentEndpoint = endpoint;
+                break;
+            } catch (IOException e) {
+                logger.warn("Could not connect to server at {}: {}", endpoint, e.getMessage());
+                endpoints.markDown(endpoint);
+                closeSocket();
+                lastError = e;
+            }
+        }
+        if (!connectionSocket.isConnected()) {
+            throw lastError;
+        }
+        connectionSocket.setSoTimeout(DEFAULT_TIMEOUT_MS);
+        serverInstanceId = null;
+        
+        logger.debug("Socket connected, initializing object streams");
+        objectOutputStream = new ObjectOutputStream(connectionSocket.getOutputStream());
+        objectInputStream = new ObjectInputStream(connectionSocket.getInputStream());
+        logger.debug("Object streams initialized successfully");
+        return true;
+    }
+
+    /**
+     * Opens the connection again and resumes the logged-in session, if any.
+     * Attempts are spaced by the backoff; the caller keeps the lock meanwhile, so other
+     * requests wait for the connection instead of failing.
+     * <p>
+     * A server whose connection dropped is marked down and another one is tried first. A server
+     * that was only slow to answer is still up and is tried first again, so that a request sent
+     * again reaches the server that may already be carrying it out.
+     *
+     * @param serverFailed true if the connection dropped, false if a response timed out
+     * @throws IOException if the server cannot be reached within the allowed attempts
+     */
+    private void reconnect(boolean serverFailed) throws IOException {
+        closeSocket();
+        ServerEndpoint preferred = null;
+        if (currentEndpoint != null) {
+            if (serverFailed) {
+                endpoints.markDown(currentEndpoint);
+            } else {
+                preferred = currentEndpoint;
+            }
+        }
+        IOException lastError = null;
+        for (int attempt = 0; ; attempt++) {
+            long delay = backoff.delayBefore(attempt);
+            if (delay < 0) {
+                break;
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reconnecting to the server");
+            }
+            try {
+                logger.info("Reconnecting to server, attempt {}", attempt + 1);
+                if (openSocket(preferred)) {
+                    resumeSession();
+                    return;
+                }
+            } catch (IOException e) {
+                lastError = e;
+                logger.warn("Reconnect attempt {} failed: {}", attempt + 1, e.getMessage());
+            }
+            closeSocket();
+        }
+        throw new IOException("Could not reconnect to any of the servers " + endpoints.ranked(), lastError);
+    }
+
+    /**
+     * Resumes the logged-in session on a new connection with the token of the session.
+     * If the server no longer accepts the token, the client is logged out.
+     *
+     * @throws IOException if the connection drops again
+     */
+    private void resumeSession() throws IOException {
+        if (authToken == null) {
+            return;
+        }
+        CommandWrapper command = new CommandWrapper(Command.RESUME_SESSION);
+        command.setAuthToken(authToken);
+        writeObject(command);
+        ResponseWrapper response;
+        try {
+            response = readObject();
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unexpected response to session resumption", e);
+        }
+        if (response.getResponse() == ResponseFromServer.SESSION_RESUMED) {
+            currentUser = response.getData();
+            logger.info("Session resumed for user: {}", currentUser.getUsername());
+        } else {
+            logger.warn("Session could not be resumed, response: {}", response.getResponse());
+            authToken = null;
+            currentUser = null;
+            responseCache.clear();
+        }
+    }
+
+    private void closeSocket() {
+        if (connectionSocket != null) {
+            try {
+                connectionSocket.close();
+            } catch (IOException e) {
+                logger.debug("Error closing socket", e);
+            }
+        }
+    }
+
+    /**
+     * Sends a request to the server, reconnecting first if the connection has dropped.
+     * A request that could not be written did not reach the server, so it is written again
+     * on the new connection. A request that changes data is given an idempotency key first.
+     *
+     * @param object the object to send
+     * @throws IOException if the server cannot be reached
+     */
+    private void sendObject(Serializable object) throws IOException {
+        if (object instanceof CommandWrapper command && !command.getCommand().isIdempotent()
+                && command.getIdempotencyKey() == null) {
+            command.setIdempotencyKey(UUID.randomUUID().toString());
+        }
+        try {
+            writeObject(object);
+        } catch (IOException e) {
+            reconnect(true);
+            writeObject(object);
+        }
+        if (object instanceof CommandWrapper command) {
+            lastRequest = command;
+            lastRequestServerInstanceId = serverInstanceId;
+            awaitingResponse = true;
+        }
+    }
+
+    /**
+     * Receives a response from the server, reconnecting if the connection has dropped or the
+     * response timed out. A request whose response had not started to arrive is sent again on the
+     * new connection if it only reads data, or if it carries an idempotency key and the connection
+     * reached the server process it was sent to; any other request fails, since the server may
+     * have carried it out.
+     *
+     * @param <T> the type of object to receive
+     * @return the received object
+     * @throws IOException if the response was lost and the request cannot be sent again
+     * @throws ClassNotFoundException if the class of the received object cannot be found
+     */
+    private <T> T receiveObject() throws IOException, ClassNotFoundException {
+        try {
+            T object = readObject();
+            awaitingResponse = false;
+            return object;
+        } catch (IOException e) {
+            CommandWrapper request = lastRequest;
+            String requestServerInstanceId = lastRequestServerInstanceId;
+            boolean replayable = awaitingResponse && request != null
+                    && (request.getCommand().isIdempotent() || request.getIdempotencyKey() != null);
+            awaitingResponse = false;
+            // A response that arrives after a timeout would be read as the response to the next
+            // request, so the connection is opened again after a timeout as well
+            reconnect(!(e instanceof SocketTimeoutException));
+            if (replayable && !request.getCommand().isIdempotent()
+                    && !isSameServerInstance(requestServerInstanceId)) {
+                logger.warn("Not sending {} again: the new connection reached another server process",
+                        request.getCommand());
+                replayable = false;
+            }
+            if (!replayable) {
+                if (e instanceof SocketTimeoutException) {
+                    throw e;
+                }
+                throw new IOException("The connection to the server was lost before the response arrived", e);
+            }
+            logger.info("Sending {} again after reconnecting", request.getCommand());
+            if (request.getAuthToken() != null) {
+                request.setAuthToken(authToken);
+            }
+            writeObject(request);
+            return readObject();
+        }
+    }
+
+    /**
+     * Checks whether the current connection reached a given server process, asking the server
+     * for its identifier if it has not sent a response on this connection yet.
+     *
+     * @param instanceId the identifier of the server process, or null if it is not known
+     * @return true if the connection reached that process
+     * @throws IOException if the connection drops
+     */
+    private boolean isSameServerInstance(String instanceId) throws IOException {
+        if (instanceId == null) {
+            return false;
+        }
+        if (serverInstanceId == null) {
+            writeObject(new CommandWrapper(Command.HEALTH_CHECK));
+            try {
+                readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Unexpected response to health check", e);
+            }
+        }
+        return instanceId.equals(serverInstanceId);
+    }
+
+    /**
+     * Writes a serializable object to the socket.
      * 
      * @param object the object to send
      * @throws IOException if an I/O error occurs when sending the object
      */
-    private void sendObject(Serializable object) throws IOException {
+    private void writeObject(Serializable object) throws IOException {
         try {
             logger.trace("Sending object of type: {}", object.getClass().getSimpleName());
             objectOutputStream.writeObject(object);
@@ -95,18 +373,21 @@ public class ClientConnection {
     }
 
     /**
-     * Receives an object from the server.
+     * Reads an object from the socket.
      * 
      * @param <T> the type of object to receive
      * @return the received object
      * @throws IOException if an I/O error occurs when receiving the object
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    private <T> T receiveObject() throws IOException, ClassNotFoundException {
+    private <T> T readObject() throws IOException, ClassNotFoundException {
         try {
             logger.trace("Waiting to receive object from server");
             T object = (T) objectInputStream.readObject();
             logger.trace("Received object of type: {}", object.getClass().getSimpleName());
+            if (object instanceof ResponseWrapper response && response.getServerInstanceId() != null) {
+                serverInstanceId = response.getServerInstanceId();
+            }
             return object;
         } catch (SocketTimeoutException e) {
             logger.error("Timeout waiting for server response after {} ms", DEFAULT_TIMEOUT_MS, e);
@@ -127,7 +408,7 @@ public class ClientConnection {
      * @throws IOException if an I/O error occurs during communication
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public ResponseFromServer healthCheck() throws IOException, ClassNotFoundException {
+    public synchronized ResponseFromServer healthCheck() throws IOException, ClassNotFoundException {
         try {
             logger.debug("Performing server health check");
             CommandWrapper command = new CommandWrapper(Command.HEALTH_CHECK);
@@ -156,7 +437,7 @@ public class ClientConnection {
      * @throws IOException if an I/O error occurs during communication
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public UserDTO login(String username, String password) throws IOException, ClassNotFoundException {
+    public synchronized UserDTO login(String username, String password) throws IOException, ClassNotFoundException {
         try {
             logger.debug("Attempting to login user: {}", username);
             LoginRequest loginRequest = new LoginRequest(username, password);
@@ -169,6 +450,7 @@ public class ClientConnection {
                 logger.info("Login successful for user: {}", username);
                 this.authToken = response.getAuthToken();
                 this.currentUser = response.getData();
+                responseCache.clear();
                 return this.currentUser;
             } else {
                 logger.warn("Login failed for user: {}, response: {}", username, response.getResponse());
@@ -193,7 +475,7 @@ public class ClientConnection {
      * @throws IOException if an I/O error occurs during communication
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public UserDTO register(String username, String password, String email, 
+    public synchronized UserDTO register(String username, String password, String email, 
                             String firstName, String lastName, String role) 
             throws IOException, ClassNotFoundException {
         try {
@@ -209,6 +491,7 @@ public class ClientConnection {
                 logger.info("Registration successful for user: {}", username);
                 this.authToken = response.getAuthToken();
                 this.currentUser = response.getData();
+                responseCache.clear();
                 return this.currentUser;
             } else {
                 logger.warn("Registration failed for user: {}, response: {}", username, response.getResponse());
@@ -227,7 +510,7 @@ public class ClientConnection {
      * @throws IOException if an I/O error occurs during communication
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public boolean logout() throws IOException, ClassNotFoundException {
+    public synchronized boolean logout() throws IOException, ClassNotFoundException {
         if (authToken == null) {
             logger.warn("Attempted to logout but no user is logged in");
             return false;
@@ -245,6 +528,7 @@ public class ClientConnection {
                 logger.info("Logout successful");
                 this.authToken = null;
                 this.currentUser = null;
+                responseCache.clear();
                 return true;
             } else {
                 logger.warn("Logout failed, response: {}", response.getResponse());
@@ -256,13 +540,44 @@ public class ClientConnection {
         }
     }
     
+    /**
+     * Gets a cached list that has not expired yet.
+     *
+     * @param key the cache key
+     * @param <T> the element type
+     * @return the cached list, or null if it has to be requested from the server
+     */
+    private <T> List<T> getCachedList(String key) {
+        List<T> cached = responseCache.getFresh(key);
+        if (cached != null) {
+            logger.debug("Serving {} from the response cache", key);
+        }
+        return cached;
+    }
+
+    /**
+     * Gets the cached list the server has confirmed as current.
+     *
+     * @param key the cache key
+     * @param response the response to the list request
+     * @param <T> the element type
+     * @return the renewed cached list, or null if the server sent new data
+     */
+    private <T> List<T> getNotModifiedList(String key, ResponseWrapper response) {
+        if (response.getResponse() != ResponseFromServer.NOT_MODIFIED) {
+            return null;
+        }
+        logger.debug("{} not modified since version {}", key, response.getDataVersion());
+        return responseCache.renew(key);
+    }
+
     /**
      * Gets a list of available scholarship programs from the server.
      * 
      * @return a list of scholarship programs
      * @throws Exception if an error occurs
      */
-    public List<ScholarshipProgramDTO> getScholarshipPrograms() throws Exception {
+    public synchronized List<ScholarshipProgramDTO> getScholarshipPrograms() throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get scholarship programs but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -271,9 +586,15 @@ public class ClientConnection {
         logger.debug("Getting scholarship programs from server");
         
         try {
+            List<ScholarshipProgramDTO> cached = getCachedList(PROGRAMS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             // Create command wrapper
             CommandWrapper commandWrapper = new CommandWrapper(Command.GET_SCHOLARSHIP_PROGRAMS);
             commandWrapper.setAuthToken(authToken);
+            commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(PROGRAMS_KEY));
             
             // Send command to server
             sendObject(commandWrapper);
@@ -281,10 +602,16 @@ public class ClientConnection {
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
             
+            List<ScholarshipProgramDTO> unchanged = getNotModifiedList(PROGRAMS_KEY, responseWrapper);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (responseWrapper.getResponse() == ResponseFromServer.SCHOLARSHIP_PROGRAMS_FOUND) {
                 @SuppressWarnings("unchecked")
                 List<ScholarshipProgramDTO> programs = responseWrapper.getData();
                 logger.debug("Received {} scholarship programs", programs.size());
+                responseCache.put(PROGRAMS_KEY, DataSet.SCHOLARSHIP_PROGRAMS, programs, responseWrapper.getDataVersion());
                 return programs;
             } else {
                 logger.error("Error getting scholarship programs: {}", responseWrapper.getMessage());
@@ -301,23 +628,34 @@ public class ClientConnection {
      * 
      * @return a list of academic periods
      */
-    public List<AcademicPeriodDTO> getAcademicPeriods() {
+    public synchronized List<AcademicPeriodDTO> getAcademicPeriods() {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get academic periods but no user is authenticated");
             return new ArrayList<>();
         }
         
         try {
+            List<AcademicPeriodDTO> cached = getCachedList(PERIODS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             logger.debug("Getting academic periods from server");
             
             // Create and send command to get academic periods
             CommandWrapper command = new CommandWrapper(Command.GET_ACADEMIC_PERIODS);
             command.setAuthToken(authToken);
+            command.setIfNoneMatchVersion(responseCache.getVersion(PERIODS_KEY));
             sendObject(command);
             
             // Receive response
             ResponseWrapper response = receiveObject();
             
+            List<AcademicPeriodDTO> unchanged = getNotModifiedList(PERIODS_KEY, response);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
                 // Extract periods from response
                 AcademicPeriodsResponse periodsResponse = response.getData();
@@ -325,6 +663,7 @@ public class ClientConnection {
                 if (periodsResponse != null && periodsResponse.getPeriods() != null) {
                     List<AcademicPeriodDTO> periods = periodsResponse.getPeriods();
                     logger.info("Retrieved {} academic periods from server", periods.size());
+                    responseCache.put(PERIODS_KEY, DataSet.ACADEMIC_PERIODS, periods, response.getDataVersion());
                     return periods;
                 } else {
                     logger.warn("Received empty periods response");
@@ -349,7 +688,7 @@ public class ClientConnection {
      * @return the submitted application if successful, null otherwise
      * @throws Exception if the server returns an error message
      */
-    public ScholarshipApplicationDTO submitScholarshipApplication(Long programId, Long periodId, String additionalInfo) throws Exception {
+    public synchronized ScholarshipApplicationDTO submitScholarshipApplication(Long programId, Long periodId, String additionalInfo) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to submit scholarship application but no user is authenticated");
             return null;
@@ -402,7 +741,7 @@ public class ClientConnection {
      * 
      * @return a list of scholarship applications
      */
-    public List<ScholarshipApplicationDTO> getUserApplications() {
+    public synchronized List<ScholarshipApplicationDTO> getUserApplications() {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get user applications but no user is authenticated");
             return new ArrayList<>();
@@ -455,7 +794,7 @@ public class ClientConnection {
      * @throws ClassNotFoundException if the class of the received object cannot be found
      * @throws Exception if the server returns an error message
      */
-    public UserDTO updateUserProfile(String username, String firstName, String lastName, String email) 
+    public synchronized UserDTO updateUserProfile(String username, String firstName, String lastName, String email) 
             throws IOException, ClassNotFoundException, Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to update user profile but no user is authenticated");
@@ -477,6 +816,7 @@ public class ClientConnection {
             wrapper.setAuthToken(authToken);
             
             sendObject(wrapper);
+            responseCache.invalidate(DataSet.USERS);
             
             // Receive response
             ResponseWrapper response = receiveObject();
@@ -521,7 +861,7 @@ public class ClientConnection {
      * @return the updated user DTO
      * @throws Exception if an error occurs
      */
-    public UserDTO updateUserProfileAsAdmin(Long userId, String username, String firstName, String lastName, String email) 
+    public synchronized UserDTO updateUserProfileAsAdmin(Long userId, String username, String firstName, String lastName, String email) 
             throws IOException, ClassNotFoundException, Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to update user profile but no user is authenticated");
@@ -549,6 +889,7 @@ public class ClientConnection {
             wrapper.setAuthToken(authToken);
             
             sendObject(wrapper);
+            responseCache.invalidate(DataSet.USERS);
             
             // Receive response
             ResponseWrapper response = receiveObject();
@@ -581,7 +922,7 @@ public class ClientConnection {
      * 
      * @return true if a user is authenticated, false otherwise
      */
-    public boolean isAuthenticated() {
+    public synchronized boolean isAuthenticated() {
         return authToken != null && currentUser != null;
     }
 
@@ -591,7 +932,7 @@ public class ClientConnection {
      * @return a list of all scholarship programs
      * @throws Exception if an error occurs
      */
-    public List<ScholarshipProgramDTO> getAllScholarshipPrograms() throws Exception {
+    public synchronized List<ScholarshipProgramDTO> getAllScholarshipPrograms() throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get all scholarship programs but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -600,9 +941,15 @@ public class ClientConnection {
         logger.debug("Getting all scholarship programs");
         
         try {
+            List<ScholarshipProgramDTO> cached = getCachedList(PROGRAMS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             // Create command wrapper
             CommandWrapper commandWrapper = new CommandWrapper(Command.GET_SCHOLARSHIP_PROGRAMS);
             commandWrapper.setAuthToken(authToken);
+            commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(PROGRAMS_KEY));
             
             // Send command to server
             sendObject(commandWrapper);
@@ -610,10 +957,16 @@ public class ClientConnection {
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
             
+            List<ScholarshipProgramDTO> unchanged = getNotModifiedList(PROGRAMS_KEY, responseWrapper);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (responseWrapper.getResponse() == ResponseFromServer.SCHOLARSHIP_PROGRAMS_FOUND) {
                 @SuppressWarnings("unchecked")
                 List<ScholarshipProgramDTO> programs = (List<ScholarshipProgramDTO>) responseWrapper.getData();
                 logger.debug("Received {} scholarship programs", programs.size());
+                responseCache.put(PROGRAMS_KEY, DataSet.SCHOLARSHIP_PROGRAMS, programs, responseWrapper.getDataVersion());
                 return programs;
             } else {
                 logger.error("Error getting scholarship programs: {}", responseWrapper.getMessage());
@@ -631,7 +984,7 @@ public class ClientConnection {
      * @return a list of active scholarship programs
      * @throws Exception if an error occurs
      */
-    public List<ScholarshipProgramDTO> getActiveScholarshipPrograms() throws Exception {
+    public synchronized List<ScholarshipProgramDTO> getActiveScholarshipPrograms() throws Exception {
         List<ScholarshipProgramDTO> allPrograms = getAllScholarshipPrograms();
         
         logger.debug("Filtering active scholarship programs");
@@ -647,7 +1000,7 @@ public class ClientConnection {
      * @return the created scholarship program
      * @throws Exception if an error occurs
      */
-    public ScholarshipProgramDTO createScholarshipProgram(CreateScholarshipProgramCommand command) throws Exception {
+    public synchronized ScholarshipProgramDTO createScholarshipProgram(CreateScholarshipProgramCommand command) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to create scholarship program but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -668,6 +1021,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.SCHOLARSHIP_PROGRAMS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -699,7 +1053,7 @@ public class ClientConnection {
      * @return the updated scholarship program
      * @throws Exception if an error occurs
      */
-    public ScholarshipProgramDTO updateScholarshipProgram(UpdateScholarshipProgramCommand command) throws Exception {
+    public synchronized ScholarshipProgramDTO updateScholarshipProgram(UpdateScholarshipProgramCommand command) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to update scholarship program but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -720,6 +1074,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.SCHOLARSHIP_PROGRAMS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -751,7 +1106,7 @@ public class ClientConnection {
      * @return true if the program was deleted, false otherwise
      * @throws Exception if an error occurs
      */
-    public boolean deleteScholarshipProgram(Long programId) throws Exception {
+    public synchronized boolean deleteScholarshipProgram(Long programId) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to delete scholarship program but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -772,6 +1127,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.SCHOLARSHIP_PROGRAMS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -803,7 +1159,7 @@ public class ClientConnection {
      * @return a list of pending scholarship applications
      * @throws Exception if an error occurs or the user is not authorized
      */
-    public List<ScholarshipApplicationDTO> getPendingApplications() throws Exception {
+    public synchronized List<ScholarshipApplicationDTO> getPendingApplications() throws Exception {
         logger.debug("Getting pending scholarship applications");
         
         if (authToken == null) {
@@ -848,7 +1204,7 @@ public class ClientConnection {
      * @return a list of all scholarship applications
      * @throws Exception if an error occurs or the user is not authorized
      */
-    public List<ScholarshipApplicationDTO> getAllApplications() throws Exception {
+    public synchronized List<ScholarshipApplicationDTO> getAllApplications() throws Exception {
         logger.debug("Getting all scholarship applications");
         
         if (authToken == null) {
@@ -886,6 +1242,142 @@ public class ClientConnection {
         }
     }
     
+    /**
+     * Gets the scholarship applications that changed after a watermark.
+     * Administrators get the changes of all applications, students those of their own.
+     *
+     * @param since the watermark returned by the previous call, or null for all applications
+     * @return the changed applications, the IDs of deleted applications and the next watermark
+     * @throws Exception if an error occurs or the user is not logged in
+     */
+    public synchronized ApplicationChangesResponse getApplicationChangesSince(LocalDateTime since) throws Exception {
+        logger.debug("Getting scholarship application changes since {}", since);
+        
+        if (authToken == null) {
+            throw new Exception("You must be logged in to view applications");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_APPLICATION_CHANGES_SINCE,
+                    new GetApplicationChangesCommand(since));
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper response = receiveObject();
+            
+            if (response.getResponse() == ResponseFromServer.APPLICATION_CHANGES_RETRIEVED) {
+                ApplicationChangesResponse changes = response.getData();
+                logger.info("Retrieved {} changed and {} deleted applications",
+                        changes.getChanged().size(), changes.getRemovedIds().size());
+                return changes;
+            }
+            logger.warn("Failed to get application changes: {}", response.getMessage());
+            throw new Exception("Failed to get application changes: " + response.getMessage());
+        } catch (IOException e) {
+            logger.error("Error getting application changes", e);
+            throw new Exception("Error connecting to server: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets one page of scholarship applications, sorted, filtered and searched by the server.
+     * Only administrators can use this method.
+     *
+     * @param request the page to get; the filter is an application status
+     * @return the applications on the page and the number of matching applications
+     * @throws Exception if an error occurs or the user is not logged in
+     */
+    public synchronized PageDTO<ScholarshipApplicationDTO> getApplicationsPage(PageRequest request) throws Exception {
+        logger.debug("Getting scholarship applications page: {}", request);
+        return getPage(Command.GET_APPLICATIONS_PAGE, request);
+    }
+    
+    /**
+     * Gets one page of users, sorted, filtered and searched by the server.
+     * Only administrators can use this method.
+     *
+     * @param request the page to get; the filter is a role name
+     * @return the users on the page and the number of matching users
+     * @throws Exception if an error occurs or the user is not logged in
+     */
+    public synchronized PageDTO<UserDTO> getUsersPage(PageRequest request) throws Exception {
+        logger.debug("Getting users page: {}", request);
+        return getPage(Command.GET_USERS_PAGE, request);
+    }
+    
+    /**
+     * Sends a page request and receives the page.
+     *
+     * @param command the paging command of the list
+     * @param request the page to get
+     * @param <T> the element type
+     * @return the page
+     * @throws Exception if an error occurs or the user is not logged in
+     */
+    private <T extends Serializable> PageDTO<T> getPage(Command command, PageRequest request) throws Exception {
+        if (authToken == null) {
+            throw new Exception("You must be logged in to view this list");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(command, request);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper response = receiveObject();
+            
+            if (response.getResponse() == ResponseFromServer.PAGE_RETRIEVED) {
+                PageDTO<T> page = response.getData();
+                logger.info("Retrieved {} of {} items at offset {}",
+                        page.getItems().size(), page.getTotalCount(), page.getOffset());
+                return page;
+            }
+            logger.warn("Failed to get page: {}", response.getMessage());
+            throw new Exception("Failed to get page: " + response.getMessage());
+        } catch (IOException e) {
+            logger.error("Error getting page", e);
+            throw new Exception("Error connecting to server: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the most recently submitted or reviewed scholarship applications and the number of
+     * pending applications, for the admin dashboard.
+     * Only administrators can use this method.
+     *
+     * @param limit the maximum number of applications to return
+     * @return the recent applications, newest modification first, and the pending count
+     * @throws Exception if an error occurs or the user is not logged in
+     */
+    public synchronized RecentActivityResponse getRecentActivity(int limit) throws Exception {
+        logger.debug("Getting the {} most recent scholarship applications", limit);
+        
+        if (authToken == null) {
+            throw new Exception("You must be logged in to view recent activity");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_RECENT_ACTIVITY,
+                    new GetRecentActivityCommand(limit));
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper response = receiveObject();
+            
+            if (response.getResponse() == ResponseFromServer.RECENT_ACTIVITY_RETRIEVED) {
+                RecentActivityResponse activity = response.getData();
+                logger.info("Retrieved {} recent applications, {} pending",
+                        activity.getRecentApplications().size(), activity.getPendingCount());
+                return activity;
+            }
+            logger.warn("Failed to get recent activity: {}", response.getMessage());
+            throw new Exception("Failed to get recent activity: " + response.getMessage());
+        } catch (IOException e) {
+            logger.error("Error getting recent activity", e);
+            throw new Exception("Error connecting to server: " + e.getMessage());
+        }
+    }
+    
     /**
      * Approves a scholarship application.
      * Only administrators can use this method.
@@ -895,7 +1387,7 @@ public class ClientConnection {
      * @return the updated application
      * @throws Exception if an error occurs or the user is not authorized
      */
-    public ScholarshipApplicationDTO approveApplication(Long applicationId, String comments) throws Exception {
+    public synchronized ScholarshipApplicationDTO approveApplication(Long applicationId, String comments) throws Exception {
         logger.debug("Approving scholarship application with ID: {}", applicationId);
         
         if (authToken == null) {
@@ -908,6 +1400,7 @@ public class ClientConnection {
             commandWrapper.setAuthToken(authToken);
             
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.SCHOLARSHIP_PROGRAMS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.ERROR) {
@@ -942,7 +1435,7 @@ public class ClientConnection {
      * @return the updated application
      * @throws Exception if an error occurs or the user is not authorized
      */
-    public ScholarshipApplicationDTO rejectApplication(Long applicationId, String comments) throws Exception {
+    public synchronized ScholarshipApplicationDTO rejectApplication(Long applicationId, String comments) throws Exception {
         logger.debug("Rejecting scholarship application with ID: {}", applicationId);
         
         if (authToken == null) {
@@ -955,6 +1448,7 @@ public class ClientConnection {
             commandWrapper.setAuthToken(authToken);
             
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.SCHOLARSHIP_PROGRAMS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.ERROR) {
@@ -988,7 +1482,7 @@ public class ClientConnection {
      * @return a list of budgets
      * @throws Exception if an error occurs
      */
-    public List<BudgetDTO> getAllBudgets() throws Exception {
+    public synchronized List<BudgetDTO> getAllBudgets() throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get all budgets but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1002,9 +1496,15 @@ public class ClientConnection {
         logger.debug("Getting all budgets from server");
         
         try {
+            List<BudgetDTO> cached = getCachedList(BUDGETS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             // Create command wrapper
             CommandWrapper commandWrapper = new CommandWrapper(Command.GET_ALL_BUDGETS);
             commandWrapper.setAuthToken(authToken);
+            commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(BUDGETS_KEY));
             
             // Send command to server
             sendObject(commandWrapper);
@@ -1012,12 +1512,18 @@ public class ClientConnection {
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
             
+            List<BudgetDTO> unchanged = getNotModifiedList(BUDGETS_KEY, responseWrapper);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (responseWrapper.getResponse() == ResponseFromServer.SUCCESS) {
                 BudgetsResponse budgetsResponse = responseWrapper.getData();
                 
                 if (budgetsResponse != null && budgetsResponse.isSuccess()) {
                     List<BudgetDTO> budgets = budgetsResponse.getBudgets();
                     logger.debug("Received {} budgets", budgets.size());
+                    responseCache.put(BUDGETS_KEY, DataSet.BUDGETS, budgets, responseWrapper.getDataVersion());
                     return budgets;
                 } else {
                     String errorMessage = budgetsResponse != null ? budgetsResponse.getErrorMessage() : "Unknown error";
@@ -1040,7 +1546,7 @@ public class ClientConnection {
      * @return the active budget, or null if no budget is active
      * @throws Exception if an error occurs
      */
-    public BudgetDTO getActiveBudget() throws Exception {
+    public synchronized BudgetDTO getActiveBudget() throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get active budget but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1098,7 +1604,7 @@ public class ClientConnection {
      * @return the created budget
      * @throws Exception if an error occurs
      */
-    public BudgetDTO createBudget(Integer fiscalYear, String fiscalPeriod, BigDecimal totalAmount, 
+    public synchronized BudgetDTO createBudget(Integer fiscalYear, String fiscalPeriod, BigDecimal totalAmount, 
                                  LocalDate startDate, LocalDate endDate, String description) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to create budget but no user is authenticated");
@@ -1123,6 +1629,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -1163,7 +1670,7 @@ public class ClientConnection {
      * @return the updated budget
      * @throws Exception if an error occurs
      */
-    public BudgetDTO updateBudget(Long id, Integer fiscalYear, String fiscalPeriod, BigDecimal totalAmount,
+    public synchronized BudgetDTO updateBudget(Long id, Integer fiscalYear, String fiscalPeriod, BigDecimal totalAmount,
                                  LocalDate startDate, LocalDate endDate, String description, BudgetStatus status) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to update budget but no user is authenticated");
@@ -1188,6 +1695,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -1221,7 +1729,7 @@ public class ClientConnection {
      * @return the activated budget
      * @throws Exception if an error occurs
      */
-    public BudgetDTO activateBudget(Long budgetId) throws Exception {
+    public synchronized BudgetDTO activateBudget(Long budgetId) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to activate budget but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1244,6 +1752,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -1277,7 +1786,7 @@ public class ClientConnection {
      * @return the closed budget
      * @throws Exception if an error occurs
      */
-    public BudgetDTO closeBudget(Long budgetId) throws Exception {
+    public synchronized BudgetDTO closeBudget(Long budgetId) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to close budget but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1300,6 +1809,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -1336,7 +1846,7 @@ public class ClientConnection {
      * @return the fund allocation
      * @throws Exception if an error occurs
      */
-    public FundAllocationDTO allocateFunds(Long budgetId, Long programId, BigDecimal amount, String notes) throws Exception {
+    public synchronized FundAllocationDTO allocateFunds(Long budgetId, Long programId, BigDecimal amount, String notes) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to allocate funds but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1359,6 +1869,7 @@ public class ClientConnection {
             
             // Send command to server
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS, DataSet.SCHOLARSHIP_PROGRAMS);
             
             // Receive response
             ResponseWrapper responseWrapper = receiveObject();
@@ -1385,6 +1896,205 @@ public class ClientConnection {
         }
     }
     
+    /**
+     * Computes a proposed split of a budget across all active programs.
+     * Nothing is written until the plan is applied.
+     * 
+     * @param budgetId the budget ID
+     * @param strategy how to split the amount
+     * @param amount the amount to distribute, or null for the whole remaining budget
+     * @return the proposed plan
+     * @throws Exception if an error occurs
+     */
+    public synchronized AllocationPlanDTO planAllocations(Long budgetId, AllocationStrategy strategy, BigDecimal amount) throws Exception {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to plan allocations but no user is authenticated");
+            throw new Exception("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to plan allocations");
+            throw new Exception("Only administrators can plan allocations");
+        }
+        
+        try {
+            PlanAllocationsCommand command = new PlanAllocationsCommand(budgetId, strategy, amount);
+            CommandWrapper commandWrapper = new CommandWrapper(Command.PLAN_ALLOCATIONS, command);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.ALLOCATION_PLAN_CREATED) {
+                AllocationPlanDTO plan = responseWrapper.getData();
+                logger.info("Received allocation plan for budget {} with {} programs", budgetId, plan.getEntries().size());
+                return plan;
+            } else {
+                logger.error("Error planning allocations: {}", responseWrapper.getMessage());
+                throw new Exception("Error planning allocations: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error planning allocations", e);
+            throw new Exception("Error planning allocations: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Writes all allocations of a plan in a single server-side transaction.
+     * 
+     * @param plan the plan to apply
+     * @param notes notes stored on every allocation
+     * @return the created fund allocations
+     * @throws Exception if an error occurs
+     */
+    public synchronized List<FundAllocationDTO> applyAllocationPlan(AllocationPlanDTO plan, String notes) throws Exception {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to apply an allocation plan but no user is authenticated");
+            throw new Exception("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to apply an allocation plan");
+            throw new Exception("Only administrators can allocate funds");
+        }
+        
+        try {
+            ApplyAllocationPlanCommand command = new ApplyAllocationPlanCommand(plan, notes);
+            CommandWrapper commandWrapper = new CommandWrapper(Command.APPLY_ALLOCATION_PLAN, command);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.BUDGETS, DataSet.SCHOLARSHIP_PROGRAMS);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.ALLOCATION_PLAN_APPLIED) {
+                List<FundAllocationDTO> allocations = responseWrapper.getData();
+                logger.info("Applied allocation plan with {} allocations", allocations.size());
+                return allocations;
+            } else {
+                logger.error("Error applying allocation plan: {}", responseWrapper.getMessage());
+                throw new Exception("Error applying allocation plan: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error applying allocation plan", e);
+            throw new Exception("Error applying allocation plan: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Starts a payment run that pays every approved, unpaid application.
+     * The run continues on the server; its progress is read with {@link #getPaymentRunStatus(Long)}.
+     * 
+     * @param resume whether to continue the last unfinished run from its checkpoint
+     * @return the status of the started run
+     * @throws Exception if an error occurs
+     */
+    public synchronized PaymentRunStatusDTO startPaymentRun(boolean resume) throws Exception {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to start a payment run but no user is authenticated");
+            throw new Exception("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to start a payment run");
+            throw new Exception("Only administrators can start payment runs");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.START_PAYMENT_RUN, new StartPaymentRunCommand(resume));
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.PAYMENT_RUN_STARTED) {
+                PaymentRunStatusDTO status = responseWrapper.getData();
+                logger.info("Payment run {} started", status.getRunId());
+                return status;
+            } else {
+                logger.error("Error starting payment run: {}", responseWrapper.getMessage());
+                throw new Exception("Error starting payment run: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error starting payment run", e);
+            throw new Exception("Error starting payment run: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the progress and throughput of a payment run.
+     * 
+     * @param runId the ID of the run, or null for the latest run
+     * @return the run status
+     * @throws Exception if an error occurs
+     */
+    public synchronized PaymentRunStatusDTO getPaymentRunStatus(Long runId) throws Exception {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to get payment run status but no user is authenticated");
+            throw new Exception("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to get payment run status");
+            throw new Exception("Only administrators can view payment runs");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_PAYMENT_RUN_STATUS, runId);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.PAYMENT_RUN_STATUS_RETRIEVED) {
+                return responseWrapper.getData();
+            } else {
+                logger.error("Error getting payment run status: {}", responseWrapper.getMessage());
+                throw new Exception("Error getting payment run status: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error getting payment run status", e);
+            throw new Exception("Error getting payment run status: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Gets the SQL statements that took the most total time on the server.
+     * 
+     * @param limit the maximum number of statements
+     * @return the statement statistics, most expensive first
+     * @throws Exception if an error occurs
+     */
+    public synchronized List<QueryStatisticDTO> getQueryStatistics(int limit) throws Exception {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to get query statistics but no user is authenticated");
+            throw new Exception("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to get query statistics");
+            throw new Exception("Only administrators can view query statistics");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_QUERY_STATISTICS, limit);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.QUERY_STATISTICS_RETRIEVED) {
+                return responseWrapper.getData();
+            } else {
+                logger.error("Error getting query statistics: {}", responseWrapper.getMessage());
+                throw new Exception("Error getting query statistics: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error getting query statistics", e);
+            throw new Exception("Error getting query statistics: " + e.getMessage());
+        }
+    }
+    
     /**
      * Gets all fund allocations for a specific budget.
      * 
@@ -1392,7 +2102,7 @@ public class ClientConnection {
      * @return a list of fund allocations
      * @throws Exception if an error occurs
      */
-    public List<FundAllocationDTO> getAllocationsByBudget(Long budgetId) throws Exception {
+    public synchronized List<FundAllocationDTO> getAllocationsByBudget(Long budgetId) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get allocations by budget but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1448,7 +2158,7 @@ public class ClientConnection {
      * @return a list of fund allocations
      * @throws Exception if an error occurs
      */
-    public List<FundAllocationDTO> getAllocationsByProgram(Long programId) throws Exception {
+    public synchronized List<FundAllocationDTO> getAllocationsByProgram(Long programId) throws Exception {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get allocations by program but no user is authenticated");
             throw new Exception("User not authenticated");
@@ -1504,22 +2214,34 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public List<AcademicPeriodDTO> getAllAcademicPeriods() throws IOException, ClassNotFoundException {
+    public synchronized List<AcademicPeriodDTO> getAllAcademicPeriods() throws IOException, ClassNotFoundException {
         logger.debug("Getting all academic periods");
         
         GetAcademicPeriodsCommand command = new GetAcademicPeriodsCommand(false);
         CommandWrapper commandWrapper = new CommandWrapper(Command.GET_ACADEMIC_PERIODS, command);
         commandWrapper.setAuthToken(authToken);
+        commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(ALL_PERIODS_KEY));
         
         try {
+            List<AcademicPeriodDTO> cached = getCachedList(ALL_PERIODS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             sendObject(commandWrapper);
             ResponseWrapper response = receiveObject();
             
+            List<AcademicPeriodDTO> unchanged = getNotModifiedList(ALL_PERIODS_KEY, response);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
                 AcademicPeriodsResponse periodsResponse = response.getData();
                 if (periodsResponse != null) {
                     List<AcademicPeriodDTO> periods = periodsResponse.getPeriods();
                     logger.debug("Received {} academic periods", periods.size());
+                    responseCache.put(ALL_PERIODS_KEY, DataSet.ACADEMIC_PERIODS, periods, response.getDataVersion());
                     return periods;
                 }
             }
@@ -1539,22 +2261,34 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public List<AcademicPeriodDTO> getActiveAcademicPeriods() throws IOException, ClassNotFoundException {
+    public synchronized List<AcademicPeriodDTO> getActiveAcademicPeriods() throws IOException, ClassNotFoundException {
         logger.debug("Getting active academic periods");
         
         GetAcademicPeriodsCommand command = new GetAcademicPeriodsCommand(true);
         CommandWrapper commandWrapper = new CommandWrapper(Command.GET_ACADEMIC_PERIODS, command);
         commandWrapper.setAuthToken(authToken);
+        commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(ACTIVE_PERIODS_KEY));
         
         try {
+            List<AcademicPeriodDTO> cached = getCachedList(ACTIVE_PERIODS_KEY);
+            if (cached != null) {
+                return cached;
+            }
+
             sendObject(commandWrapper);
             ResponseWrapper response = receiveObject();
             
+            List<AcademicPeriodDTO> unchanged = getNotModifiedList(ACTIVE_PERIODS_KEY, response);
+            if (unchanged != null) {
+                return unchanged;
+            }
+            
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
                 AcademicPeriodsResponse periodsResponse = response.getData();
                 if (periodsResponse != null) {
                     List<AcademicPeriodDTO> periods = periodsResponse.getPeriods();
                     logger.debug("Received {} active academic periods", periods.size());
+                    responseCache.put(ACTIVE_PERIODS_KEY, DataSet.ACADEMIC_PERIODS, periods, response.getDataVersion());
                     return periods;
                 }
             }
@@ -1575,7 +2309,7 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public AcademicPeriodDTO createAcademicPeriod(AcademicPeriodDTO periodDTO) throws IOException, ClassNotFoundException {
+    public synchronized AcademicPeriodDTO createAcademicPeriod(AcademicPeriodDTO periodDTO) throws IOException, ClassNotFoundException {
         logger.debug("Creating academic period: {}", periodDTO.getName());
         
         CreateAcademicPeriodCommand command = new CreateAcademicPeriodCommand(periodDTO);
@@ -1584,6 +2318,7 @@ public class ClientConnection {
         
         try {
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.ACADEMIC_PERIODS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
@@ -1615,7 +2350,7 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public AcademicPeriodDTO updateAcademicPeriod(AcademicPeriodDTO periodDTO) throws IOException, ClassNotFoundException {
+    public synchronized AcademicPeriodDTO updateAcademicPeriod(AcademicPeriodDTO periodDTO) throws IOException, ClassNotFoundException {
         logger.debug("Updating academic period with ID: {}", periodDTO.getId());
         
         UpdateAcademicPeriodCommand command = new UpdateAcademicPeriodCommand(periodDTO);
@@ -1624,6 +2359,7 @@ public class ClientConnection {
         
         try {
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.ACADEMIC_PERIODS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
@@ -1656,7 +2392,7 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public AcademicPeriodDTO updateAcademicPeriodStatus(Long periodId, boolean active) throws IOException, ClassNotFoundException {
+    public synchronized AcademicPeriodDTO updateAcademicPeriodStatus(Long periodId, boolean active) throws IOException, ClassNotFoundException {
         logger.debug("Updating academic period status: ID={}, active={}", periodId, active);
         
         UpdateAcademicPeriodStatusCommand command = new UpdateAcademicPeriodStatusCommand(periodId, active);
@@ -1665,6 +2401,7 @@ public class ClientConnection {
         
         try {
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.ACADEMIC_PERIODS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
@@ -1696,7 +2433,7 @@ public class ClientConnection {
      * @throws IOException if communication error occurs
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public boolean deleteAcademicPeriod(Long periodId) throws IOException, ClassNotFoundException {
+    public synchronized boolean deleteAcademicPeriod(Long periodId) throws IOException, ClassNotFoundException {
         logger.debug("Deleting academic period with ID: {}", periodId);
         
         DeleteAcademicPeriodCommand command = new DeleteAcademicPeriodCommand(periodId);
@@ -1705,6 +2442,7 @@ public class ClientConnection {
         
         try {
             sendObject(commandWrapper);
+            responseCache.invalidate(DataSet.ACADEMIC_PERIODS);
             ResponseWrapper response = receiveObject();
             
             if (response.getResponse() == ResponseFromServer.SUCCESS) {
@@ -1732,7 +2470,7 @@ public class ClientConnection {
      * @return List of ScholarshipDistributionDTO objects
      * @throws IOException if communication error occurs
      */
-    public List<ScholarshipDistributionDTO> getScholarshipDistributionReport(LocalDate startDate, LocalDate endDate) throws IOException {
+    public synchronized List<ScholarshipDistributionDTO> getScholarshipDistributionReport(LocalDate startDate, LocalDate endDate) throws IOException {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get scholarship distribution report but no user is authenticated");
             throw new IOException("User not authenticated");
@@ -1788,7 +2526,7 @@ public class ClientConnection {
      * @return List of ApplicationStatusDTO objects
      * @throws IOException if communication error occurs
      */
-    public List<ApplicationStatusDTO> getApplicationStatusReport(Long programId, Long periodId) throws IOException {
+    public synchronized List<ApplicationStatusDTO> getApplicationStatusReport(Long programId, Long periodId) throws IOException {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get application status report but no user is authenticated");
             throw new IOException("User not authenticated");
@@ -1844,7 +2582,7 @@ public class ClientConnection {
      * @return List of UserActivityDTO objects
      * @throws IOException if communication error occurs
      */
-    public List<UserActivityDTO> getUserActivityReport(LocalDate startDate, LocalDate endDate) throws IOException {
+    public synchronized List<UserActivityDTO> getUserActivityReport(LocalDate startDate, LocalDate endDate) throws IOException {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get user activity report but no user is authenticated");
             throw new IOException("User not authenticated");
@@ -1899,7 +2637,7 @@ public class ClientConnection {
      * @throws IOException if an I/O error occurs during communication
      * @throws ClassNotFoundException if the class of the received object cannot be found
      */
-    public AcademicPerformanceReportDTO getAcademicPerformanceReport() throws IOException, ClassNotFoundException {
+    public synchronized AcademicPerformanceReportDTO getAcademicPerformanceReport() throws IOException, ClassNotFoundException {
         if (!isAuthenticated()) {
             logger.warn("Attempted to get academic performance report but no user is authenticated");
             return null;
@@ -1939,6 +2677,304 @@ public class ClientConnection {
         }
     }
 
+    /**
+     * Asks the server to recompute the report rollup tables from scratch.
+     * This method is intended for administrators.
+     *
+     * @throws IOException if communication error occurs or the rebuild fails
+     */
+    public synchronized void rebuildReportRollups() throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to rebuild report rollups but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to rebuild report rollups");
+            throw new IOException("Only administrators can rebuild report rollups");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.REBUILD_REPORT_ROLLUPS);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.SUCCESS) {
+                logger.info("Report rollups rebuilt successfully");
+            } else {
+                logger.error("Error rebuilding report rollups: {}", responseWrapper.getMessage());
+                throw new IOException("Error rebuilding report rollups: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error rebuilding report rollups", e);
+            throw new IOException("Error rebuilding report rollups: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Asks the server to recompute the GPA sums of all students from their grades.
+     * This method is intended for administrators.
+     *
+     * @return the number of students processed
+     * @throws IOException if communication error occurs or the recompute fails
+     */
+    public synchronized int recomputeGpas() throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to recompute GPAs but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to recompute GPAs");
+            throw new IOException("Only administrators can recompute GPAs");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.RECOMPUTE_GPA);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.SUCCESS) {
+                Integer students = responseWrapper.getData();
+                logger.info("Recomputed GPAs of {} students", students);
+                return students;
+            } else {
+                logger.error("Error recomputing GPAs: {}", responseWrapper.getMessage());
+                throw new IOException("Error recomputing GPAs: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error recomputing GPAs", e);
+            throw new IOException("Error recomputing GPAs: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets one page of the ranked shortlist of pending applications for a program.
+     * This method is intended for administrators.
+     *
+     * @param programId the ID of the program
+     * @param periodId the ID of the academic period, or null for all periods
+     * @param page the 0-based page number
+     * @param pageSize the number of entries per page
+     * @return the page of the shortlist
+     * @throws IOException if communication error occurs or the shortlist cannot be built
+     */
+    public synchronized ApplicationShortlistResponse getApplicationShortlist(Long programId, Long periodId,
+                                                                            int page, int pageSize) throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to get application shortlist but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to get application shortlist");
+            throw new IOException("Only administrators can view application shortlists");
+        }
+        
+        try {
+            GetApplicationShortlistCommand command = new GetApplicationShortlistCommand(programId, periodId, page, pageSize);
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_APPLICATION_SHORTLIST, command);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.APPLICATION_SHORTLIST_RETRIEVED) {
+                ApplicationShortlistResponse response = responseWrapper.getData();
+                logger.info("Retrieved shortlist page {} of program {} with {} entries",
+                        page, programId, response.getEntries().size());
+                return response;
+            } else {
+                logger.error("Error getting application shortlist: {}", responseWrapper.getMessage());
+                throw new IOException("Error getting application shortlist: " + responseWrapper.getMessage());
+            }
+        } catch (Exception e) {
+            logger.error("Error getting application shortlist", e);
+            throw new IOException("Error getting application shortlist: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Submits a report for asynchronous generation on the server.
+     * This method is intended for administrators.
+     *
+     * @param command the report type and parameters
+     * @return the status of the queued job
+     * @throws IOException if communication error occurs or the job is rejected
+     */
+    public synchronized ReportJobStatusDTO submitReportJob(SubmitReportJobCommand command) throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to submit report job but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to submit report job");
+            throw new IOException("Only administrators can access reports");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.SUBMIT_REPORT_JOB, command);
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.REPORT_JOB_SUBMITTED) {
+                ReportJobStatusResponse statusResponse = responseWrapper.getData();
+                logger.debug("Report job {} submitted", statusResponse.getStatus().getJobId());
+                return statusResponse.getStatus();
+            } else {
+                logger.error("Error submitting report job: {}", responseWrapper.getMessage());
+                throw new IOException(responseWrapper.getMessage());
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error submitting report job", e);
+            throw new IOException("Error submitting report job: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the status of a report job submitted by the current user.
+     *
+     * @param jobId the ID of the job
+     * @return the job status
+     * @throws IOException if communication error occurs or the job is unknown
+     */
+    public synchronized ReportJobStatusDTO getReportJobStatus(String jobId) throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to get report job status but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.GET_REPORT_JOB_STATUS, new GetReportJobStatusCommand(jobId));
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.REPORT_JOB_STATUS_RETRIEVED) {
+                ReportJobStatusResponse statusResponse = responseWrapper.getData();
+                return statusResponse.getStatus();
+            } else {
+                logger.error("Error getting report job status: {}", responseWrapper.getMessage());
+                throw new IOException(responseWrapper.getMessage());
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error getting report job status", e);
+            throw new IOException("Error getting report job status: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the rows of a completed report job.
+     *
+     * @param <T> the type of the report rows
+     * @param jobId the ID of the job
+     * @return the report rows
+     * @throws IOException if communication error occurs or the job has not completed
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Serializable> List<T> fetchReportResult(String jobId) throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to fetch report result but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        try {
+            CommandWrapper commandWrapper = new CommandWrapper(Command.FETCH_REPORT_RESULT, new FetchReportResultCommand(jobId));
+            commandWrapper.setAuthToken(authToken);
+            
+            sendObject(commandWrapper);
+            ResponseWrapper responseWrapper = receiveObject();
+            
+            if (responseWrapper.getResponse() == ResponseFromServer.REPORT_RESULT_RETRIEVED) {
+                ReportJobResultResponse resultResponse = responseWrapper.getData();
+                List<T> reportData = (List<T>) resultResponse.getReportData();
+                logger.debug("Received report job {} result with {} entries", jobId, reportData.size());
+                return reportData;
+            } else {
+                logger.error("Error fetching report result: {}", responseWrapper.getMessage());
+                throw new IOException(responseWrapper.getMessage());
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Error fetching report result", e);
+            throw new IOException("Error fetching report result: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exports a complete data set as CSV straight into a file.
+     * The server streams the file in chunks, which are written to disk as they arrive,
+     * so the export is never held in memory as a whole.
+     * This method is intended for administrators.
+     *
+     * @param exportType the data set to export
+     * @param compressed whether the server should gzip the CSV; the file then contains the gzip bytes
+     * @param target the file to write
+     * @return the number of exported rows
+     * @throws IOException if communication error occurs or the export fails
+     */
+    public synchronized long exportData(ExportType exportType, boolean compressed, Path target) throws IOException {
+        if (!isAuthenticated()) {
+            logger.warn("Attempted to export data but no user is authenticated");
+            throw new IOException("User not authenticated");
+        }
+        
+        if (!currentUser.getRole().equals(UserRole.ADMIN.name())) {
+            logger.warn("Non-admin user attempted to export data");
+            throw new IOException("Only administrators can export data");
+        }
+        
+        logger.debug("Exporting {} to {} (compressed: {})", exportType, target, compressed);
+        
+        CommandWrapper commandWrapper = new CommandWrapper(Command.EXPORT_DATA, new ExportDataCommand(exportType, compressed));
+        commandWrapper.setAuthToken(authToken);
+        sendObject(commandWrapper);
+        
+        boolean completed = false;
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (true) {
+                ResponseWrapper responseWrapper = receiveObject();
+                if (responseWrapper.getResponse() != ResponseFromServer.EXPORT_CHUNK) {
+                    logger.error("Error exporting data: {}", responseWrapper.getMessage());
+                    throw new IOException("Error exporting data: " + responseWrapper.getMessage());
+                }
+                
+                ExportChunkResponse chunk = responseWrapper.getData();
+                ByteBuffer buffer = ByteBuffer.wrap(chunk.getData());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                
+                if (chunk.isLast()) {
+                    completed = true;
+                    logger.info("Exported {} {} rows to {}", chunk.getRowCount(), exportType, target);
+                    return chunk.getRowCount();
+                }
+            }
+        } catch (ClassNotFoundException e) {
+            logger.error("Error exporting data", e);
+            throw new IOException("Error exporting data: " + e.getMessage());
+        } finally {
+            if (!completed) {
+                Files.deleteIfExists(target);
+            }
+        }
+    }
+
     /**
      * Gets all users in the system.
      * This method is intended for administrators to manage user accounts.
@@ -1946,21 +2982,33 @@ public class ClientConnection {
      * @return a list of all users, or null if an error occurred
      * @throws Exception if an error occurs during the operation
      */
-    public List<UserDTO> getAllUsers() throws Exception {
+    public synchronized List<UserDTO> getAllUsers() throws Exception {
         logger.info("Getting all users for admin management");
         
+        List<UserDTO> cached = getCachedList(USERS_KEY);
+        if (cached != null) {
+            return cached;
+        }
+
         // Create and send the command
         CommandWrapper commandWrapper = new CommandWrapper(Command.GET_ALL_USERS, new GetAllUsersCommand());
         commandWrapper.setAuthToken(authToken);
+        commandWrapper.setIfNoneMatchVersion(responseCache.getVersion(USERS_KEY));
         
         // Send the command and wait for response
         sendObject(commandWrapper);
         ResponseWrapper responseWrapper = (ResponseWrapper) receiveObject();
         
+        List<UserDTO> unchanged = getNotModifiedList(USERS_KEY, responseWrapper);
+        if (unchanged != null) {
+            return unchanged;
+        }
+        
         // Check if the response is successful
         if (responseWrapper.getResponse() == ResponseFromServer.USERS_LIST_RETRIEVED) {
             GetAllUsersResponse response = responseWrapper.getData();
             logger.info("Received {} users", response.getUsers().size());
+            responseCache.put(USERS_KEY, DataSet.USERS, response.getUsers(), responseWrapper.getDataVersion());
             return response.getUsers();
         } else if (responseWrapper.getResponse() == ResponseFromServer.ERROR) {
             String errorMessage = responseWrapper.getMessage();
@@ -1981,7 +3029,7 @@ public class ClientConnection {
      * @return the updated user, or null if an error occurred
      * @throws Exception if an error occurs during the operation
      */
-    public UserDTO updateUserStatus(Long userId, boolean active) throws Exception {
+    public synchronized UserDTO updateUserStatus(Long userId, boolean active) throws Exception {
         logger.info("Updating status for user ID: {} to active={}", userId, active);
         
         // Create and send the command
@@ -1991,6 +3039,7 @@ public class ClientConnection {
         
         // Send the command and wait for response
         sendObject(commandWrapper);
+        responseCache.invalidate(DataSet.USERS);
         ResponseWrapper responseWrapper = (ResponseWrapper) receiveObject();
         
         // Check if the response is successful
@@ -0,0 +1,230 @@
+package com.kasperovich.clientconnection;
+
+import com.kasperovich.commands.fromserver.ResponseFromServer;
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+import com.kasperovich.commands.toserver.Command;
+import com.kasperovich.commands.toserver.CommandWrapper;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Chooses the server to connect to among the configured endpoints.
+ * A host name may stand for several servers, so each configured endpoint is resolved to all of
+ * its addresses. The servers are probed with {@link Command#HEALTH_CHECK}, which reports how many
+ * clients each one serves, and are ranked least loaded first and, among equally loaded ones,
+ * fastest to answer first. Servers that did not answer come last.
+ * <p>
+ * With a single server there is nothing to choose, so nothing is probed.
+ */
+public class EndpointSelector {
+    private static final Logger logger = LoggerUtil.getLogger(EndpointSelector.class);
+    public static final long DEFAULT_PROBE_INTERVAL_MILLIS = 15_000;
+    public static final int PROBE_TIMEOUT_MS = 2000;
+
+    /**
+     * Probes a server.
+     */
+    @FunctionalInterface
+    interface Prober {
+        /**
+         * Checks that a server is healthy.
+         *
+         * @param endpoint the server
+         * @return the number of clients the server serves
+         * @throws IOException if the server does not answer or is not healthy
+         */
+        int probe(ServerEndpoint endpoint) throws IOException;
+    }
+
+    /**
+     * Resolves a configured endpoint to the servers it stands for.
+     */
+    @FunctionalInterface
+    interface Resolver {
+        /**
+         * Resolves an endpoint.
+         *
+         * @param endpoint the configured endpoint
+         * @return one endpoint per address of the host
+         * @throws IOException if the host cannot be resolved
+         */
+        List<ServerEndpoint> resolve(ServerEndpoint endpoint) throws IOException;
+    }
+
+    private static final class Status {
+        private final boolean reachable;
+        private final int clients;
+        private final long latencyNanos;
+
+        Status(boolean reachable, int clients, long latencyNanos) {
+            this.reachable = reachable;
+            this.clients = clients;
+            this.latencyNanos = latencyNanos;
+        }
+    }
+
+    private static final Status UNKNOWN = new Status(true, 0, 0);
+    private static final Status DOWN = new Status(false, 0, Long.MAX_VALUE);
+
+    private final List<ServerEndpoint> configured;
+    private final Prober prober;
+    private final Resolver resolver;
+    private final LongSupplier nanoClock;
+    // Resolved endpoints in configured order, with the result of their last probe
+    private Map<ServerEndpoint, Status> statuses = new LinkedHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a selector that probes the servers over the network.
+     *
+     * @param endpoints the configured endpoints, in order of preference when nothing else differs
+     */
+    public EndpointSelector(List<ServerEndpoint> endpoints) {
+        this(endpoints, EndpointSelector::healthCheck, EndpointSelector::resolveAll, System::nanoTime);
+    }
+
+    /**
+     * Creates a selector.
+     *
+     * @param endpoints the configured endpoints
+     * @param prober probes the servers
+     * @param resolver resolves the configured endpoints
+     * @param nanoClock supplies the time in nanoseconds for measuring latency
+     */
+    EndpointSelector(List<ServerEndpoint> endpoints, Prober prober, Resolver resolver, LongSupplier nanoClock) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one server endpoint is required");
+        }
+        this.configured = List.copyOf(endpoints);
+        this.prober = prober;
+        this.resolver = resolver;
+        this.nanoClock = nanoClock;
+        for (ServerEndpoint endpoint : configured) {
+            statuses.put(endpoint, UNKNOWN);
+        }
+    }
+
+    /**
+     * Probes the servers now and then at a fixed interval in the background.
+     *
+     * @param intervalMillis the interval between probes
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("endpoint-probe").factory());
+        scheduler.scheduleWithFixedDelay(this::probeAll, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Resolves the configured endpoints and probes the servers they stand for.
+     */
+    public void probeAll() {
+        List<ServerEndpoint> resolved = new ArrayList<>();
+        for (ServerEndpoint endpoint : configured) {
+            try {
+                for (ServerEndpoint address : resolver.resolve(endpoint)) {
+                    if (!resolved.contains(address)) {
+                        resolved.add(address);
+                    }
+                }
+            } catch (IOException e) {
+                logger.warn("Could not resolve server endpoint {}: {}", endpoint, e.getMessage());
+            }
+        }
+        if (resolved.isEmpty()) {
+            return;
+        }
+
+        Map<ServerEndpoint, Status> probed = new LinkedHashMap<>();
+        if (resolved.size() == 1) {
+            probed.put(resolved.get(0), UNKNOWN);
+        } else {
+            for (ServerEndpoint endpoint : resolved) {
+                long start = nanoClock.getAsLong();
+                try {
+                    int clients = prober.probe(endpoint);
+                    long latencyNanos = nanoClock.getAsLong() - start;
+                    probed.put(endpoint, new Status(true, clients, latencyNanos));
+                    logger.debug("Server {} serves {} clients, answered in {} us",
+                            endpoint, clients, latencyNanos / 1000);
+                } catch (IOException e) {
+                    probed.put(endpoint, DOWN);
+                    logger.warn("Server {} did not answer the health check: {}", endpoint, e.getMessage());
+                }
+            }
+        }
+        synchronized (this) {
+            statuses = probed;
+        }
+    }
+
+    /**
+     * Marks a server as down until it answers the next probe, for example after its connection dropped.
+     *
+     * @param endpoint the server
+     */
+    public synchronized void markDown(ServerEndpoint endpoint) {
+        if (statuses.containsKey(endpoint)) {
+            statuses.put(endpoint, DOWN);
+        }
+    }
+
+    /**
+     * Gets the servers in the order to try them: least loaded and fastest first, down ones last.
+     *
+     * @return the servers
+     */
+    public synchronized List<ServerEndpoint> ranked() {
+        List<Map.Entry<ServerEndpoint, Status>> entries = new ArrayList<>(statuses.entrySet());
+        // The sort is stable, so servers that compare equal keep their configured order
+        entries.sort(Comparator.comparing((Map.Entry<ServerEndpoint, Status> entry) -> !entry.getValue().reachable)
+                .thenComparingInt(entry -> entry.getValue().clients)
+                .thenComparingLong(entry -> entry.getValue().latencyNanos));
+        return entries.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private static List<ServerEndpoint> resolveAll(ServerEndpoint endpoint) throws IOException {
+        List<ServerEndpoint> addresses = new ArrayList<>();
+        for (InetAddress address : InetAddress.getAllByName(endpoint.getHost())) {
+            addresses.add(new ServerEndpoint(address.getHostAddress(), endpoint.getPort()));
+        }
+        return addresses;
+    }
+
+    private static int healthCheck(ServerEndpoint endpoint) throws IOException {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(endpoint.getHost(), endpoint.getPort()), PROBE_TIMEOUT_MS);
+            socket.setSoTimeout(PROBE_TIMEOUT_MS);
+            ObjectOutputStream out = new ObjectOutputStream(socket.getOutputStream());
+            out.writeObject(new CommandWrapper(Command.HEALTH_CHECK));
+            out.flush();
+            ObjectInputStream in = new ObjectInputStream(socket.getInputStream());
+            ResponseWrapper response = (ResponseWrapper) in.readObject();
+            if (response.getResponse() != ResponseFromServer.SUCCESS) {
+                throw new IOException("Health check returned " + response.getResponse());
+            }
+            Integer clients = response.getData();
+            return clients == null ? 0 : clients;
+        } catch (ClassNotFoundException e) {
+            throw new IOException("Unexpected response to health check", e);
+        }
+    }
+}
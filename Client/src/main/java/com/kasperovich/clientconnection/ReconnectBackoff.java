@@ -0,0 +1,59 @@
+package com.kasperovich.clientconnection;
+
+import java.util.Random;
+
+/**
+ * Delays between attempts to reconnect to the server: exponential backoff with full jitter.
+ * The delay before each attempt is drawn at random between zero and a cap that doubles with
+ * every attempt, so clients that lost their connection at the same moment, for example when
+ * the server restarts, spread their reconnects instead of arriving together.
+ */
+public class ReconnectBackoff {
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 250;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 8000;
+    public static final int DEFAULT_MAX_ATTEMPTS = 6;
+
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final int maxAttempts;
+    private final Random random;
+
+    /**
+     * Creates a backoff with the default delays and number of attempts.
+     */
+    public ReconnectBackoff() {
+        this(DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_ATTEMPTS, new Random());
+    }
+
+    /**
+     * Creates a backoff.
+     *
+     * @param baseDelayMillis the cap of the delay before the first attempt
+     * @param maxDelayMillis the largest cap of any delay
+     * @param maxAttempts the number of attempts
+     * @param random draws the delays
+     */
+    ReconnectBackoff(long baseDelayMillis, long maxDelayMillis, int maxAttempts, Random random) {
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.maxAttempts = maxAttempts;
+        this.random = random;
+    }
+
+    /**
+     * Gets the delay to wait before an attempt.
+     *
+     * @param attempt the number of the attempt, starting at 0
+     * @return the delay in milliseconds, or -1 if no attempts are left
+     */
+    public long delayBefore(int attempt) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        long cap = baseDelayMillis << Math.min(attempt, 30);
+        if (cap <= 0 || cap > maxDelayMillis) {
+            cap = maxDelayMillis;
+        }
+        return (long) (random.nextDouble() * (cap + 1));
+    }
+}
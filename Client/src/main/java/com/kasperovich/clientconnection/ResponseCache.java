@@ -0,0 +1,147 @@
+package com.kasperovich.clientconnection;
+
+import com.kasperovich.dto.sync.DataSet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of the reference lists the client reads from the server.
+ * Each entry carries the version of the data set it was read from and expires after a TTL.
+ * An expired entry is not dropped: its version is sent with the next request for the list, and
+ * if the server answers that nothing has changed the entry is {@link #renew(String) renewed}
+ * instead of being transferred again.
+ */
+public class ResponseCache {
+    public static final long DEFAULT_TTL_MILLIS = 30_000;
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param ttlMillis how long an entry is served without checking its version
+     */
+    public ResponseCache(long ttlMillis) {
+        this(ttlMillis, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache.
+     *
+     * @param ttlMillis how long an entry is served without checking its version
+     * @param clock the source of the current time in milliseconds
+     */
+    ResponseCache(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets an entry that has not expired yet.
+     *
+     * @param key the cache key
+     * @param <T> the element type
+     * @return a copy of the cached list, or null if there is no fresh entry
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> getFresh(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.expiresAt <= clock.getAsLong()) {
+            return null;
+        }
+        return new ArrayList<>((List<T>) entry.value);
+    }
+
+    /**
+     * Checks whether there is an entry, fresh or expired.
+     *
+     * @param key the cache key
+     * @return true if there is an entry for the key
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Stores a list read from the server.
+     * Lists without a version are not cached, since they could never be revalidated.
+     *
+     * @param key the cache key
+     * @param dataSet the data set the list was read from
+     * @param value the list
+     * @param version the data set version the server sent with the list
+     */
+    public synchronized void put(String key, DataSet dataSet, List<?> value, Long version) {
+        if (version == null) {
+            entries.remove(key);
+            return;
+        }
+        entries.put(key, new Entry(dataSet, new ArrayList<>(value), version, clock.getAsLong() + ttlMillis));
+    }
+
+    /**
+     * Gets the data set version of an entry, fresh or expired.
+     *
+     * @param key the cache key
+     * @return the version, or null if there is no entry
+     */
+    public synchronized Long getVersion(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry.version : null;
+    }
+
+    /**
+     * Keeps an entry for another TTL after the server confirmed it is still current.
+     *
+     * @param key the cache key
+     * @param <T> the element type
+     * @return a copy of the cached list, or null if there is no entry
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T> List<T> renew(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.expiresAt = clock.getAsLong() + ttlMillis;
+        return new ArrayList<>((List<T>) entry.value);
+    }
+
+    /**
+     * Drops the entries read from the given data sets.
+     *
+     * @param dataSets the changed data sets
+     */
+    public synchronized void invalidate(DataSet... dataSets) {
+        for (DataSet dataSet : dataSets) {
+            entries.values().removeIf(entry -> entry.dataSet == dataSet);
+        }
+    }
+
+    /**
+     * Drops all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    private static final class Entry {
+        private final DataSet dataSet;
+        private final List<?> value;
+        private final long version;
+        private long expiresAt;
+
+        Entry(DataSet dataSet, List<?> value, long version, long expiresAt) {
+            this.dataSet = dataSet;
+            this.value = value;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kasperovich.clientconnection;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Host and port of a server the client may connect to.
+ */
+@Value
+public class ServerEndpoint {
+    /**
+     * The host name or IP address.
+     */
+    @NonNull
+    String host;
+
+    /**
+     * The port.
+     */
+    int port;
+
+    /**
+     * Parses a comma-separated list of endpoints such as {@code "app1:15000, app2:15000"}.
+     * An entry without a port uses the default port.
+     *
+     * @param endpoints the list of endpoints
+     * @param defaultPort the port of entries that have none
+     * @return the endpoints, in the order listed
+     * @throws IllegalArgumentException if an entry has an invalid port
+     */
+    public static List<ServerEndpoint> parseList(String endpoints, int defaultPort) {
+        List<ServerEndpoint> result = new ArrayList<>();
+        for (String entry : endpoints.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int colon = trimmed.lastIndexOf(':');
+            if (colon < 0) {
+                result.add(new ServerEndpoint(trimmed, defaultPort));
+                continue;
+            }
+            try {
+                result.add(new ServerEndpoint(trimmed.substring(0, colon), Integer.parseInt(trimmed.substring(colon + 1))));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid server endpoint: " + trimmed, e);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return host + ":" + port;
+    }
+}
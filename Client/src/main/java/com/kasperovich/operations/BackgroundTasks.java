@@ -0,0 +1,81 @@
+package com.kasperovich.operations;
+
+import com.kasperovich.utils.LoggerUtil;
+import javafx.concurrent.Task;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Runs the server calls of a screen off the JavaFX application thread.
+ * Each call runs as a {@link Task} on its own virtual thread, so a screen can start all of its
+ * independent loads at once and fill in each part as soon as its data arrives. Results and
+ * failures are delivered on the JavaFX application thread.
+ * <p>
+ * {@link #cancelAll()} is called when the user navigates away from the screen, and drops the
+ * results of the loads still in flight. Tasks are cancelled without interrupting their thread:
+ * interrupting a virtual thread blocked on a socket closes the socket, which would break the
+ * connection shared by all screens. A cancelled request therefore still completes, but its
+ * result is discarded.
+ */
+public class BackgroundTasks {
+    private static final Logger logger = LoggerUtil.getLogger(BackgroundTasks.class);
+
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-load-", 0).factory());
+
+    private final Set<Task<?>> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Starts a call in the background.
+     *
+     * @param call the call to run, typically a {@link com.kasperovich.clientconnection.ClientConnection} method
+     * @param onSuccess receives the result on the JavaFX application thread
+     * @param onFailure receives the exception on the JavaFX application thread
+     * @param <T> the result type
+     * @return the started task
+     */
+    public <T> Task<T> run(Callable<T> call, Consumer<? super T> onSuccess, Consumer<? super Throwable> onFailure) {
+        Task<T> task = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return call.call();
+            }
+        };
+        task.setOnSucceeded(event -> {
+            running.remove(task);
+            // A task cancelled while its result was being posted can still report success
+            if (!task.isCancelled()) {
+                onSuccess.accept(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            running.remove(task);
+            logger.error("Background load failed", task.getException());
+            onFailure.accept(task.getException());
+        });
+        task.setOnCancelled(event -> running.remove(task));
+
+        running.add(task);
+        EXECUTOR.execute(task);
+        return task;
+    }
+
+    /**
+     * Cancels all tasks that have not completed yet; their results are discarded.
+     */
+    public void cancelAll() {
+        if (!running.isEmpty()) {
+            logger.debug("Cancelling {} background loads", running.size());
+        }
+        for (Task<?> task : running) {
+            task.cancel(false);
+        }
+        running.clear();
+    }
+}
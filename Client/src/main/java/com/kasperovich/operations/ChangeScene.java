@@ -1,10 +1,8 @@
 package com.kasperovich.operations;
 
 import com.kasperovich.clientconnection.ClientConnection;
-import com.kasperovich.i18n.LangManager;
 import com.kasperovich.ui.BaseController;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
@@ -17,7 +15,8 @@ public class ChangeScene {
 
     /**
      * Universal scene switcher for JavaFX controllers.
-     * Loads the specified FXML, injects the resource bundle, sets up the controller with client connection and user if available,
+     * Takes the specified screen from the {@link SceneCache}, which loads its FXML with the resource bundle if it was
+     * not preloaded, sets up the controller with client connection and user if available,
      * and switches the scene on the current stage. Use this to avoid code duplication in all controllers.
      *
      * @param event The triggering ActionEvent (for getting the stage)
@@ -28,15 +27,9 @@ public class ChangeScene {
      * @param <T> Controller type
      */
     public static <T> void changeScene(ActionEvent event, String fxmlFile, String title, ClientConnection access, Object user) {
-        FXMLLoader loader = new FXMLLoader(ChangeScene.class.getResource(fxmlFile), LangManager.getBundle());
-        Parent root;
-        try {
-            root = loader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
-        BaseController controller = loader.getController();
+        SceneCache.LoadedScreen screen = loadScreen(fxmlFile);
+        Parent root = screen.getRoot();
+        BaseController controller = screen.getController();
         if (user != null) {
             try {
                 java.lang.reflect.Method setUser = controller.getClass().getMethod("setUser", user.getClass());
@@ -48,8 +41,11 @@ public class ChangeScene {
             controller.initializeData();
         }
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        disposePreviousController(stage);
+        Scene scene = new Scene(root);
+        scene.setUserData(controller);
         stage.setTitle(title);
-        stage.setScene(new Scene(root));
+        stage.setScene(scene);
         stage.show();
     }
     
@@ -70,15 +66,10 @@ public class ChangeScene {
     public static <T extends BaseController> T changeScene(ActionEvent event, String fxmlFile, String title,
                                                            ClientConnection access, Object user,
                                                            Object additionalData, String setterMethodName) {
-        FXMLLoader loader = new FXMLLoader(ChangeScene.class.getResource(fxmlFile), LangManager.getBundle());
-        Parent root;
-        try {
-            root = loader.load();
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        }
-        T controller = loader.getController();
+        SceneCache.LoadedScreen screen = loadScreen(fxmlFile);
+        Parent root = screen.getRoot();
+        @SuppressWarnings("unchecked")
+        T controller = (T) screen.getController();
         
         // Set user if provided
         if (user != null) {
@@ -106,11 +97,41 @@ public class ChangeScene {
         
         // Set up the scene and stage
         Stage stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
+        disposePreviousController(stage);
         Scene scene = new Scene(root);
+        scene.setUserData(controller);
         stage.setTitle(title);
         stage.setScene(scene);
         stage.show();
         
         return controller;
     }
+
+    /**
+     * Takes a screen from the scene cache, which loads it now if it was not preloaded.
+     *
+     * @param fxmlFile the path of the FXML file
+     * @return the screen, not yet shown
+     */
+    private static SceneCache.LoadedScreen loadScreen(String fxmlFile) {
+        try {
+            return SceneCache.getInstance().take(fxmlFile);
+        } catch (IOException e) {
+            e.printStackTrace();
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Lets the controller of the scene being replaced cancel its background loads.
+     * Scenes opened by this class carry their controller as user data.
+     *
+     * @param stage the stage whose scene is about to be replaced
+     */
+    private static void disposePreviousController(Stage stage) {
+        Scene previous = stage.getScene();
+        if (previous != null && previous.getUserData() instanceof BaseController controller) {
+            controller.dispose();
+        }
+    }
 }
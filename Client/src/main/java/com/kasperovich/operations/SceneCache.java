@@ -0,0 +1,192 @@
+package com.kasperovich.operations;
+
+import com.kasperovich.i18n.LangManager;
+import com.kasperovich.ui.BaseController;
+import com.kasperovich.utils.LoggerUtil;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Screens loaded ahead of navigation, so that opening one does not parse its FXML.
+ * A screen is preloaded on a background thread: its FXML is parsed and its nodes and controller
+ * are created, but the controller gets no connection or user and its {@code initializeData} is
+ * not called until the screen is opened. A preloaded screen is handed out once; a shown screen
+ * is never reused, because its controller holds the data and listeners of that visit. Opening a
+ * screen preloads the next copy of it in the background.
+ * <p>
+ * Screens are kept per locale, since the texts are filled in from the bundle while loading, and
+ * the least recently preloaded or used screens are dropped first.
+ */
+public class SceneCache {
+    private static final Logger logger = LoggerUtil.getLogger(SceneCache.class);
+    private static final int DEFAULT_MAX_ENTRIES = 12;
+
+    private static final SceneCache instance = new SceneCache(DEFAULT_MAX_ENTRIES,
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("scene-preload").factory()),
+            SceneCache::loadFxml);
+
+    /**
+     * Loads a screen from its FXML.
+     */
+    @FunctionalInterface
+    interface Loader {
+        /**
+         * Loads a screen.
+         *
+         * @param fxmlFile the path of the FXML file
+         * @param bundle the resource bundle of the screen's locale
+         * @return the loaded screen
+         * @throws IOException if the FXML cannot be loaded
+         */
+        LoadedScreen load(String fxmlFile, ResourceBundle bundle) throws IOException;
+    }
+
+    /**
+     * A screen whose FXML has been loaded but that has not been shown.
+     */
+    public static final class LoadedScreen {
+        private final Parent root;
+        private final BaseController controller;
+
+        LoadedScreen(Parent root, BaseController controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        /**
+         * Gets the root node of the screen.
+         *
+         * @return the root node
+         */
+        public Parent getRoot() {
+            return root;
+        }
+
+        /**
+         * Gets the controller of the screen.
+         *
+         * @return the controller, or null if the FXML declares none
+         */
+        public BaseController getController() {
+            return controller;
+        }
+    }
+
+    private final Map<String, LoadedScreen> screens;
+    private final Set<String> pending = new HashSet<>();
+    private final Executor executor;
+    private final Loader loader;
+
+    /**
+     * Creates a cache.
+     *
+     * @param maxEntries the maximum number of preloaded screens
+     * @param executor runs the preloads
+     * @param loader loads the screens
+     */
+    SceneCache(int maxEntries, Executor executor, Loader loader) {
+        this.executor = executor;
+        this.loader = loader;
+        this.screens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LoadedScreen> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache instance
+     */
+    public static SceneCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes the preloaded copy of a screen in the current locale, loading it now if there is none,
+     * and starts preloading the next copy. Call on the JavaFX application thread.
+     *
+     * @param fxmlFile the path of the FXML file
+     * @return the screen, not yet shown
+     * @throws IOException if the FXML cannot be loaded
+     */
+    public LoadedScreen take(String fxmlFile) throws IOException {
+        ResourceBundle bundle = LangManager.getBundle();
+        LoadedScreen screen;
+        synchronized (this) {
+            screen = screens.remove(key(LangManager.getLocale(), fxmlFile));
+        }
+        if (screen == null) {
+            logger.debug("Screen not preloaded, loading now: {}", fxmlFile);
+            screen = loader.load(fxmlFile, bundle);
+        }
+        preload(fxmlFile);
+        return screen;
+    }
+
+    /**
+     * Starts loading screens in the current locale in the background, skipping the ones that are
+     * already preloaded or being preloaded. Call on the JavaFX application thread.
+     *
+     * @param fxmlFiles the paths of the FXML files
+     */
+    public void preload(String... fxmlFiles) {
+        Locale locale = LangManager.getLocale();
+        ResourceBundle bundle = LangManager.getBundle();
+        for (String fxmlFile : fxmlFiles) {
+            String key = key(locale, fxmlFile);
+            synchronized (this) {
+                if (screens.containsKey(key) || !pending.add(key)) {
+                    continue;
+                }
+            }
+            executor.execute(() -> {
+                try {
+                    LoadedScreen screen = loader.load(fxmlFile, bundle);
+                    synchronized (this) {
+                        screens.put(key, screen);
+                    }
+                } catch (Exception e) {
+                    // The screen is loaded when it is opened instead, which reports the error
+                    logger.warn("Could not preload screen: {}", fxmlFile, e);
+                } finally {
+                    synchronized (this) {
+                        pending.remove(key);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the number of preloaded screens.
+     *
+     * @return the number of preloaded screens
+     */
+    public synchronized int size() {
+        return screens.size();
+    }
+
+    private static String key(Locale locale, String fxmlFile) {
+        return locale.toLanguageTag() + ':' + fxmlFile;
+    }
+
+    private static LoadedScreen loadFxml(String fxmlFile, ResourceBundle bundle) throws IOException {
+        FXMLLoader fxmlLoader = new FXMLLoader(SceneCache.class.getResource(fxmlFile), bundle);
+        Parent root = fxmlLoader.load();
+        return new LoadedScreen(root, fxmlLoader.getController());
+    }
+}
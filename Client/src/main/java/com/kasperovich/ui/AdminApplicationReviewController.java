@@ -7,8 +7,6 @@ import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
 import com.kasperovich.utils.LoggerUtil;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -22,10 +20,10 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.function.Function;
 
 /**
  * Controller for the admin application review dashboard.
@@ -85,37 +83,18 @@ public class AdminApplicationReviewController extends BaseController {
     @Setter
     private UserDTO user;
     
-    private final ObservableList<ScholarshipApplicationDTO> applicationsList = FXCollections.observableArrayList();
+    private final PagedDataSource<ScholarshipApplicationDTO> applications = new PagedDataSource<>(
+            (request, onLoaded, onFailed) -> backgroundTasks.run(
+                    () -> getClientConnection().getApplicationsPage(request), onLoaded, onFailed),
+            false);
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
     
-    /**
-     * Sets the applications list and updates the UI.
-     * 
-     * @param applications the list of applications to set
-     */
-    public void setApplications(ArrayList<ScholarshipApplicationDTO> applications) {
-        applicationsList.clear();
-        if (applications != null) {
-            applicationsList.addAll(applications);
-        }
-        
-        // Update the table if it's already initialized
-        if (applicationsTable != null && statusFilterComboBox != null && statusFilterComboBox.getValue() != null) {
-            filterApplications();
-        } else if (applicationsTable != null) {
-            // If filter is not initialized yet, just show all applications
-            applicationsTable.setItems(applicationsList);
-        }
-        
-        logger.info("Applications set: {}", (applications != null ? applications.size() : 0));
-    }
-    
     @Override
     public void initializeData() {
         setupUIComponents();
         
-        if (getClientConnection() != null && applicationsList.isEmpty()) {
-            loadApplications();
+        if (getClientConnection() != null) {
+            applications.reload();
         }
         
         updateTexts();
@@ -125,31 +104,40 @@ public class AdminApplicationReviewController extends BaseController {
      * Sets up the UI components.
      */
     private void setupUIComponents() {
-        // Configure table columns
+        // Configure table columns; rows whose page has not arrived yet are null
         idColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
         
         applicantColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getApplicantFullName()));
+                text(cellData.getValue(), ScholarshipApplicationDTO::getApplicantFullName));
         
         programColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getProgramName()));
+                text(cellData.getValue(), ScholarshipApplicationDTO::getProgramName));
         
         periodColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getPeriodName()));
+                text(cellData.getValue(), ScholarshipApplicationDTO::getPeriodName));
         
         submissionDateColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getSubmissionDate() != null ? 
-                        cellData.getValue().getSubmissionDate().format(dateFormatter) : ""));
+                text(cellData.getValue(), application -> application.getSubmissionDate() != null ?
+                        application.getSubmissionDate().format(dateFormatter) : ""));
         
         statusColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getStatus()));
+                text(cellData.getValue(), ScholarshipApplicationDTO::getStatus));
         
         reviewerColumn.setCellValueFactory(cellData -> 
-                new SimpleStringProperty(cellData.getValue().getReviewerUsername() != null ? 
-                        cellData.getValue().getReviewerUsername() : ""));
+                text(cellData.getValue(), application -> application.getReviewerUsername() != null ? 
+                        application.getReviewerUsername() : ""));
         
-        // Set up the table
-        applicationsTable.setItems(applicationsList);
+        // Set up the table; sorting and filtering are done by the server
+        applications.bind(applicationsTable, Map.of(
+                idColumn, "id",
+                applicantColumn, "applicant",
+                programColumn, "program",
+                periodColumn, "period",
+                submissionDateColumn, "submissionDate",
+                statusColumn, "status",
+                reviewerColumn, "reviewer"));
+        applications.setOnFailed(e ->
+                AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage()));
         
         // Set up status filter
         statusFilterComboBox.getItems().addAll(
@@ -179,17 +167,22 @@ public class AdminApplicationReviewController extends BaseController {
     }
     
     /**
-     * Loads applications from the server.
+     * Gets the text of a cell, which is empty while the row is still loading.
+     *
+     * @param application the row, or null if its page has not arrived yet
+     * @param value extracts the text from the row
+     * @return the cell value
+     */
+    private static SimpleStringProperty text(ScholarshipApplicationDTO application,
+                                             Function<ScholarshipApplicationDTO, String> value) {
+        return new SimpleStringProperty(application != null ? value.apply(application) : "");
+    }
+    
+    /**
+     * Fetches the applications shown in the table again, after they may have changed.
      */
-    private void loadApplications() {
-        try {
-            List<ScholarshipApplicationDTO> applications = getClientConnection().getAllApplications();
-            applicationsList.clear();
-            applicationsList.addAll(applications);
-            filterApplications();
-        } catch (Exception e) {
-            AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage());
-        }
+    private void refreshApplications() {
+        applications.refresh();
     }
     
     /**
@@ -197,17 +190,16 @@ public class AdminApplicationReviewController extends BaseController {
      */
     private void filterApplications() {
         String filter = statusFilterComboBox.getValue();
+        ResourceBundle bundle = LangManager.getBundle();
         
-        if (LangManager.getBundle().getString("application.filter.all").equals(filter)) {
-            applicationsTable.setItems(applicationsList);
+        if (bundle.getString("application.filter.pending").equals(filter)) {
+            applications.setFilter("PENDING");
+        } else if (bundle.getString("application.filter.approved").equals(filter)) {
+            applications.setFilter("APPROVED");
+        } else if (bundle.getString("application.filter.rejected").equals(filter)) {
+            applications.setFilter("REJECTED");
         } else {
-            ObservableList<ScholarshipApplicationDTO> filteredList = FXCollections.observableArrayList();
-            for (ScholarshipApplicationDTO app : applicationsList) {
-                if (filter.equalsIgnoreCase(app.getStatus())) {
-                    filteredList.add(app);
-                }
-            }
-            applicationsTable.setItems(filteredList);
+            applications.setFilter(null);
         }
     }
     
@@ -218,7 +210,7 @@ public class AdminApplicationReviewController extends BaseController {
      */
     @FXML
     private void handleRefresh(ActionEvent event) {
-        loadApplications();
+        refreshApplications();
     }
     
     /**
@@ -268,7 +260,7 @@ public class AdminApplicationReviewController extends BaseController {
             dialogStage.showAndWait();
             
             // Refresh the table after dialog is closed
-            loadApplications();
+            refreshApplications();
             
         } catch (IOException e) {
             AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage());
@@ -304,7 +296,7 @@ public class AdminApplicationReviewController extends BaseController {
                         LangManager.getBundle().getString("application.approve.success"));
                 
                 // Refresh the table
-                loadApplications();
+                refreshApplications();
             } catch (Exception e) {
                 AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage());
             }
@@ -340,7 +332,7 @@ public class AdminApplicationReviewController extends BaseController {
                         LangManager.getBundle().getString("application.reject.success"));
                 
                 // Refresh the table
-                loadApplications();
+                refreshApplications();
             } catch (Exception e) {
                 AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage());
             }
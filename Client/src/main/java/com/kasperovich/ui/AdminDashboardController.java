@@ -8,6 +8,7 @@ import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
 import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
 import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
+import com.kasperovich.operations.SceneCache;
 import com.kasperovich.utils.LoggerUtil;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -25,13 +26,13 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller for the admin dashboard screen.
  */
 public class AdminDashboardController extends BaseController {
     private static final Logger logger = LoggerUtil.getLogger(AdminDashboardController.class);
+    private static final int RECENT_APPLICATIONS_SHOWN = 5;
     
     @FXML
     private Label userNameLabel;
@@ -97,14 +98,15 @@ public class AdminDashboardController extends BaseController {
     @Getter
     private List<ScholarshipProgramDTO> scholarshipPrograms;
     
-    @Getter
-    private List<ScholarshipApplicationDTO> applications;
-    
     @Getter
     private List<BudgetDTO> budgets;
     
+    private List<ScholarshipApplicationDTO> recentApplications;
+    
     private ObservableList<ActivityDTO> activityData = FXCollections.observableArrayList();
     
+    private boolean loadErrorShown;
+    
     /**
      * Initializes the controller.
      */
@@ -143,6 +145,17 @@ public class AdminDashboardController extends BaseController {
         
         updateTexts();
         
+        // Admins move between the dashboard and these screens all day
+        SceneCache.getInstance().preload(
+            "/fxml/admin_application_review.fxml",
+            "/fxml/user_management_screen.fxml",
+            "/fxml/admin_scholarship_programs_screen.fxml",
+            "/fxml/fund_allocation_screen.fxml",
+            "/fxml/academic_period_management.fxml",
+            "/fxml/admin_reports_screen.fxml",
+            "/fxml/profile_screen.fxml"
+        );
+        
         logger.info("Admin dashboard initialized for user: {}", user != null ? user.getUsername() : "unknown");
     }
     
@@ -156,27 +169,58 @@ public class AdminDashboardController extends BaseController {
     
     /**
      * Loads dashboard data from the server.
+     * The three loads are independent and run in the background; each card is filled in
+     * as soon as its data arrives, and shows a placeholder until then.
      */
     private void loadDashboardData() {
-        try {
-            // Load scholarship programs
-            scholarshipPrograms = getClientConnection().getScholarshipPrograms();
-            
-            // Load applications
-            applications = getClientConnection().getAllApplications();
-            
-            // Load budgets
-            budgets = getClientConnection().getAllBudgets();
-            
-            // Update UI with counts
-            updateDashboardCounts();
-            
-            // Update recent activity
-            updateRecentActivity();
-            
-            logger.info("Admin dashboard data loaded successfully");
-        } catch (Exception e) {
-            logger.error("Error loading admin dashboard data", e);
+        String loading = LangManager.getBundle().getString("dashboard.loading");
+        activeProgramsCount.setText(loading);
+        pendingApplicationsCount.setText(loading);
+        totalAllocatedAmount.setText(loading);
+        updateRecentActivity();
+        
+        backgroundTasks.run(
+            () -> getClientConnection().getScholarshipPrograms(),
+            programs -> {
+                scholarshipPrograms = programs;
+                updateActiveProgramsCount();
+                updateRecentActivity();
+            },
+            e -> handleLoadError(activeProgramsCount, e)
+        );
+        
+        // Only the latest applications are needed here, not the whole list
+        backgroundTasks.run(
+            () -> getClientConnection().getRecentActivity(RECENT_APPLICATIONS_SHOWN),
+            activity -> {
+                recentApplications = activity.getRecentApplications();
+                pendingApplicationsCount.setText(String.valueOf(activity.getPendingCount()));
+                updateRecentActivity();
+            },
+            e -> handleLoadError(pendingApplicationsCount, e)
+        );
+        
+        backgroundTasks.run(
+            () -> getClientConnection().getAllBudgets(),
+            loadedBudgets -> {
+                budgets = loadedBudgets;
+                updateTotalAllocatedAmount();
+                updateRecentActivity();
+            },
+            e -> handleLoadError(totalAllocatedAmount, e)
+        );
+    }
+    
+    /**
+     * Marks a card whose data could not be loaded, and reports the first such error.
+     *
+     * @param card the label of the card
+     * @param e the error
+     */
+    private void handleLoadError(Label card, Throwable e) {
+        card.setText("-");
+        if (!loadErrorShown) {
+            loadErrorShown = true;
             AlertManager.showErrorAlert(
                 LangManager.getBundle().getString("error.title"),
                 LangManager.getBundle().getString("dashboard.error.loading_data") + ": " + e.getMessage()
@@ -185,7 +229,7 @@ public class AdminDashboardController extends BaseController {
     }
     
     /**
-     * Updates the recent activity table with data.
+     * Updates the recent activity table with the data loaded so far.
      */
     private void updateRecentActivity() {
         // Clear existing data
@@ -198,17 +242,11 @@ public class AdminDashboardController extends BaseController {
             LangManager.getBundle().getString("activity.admin.login")
         ));
         
-        // Add recent application activities
-        if (applications != null && !applications.isEmpty()) {
-            // Sort applications by submission date (newest first)
-            applications.sort((a1, a2) -> a2.getSubmissionDate().compareTo(a1.getSubmissionDate()));
-            
-            // Add up to 5 most recent applications
-            int count = Math.min(applications.size(), 5);
-            for (int i = 0; i < count; i++) {
-                ScholarshipApplicationDTO app = applications.get(i);
+        // Add recent application activities, already newest first and limited by the server
+        if (recentApplications != null) {
+            for (ScholarshipApplicationDTO app : recentApplications) {
                 activityData.add(new ActivityDTO(
-                    app.getSubmissionDate(),
+                    app.getLastModified() != null ? app.getLastModified() : app.getSubmissionDate(),
                     LangManager.getBundle().getString("activity.application"),
                     String.format(
                         LangManager.getBundle().getString("activity.new.application"),
@@ -265,10 +303,9 @@ public class AdminDashboardController extends BaseController {
     }
     
     /**
-     * Updates the dashboard counts based on loaded data.
+     * Updates the active programs count from the loaded programs.
      */
-    private void updateDashboardCounts() {
-        // Update active programs count
+    private void updateActiveProgramsCount() {
         if (scholarshipPrograms != null) {
             long activeCount = scholarshipPrograms.stream()
                     .filter(ScholarshipProgramDTO::isActive)
@@ -277,18 +314,12 @@ public class AdminDashboardController extends BaseController {
         } else {
             activeProgramsCount.setText("0");
         }
-        
-        // Update pending applications count
-        if (applications != null) {
-            long pendingCount = applications.stream()
-                    .filter(app -> "PENDING".equals(app.getStatus()))
-                    .count();
-            pendingApplicationsCount.setText(String.valueOf(pendingCount));
-        } else {
-            pendingApplicationsCount.setText("0");
-        }
-        
-        // Update total allocated amount
+    }
+    
+    /**
+     * Updates the total allocated amount from the loaded budgets.
+     */
+    private void updateTotalAllocatedAmount() {
         if (budgets != null) {
             BigDecimal totalAllocated = budgets.stream()
                     .map(BudgetDTO::getAllocatedAmount)
@@ -306,17 +337,7 @@ public class AdminDashboardController extends BaseController {
      */
     public void setScholarshipPrograms(List<ScholarshipProgramDTO> scholarshipPrograms) {
         this.scholarshipPrograms = scholarshipPrograms;
-        updateDashboardCounts();
-    }
-    
-    /**
-     * Sets the applications and updates the UI.
-     * 
-     * @param applications the applications
-     */
-    public void setApplications(List<ScholarshipApplicationDTO> applications) {
-        this.applications = applications;
-        updateDashboardCounts();
+        updateActiveProgramsCount();
     }
     
     /**
@@ -326,7 +347,7 @@ public class AdminDashboardController extends BaseController {
      */
     public void setBudgets(ArrayList<BudgetDTO> budgets) {
         this.budgets = budgets;
-        updateDashboardCounts();
+        updateTotalAllocatedAmount();
     }
     
     /**
@@ -439,9 +460,7 @@ public class AdminDashboardController extends BaseController {
                 "/fxml/admin_application_review.fxml",
                 LangManager.getBundle().getString("application.review.title"),
                 getClientConnection(),
-                user,
-                applications,
-                "setApplications"
+                user
             );
             
             logger.debug("Navigated to application review screen from admin dashboard");
@@ -1,13 +1,19 @@
 package com.kasperovich.ui;
 
+import com.kasperovich.commands.toserver.SubmitReportJobCommand;
 import com.kasperovich.config.AlertManager;
+import com.kasperovich.dto.export.ExportType;
 import com.kasperovich.dto.report.ApplicationStatusDTO;
+import com.kasperovich.dto.report.ReportJobState;
+import com.kasperovich.dto.report.ReportJobStatusDTO;
+import com.kasperovich.dto.report.ReportJobType;
 import com.kasperovich.dto.report.ScholarshipDistributionDTO;
 import com.kasperovich.dto.report.UserActivityDTO;
 import com.kasperovich.dto.scholarship.AcademicPeriodDTO;
 import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
 import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleObjectProperty;
@@ -26,11 +32,14 @@ import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
+import java.text.MessageFormat;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Controller for the admin reports screen
@@ -43,6 +52,13 @@ public class AdminReportController extends BaseController {
     @FXML private TableView<Object> reportTable;
     @FXML private Button exportButton;
     @FXML private Button backButton;
+    @FXML private MenuButton fullExportMenuButton;
+    @FXML private MenuItem exportApplicationsItem;
+    @FXML private MenuItem exportAllocationsItem;
+    @FXML private MenuItem exportUsersItem;
+    @FXML private HBox jobStatusBox;
+    @FXML private ProgressBar jobProgressBar;
+    @FXML private Label jobStatusLabel;
     
     private DatePicker startDatePicker;
     private DatePicker endDatePicker;
@@ -51,6 +67,9 @@ public class AdminReportController extends BaseController {
     
     private final ObservableList<Object> reportData = FXCollections.observableArrayList();
     private String currentReportType;
+    private final AtomicLong loadGeneration = new AtomicLong();
+    
+    private static final long JOB_POLL_INTERVAL_MS = 500;
 
     @Override
     public String getFxmlPath() {
@@ -62,6 +81,10 @@ public class AdminReportController extends BaseController {
         // Update UI text elements from resource bundle
         backButton.setText(LangManager.getBundle().getString("button.back"));
         exportButton.setText(LangManager.getBundle().getString("button.export"));
+        fullExportMenuButton.setText(LangManager.getBundle().getString("reports.full_export"));
+        exportApplicationsItem.setText(LangManager.getBundle().getString("reports.full_export.applications"));
+        exportAllocationsItem.setText(LangManager.getBundle().getString("reports.full_export.allocations"));
+        exportUsersItem.setText(LangManager.getBundle().getString("reports.full_export.users"));
         
         // Update report type options
         reportTypeComboBox.setPromptText(LangManager.getBundle().getString("reports.select_type"));
@@ -390,46 +413,121 @@ public class AdminReportController extends BaseController {
     }
     
     /**
-     * Loads report data based on the selected report type and filters
+     * Loads report data based on the selected report type and filters.
+     * The report is generated as a job on the server; its state is polled in the background
+     * so the screen stays responsive, and results of superseded loads are discarded.
      */
     private void loadReportData() {
         reportData.clear();
+        long generation = loadGeneration.incrementAndGet();
+        
+        SubmitReportJobCommand command = buildReportJobCommand();
+        if (command == null) {
+            jobStatusBox.setVisible(false);
+            return;
+        }
+        
+        jobProgressBar.setProgress(0);
+        jobStatusLabel.setText(LangManager.getBundle().getString("reports.job.queued"));
+        jobStatusBox.setVisible(true);
         
+        // Run in background thread
+        Thread poller = new Thread(() -> runReportJob(command, generation), "report-job-poller");
+        poller.setDaemon(true);
+        poller.start();
+    }
+    
+    /**
+     * Builds the report job command from the selected report type and filters
+     * 
+     * @return the command, or null if the filters are not ready
+     */
+    private SubmitReportJobCommand buildReportJobCommand() {
+        if (currentReportType.equals(LangManager.getBundle().getString("reports.type.scholarship_distribution"))) {
+            if (startDatePicker != null && endDatePicker != null) {
+                return new SubmitReportJobCommand(ReportJobType.SCHOLARSHIP_DISTRIBUTION,
+                    startDatePicker.getValue(), endDatePicker.getValue(), null, null);
+            }
+        } else if (currentReportType.equals(LangManager.getBundle().getString("reports.type.application_status"))) {
+            if (programComboBox != null && periodComboBox != null) {
+                Long programId = programComboBox.getValue() != null ? programComboBox.getValue().getId() : null;
+                Long periodId = periodComboBox.getValue() != null ? periodComboBox.getValue().getId() : null;
+                return new SubmitReportJobCommand(ReportJobType.APPLICATION_STATUS, null, null, programId, periodId);
+            }
+        } else if (currentReportType.equals(LangManager.getBundle().getString("reports.type.user_activity"))) {
+            if (startDatePicker != null && endDatePicker != null) {
+                return new SubmitReportJobCommand(ReportJobType.USER_ACTIVITY,
+                    startDatePicker.getValue(), endDatePicker.getValue(), null, null);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Submits a report job and polls it until it finishes, then shows its rows
+     * 
+     * @param command the report job to submit
+     * @param generation the load this job belongs to
+     */
+    private void runReportJob(SubmitReportJobCommand command, long generation) {
         try {
-            if (currentReportType.equals(LangManager.getBundle().getString("reports.type.scholarship_distribution"))) {
-                // Load scholarship distribution report
-                if (startDatePicker != null && endDatePicker != null) {
-                    LocalDate startDate = startDatePicker.getValue();
-                    LocalDate endDate = endDatePicker.getValue();
-                    
-                    List<ScholarshipDistributionDTO> data = clientConnection.getScholarshipDistributionReport(startDate, endDate);
-                    reportData.addAll(data);
-                }
-            } else if (currentReportType.equals(LangManager.getBundle().getString("reports.type.application_status"))) {
-                // Load application status report
-                if (programComboBox != null && periodComboBox != null) {
-                    Long programId = programComboBox.getValue() != null ? programComboBox.getValue().getId() : null;
-                    Long periodId = periodComboBox.getValue() != null ? periodComboBox.getValue().getId() : null;
-                    
-                    List<ApplicationStatusDTO> data = clientConnection.getApplicationStatusReport(programId, periodId);
-                    reportData.addAll(data);
-                }
-            } else if (currentReportType.equals(LangManager.getBundle().getString("reports.type.user_activity"))) {
-                // Load user activity report
-                if (startDatePicker != null && endDatePicker != null) {
-                    LocalDate startDate = startDatePicker.getValue();
-                    LocalDate endDate = endDatePicker.getValue();
-                    
-                    List<UserActivityDTO> data = clientConnection.getUserActivityReport(startDate, endDate);
-                    reportData.addAll(data);
+            ReportJobStatusDTO status = clientConnection.submitReportJob(command);
+            
+            while (status.getState() == ReportJobState.QUEUED || status.getState() == ReportJobState.RUNNING) {
+                if (generation != loadGeneration.get()) {
+                    logger.debug("Report job {} superseded by a newer request", status.getJobId());
+                    return;
                 }
+                ReportJobStatusDTO current = status;
+                Platform.runLater(() -> showJobState(current, generation));
+                Thread.sleep(JOB_POLL_INTERVAL_MS);
+                status = clientConnection.getReportJobStatus(status.getJobId());
+            }
+            
+            if (status.getState() == ReportJobState.FAILED) {
+                throw new IOException(status.getMessage());
             }
+            
+            List<Serializable> rows = clientConnection.fetchReportResult(status.getJobId());
+            Platform.runLater(() -> {
+                if (generation == loadGeneration.get()) {
+                    reportData.setAll(rows);
+                    jobStatusBox.setVisible(false);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (IOException e) {
             logger.error("Error loading report data", e);
-            AlertManager.showErrorAlert(
-                LangManager.getBundle().getString("error.title"),
-                LangManager.getBundle().getString("error.message") + e.getMessage()
-            );
+            Platform.runLater(() -> {
+                if (generation == loadGeneration.get()) {
+                    jobStatusBox.setVisible(false);
+                    AlertManager.showErrorAlert(
+                        LangManager.getBundle().getString("error.title"),
+                        LangManager.getBundle().getString("error.message") + e.getMessage()
+                    );
+                }
+            });
+        }
+    }
+    
+    /**
+     * Shows the state of the current report job; a running job shows an indeterminate bar,
+     * since the server reports only whether the job is queued or running
+     * 
+     * @param status the latest job status
+     * @param generation the load the status belongs to
+     */
+    private void showJobState(ReportJobStatusDTO status, long generation) {
+        if (generation != loadGeneration.get()) {
+            return;
+        }
+        if (status.getState() == ReportJobState.QUEUED) {
+            jobProgressBar.setProgress(0);
+            jobStatusLabel.setText(LangManager.getBundle().getString("reports.job.queued"));
+        } else {
+            jobProgressBar.setProgress(ProgressBar.INDETERMINATE_PROGRESS);
+            jobStatusLabel.setText(LangManager.getBundle().getString("reports.job.running"));
         }
     }
     
@@ -508,6 +606,78 @@ public class AdminReportController extends BaseController {
         }
     }
     
+    /**
+     * Handles the full export of all applications
+     */
+    @FXML
+    private void handleExportApplications() {
+        exportFullData(ExportType.APPLICATIONS, "applications");
+    }
+    
+    /**
+     * Handles the full export of all fund allocations
+     */
+    @FXML
+    private void handleExportAllocations() {
+        exportFullData(ExportType.ALLOCATIONS, "allocations");
+    }
+    
+    /**
+     * Handles the full export of all users
+     */
+    @FXML
+    private void handleExportUsers() {
+        exportFullData(ExportType.USERS, "users");
+    }
+    
+    /**
+     * Exports a complete data set from the server into a CSV file chosen by the user.
+     * Choosing a .csv.gz file requests a gzip-compressed export.
+     * 
+     * @param exportType the data set to export
+     * @param baseName the base of the suggested file name
+     */
+    private void exportFullData(ExportType exportType, String baseName) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle(LangManager.getBundle().getString("reports.full_export"));
+        fileChooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+            new FileChooser.ExtensionFilter("Compressed CSV Files", "*.csv.gz")
+        );
+        fileChooser.setInitialFileName(baseName + "_export.csv");
+        
+        File file = fileChooser.showSaveDialog(reportTable.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        boolean compressed = file.getName().endsWith(".gz");
+        fullExportMenuButton.setDisable(true);
+        
+        // Run in background thread
+        new Thread(() -> {
+            try {
+                long rows = clientConnection.exportData(exportType, compressed, file.toPath());
+                
+                Platform.runLater(() -> {
+                    fullExportMenuButton.setDisable(false);
+                    AlertManager.showInformationAlert(
+                        LangManager.getBundle().getString("success.title"),
+                        MessageFormat.format(LangManager.getBundle().getString("reports.full_export.success"), rows)
+                    );
+                });
+            } catch (IOException e) {
+                logger.error("Error exporting {}", exportType, e);
+                Platform.runLater(() -> {
+                    fullExportMenuButton.setDisable(false);
+                    AlertManager.showErrorAlert(
+                        LangManager.getBundle().getString("error.title"),
+                        LangManager.getBundle().getString("reports.export.error") + ": " + e.getMessage()
+                    );
+                });
+            }
+        }).start();
+    }
+    
     /**
      * Handles the back button action
      */
@@ -0,0 +1,98 @@
+package com.kasperovich.ui;
+
+import com.kasperovich.clientconnection.ClientConnection;
+import com.kasperovich.commands.fromserver.ApplicationChangesResponse;
+import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps an application list in step with the server by fetching only the applications that
+ * changed since the previous refresh. Changes are merged into the list in place, so a table
+ * showing it keeps its selection and only redraws the rows that changed.
+ */
+public class ApplicationListSync {
+
+    private final List<ScholarshipApplicationDTO> applications;
+    private LocalDateTime watermark;
+
+    /**
+     * Creates a synchronizer for a list.
+     *
+     * @param applications the list to keep up to date, typically an ObservableList shown in a table
+     */
+    public ApplicationListSync(List<ScholarshipApplicationDTO> applications) {
+        this.applications = applications;
+    }
+
+    /**
+     * Replaces the list contents with applications loaded in full.
+     * The next refresh asks for the changes after the latest modification among them.
+     *
+     * @param loaded the loaded applications
+     */
+    public void reset(List<ScholarshipApplicationDTO> loaded) {
+        applications.clear();
+        applications.addAll(loaded);
+        watermark = loaded.stream()
+                .map(ScholarshipApplicationDTO::getLastModified)
+                .filter(lastModified -> lastModified != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    /**
+     * Fetches the changes since the previous refresh and merges them into the list.
+     * Without a watermark the server returns all applications.
+     *
+     * @param connection the connection to the server
+     * @return the number of applications added, replaced or removed
+     * @throws Exception if the changes cannot be fetched
+     */
+    public int refresh(ClientConnection connection) throws Exception {
+        ApplicationChangesResponse changes = connection.getApplicationChangesSince(watermark);
+        int merged = merge(applications, changes);
+        watermark = changes.getWatermark();
+        return merged;
+    }
+
+    /**
+     * Merges changes into an application list: deleted applications are removed, changed ones
+     * replace the entry with the same ID, and new ones are appended.
+     *
+     * @param applications the list to update
+     * @param changes the changes returned by the server
+     * @return the number of applications added, replaced or removed
+     */
+    static int merge(List<ScholarshipApplicationDTO> applications, ApplicationChangesResponse changes) {
+        int count = 0;
+        if (!changes.getRemovedIds().isEmpty()) {
+            Set<Long> removedIds = new HashSet<>(changes.getRemovedIds());
+            int before = applications.size();
+            applications.removeIf(application -> removedIds.contains(application.getId()));
+            count += before - applications.size();
+        }
+
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < applications.size(); i++) {
+            positions.put(applications.get(i).getId(), i);
+        }
+        for (ScholarshipApplicationDTO changed : changes.getChanged()) {
+            Integer position = positions.get(changed.getId());
+            if (position == null) {
+                positions.put(changed.getId(), applications.size());
+                applications.add(changed);
+                count++;
+            } else if (!changed.equals(applications.get(position))) {
+                applications.set(position, changed);
+                count++;
+            }
+        }
+        return count;
+    }
+}
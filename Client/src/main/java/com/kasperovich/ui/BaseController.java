@@ -4,6 +4,7 @@ import com.kasperovich.clientconnection.ClientConnection;
 import com.kasperovich.config.Connectionable;
 import com.kasperovich.dto.auth.UserDTO;
 import com.kasperovich.i18n.LangManager;
+import com.kasperovich.operations.BackgroundTasks;
 import com.kasperovich.operations.ChangeScene;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -17,6 +18,8 @@ import java.util.Locale;
 public abstract class BaseController implements Connectionable {
     protected ClientConnection clientConnection;
     protected UserDTO user;
+    // Loads started by this screen, cancelled when the user leaves it
+    protected final BackgroundTasks backgroundTasks = new BackgroundTasks();
 
     // Each controller must provide its FXML file path
     public abstract String getFxmlPath();
@@ -44,4 +47,12 @@ public abstract class BaseController implements Connectionable {
      */
     public void initializeData() {}
 
+    /**
+     * Called when the screen is replaced by another one. Cancels the loads still in flight.
+     * Override in subclasses that hold other resources, and call this implementation.
+     */
+    public void dispose() {
+        backgroundTasks.cancelAll();
+    }
+
 }
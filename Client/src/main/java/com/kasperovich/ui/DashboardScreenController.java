@@ -6,6 +6,7 @@ import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
 import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
 import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
+import com.kasperovich.operations.SceneCache;
 import com.kasperovich.utils.LoggerUtil;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
@@ -84,6 +85,14 @@ public class DashboardScreenController extends BaseController {
         }
         
         updateTexts();
+        
+        // The screens reachable from the sidebar
+        SceneCache.getInstance().preload(
+            "/fxml/scholarship_programs_screen.fxml",
+            "/fxml/scholarship_applications_screen.fxml",
+            "/fxml/academic_performance_report_screen.fxml",
+            "/fxml/profile_screen.fxml"
+        );
     }
 
     @Override
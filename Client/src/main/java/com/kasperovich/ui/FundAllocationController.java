@@ -2,6 +2,9 @@ package com.kasperovich.ui;
 
 import com.kasperovich.config.AlertManager;
 import com.kasperovich.dto.auth.UserDTO;
+import com.kasperovich.dto.scholarship.AllocationPlanDTO;
+import com.kasperovich.dto.scholarship.AllocationPlanEntryDTO;
+import com.kasperovich.dto.scholarship.AllocationStrategy;
 import com.kasperovich.dto.scholarship.BudgetDTO;
 import com.kasperovich.dto.scholarship.FundAllocationDTO;
 import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
@@ -21,11 +24,13 @@ import lombok.Setter;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
+import java.text.MessageFormat;
 import java.text.NumberFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controller for the fund allocation screen.
@@ -86,6 +91,12 @@ public class FundAllocationController extends BaseController {
     @FXML
     private Button allocateButton;
 
+    @FXML
+    private ComboBox<AllocationStrategy> strategyComboBox;
+
+    @FXML
+    private Button distributeButton;
+
     @FXML
     private ComboBox<String> filterComboBox;
 
@@ -197,6 +208,24 @@ public class FundAllocationController extends BaseController {
             }
         });
 
+        // Setup allocation strategy combo box
+        strategyComboBox.setItems(FXCollections.observableArrayList(AllocationStrategy.values()));
+        strategyComboBox.setConverter(new StringConverter<AllocationStrategy>() {
+            @Override
+            public String toString(AllocationStrategy strategy) {
+                if (strategy == null) {
+                    return null;
+                }
+                return LangManager.getBundle().getString("fund.allocation.strategy." + strategy.name().toLowerCase());
+            }
+
+            @Override
+            public AllocationStrategy fromString(String string) {
+                return null; // Not needed for combo box
+            }
+        });
+        strategyComboBox.getSelectionModel().selectFirst();
+
         // Setup filter combo box
         filterComboBox.setItems(FXCollections.observableArrayList(
             LangManager.getBundle().getString("fund.allocation.filter.all"),
@@ -324,61 +353,82 @@ public class FundAllocationController extends BaseController {
 
     /**
      * Loads data from the server.
+     * Budgets and programs are loaded in the background at the same time;
+     * the allocations are loaded once the budgets have arrived.
      */
     private void loadData() {
-        try {
-            // Load active budgets
-            List<BudgetDTO> activeBudgets = getClientConnection().getAllBudgets();
-            budgets.clear();
-            budgets.addAll(activeBudgets);
-            
-            if (!budgets.isEmpty()) {
-                budgetComboBox.getSelectionModel().selectFirst();
-            }
-            
-            // Load scholarship programs
-            List<ScholarshipProgramDTO> scholarshipPrograms = getClientConnection().getScholarshipPrograms();
-            programs.clear();
-            programs.addAll(scholarshipPrograms);
-            
-            if (!programs.isEmpty()) {
-                programComboBox.getSelectionModel().selectFirst();
-            }
-            
-            // Load all allocations initially
-            loadAllAllocations();
-            
-            logger.debug("Loaded {} budgets and {} programs", budgets.size(), programs.size());
-        } catch (Exception e) {
-            logger.error("Error loading data", e);
-            AlertManager.showErrorAlert(
-                LangManager.getBundle().getString("error.title"),
-                "Error loading data: " + e.getMessage()
-            );
-        }
+        // Load active budgets
+        backgroundTasks.run(
+            () -> getClientConnection().getAllBudgets(),
+            activeBudgets -> {
+                budgets.clear();
+                budgets.addAll(activeBudgets);
+                
+                if (!budgets.isEmpty()) {
+                    budgetComboBox.getSelectionModel().selectFirst();
+                }
+                
+                // Load all allocations initially
+                loadAllAllocations();
+                
+                logger.debug("Loaded {} budgets", budgets.size());
+            },
+            this::showLoadError
+        );
+        
+        // Load scholarship programs
+        backgroundTasks.run(
+            () -> getClientConnection().getScholarshipPrograms(),
+            scholarshipPrograms -> {
+                programs.clear();
+                programs.addAll(scholarshipPrograms);
+                
+                if (!programs.isEmpty()) {
+                    programComboBox.getSelectionModel().selectFirst();
+                }
+                
+                logger.debug("Loaded {} programs", programs.size());
+            },
+            this::showLoadError
+        );
     }
 
     /**
-     * Loads all fund allocations.
+     * Shows an error for data that could not be loaded.
+     *
+     * @param e the error
+     */
+    private void showLoadError(Throwable e) {
+        AlertManager.showErrorAlert(
+            LangManager.getBundle().getString("error.title"),
+            "Error loading data: " + e.getMessage()
+        );
+    }
+
+    /**
+     * Loads all fund allocations in the background.
      */
     private void loadAllAllocations() {
-        try {
-            allocations.clear();
-            
-            // Load allocations for each budget
-            for (BudgetDTO budget : budgets) {
-                List<FundAllocationDTO> budgetAllocations = getClientConnection().getAllocationsByBudget(budget.getId());
-                allocations.addAll(budgetAllocations);
-            }
-            
-            logger.debug("Loaded {} allocations", allocations.size());
-        } catch (Exception e) {
-            logger.error("Error loading allocations", e);
-            AlertManager.showErrorAlert(
+        List<Long> budgetIds = budgets.stream().map(BudgetDTO::getId).toList();
+        backgroundTasks.run(
+            () -> {
+                // Load allocations for each budget
+                List<FundAllocationDTO> loaded = new ArrayList<>();
+                for (Long budgetId : budgetIds) {
+                    loaded.addAll(getClientConnection().getAllocationsByBudget(budgetId));
+                }
+                return loaded;
+            },
+            loaded -> {
+                allocations.clear();
+                allocations.addAll(loaded);
+                logger.debug("Loaded {} allocations", allocations.size());
+            },
+            e -> AlertManager.showErrorAlert(
                 LangManager.getBundle().getString("error.title"),
                 "Error loading allocations: " + e.getMessage()
-            );
-        }
+            )
+        );
     }
 
     /**
@@ -522,6 +572,112 @@ public class FundAllocationController extends BaseController {
         }
     }
 
+    /**
+     * Handles the distribute funds button action.
+     * Requests a plan that splits the entered amount, or the whole remaining budget when no amount
+     * is entered, across all active programs and applies it after confirmation.
+     */
+    @FXML
+    private void handleDistributeFunds() {
+        try {
+            BudgetDTO selectedBudget = budgetComboBox.getValue();
+            if (selectedBudget == null) {
+                AlertManager.showWarningAlert(
+                    LangManager.getBundle().getString("warning.title"),
+                    LangManager.getBundle().getString("fund.allocation.error.select_budget")
+                );
+                return;
+            }
+            
+            BigDecimal amount = null;
+            String amountText = amountTextField.getText().trim();
+            if (!amountText.isEmpty()) {
+                try {
+                    amount = new BigDecimal(amountText);
+                } catch (NumberFormatException e) {
+                    amount = BigDecimal.ZERO;
+                }
+                if (amount.compareTo(BigDecimal.ZERO) <= 0) {
+                    AlertManager.showWarningAlert(
+                        LangManager.getBundle().getString("warning.title"),
+                        LangManager.getBundle().getString("fund.allocation.error.invalid_amount")
+                    );
+                    return;
+                }
+            }
+            
+            AllocationPlanDTO plan = getClientConnection().planAllocations(
+                selectedBudget.getId(),
+                strategyComboBox.getValue(),
+                amount
+            );
+            if (plan.getTotalProposed().compareTo(BigDecimal.ZERO) <= 0) {
+                AlertManager.showInformationAlert(
+                    LangManager.getBundle().getString("fund.allocation.plan.title"),
+                    LangManager.getBundle().getString("fund.allocation.plan.nothing")
+                );
+                return;
+            }
+            
+            if (!confirmPlan(plan)) {
+                return;
+            }
+            
+            List<FundAllocationDTO> created = getClientConnection().applyAllocationPlan(plan, notesTextArea.getText());
+            
+            AlertManager.showInformationAlert(
+                LangManager.getBundle().getString("success.title"),
+                MessageFormat.format(
+                    LangManager.getBundle().getString("fund.allocation.plan.success"), created.size())
+            );
+            
+            loadData();
+            amountTextField.clear();
+            notesTextArea.clear();
+            
+            logger.info("Distributed {} across {} programs from budget {}",
+                CURRENCY_FORMAT.format(plan.getTotalProposed()),
+                created.size(),
+                selectedBudget.getId());
+        } catch (Exception e) {
+            logger.error("Error distributing funds", e);
+            AlertManager.showErrorAlert(
+                LangManager.getBundle().getString("error.title"),
+                "Error distributing funds: " + e.getMessage()
+            );
+        }
+    }
+
+    /**
+     * Shows the proposed allocations and asks the user to confirm them.
+     *
+     * @param plan the proposed plan
+     * @return true if the user confirmed the plan
+     */
+    private boolean confirmPlan(AllocationPlanDTO plan) {
+        StringBuilder details = new StringBuilder();
+        for (AllocationPlanEntryDTO entry : plan.getEntries()) {
+            if (entry.getProposedAmount().compareTo(BigDecimal.ZERO) > 0) {
+                details.append(entry.getProgramName())
+                    .append(": ")
+                    .append(CURRENCY_FORMAT.format(entry.getProposedAmount()))
+                    .append(" / ")
+                    .append(CURRENCY_FORMAT.format(entry.getDemandAmount()))
+                    .append('\n');
+            }
+        }
+        
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
+        alert.setTitle(LangManager.getBundle().getString("fund.allocation.plan.title"));
+        alert.setHeaderText(MessageFormat.format(
+            LangManager.getBundle().getString("fund.allocation.plan.header"),
+            CURRENCY_FORMAT.format(plan.getTotalProposed()),
+            CURRENCY_FORMAT.format(plan.getTotalDemand())));
+        alert.setContentText(details.toString());
+        Optional<ButtonType> result = alert.showAndWait();
+        return result.isPresent() && result.get() == ButtonType.OK;
+    }
+
     /**
      * Handles the refresh button action.
      */
@@ -695,6 +851,10 @@ public class FundAllocationController extends BaseController {
 
         // Update form labels and buttons
         allocateButton.setText(LangManager.getBundle().getString("fund.allocation.allocate_funds"));
+        distributeButton.setText(LangManager.getBundle().getString("fund.allocation.distribute"));
+        AllocationStrategy currentStrategy = strategyComboBox.getValue();
+        strategyComboBox.setItems(FXCollections.observableArrayList(AllocationStrategy.values()));
+        strategyComboBox.setValue(currentStrategy);
         refreshButton.setText(LangManager.getBundle().getString("fund.allocation.refresh"));
         
         // Update filter ComboBox
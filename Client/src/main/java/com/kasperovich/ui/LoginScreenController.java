@@ -5,6 +5,7 @@ import com.kasperovich.dto.auth.UserDTO;
 import com.kasperovich.entities.UserRole;
 import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
+import com.kasperovich.operations.SceneCache;
 import com.kasperovich.utils.LoggerUtil;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
@@ -45,6 +46,9 @@ public class LoginScreenController extends BaseController {
         // Add enter key event handler to password field
         passwordField.setOnAction(this::handleLoginAction);
         updateTexts();
+        
+        // Either dashboard follows a successful login
+        SceneCache.getInstance().preload("/fxml/admin_dashboard_screen.fxml", "/fxml/dashboard_screen.fxml");
     }
     
     /**
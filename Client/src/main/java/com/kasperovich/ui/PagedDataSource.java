@@ -0,0 +1,292 @@
+package com.kasperovich.ui;
+
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
+import javafx.collections.ObservableListBase;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * A read-only list backed by a paged server query, meant to be the items of a {@link TableView}.
+ * The list has the size of the whole query result but only holds the pages the table has read,
+ * up to a fixed number of most recently used ones. A row whose page has not arrived yet is null;
+ * reading it requests the page, and the rows are replaced once the page arrives. Since a table
+ * only reads the rows it shows, scrolling fetches pages as they come into view.
+ * <p>
+ * Sorting, filtering and searching are done by the server: changing them starts a new query
+ * instead of walking the rows on the client.
+ *
+ * @param <T> the row type
+ */
+public class PagedDataSource<T extends Serializable> extends ObservableListBase<T> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int DEFAULT_MAX_PAGES = 10;
+
+    /**
+     * Fetches a page in the background.
+     *
+     * @param <T> the row type
+     */
+    @FunctionalInterface
+    public interface PageLoader<T extends Serializable> {
+        /**
+         * Starts fetching a page. Exactly one of the callbacks must be called, on the JavaFX application thread.
+         *
+         * @param request the page to fetch
+         * @param onLoaded receives the page
+         * @param onFailed receives the error if the page cannot be fetched
+         */
+        void load(PageRequest request, Consumer<PageDTO<T>> onLoaded, Consumer<Throwable> onFailed);
+    }
+
+    private final PageLoader<T> loader;
+    private final boolean ascendingByDefault;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> pending = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private Consumer<Throwable> onFailed = e -> {};
+
+    private int size;
+    private int generation;
+    private String sortField;
+    private boolean ascending;
+    private String filter;
+    private String search;
+
+    /**
+     * Creates a data source with the default page size and page cache size.
+     *
+     * @param loader fetches the pages
+     * @param ascendingByDefault the direction of the default order, used when no sort field is set
+     */
+    public PagedDataSource(PageLoader<T> loader, boolean ascendingByDefault) {
+        this(loader, ascendingByDefault, DEFAULT_PAGE_SIZE, DEFAULT_MAX_PAGES);
+    }
+
+    /**
+     * Creates a data source.
+     *
+     * @param loader fetches the pages
+     * @param ascendingByDefault the direction of the default order, used when no sort field is set
+     * @param pageSize the number of rows per page
+     * @param maxPages the number of pages to keep; the least recently read page is dropped first
+     */
+    public PagedDataSource(PageLoader<T> loader, boolean ascendingByDefault, int pageSize, int maxPages) {
+        this.loader = loader;
+        this.ascendingByDefault = ascendingByDefault;
+        this.ascending = ascendingByDefault;
+        this.pageSize = pageSize;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * Sets the handler called on the JavaFX application thread when a page cannot be fetched.
+     * The rows of that page stay empty until the next reload or refresh.
+     *
+     * @param onFailed the handler
+     */
+    public void setOnFailed(Consumer<Throwable> onFailed) {
+        this.onFailed = onFailed;
+    }
+
+    /**
+     * Makes this list the items of a table and lets the table's column headers sort it on the server.
+     * Columns without a sort field cannot be sorted.
+     *
+     * @param table the table
+     * @param sortFields the sort field of each sortable column
+     */
+    public void bind(TableView<T> table, Map<TableColumn<T, ?>, String> sortFields) {
+        for (TableColumn<T, ?> column : table.getColumns()) {
+            column.setSortable(sortFields.containsKey(column));
+        }
+        table.setSortPolicy(t -> {
+            TableColumn<T, ?> column = t.getSortOrder().isEmpty() ? null : t.getSortOrder().get(0);
+            if (column == null) {
+                setSort(null, ascendingByDefault);
+            } else {
+                setSort(sortFields.get(column), column.getSortType() == TableColumn.SortType.ASCENDING);
+            }
+            return true;
+        });
+        table.setItems(this);
+    }
+
+    /**
+     * Sets the server-side sort order, and reloads if it changed.
+     *
+     * @param sortField the field to sort by, or null for the default order
+     * @param ascending whether to sort in ascending order
+     */
+    public void setSort(String sortField, boolean ascending) {
+        if (!Objects.equals(this.sortField, sortField) || this.ascending != ascending) {
+            this.sortField = sortField;
+            this.ascending = ascending;
+            reload();
+        }
+    }
+
+    /**
+     * Sets the server-side filter, and reloads if it changed.
+     *
+     * @param filter the filter, or null for no filter
+     */
+    public void setFilter(String filter) {
+        if (!Objects.equals(this.filter, filter)) {
+            this.filter = filter;
+            reload();
+        }
+    }
+
+    /**
+     * Sets the server-side search text, and reloads if it changed.
+     *
+     * @param search the search text, or null or blank for no search
+     */
+    public void setSearch(String search) {
+        String normalized = search == null || search.isBlank() ? null : search.trim();
+        if (!Objects.equals(this.search, normalized)) {
+            this.search = normalized;
+            reload();
+        }
+    }
+
+    /**
+     * Drops all pages and runs the query again from the first page.
+     */
+    public void reload() {
+        generation++;
+        pages.clear();
+        pending.clear();
+        failed.clear();
+        request(0);
+    }
+
+    /**
+     * Fetches the pages currently held again, for example after rows were changed on the server.
+     * The old rows stay visible until their page arrives.
+     */
+    public void refresh() {
+        generation++;
+        pending.clear();
+        failed.clear();
+        if (pages.isEmpty()) {
+            request(0);
+        } else {
+            for (Integer index : List.copyOf(pages.keySet())) {
+                request(index);
+            }
+        }
+    }
+
+    /**
+     * Gets a row, requesting its page if it has not been fetched.
+     *
+     * @param index the row index
+     * @return the row, or null until its page has arrived
+     */
+    @Override
+    public T get(int index) {
+        Objects.checkIndex(index, size);
+        int pageIndex = index / pageSize;
+        List<T> page = pages.get(pageIndex);
+        if (page == null) {
+            request(pageIndex);
+            // A loader that completes immediately has stored the page already
+            page = pages.get(pageIndex);
+            if (page == null) {
+                return null;
+            }
+        }
+        int offset = index - pageIndex * pageSize;
+        return offset < page.size() ? page.get(offset) : null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of pages held.
+     *
+     * @return the number of pages
+     */
+    int getCachedPageCount() {
+        return pages.size();
+    }
+
+    private void request(int pageIndex) {
+        if (failed.contains(pageIndex) || !pending.add(pageIndex)) {
+            return;
+        }
+        int requestGeneration = generation;
+        PageRequest request = new PageRequest(pageIndex * pageSize, pageSize, sortField, ascending, filter, search);
+        loader.load(request,
+                page -> pageLoaded(requestGeneration, pageIndex, page),
+                e -> pageFailed(requestGeneration, pageIndex, e));
+    }
+
+    private void pageLoaded(int requestGeneration, int pageIndex, PageDTO<T> page) {
+        if (requestGeneration != generation) {
+            return; // Answer to a query that was replaced in the meantime
+        }
+        pending.remove(pageIndex);
+        List<T> rows = page.getItems();
+        int total = (int) Math.min(page.getTotalCount(), Integer.MAX_VALUE);
+
+        if (total != size) {
+            // The result changed size; pages fetched before may be shifted, so keep only this one
+            int oldSize = size;
+            pages.clear();
+            pages.put(pageIndex, rows);
+            size = total;
+            beginChange();
+            if (oldSize > 0) {
+                nextRemove(0, Collections.nCopies(oldSize, null));
+            }
+            if (total > 0) {
+                nextAdd(0, total);
+            }
+            endChange();
+            return;
+        }
+
+        List<T> oldRows = pages.put(pageIndex, rows);
+        int from = pageIndex * pageSize;
+        int to = Math.min(size, from + Math.max(rows.size(), oldRows != null ? oldRows.size() : 0));
+        if (from < to) {
+            beginChange();
+            for (int i = from; i < to; i++) {
+                int offset = i - from;
+                nextSet(i, oldRows != null && offset < oldRows.size() ? oldRows.get(offset) : null);
+            }
+            endChange();
+        }
+    }
+
+    private void pageFailed(int requestGeneration, int pageIndex, Throwable e) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        pending.remove(pageIndex);
+        failed.add(pageIndex);
+        onFailed.accept(e);
+    }
+}
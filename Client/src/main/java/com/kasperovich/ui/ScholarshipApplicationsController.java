@@ -53,6 +53,9 @@ public class ScholarshipApplicationsController extends BaseController {
     @FXML
     private Button viewDetailsButton;
     
+    @FXML
+    private Button refreshButton;
+    
     @Setter
     private UserDTO user;
 
@@ -62,7 +65,8 @@ public class ScholarshipApplicationsController extends BaseController {
         this.applications = applications;
     }
 
-    private ObservableList<ScholarshipApplicationDTO> observableApplications = FXCollections.observableArrayList();
+    private final ObservableList<ScholarshipApplicationDTO> observableApplications = FXCollections.observableArrayList();
+    private final ApplicationListSync applicationSync = new ApplicationListSync(observableApplications);
     
     /**
      * Initializes the controller.
@@ -101,7 +105,7 @@ public class ScholarshipApplicationsController extends BaseController {
         
         // Load applications data
         if (applications != null) {
-            observableApplications.setAll(applications);
+            applicationSync.reset(applications);
             applicationsTable.setItems(observableApplications);
             
             // Auto-select the first application if available
@@ -123,6 +127,23 @@ public class ScholarshipApplicationsController extends BaseController {
         navigateToDashboard(event);
     }
     
+    /**
+     * Handles the refresh button action.
+     * Only the applications that changed since the last refresh are fetched.
+     *
+     * @param event The action event
+     */
+    @FXML
+    public void handleRefreshAction(ActionEvent event) {
+        try {
+            int changed = applicationSync.refresh(getClientConnection());
+            logger.info("Refreshed applications, {} changed", changed);
+        } catch (Exception e) {
+            logger.error("Error refreshing applications", e);
+            AlertManager.showErrorAlert(LangManager.getBundle().getString("error"), e.getMessage());
+        }
+    }
+    
     /**
      * Handles the view details button action.
      *
@@ -191,6 +212,7 @@ public class ScholarshipApplicationsController extends BaseController {
         titleLabel.setText(LangManager.getBundle().getString("applications.title"));
         backButton.setText(LangManager.getBundle().getString("dashboard.back"));
         viewDetailsButton.setText(LangManager.getBundle().getString("applications.view_details"));
+        refreshButton.setText(LangManager.getBundle().getString("dashboard.refresh"));
         
         programColumn.setText(LangManager.getBundle().getString("applications.program_column"));
         periodColumn.setText(LangManager.getBundle().getString("applications.period_column"));
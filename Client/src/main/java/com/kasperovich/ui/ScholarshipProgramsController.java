@@ -163,43 +163,44 @@ public class ScholarshipProgramsController extends BaseController {
         // Clear existing data
         programsList.clear();
         
-        try {
-            // Get scholarship programs from the server
-            List<ScholarshipProgramDTO> programs = getClientConnection().getScholarshipPrograms();
-            
-            // Apply filter if needed
-            List<ScholarshipProgramDTO> filteredPrograms = new ArrayList<>();
-            
-            if (LangManager.getBundle().getString("scholarship.filter.all").equals(filter)) {
-                filteredPrograms.addAll(programs);
-            } else if (LangManager.getBundle().getString("scholarship.filter.active").equals(filter)) {
-                for (ScholarshipProgramDTO program : programs) {
-                    if (program.isActive()) {
-                        filteredPrograms.add(program);
+        // Get scholarship programs from the server without blocking the UI
+        backgroundTasks.run(
+            () -> getClientConnection().getScholarshipPrograms(),
+            programs -> {
+                // Apply filter if needed
+                List<ScholarshipProgramDTO> filteredPrograms = new ArrayList<>();
+                
+                if (LangManager.getBundle().getString("scholarship.filter.all").equals(filter)) {
+                    filteredPrograms.addAll(programs);
+                } else if (LangManager.getBundle().getString("scholarship.filter.active").equals(filter)) {
+                    for (ScholarshipProgramDTO program : programs) {
+                        if (program.isActive()) {
+                            filteredPrograms.add(program);
+                        }
                     }
-                }
-            } else if (LangManager.getBundle().getString("scholarship.filter.accepting").equals(filter)) {
-                for (ScholarshipProgramDTO program : programs) {
-                    if (program.isActive() && program.isAcceptingApplications()) {
-                        filteredPrograms.add(program);
+                } else if (LangManager.getBundle().getString("scholarship.filter.accepting").equals(filter)) {
+                    for (ScholarshipProgramDTO program : programs) {
+                        if (program.isActive() && program.isAcceptingApplications()) {
+                            filteredPrograms.add(program);
+                        }
                     }
                 }
+                
+                // Add filtered programs to the observable list
+                programsList.addAll(filteredPrograms);
+                
+                statusLabel.setText(LangManager.getBundle().getString("scholarship.status.loaded") + " " + filteredPrograms.size());
+                logger.info("Loaded {} scholarship programs (filtered from {} total)", 
+                        filteredPrograms.size(), programs.size());
+                refreshButton.setDisable(false);
+            },
+            e -> {
+                statusLabel.setText(LangManager.getBundle().getString("scholarship.status.error") + " " + e.getMessage());
+                AlertManager.showErrorAlert(LangManager.getBundle().getString("error.title"), 
+                        LangManager.getBundle().getString("scholarship.status.error") + " " + e.getMessage());
+                refreshButton.setDisable(false);
             }
-            
-            // Add filtered programs to the observable list
-            programsList.addAll(filteredPrograms);
-            
-            statusLabel.setText(LangManager.getBundle().getString("scholarship.status.loaded") + " " + filteredPrograms.size());
-            logger.info("Loaded {} scholarship programs (filtered from {} total)", 
-                    filteredPrograms.size(), programs.size());
-        } catch (Exception e) {
-            logger.error("Error loading scholarship programs", e);
-            statusLabel.setText(LangManager.getBundle().getString("scholarship.status.error") + " " + e.getMessage());
-            AlertManager.showErrorAlert(LangManager.getBundle().getString("error.title"), 
-                    LangManager.getBundle().getString("scholarship.status.error") + " " + e.getMessage());
-        } finally {
-            refreshButton.setDisable(false);
-        }
+        );
     }
     
     /**
@@ -5,11 +5,10 @@ import com.kasperovich.dto.auth.UserDTO;
 import com.kasperovich.i18n.LangManager;
 import com.kasperovich.operations.ChangeScene;
 import com.kasperovich.utils.LoggerUtil;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.FilteredList;
+import javafx.collections.ListChangeListener;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -20,13 +19,14 @@ import javafx.scene.layout.HBox;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
+import javafx.util.Duration;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.text.MessageFormat;
-import java.util.List;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.function.Predicate;
+import java.util.function.Function;
 
 /**
  * Controller for the User Management screen.
@@ -49,8 +49,12 @@ public class UserManagementController extends BaseController {
     @FXML private TableColumn<UserDTO, Void> actionsColumn;
     @FXML private Label statusLabel;
 
-    private ObservableList<UserDTO> usersList = FXCollections.observableArrayList();
-    private FilteredList<UserDTO> filteredUsers;
+    private final PagedDataSource<UserDTO> users = new PagedDataSource<>(
+            (request, onLoaded, onFailed) -> backgroundTasks.run(
+                    () -> getClientConnection().getUsersPage(request), onLoaded, onFailed),
+            true);
+    // Waits for a pause in typing before searching on the server
+    private final PauseTransition searchDelay = new PauseTransition(Duration.millis(300));
 
     @Override
     public void initializeData() {
@@ -63,13 +67,13 @@ public class UserManagementController extends BaseController {
      * Sets up the table columns and cell factories.
      */
     private void setupTable() {
-        // Set up table columns
-        idColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getId().toString()));
-        usernameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getUsername()));
-        nameColumn.setCellValueFactory(cellData -> new SimpleStringProperty(
-                cellData.getValue().getFirstName() + " " + cellData.getValue().getLastName()));
-        emailColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getEmail()));
-        roleColumn.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getRole()));
+        // Set up table columns; rows whose page has not arrived yet are null
+        idColumn.setCellValueFactory(cellData -> text(cellData.getValue(), user -> user.getId().toString()));
+        usernameColumn.setCellValueFactory(cellData -> text(cellData.getValue(), UserDTO::getUsername));
+        nameColumn.setCellValueFactory(cellData -> text(cellData.getValue(),
+                user -> user.getFirstName() + " " + user.getLastName()));
+        emailColumn.setCellValueFactory(cellData -> text(cellData.getValue(), UserDTO::getEmail));
+        roleColumn.setCellValueFactory(cellData -> text(cellData.getValue(), UserDTO::getRole));
         
         // Status column with custom cell factory for active/inactive
         statusColumn.setCellValueFactory(cellData -> {
@@ -77,20 +81,43 @@ public class UserManagementController extends BaseController {
             String statusKey = isActive ? 
                     "admin.user.management.status.active" : 
                     "admin.user.management.status.inactive";
-            return new SimpleStringProperty(LangManager.getBundle().getString(statusKey));
+            return text(cellData.getValue(), user -> LangManager.getBundle().getString(statusKey));
         });
         
         // Actions column with edit and activate/deactivate buttons
         actionsColumn.setCellFactory(createActionsColumnCellFactory());
         
-        // Set up filtered list
-        filteredUsers = new FilteredList<>(usersList);
-        usersTable.setItems(filteredUsers);
+        // Page through the users on the server, which also sorts, filters and searches them
+        users.bind(usersTable, Map.of(
+                idColumn, "id",
+                usernameColumn, "username",
+                nameColumn, "name",
+                emailColumn, "email",
+                roleColumn, "role"));
+        users.addListener((ListChangeListener<UserDTO>) change -> updateStatusLabel());
+        users.setOnFailed(e -> {
+            statusLabel.setText(LangManager.getBundle().getString("admin.user.management.error"));
+            AlertManager.showErrorAlert(
+                    LangManager.getBundle().getString("error.title"),
+                    LangManager.getBundle().getString("admin.user.management.error") + ": " + e.getMessage()
+            );
+        });
         
         // Add placeholder text for empty table
         usersTable.setPlaceholder(new Label(LangManager.getBundle().getString("admin.user.management.no.users")));
     }
     
+    /**
+     * Gets the text of a cell, which is empty while the row is still loading.
+     *
+     * @param user the row, or null if its page has not arrived yet
+     * @param value extracts the text from the row
+     * @return the cell value
+     */
+    private static SimpleStringProperty text(UserDTO user, Function<UserDTO, String> value) {
+        return new SimpleStringProperty(user != null ? value.apply(user) : "");
+    }
+    
     /**
      * Sets up the role filter and search functionality.
      */
@@ -109,60 +136,35 @@ public class UserManagementController extends BaseController {
         });
         
         // Add listener to search field
+        searchDelay.setOnFinished(event -> applyFilters());
         searchField.textProperty().addListener((obs, oldVal, newVal) -> {
-            applyFilters();
+            searchDelay.playFromStart();
         });
     }
     
     /**
-     * Applies the current filters to the users list.
+     * Applies the current filters, which makes the server run the query again.
      */
     private void applyFilters() {
         String roleFilter = roleFilterComboBox.getValue();
-        String searchText = searchField.getText().toLowerCase();
-        
-        Predicate<UserDTO> rolePredicate = user -> {
-            if (roleFilter.equals(LangManager.getBundle().getString("admin.user.management.filter.all"))) {
-                return true;
-            } else if (roleFilter.equals(LangManager.getBundle().getString("admin.user.management.filter.admin"))) {
-                return "ADMIN".equals(user.getRole());
-            } else {
-                return "STUDENT".equals(user.getRole());
-            }
-        };
-        
-        Predicate<UserDTO> searchPredicate = user -> {
-            if (searchText == null || searchText.isEmpty()) {
-                return true;
-            }
-            
-            return user.getUsername().toLowerCase().contains(searchText) ||
-                   user.getFirstName().toLowerCase().contains(searchText) ||
-                   user.getLastName().toLowerCase().contains(searchText);
-        };
         
-        filteredUsers.setPredicate(rolePredicate.and(searchPredicate));
-        
-        // Update status label with count
-        updateStatusLabel();
+        if (LangManager.getBundle().getString("admin.user.management.filter.admin").equals(roleFilter)) {
+            users.setFilter("ADMIN");
+        } else if (LangManager.getBundle().getString("admin.user.management.filter.student").equals(roleFilter)) {
+            users.setFilter("STUDENT");
+        } else {
+            users.setFilter(null);
+        }
+        users.setSearch(searchField.getText());
     }
     
     /**
-     * Updates the status label with the current count of users.
+     * Updates the status label with the number of users matching the filters.
      */
     private void updateStatusLabel() {
-        int totalUsers = usersList.size();
-        int filteredCount = filteredUsers.size();
-        
-        if (totalUsers == filteredCount) {
-            statusLabel.setText(MessageFormat.format(
-                    LangManager.getBundle().getString("admin.user.management.total"), 
-                    totalUsers));
-        } else {
-            statusLabel.setText(MessageFormat.format(
-                    LangManager.getBundle().getString("admin.user.management.total"), 
-                    filteredCount + " / " + totalUsers));
-        }
+        statusLabel.setText(MessageFormat.format(
+                LangManager.getBundle().getString("admin.user.management.total"), 
+                users.size()));
     }
     
     /**
@@ -241,33 +243,11 @@ public class UserManagementController extends BaseController {
     }
     
     /**
-     * Loads all users from the server.
+     * Loads the first page of users from the server.
      */
     private void loadUsers() {
         statusLabel.setText(LangManager.getBundle().getString("admin.user.management.loading"));
-        
-        // Run in background thread
-        new Thread(() -> {
-            try {
-                List<UserDTO> users = getClientConnection().getAllUsers();
-                
-                Platform.runLater(() -> {
-                    usersList.clear();
-                    usersList.addAll(users);
-                    applyFilters();
-                    logger.info("Loaded {} users", users.size());
-                });
-            } catch (Exception e) {
-                logger.error("Error loading users", e);
-                Platform.runLater(() -> {
-                    statusLabel.setText(LangManager.getBundle().getString("admin.user.management.error"));
-                    AlertManager.showErrorAlert(
-                            LangManager.getBundle().getString("error.title"),
-                            LangManager.getBundle().getString("admin.user.management.error") + ": " + e.getMessage()
-                    );
-                });
-            }
-        }).start();
+        users.reload();
     }
     
     /**
@@ -288,20 +268,8 @@ public class UserManagementController extends BaseController {
             controller.setup(user, this.user); // Pass both the user to edit and the current admin user
             controller.initializeData();
             
-            // Set up the callback to update the user in the table
-            controller.setCallback(updatedUser -> {
-                int index = -1;
-                for (int i = 0; i < usersList.size(); i++) {
-                    if (usersList.get(i).getId().equals(updatedUser.getId())) {
-                        index = i;
-                        break;
-                    }
-                }
-                
-                if (index >= 0) {
-                    usersList.set(index, updatedUser);
-                }
-            });
+            // Set up the callback to show the updated user in the table
+            controller.setCallback(updatedUser -> users.refresh());
             
             // Create and show the dialog
             Stage dialogStage = new Stage();
@@ -328,21 +296,11 @@ public class UserManagementController extends BaseController {
     private void updateUserStatus(UserDTO user, boolean active) {
         // Run in background thread
             try {
-                UserDTO updatedUser = getClientConnection().updateUserStatus(user.getId(), active);
+                getClientConnection().updateUserStatus(user.getId(), active);
                 
                 Platform.runLater(() -> {
-                    // Update the user in the list
-                    int index = -1;
-                    for (int i = 0; i < usersList.size(); i++) {
-                        if (usersList.get(i).getId().equals(updatedUser.getId())) {
-                            index = i;
-                            break;
-                        }
-                    }
-                    
-                    if (index >= 0) {
-                        usersList.set(index, updatedUser);
-                    }
+                    // Show the updated user in the table
+                    users.refresh();
                     
                     // Show success message
                     AlertManager.showInformationAlert(
@@ -0,0 +1,99 @@
+package com.kasperovich.clientconnection;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for choosing the server to connect to.
+ */
+public class EndpointSelectorTest {
+
+    private static final ServerEndpoint A = new ServerEndpoint("10.0.0.1", 15000);
+    private static final ServerEndpoint B = new ServerEndpoint("10.0.0.2", 15000);
+    private static final ServerEndpoint C = new ServerEndpoint("10.0.0.3", 15000);
+
+    // Clients served by each server and the latency of its probe; a missing server is down
+    private final Map<ServerEndpoint, int[]> servers = new HashMap<>();
+    private final AtomicLong clock = new AtomicLong();
+    private int probes;
+
+    @BeforeEach
+    void setUp() {
+        servers.clear();
+        probes = 0;
+    }
+
+    private EndpointSelector selector(List<ServerEndpoint> endpoints) {
+        return new EndpointSelector(endpoints, endpoint -> {
+            probes++;
+            int[] server = servers.get(endpoint);
+            if (server == null) {
+                throw new IOException("Connection refused");
+            }
+            clock.addAndGet(server[1]);
+            return server[0];
+        }, endpoint -> endpoint.getHost().equals("cluster") ? List.of(A, B, C) : List.of(endpoint), clock::get);
+    }
+
+    @Test
+    void testLeastLoadedServerComesFirst() {
+        servers.put(A, new int[] {5, 1});
+        servers.put(B, new int[] {2, 9});
+        servers.put(C, new int[] {2, 3});
+        EndpointSelector selector = selector(List.of(A, B, C));
+
+        selector.probeAll();
+
+        assertEquals(List.of(C, B, A), selector.ranked());
+    }
+
+    @Test
+    void testHostNameStandsForAllItsAddresses() {
+        servers.put(A, new int[] {1, 1});
+        servers.put(C, new int[] {0, 1});
+        EndpointSelector selector = selector(List.of(new ServerEndpoint("cluster", 15000)));
+
+        selector.probeAll();
+
+        assertEquals(List.of(C, A, B), selector.ranked());
+    }
+
+    @Test
+    void testServerMarkedDownComesLastUntilProbedAgain() {
+        servers.put(A, new int[] {0, 1});
+        servers.put(B, new int[] {3, 1});
+        EndpointSelector selector = selector(List.of(A, B));
+        selector.probeAll();
+
+        selector.markDown(A);
+        assertEquals(List.of(B, A), selector.ranked());
+
+        selector.probeAll();
+        assertEquals(List.of(A, B), selector.ranked());
+    }
+
+    @Test
+    void testSingleServerIsNotProbed() {
+        EndpointSelector selector = selector(List.of(A));
+
+        selector.probeAll();
+
+        assertEquals(0, probes);
+        assertEquals(List.of(A), selector.ranked());
+    }
+
+    @Test
+    void testEndpointListIsParsed() {
+        assertEquals(List.of(new ServerEndpoint("app1", 15001), new ServerEndpoint("app2", 15000)),
+                ServerEndpoint.parseList(" app1:15001, app2 ,", 15000));
+        assertThrows(IllegalArgumentException.class, () -> ServerEndpoint.parseList("app1:port", 15000));
+    }
+}
@@ -0,0 +1,64 @@
+package com.kasperovich.clientconnection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the reconnect backoff.
+ */
+public class ReconnectBackoffTest {
+
+    /**
+     * A random source that always draws the same fraction.
+     */
+    private static class FixedRandom extends Random {
+        private final double value;
+
+        FixedRandom(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double nextDouble() {
+            return value;
+        }
+    }
+
+    @Test
+    void testDelayCapDoublesUpToTheMaximum() {
+        ReconnectBackoff backoff = new ReconnectBackoff(100, 1000, 10, new FixedRandom(0.999999));
+
+        assertEquals(100, backoff.delayBefore(0));
+        assertEquals(200, backoff.delayBefore(1));
+        assertEquals(800, backoff.delayBefore(3));
+        assertEquals(1000, backoff.delayBefore(4));
+        assertEquals(1000, backoff.delayBefore(9));
+    }
+
+    @Test
+    void testDelaysAreSpreadBelowTheCap() {
+        ReconnectBackoff backoff = new ReconnectBackoff(100, 1000, 10, new FixedRandom(0.5));
+
+        assertEquals(50, backoff.delayBefore(0));
+        assertEquals(400, backoff.delayBefore(3));
+        assertEquals(0, new ReconnectBackoff(100, 1000, 10, new FixedRandom(0)).delayBefore(5));
+    }
+
+    @Test
+    void testNoDelayIsGivenAfterTheLastAttempt() {
+        ReconnectBackoff backoff = new ReconnectBackoff(100, 1000, 3, new Random(1));
+
+        assertTrue(backoff.delayBefore(2) >= 0);
+        assertEquals(-1, backoff.delayBefore(3));
+    }
+
+    @Test
+    void testLargeAttemptNumbersDoNotOverflow() {
+        ReconnectBackoff backoff = new ReconnectBackoff(100, 1000, 100, new FixedRandom(0.999999));
+
+        assertEquals(1000, backoff.delayBefore(64));
+    }
+}
@@ -0,0 +1,67 @@
+package com.kasperovich.clientconnection;
+
+import com.kasperovich.dto.sync.DataSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the client response cache.
+ */
+public class ResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final ResponseCache cache = new ResponseCache(100, now::get);
+
+    @Test
+    void servesCopiesUntilTheEntryExpires() {
+        cache.put("programs", DataSet.SCHOLARSHIP_PROGRAMS, List.of("a", "b"), 7L);
+
+        List<String> first = cache.getFresh("programs");
+        first.add("c");
+        assertEquals(List.of("a", "b"), cache.getFresh("programs"));
+
+        now.addAndGet(100);
+        assertNull(cache.getFresh("programs"));
+        assertTrue(cache.contains("programs"));
+    }
+
+    @Test
+    void renewingKeepsAnExpiredEntryForAnotherTtl() {
+        cache.put("programs", DataSet.SCHOLARSHIP_PROGRAMS, List.of("a"), 7L);
+        now.addAndGet(150);
+        assertNull(cache.getFresh("programs"));
+        assertEquals(7L, cache.getVersion("programs"));
+
+        assertEquals(List.of("a"), cache.renew("programs"));
+
+        now.addAndGet(99);
+        assertEquals(List.of("a"), cache.getFresh("programs"));
+        assertNull(cache.renew("budgets"));
+        assertNull(cache.getVersion("budgets"));
+    }
+
+    @Test
+    void invalidationDropsEveryEntryOfTheDataSet() {
+        cache.put("periods.all", DataSet.ACADEMIC_PERIODS, List.of("p"), 1L);
+        cache.put("periods.active", DataSet.ACADEMIC_PERIODS, List.of("p"), 1L);
+        cache.put("budgets", DataSet.BUDGETS, List.of("b"), 1L);
+
+        cache.invalidate(DataSet.ACADEMIC_PERIODS);
+
+        assertFalse(cache.contains("periods.all"));
+        assertFalse(cache.contains("periods.active"));
+        assertTrue(cache.contains("budgets"));
+    }
+
+    @Test
+    void listsWithoutVersionAreNotCached() {
+        cache.put("users", DataSet.USERS, new ArrayList<>(List.of("u")), null);
+
+        assertFalse(cache.contains("users"));
+    }
+}
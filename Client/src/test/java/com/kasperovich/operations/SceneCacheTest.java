@@ -0,0 +1,98 @@
+package com.kasperovich.operations;
+
+import com.kasperovich.i18n.LangManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the preloaded screen cache.
+ */
+public class SceneCacheTest {
+
+    private Locale originalLocale;
+    private final List<String> loads = new ArrayList<>();
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        originalLocale = LangManager.getLocale();
+        LangManager.setLocale(Locale.ENGLISH);
+    }
+
+    @AfterEach
+    void tearDown() {
+        LangManager.setLocale(originalLocale);
+    }
+
+    private SceneCache cache(int maxEntries) {
+        return new SceneCache(maxEntries, queued::add, (fxmlFile, bundle) -> {
+            loads.add(bundle.getLocale().getLanguage() + ":" + fxmlFile);
+            return new SceneCache.LoadedScreen(null, null);
+        });
+    }
+
+    private void runQueued() {
+        List<Runnable> tasks = new ArrayList<>(queued);
+        queued.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void testPreloadedScreenIsHandedOutOnceAndReplaced() throws Exception {
+        SceneCache cache = cache(4);
+        cache.preload("/a.fxml", "/a.fxml");
+        runQueued();
+        assertEquals(List.of("en:/a.fxml"), loads);
+
+        SceneCache.LoadedScreen first = cache.take("/a.fxml");
+        assertNotNull(first);
+        assertEquals(1, loads.size());
+        assertEquals(0, cache.size());
+
+        runQueued();
+        SceneCache.LoadedScreen second = cache.take("/a.fxml");
+        assertNotSame(first, second);
+        assertEquals(2, loads.size());
+    }
+
+    @Test
+    void testMissingScreenIsLoadedWhenTaken() throws Exception {
+        SceneCache cache = cache(4);
+
+        cache.take("/b.fxml");
+
+        assertEquals(List.of("en:/b.fxml"), loads);
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void testScreensAreKeptPerLocale() throws Exception {
+        SceneCache cache = cache(4);
+        cache.preload("/a.fxml");
+        runQueued();
+
+        LangManager.setLocale(new Locale("ru"));
+        cache.take("/a.fxml");
+
+        assertEquals(List.of("en:/a.fxml", "ru:/a.fxml"), loads);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedScreenIsDropped() {
+        SceneCache cache = cache(2);
+        cache.preload("/a.fxml", "/b.fxml", "/c.fxml");
+        runQueued();
+
+        assertEquals(2, cache.size());
+        cache.preload("/a.fxml", "/c.fxml");
+        assertEquals(1, queued.size());
+    }
+}
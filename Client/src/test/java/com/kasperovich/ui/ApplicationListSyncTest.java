@@ -0,0 +1,66 @@
+package com.kasperovich.ui;
+
+import com.kasperovich.commands.fromserver.ApplicationChangesResponse;
+import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for merging application changes into a list.
+ */
+public class ApplicationListSyncTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 12, 0);
+
+    private static ScholarshipApplicationDTO application(long id, String status) {
+        ScholarshipApplicationDTO application = new ScholarshipApplicationDTO();
+        application.setId(id);
+        application.setStatus(status);
+        application.setLastModified(NOW.minusMinutes(id));
+        return application;
+    }
+
+    private static ApplicationChangesResponse changes(List<ScholarshipApplicationDTO> changed, List<Long> removedIds) {
+        return new ApplicationChangesResponse(changed, removedIds, NOW);
+    }
+
+    @Test
+    void changedApplicationsReplaceTheirEntryInPlace() {
+        List<ScholarshipApplicationDTO> list = new ArrayList<>(List.of(
+                application(1, "PENDING"), application(2, "PENDING"), application(3, "PENDING")));
+
+        int merged = ApplicationListSync.merge(list, changes(List.of(application(2, "APPROVED")), List.of()));
+
+        assertEquals(1, merged);
+        assertEquals(3, list.size());
+        assertEquals(2L, list.get(1).getId());
+        assertEquals("APPROVED", list.get(1).getStatus());
+    }
+
+    @Test
+    void newApplicationsAreAppendedAndDeletedOnesRemoved() {
+        List<ScholarshipApplicationDTO> list = new ArrayList<>(List.of(
+                application(1, "PENDING"), application(2, "PENDING")));
+
+        int merged = ApplicationListSync.merge(list,
+                changes(List.of(application(4, "PENDING")), List.of(1L, 99L)));
+
+        assertEquals(2, merged);
+        assertEquals(List.of(2L, 4L), list.stream().map(ScholarshipApplicationDTO::getId).toList());
+    }
+
+    @Test
+    void unchangedApplicationsReturnedAgainAreNotCounted() {
+        List<ScholarshipApplicationDTO> list = new ArrayList<>(List.of(application(1, "PENDING")));
+
+        int merged = ApplicationListSync.merge(list, changes(List.of(application(1, "PENDING")), List.of()));
+
+        assertEquals(0, merged);
+        assertEquals(1, list.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.kasperovich.ui;
+
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the paged table data source.
+ */
+public class PagedDataSourceTest {
+
+    /**
+     * A loader whose requests stay pending until the test answers them.
+     */
+    private static class PendingLoader implements PagedDataSource.PageLoader<String> {
+        private final List<PageRequest> requests = new ArrayList<>();
+        private final List<Consumer<PageDTO<String>>> callbacks = new ArrayList<>();
+        private final List<Consumer<Throwable>> failures = new ArrayList<>();
+
+        @Override
+        public void load(PageRequest request, Consumer<PageDTO<String>> onLoaded, Consumer<Throwable> onFailed) {
+            requests.add(request);
+            callbacks.add(onLoaded);
+            failures.add(onFailed);
+        }
+
+        void answer(int requestIndex, int totalCount) {
+            PageRequest request = requests.get(requestIndex);
+            List<String> rows = IntStream.range(request.getOffset(),
+                            Math.min(totalCount, request.getOffset() + request.getLimit()))
+                    .mapToObj(i -> "row" + i)
+                    .toList();
+            callbacks.get(requestIndex).accept(new PageDTO<>(rows, request.getOffset(), totalCount));
+        }
+
+        void fail(int requestIndex) {
+            failures.get(requestIndex).accept(new Exception("Connection lost"));
+        }
+    }
+
+    private final PendingLoader loader = new PendingLoader();
+
+    @Test
+    void rowsAreFetchedPageByPageWhenRead() {
+        PagedDataSource<String> source = new PagedDataSource<>(loader, true, 100, 10);
+
+        source.reload();
+        assertEquals(0, source.size());
+        loader.answer(0, 250);
+
+        assertEquals(250, source.size());
+        assertEquals("row5", source.get(5));
+        assertEquals(1, loader.requests.size());
+
+        assertNull(source.get(150));
+        assertNull(source.get(160));
+        assertEquals(2, loader.requests.size());
+        assertEquals(100, loader.requests.get(1).getOffset());
+
+        loader.answer(1, 250);
+        assertEquals("row160", source.get(160));
+    }
+
+    @Test
+    void answersToAReplacedQueryAreIgnored() {
+        PagedDataSource<String> source = new PagedDataSource<>(loader, false, 100, 10);
+
+        source.reload();
+        source.setFilter("PENDING");
+        source.setFilter("PENDING");
+
+        assertEquals(2, loader.requests.size());
+        assertEquals("PENDING", loader.requests.get(1).getFilter());
+        assertFalse(loader.requests.get(1).isAscending());
+
+        loader.answer(0, 500);
+        assertEquals(0, source.size());
+
+        loader.answer(1, 30);
+        assertEquals(30, source.size());
+        assertEquals("row29", source.get(29));
+    }
+
+    @Test
+    void onlyTheMostRecentlyReadPagesAreKept() {
+        PagedDataSource<String> source = new PagedDataSource<>(loader, true, 10, 2);
+
+        source.reload();
+        loader.answer(0, 100);
+        source.get(15);
+        loader.answer(1, 100);
+        source.get(5);
+        source.get(25);
+        loader.answer(2, 100);
+
+        assertEquals(2, source.getCachedPageCount());
+        assertEquals("row5", source.get(5));
+        assertNull(source.get(15));
+        assertEquals(10, loader.requests.get(loader.requests.size() - 1).getOffset());
+    }
+
+    @Test
+    void failedPagesAreRetriedOnlyAfterRefresh() {
+        PagedDataSource<String> source = new PagedDataSource<>(loader, true, 10, 10);
+        List<Throwable> errors = new ArrayList<>();
+        source.setOnFailed(errors::add);
+
+        source.reload();
+        loader.answer(0, 50);
+        source.get(20);
+        loader.fail(1);
+        source.get(20);
+
+        assertEquals(1, errors.size());
+        assertEquals(2, loader.requests.size());
+
+        source.refresh();
+        source.get(20);
+
+        assertEquals(4, loader.requests.size());
+        assertEquals(0, loader.requests.get(2).getOffset());
+        assertEquals(20, loader.requests.get(3).getOffset());
+    }
+}
@@ -0,0 +1,28 @@
+package com.kasperovich.commands.fromserver;
+
+import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response containing the applications that changed after a watermark
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationChangesResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private List<ScholarshipApplicationDTO> changed;  // Submitted or reviewed since the watermark
+    private List<Long> removedIds;                    // Deleted since the watermark
+    private LocalDateTime watermark;                  // To send with the next request
+}
@@ -0,0 +1,32 @@
+package com.kasperovich.commands.fromserver;
+
+import com.kasperovich.dto.scholarship.RankedApplicationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Response containing one page of a ranked application shortlist
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplicationShortlistResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private List<RankedApplicationDTO> entries;
+    private int page;
+    private int pageSize;
+    private int candidateCount;  // Pending applications considered
+    private int eligibleCount;   // Applications meeting the program's minimum GPA
+    private int fundedCount;     // Eligible applications covered by the remaining funds
+    private BigDecimal remainingAmount;
+}
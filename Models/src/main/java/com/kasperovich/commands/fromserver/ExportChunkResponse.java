@@ -0,0 +1,26 @@
+package com.kasperovich.commands.fromserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Response containing one chunk of a streamed CSV export
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportChunkResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private int sequence;
+    private byte[] data;
+    private boolean last;
+    private long rowCount; // Total number of exported rows, only set on the last chunk
+}
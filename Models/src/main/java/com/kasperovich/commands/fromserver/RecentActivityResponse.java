@@ -0,0 +1,26 @@
+package com.kasperovich.commands.fromserver;
+
+import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Response containing the recent application activity shown on the admin dashboard
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentActivityResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private List<ScholarshipApplicationDTO> recentApplications; // Newest modification first
+    private long pendingCount;                                  // Across all applications
+}
@@ -0,0 +1,26 @@
+package com.kasperovich.commands.fromserver;
+
+import com.kasperovich.dto.report.ReportJobStatusDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Response containing the rows of a completed report job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResultResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private ReportJobStatusDTO status;
+    private List<? extends Serializable> reportData;
+}
@@ -0,0 +1,24 @@
+package com.kasperovich.commands.fromserver;
+
+import com.kasperovich.dto.report.ReportJobStatusDTO;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Response containing the status of a report job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobStatusResponse implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private ReportJobStatusDTO status;
+}
@@ -18,6 +18,7 @@ public enum ResponseFromServer implements Serializable {
     REGISTRATION_FAILED_USERNAME_EXISTS,
     REGISTRATION_FAILED_INVALID_DATA,
     LOGOUT_SUCCESS,
+    SESSION_RESUMED,
     AUTHENTICATION_REQUIRED,
     
     // Data access responses
@@ -25,6 +26,8 @@ public enum ResponseFromServer implements Serializable {
     DATA_NOT_FOUND,
     DATA_UPDATED,
     DATA_UPDATE_FAILED,
+    DATA_VERSIONS_RETRIEVED,
+    NOT_MODIFIED,
     
     // Permission responses
     PERMISSION_DENIED,
@@ -33,17 +36,38 @@ public enum ResponseFromServer implements Serializable {
     APPLICATION_SUBMITTED,
     APPLICATION_UPDATED,
     APPLICATION_REVIEWED,
+    APPLICATION_SHORTLIST_RETRIEVED,
+    APPLICATION_CHANGES_RETRIEVED,
+    RECENT_ACTIVITY_RETRIEVED,
     
     // Scholarship responses
     SCHOLARSHIP_PROGRAMS_FOUND,
     
+    // Fund allocation responses
+    ALLOCATION_PLAN_CREATED,
+    ALLOCATION_PLAN_APPLIED,
+    
+    // Payment responses
+    PAYMENT_RUN_STARTED,
+    PAYMENT_RUN_STATUS_RETRIEVED,
+    
     // Report responses
     SCHOLARSHIP_DISTRIBUTION_REPORT_GENERATED,
     APPLICATION_STATUS_REPORT_GENERATED,
     USER_ACTIVITY_REPORT_GENERATED,
     ACADEMIC_PERFORMANCE_REPORT_GENERATED,
+    REPORT_JOB_SUBMITTED,
+    REPORT_JOB_STATUS_RETRIEVED,
+    REPORT_RESULT_RETRIEVED,
+    
+    // Export responses
+    EXPORT_CHUNK,
     
     // User management responses
     USERS_LIST_RETRIEVED,
-    USER_STATUS_UPDATED
+    PAGE_RETRIEVED,
+    USER_STATUS_UPDATED,
+    
+    // Diagnostics responses
+    QUERY_STATISTICS_RETRIEVED
 }
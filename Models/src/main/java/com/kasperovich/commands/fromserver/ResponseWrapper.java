@@ -13,6 +13,8 @@ public class ResponseWrapper implements Serializable {
     private final Serializable data;
     private String authToken;
     private String message;
+    private Long dataVersion;
+    private String serverInstanceId;
     
     /**
      * Creates a new response wrapper with the specified response and data.
@@ -101,6 +103,44 @@ public class ResponseWrapper implements Serializable {
         this.message = message;
     }
     
+    /**
+     * Gets the version of the data set the payload was read from.
+     *
+     * @return the data version, or null if the payload is not versioned
+     */
+    public Long getDataVersion() {
+        return dataVersion;
+    }
+    
+    /**
+     * Sets the version of the data set the payload was read from.
+     *
+     * @param dataVersion the data version
+     */
+    public void setDataVersion(Long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+    
+    /**
+     * Gets the identifier of the server process that sent the response.
+     * It changes when the server restarts and differs between servers, so a client can tell
+     * whether a new connection reached the process that may have carried out an earlier command.
+     *
+     * @return the server instance identifier
+     */
+    public String getServerInstanceId() {
+        return serverInstanceId;
+    }
+    
+    /**
+     * Sets the identifier of the server process that sent the response.
+     *
+     * @param serverInstanceId the server instance identifier
+     */
+    public void setServerInstanceId(String serverInstanceId) {
+        this.serverInstanceId = serverInstanceId;
+    }
+    
     @Override
     public String toString() {
         return "ResponseWrapper{" +
@@ -108,6 +148,7 @@ public class ResponseWrapper implements Serializable {
                 ", hasData=" + (data != null) +
                 ", hasAuthToken=" + (authToken != null) +
                 ", hasMessage=" + (message != null) +
+                ", dataVersion=" + dataVersion +
                 '}';
     }
 }
@@ -0,0 +1,19 @@
+package com.kasperovich.commands.toserver;
+
+import com.kasperovich.dto.scholarship.AllocationPlanDTO;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Command for writing all allocations of an allocation plan at once.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApplyAllocationPlanCommand implements Serializable {
+    private AllocationPlanDTO plan;
+    private String notes;
+}
@@ -8,11 +8,13 @@ import java.io.Serializable;
 public enum Command implements Serializable {
     // System commands
     HEALTH_CHECK,
+    GET_DATA_VERSIONS,
     
     // Authentication commands
     LOGIN,
     REGISTER,
     LOGOUT,
+    RESUME_SESSION,
     
     // User profile commands
     GET_USER_PROFILE,
@@ -26,6 +28,7 @@ public enum Command implements Serializable {
     GET_SCHOLARSHIP_PROGRAMS,
     APPLY_FOR_SCHOLARSHIP,
     GET_USER_APPLICATIONS,
+    GET_APPLICATION_CHANGES_SINCE,
     GET_ACADEMIC_PERIODS,
     
     // Admin scholarship management commands
@@ -36,8 +39,11 @@ public enum Command implements Serializable {
     // Application review commands
     GET_PENDING_APPLICATIONS,
     GET_ALL_APPLICATIONS,
+    GET_RECENT_ACTIVITY,
+    GET_APPLICATIONS_PAGE,
     APPROVE_APPLICATION,
     REJECT_APPLICATION,
+    GET_APPLICATION_SHORTLIST,
     
     // Fund management commands
     GET_ALL_BUDGETS,
@@ -51,6 +57,12 @@ public enum Command implements Serializable {
     ALLOCATE_FUNDS,
     GET_ALLOCATIONS_BY_BUDGET,
     GET_ALLOCATIONS_BY_PROGRAM,
+    PLAN_ALLOCATIONS,
+    APPLY_ALLOCATION_PLAN,
+    
+    // Payment commands
+    START_PAYMENT_RUN,
+    GET_PAYMENT_RUN_STATUS,
     
     // Academic period management commands
     CREATE_ACADEMIC_PERIOD,
@@ -63,8 +75,36 @@ public enum Command implements Serializable {
     GET_APPLICATION_STATUS_REPORT,
     GET_USER_ACTIVITY_REPORT,
     GET_ACADEMIC_PERFORMANCE_REPORT,
+    REBUILD_REPORT_ROLLUPS,
+    SUBMIT_REPORT_JOB,
+    GET_REPORT_JOB_STATUS,
+    FETCH_REPORT_RESULT,
+    
+    // Export commands
+    EXPORT_DATA,
+    
+    // Academic record commands
+    RECOMPUTE_GPA,
     
     // User management commands
     GET_ALL_USERS,
-    UPDATE_USER_STATUS
+    GET_USERS_PAGE,
+    UPDATE_USER_STATUS,
+    
+    // Diagnostics commands
+    GET_QUERY_STATISTICS;
+    
+    /**
+     * Tells whether sending the command twice has the same effect as sending it once.
+     * A client may send such a command again when the connection drops before the response arrives.
+     *
+     * @return true if the command only reads data
+     */
+    public boolean isIdempotent() {
+        return name().startsWith("GET_")
+                || this == HEALTH_CHECK
+                || this == RESUME_SESSION
+                || this == FETCH_REPORT_RESULT
+                || this == EXPORT_DATA;
+    }
 }
@@ -12,6 +12,8 @@ public class CommandWrapper implements Serializable {
     private final Command command;
     private final Serializable data;
     private String authToken;
+    private Long ifNoneMatchVersion;
+    private String idempotencyKey;
     
     /**
      * Creates a new command wrapper with the specified command and data.
@@ -70,12 +72,54 @@ public class CommandWrapper implements Serializable {
         this.authToken = authToken;
     }
     
+    /**
+     * Gets the data version of the copy the client already holds.
+     *
+     * @return the data version, or null if the client holds no copy
+     */
+    public Long getIfNoneMatchVersion() {
+        return ifNoneMatchVersion;
+    }
+    
+    /**
+     * Sets the data version of the copy the client already holds.
+     * If it is still current, the server answers with {@link com.kasperovich.commands.fromserver.ResponseFromServer#NOT_MODIFIED}
+     * instead of sending the data again.
+     *
+     * @param ifNoneMatchVersion the data version
+     */
+    public void setIfNoneMatchVersion(Long ifNoneMatchVersion) {
+        this.ifNoneMatchVersion = ifNoneMatchVersion;
+    }
+    
+    /**
+     * Gets the idempotency key.
+     *
+     * @return the idempotency key, or null if the command has none
+     */
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+    
+    /**
+     * Sets the idempotency key, a unique value the client picks for each command it sends.
+     * If the server receives a command with a key it has seen before, it answers with the
+     * original response instead of carrying out the command again.
+     *
+     * @param idempotencyKey the idempotency key
+     */
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+    
     @Override
     public String toString() {
         return "CommandWrapper{" +
                 "command=" + command +
                 ", hasData=" + (data != null) +
                 ", hasAuthToken=" + (authToken != null) +
+                ", ifNoneMatchVersion=" + ifNoneMatchVersion +
+                ", hasIdempotencyKey=" + (idempotencyKey != null) +
                 '}';
     }
 }
@@ -0,0 +1,26 @@
+package com.kasperovich.commands.toserver;
+
+import com.kasperovich.dto.export.ExportType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Command to export a complete data set as CSV.
+ * The server answers with a sequence of export chunks, the last of which is marked as such.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportDataCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private ExportType exportType;
+    private boolean compressed; // Whether the CSV bytes are gzip-compressed
+}
@@ -0,0 +1,23 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Command to fetch the result of a completed report job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FetchReportResultCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private String jobId;
+}
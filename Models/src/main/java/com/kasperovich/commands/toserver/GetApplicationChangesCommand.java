@@ -0,0 +1,24 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Command to get the applications that changed after a watermark
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetApplicationChangesCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private LocalDateTime since; // Watermark of the previous sync, or null for all applications
+}
@@ -0,0 +1,26 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Command to get one page of the ranked shortlist of pending applications for a program
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetApplicationShortlistCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private Long programId;
+    private Long periodId; // Can be null for all periods
+    private int page;      // 0-based
+    private int pageSize;
+}
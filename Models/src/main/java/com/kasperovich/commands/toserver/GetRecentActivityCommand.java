@@ -0,0 +1,23 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Command to get the most recently submitted or reviewed applications for the admin dashboard
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetRecentActivityCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private int limit; // Maximum number of applications to return
+}
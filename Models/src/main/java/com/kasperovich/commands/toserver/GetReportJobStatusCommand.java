@@ -0,0 +1,23 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Command to request the status of a report job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetReportJobStatusCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private String jobId;
+}
@@ -0,0 +1,21 @@
+package com.kasperovich.commands.toserver;
+
+import com.kasperovich.dto.scholarship.AllocationStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Command for computing a proposed split of a budget across scholarship programs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanAllocationsCommand implements Serializable {
+    private Long budgetId;
+    private AllocationStrategy strategy;
+    private BigDecimal amount; // Null to plan the whole remaining budget
+}
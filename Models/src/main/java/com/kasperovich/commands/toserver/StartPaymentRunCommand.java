@@ -0,0 +1,17 @@
+package com.kasperovich.commands.toserver;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Command for starting a payment run for approved, unpaid applications.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartPaymentRunCommand implements Serializable {
+    private boolean resume; // Continue the last unfinished run from its checkpoint
+}
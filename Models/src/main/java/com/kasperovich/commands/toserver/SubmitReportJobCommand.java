@@ -0,0 +1,29 @@
+package com.kasperovich.commands.toserver;
+
+import com.kasperovich.dto.report.ReportJobType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Command to submit a report for asynchronous generation
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmitReportJobCommand implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+    
+    private ReportJobType reportType;
+    private LocalDate startDate; // Used by date range reports
+    private LocalDate endDate;   // Used by date range reports
+    private Long programId;      // Used by the application status report, can be null
+    private Long periodId;       // Used by the application status report, can be null
+}
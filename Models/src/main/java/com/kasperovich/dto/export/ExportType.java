@@ -0,0 +1,12 @@
+package com.kasperovich.dto.export;
+
+import java.io.Serializable;
+
+/**
+ * Data sets that can be exported in full as CSV
+ */
+public enum ExportType implements Serializable {
+    APPLICATIONS,
+    ALLOCATIONS,
+    USERS
+}
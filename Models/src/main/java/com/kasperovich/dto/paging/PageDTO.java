@@ -0,0 +1,22 @@
+package com.kasperovich.dto.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Data Transfer Object with one page of a list and the size of the whole list.
+ *
+ * @param <T> the element type
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageDTO<T extends Serializable> implements Serializable {
+    private List<T> items;
+    private int offset;
+    private long totalCount;    // Number of elements matching the filter and search
+}
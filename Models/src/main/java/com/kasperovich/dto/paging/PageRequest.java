@@ -0,0 +1,25 @@
+package com.kasperovich.dto.paging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object describing one page of a server-side sorted, filtered and searched list.
+ * The sort field names and the meaning of the filter depend on the list being paged.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageRequest implements Serializable {
+    public static final int MAX_LIMIT = 500;  // Larger pages are truncated by the server
+
+    private int offset;
+    private int limit;
+    private String sortField;   // Null for the default order of the list
+    private boolean ascending;
+    private String filter;      // Status or role to restrict the list to, or null for all
+    private String search;      // Text to look for, or null for no search
+}
@@ -0,0 +1,24 @@
+package com.kasperovich.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Data Transfer Object with the execution statistics of one SQL statement shape.
+ * A shape is the statement text with its literals replaced by placeholders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStatisticDTO implements Serializable {
+    private String statement;
+    private long executionCount;
+    private long slowCount;
+    private double totalMillis;
+    private double averageMillis;
+    private double p99Millis;
+    private double maxMillis;
+}
@@ -0,0 +1,13 @@
+package com.kasperovich.dto.report;
+
+import java.io.Serializable;
+
+/**
+ * Lifecycle states of an asynchronous report job
+ */
+public enum ReportJobState implements Serializable {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,23 @@
+package com.kasperovich.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for the status of an asynchronous report job
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobStatusDTO implements Serializable {
+    private String jobId;
+    private ReportJobType reportType;
+    private ReportJobState state;
+    private String message;
+    private LocalDateTime submittedAt;
+    private LocalDateTime completedAt;
+}
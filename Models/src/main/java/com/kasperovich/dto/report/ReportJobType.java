@@ -0,0 +1,12 @@
+package com.kasperovich.dto.report;
+
+import java.io.Serializable;
+
+/**
+ * Report types that can be generated as asynchronous report jobs
+ */
+public enum ReportJobType implements Serializable {
+    SCHOLARSHIP_DISTRIBUTION,
+    APPLICATION_STATUS,
+    USER_ACTIVITY
+}
@@ -0,0 +1,24 @@
+package com.kasperovich.dto.scholarship;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Proposed split of a budget across scholarship programs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationPlanDTO implements Serializable {
+    private Long budgetId;
+    private AllocationStrategy strategy;
+    private BigDecimal availableAmount;
+    private BigDecimal totalDemand;
+    private BigDecimal totalProposed;
+    private List<AllocationPlanEntryDTO> entries;
+}
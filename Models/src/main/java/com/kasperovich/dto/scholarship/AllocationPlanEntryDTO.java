@@ -0,0 +1,24 @@
+package com.kasperovich.dto.scholarship;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Proposed allocation for one scholarship program within an allocation plan.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AllocationPlanEntryDTO implements Serializable {
+    private Long programId;
+    private String programName;
+    private long pendingApplications;
+    private BigDecimal fundingAmount;
+    private BigDecimal remainingAmount; // Funds the program already holds
+    private BigDecimal demandAmount;    // Funds needed to award every pending application
+    private BigDecimal proposedAmount;
+}
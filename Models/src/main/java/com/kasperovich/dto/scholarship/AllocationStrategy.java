@@ -0,0 +1,16 @@
+package com.kasperovich.dto.scholarship;
+
+/**
+ * Strategy used to split a budget across scholarship programs.
+ */
+public enum AllocationStrategy {
+    /**
+     * Every program receives a share of the available amount proportional to its demand.
+     */
+    PROPORTIONAL,
+    
+    /**
+     * Programs with the largest demand are funded in full first until the available amount runs out.
+     */
+    GREEDY
+}
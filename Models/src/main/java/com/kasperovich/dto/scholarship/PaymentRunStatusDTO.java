@@ -0,0 +1,30 @@
+package com.kasperovich.dto.scholarship;
+
+import com.kasperovich.entities.PaymentRunStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object describing the progress and throughput of a payment run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentRunStatusDTO implements Serializable {
+    private Long runId;
+    private PaymentRunStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long lastApplicationId;
+    private long processedCount;
+    private BigDecimal totalAmount;
+    private int chunkCount;
+    private long elapsedMillis;
+    private double paymentsPerSecond;
+    private String errorMessage;
+}
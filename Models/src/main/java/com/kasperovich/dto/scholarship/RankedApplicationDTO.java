@@ -0,0 +1,22 @@
+package com.kasperovich.dto.scholarship;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * DTO for one entry of a ranked application shortlist
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedApplicationDTO implements Serializable {
+    private int rank; // 1-based position in the shortlist
+    private ScholarshipApplicationDTO application;
+    private Double gpa; // Null when the applicant has no recorded GPA
+    private boolean withinBudget; // Whether the program's remaining funds cover this award
+    private BigDecimal cumulativeAmount; // Total awarded to this and all higher-ranked applications
+}
@@ -31,4 +31,5 @@ public class ScholarshipApplicationDTO implements Serializable {
     private String decisionComments;
     private Long reviewerId;
     private String reviewerUsername;
+    private LocalDateTime lastModified;
 }
@@ -0,0 +1,12 @@
+package com.kasperovich.dto.sync;
+
+/**
+ * Data sets whose changes are tracked with a server-issued version.
+ * Clients compare versions to decide whether a copy they hold is still current.
+ */
+public enum DataSet {
+    SCHOLARSHIP_PROGRAMS,
+    ACADEMIC_PERIODS,
+    BUDGETS,
+    USERS
+}
@@ -0,0 +1,46 @@
+package com.kasperovich.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.io.Serializable;
+
+/**
+ * Entity holding precomputed application status counts for a program and academic period.
+ * Maintained incrementally by the application write paths and used by the status report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "report_application_status_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_report_application_status_rollup", columnNames = {"program_id", "period_id"})
+})
+public class ApplicationStatusRollup implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "program_id", nullable = false)
+    private Long programId;
+
+    @Column(name = "period_id", nullable = false)
+    private Long periodId;
+
+    @Column(name = "pending_count", nullable = false)
+    private int pendingCount;
+
+    @Column(name = "approved_count", nullable = false)
+    private int approvedCount;
+
+    @Column(name = "rejected_count", nullable = false)
+    private int rejectedCount;
+}
@@ -0,0 +1,34 @@
+package com.kasperovich.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording that a scholarship application was deleted.
+ * Clients that synchronize application lists incrementally learn about deletions from these
+ * rows, since a deleted application no longer shows up among the changed ones.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "application_tombstones", indexes = {
+        @Index(name = "idx_application_tombstones_deleted_at", columnList = "deleted_at")
+})
+public class ApplicationTombstone implements Serializable {
+
+    @Id
+    @Column(name = "application_id")
+    private Long applicationId;
+
+    @Column(name = "applicant_id", nullable = false)
+    private Long applicantId;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+}
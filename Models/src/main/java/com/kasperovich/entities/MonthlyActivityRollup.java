@@ -0,0 +1,43 @@
+package com.kasperovich.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.io.Serializable;
+
+/**
+ * Entity holding precomputed counts of new students and submitted applications for a calendar month.
+ * Maintained incrementally by the registration and application write paths and used by the activity report.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "report_monthly_activity_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uq_report_monthly_activity_rollup", columnNames = {"activity_year", "activity_month"})
+})
+public class MonthlyActivityRollup implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "activity_year", nullable = false)
+    private int activityYear;
+
+    @Column(name = "activity_month", nullable = false)
+    private int activityMonth;
+
+    @Column(name = "new_user_count", nullable = false)
+    private int newUserCount;
+
+    @Column(name = "application_count", nullable = false)
+    private int applicationCount;
+}
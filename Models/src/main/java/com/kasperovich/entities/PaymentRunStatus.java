@@ -0,0 +1,10 @@
+package com.kasperovich.entities;
+
+/**
+ * Enum representing the status of a payment run.
+ */
+public enum PaymentRunStatus {
+    RUNNING,    // Payments are being generated
+    COMPLETED,  // Every approved application has been paid
+    FAILED      // The run stopped with an error and can be resumed
+}
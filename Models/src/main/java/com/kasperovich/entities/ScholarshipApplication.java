@@ -21,7 +21,14 @@ import java.time.LocalDateTime;
 @ToString(exclude = {"applicant", "program", "period", "reviewer"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "scholarship_applications")
+@Table(name = "scholarship_applications", indexes = {
+        @Index(name = "idx_scholarship_applications_submission_program_status",
+                columnList = "submission_date, program_id, status"),
+        @Index(name = "idx_scholarship_applications_program_status_submission",
+                columnList = "program_id, status, submission_date"),
+        @Index(name = "idx_scholarship_applications_last_modified",
+                columnList = "last_modified")
+})
 public class ScholarshipApplication implements Serializable {
 
     @Id
@@ -56,6 +63,9 @@ public class ScholarshipApplication implements Serializable {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reviewer_id")
     private User reviewer;
+
+    @Column(name = "last_modified", nullable = false)
+    private LocalDateTime lastModified;
     
     /**
      * Approves the application with the given reviewer and comments.
@@ -68,6 +78,7 @@ public class ScholarshipApplication implements Serializable {
         this.reviewer = reviewer;
         this.decisionComments = comments;
         this.decisionDate = LocalDateTime.now();
+        this.lastModified = this.decisionDate;
     }
 
     /**
@@ -81,6 +92,7 @@ public class ScholarshipApplication implements Serializable {
         this.reviewer = reviewer;
         this.decisionComments = comments;
         this.decisionDate = LocalDateTime.now();
+        this.lastModified = this.decisionDate;
     }
 
     /**
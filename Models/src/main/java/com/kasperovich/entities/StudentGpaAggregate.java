@@ -0,0 +1,53 @@
+package com.kasperovich.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Entity holding the running GPA sums of a student for one academic period.
+ * Maintained incrementally when course grades are saved or removed; the GPA for the
+ * period is weightedGradeSum / gpaCredits and the overall GPA sums over all periods.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@SuperBuilder
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "student_gpa_aggregates",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"student_id", "period_id"}))
+public class StudentGpaAggregate implements Serializable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EqualsAndHashCode.Include
+    private Long id;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    @Column(name = "period_id", nullable = false)
+    private Long periodId;
+
+    @Column(name = "weighted_grade_sum", nullable = false, precision = 12, scale = 4)
+    private BigDecimal weightedGradeSum = BigDecimal.ZERO;
+
+    @Column(name = "gpa_credits", nullable = false)
+    private int gpaCredits;
+
+    /**
+     * Returns the GPA for the period.
+     *
+     * @return the GPA, or null if no graded credits count towards it
+     */
+    public Double getGpa() {
+        return gpaCredits > 0 ? weightedGradeSum.doubleValue() / gpaCredits : null;
+    }
+}
@@ -0,0 +1,42 @@
+package com.kasperovich.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording an authentication token issued at login.
+ * Sessions outlive the server process, so a client that reconnects after a restart can resume
+ * its session with the token it holds instead of logging in again. Only a hash of the token
+ * is stored. The stored session is shared by all servers on the database, which check it to
+ * learn of logouts and activity on the other servers.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "user_sessions", indexes = {
+        @Index(name = "idx_user_sessions_expires_at", columnList = "expires_at")
+})
+public class UserSession implements Serializable {
+
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_used_at", nullable = false)
+    private LocalDateTime lastUsedAt;
+}
@@ -3,6 +3,8 @@ package com.kasperovich;
 import com.kasperovich.database.DatabaseConnectionTest;
 import com.kasperovich.database.HibernateUtil;
 import com.kasperovich.serverinfo.ServerProcessingThread;
+import com.kasperovich.serverinfo.StartupPipeline;
+import com.kasperovich.service.ServerContext;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
@@ -11,6 +13,7 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 
 public class RunServer {
 
@@ -75,24 +78,23 @@ public class RunServer {
                     logger.warn("Database connection test failed. Server will not start.");
                     return;
                 }
-            } else {
-                // For normal server operation, test the database connection but continue regardless
-                logger.info("Testing database connection...");
-                boolean connectionSuccessful = DatabaseConnectionTest.testConnection();
-                if (connectionSuccessful) {
-                    DatabaseConnectionTest.showDatabaseInfo();
-                } else {
-                    logger.warn("Database connection test failed. Server will start, but database functionality may not work properly.");
-                }
             }
 
-            serverProcessingThread = new ServerProcessingThread(port);
+            // Warm up in the background while the listen socket is bound
+            ServerContext context = ServerContext.createDefault();
+            ServerContext.initialize(context);
+            StartupPipeline startup = new StartupPipeline(context);
+            CompletableFuture<Void> ready = startup.start();
+
+            long bindStart = System.nanoTime();
+            serverProcessingThread = new ServerProcessingThread(port, context, ready);
+            startup.record("socket bind", bindStart);
             serverProcessingThread.setName("Server processing thread");
             serverProcessingThread.setUncaughtExceptionHandler(exceptionHandler);
 
             logger.info("Starting server processing thread");
             serverProcessingThread.start();
-            logger.info("Server successfully started and listening on port: {}", port);
+            ready.thenRun(() -> logger.info("Server successfully started and listening on port: {}", port));
             
         } catch (Exception e) {
             logger.error("Failed to start server", e);
@@ -0,0 +1,182 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.dto.sync.DataSet;
+import com.kasperovich.entities.ScholarshipApplication;
+import com.kasperovich.entities.User;
+
+/**
+ * Brings the server caches up to date after a write.
+ * Each write path reports what it changed with one call, and this class decides which data set
+ * versions to bump and which cached reports, shortlists and search entries to drop, so the
+ * write paths do not each repeat their own list of caches.
+ */
+public class CacheInvalidator {
+    private static final CacheInvalidator instance = new CacheInvalidator(DataVersions.getInstance(),
+            ReportCache.getInstance(), ShortlistCache.getInstance(), StudentReportCache.getInstance(),
+            SearchIndex.users(), SearchIndex.applications());
+
+    private final DataVersions dataVersions;
+    private final ReportCache reportCache;
+    private final ShortlistCache shortlistCache;
+    private final StudentReportCache studentReportCache;
+    private final SearchIndex<Long> userIndex;
+    private final SearchIndex<Long> applicationIndex;
+
+    /**
+     * Creates an invalidator for the given caches.
+     *
+     * @param dataVersions the versions of the data sets clients cache
+     * @param reportCache the cache of report results
+     * @param shortlistCache the cache of ranked shortlists
+     * @param studentReportCache the cache of per-student academic reports
+     * @param userIndex the search index of users
+     * @param applicationIndex the search index of scholarship applications
+     */
+    public CacheInvalidator(DataVersions dataVersions, ReportCache reportCache, ShortlistCache shortlistCache,
+                            StudentReportCache studentReportCache, SearchIndex<Long> userIndex,
+                            SearchIndex<Long> applicationIndex) {
+        this.dataVersions = dataVersions;
+        this.reportCache = reportCache;
+        this.shortlistCache = shortlistCache;
+        this.studentReportCache = studentReportCache;
+        this.userIndex = userIndex;
+        this.applicationIndex = applicationIndex;
+    }
+
+    /**
+     * Gets the invalidator of the process-wide caches.
+     *
+     * @return the invalidator instance
+     */
+    public static CacheInvalidator getInstance() {
+        return instance;
+    }
+
+    /**
+     * Records that a user has registered.
+     *
+     * @param user the saved user
+     */
+    public void onUserRegistered(User user) {
+        dataVersions.bump(DataSet.USERS);
+        reportCache.onUsersChanged();
+        indexUser(user);
+    }
+
+    /**
+     * Records that a user's name or email has changed.
+     *
+     * @param user the saved user
+     */
+    public void onUserProfileChanged(User user) {
+        dataVersions.bump(DataSet.USERS);
+        studentReportCache.invalidate(user.getId());
+        indexUser(user);
+        // Applications are searched by their applicant's name
+        applicationIndex.invalidate();
+    }
+
+    /**
+     * Records that a user has been activated or deactivated.
+     *
+     * @param userId the ID of the user
+     */
+    public void onUserStatusChanged(Long userId) {
+        dataVersions.bump(DataSet.USERS);
+        studentReportCache.invalidate(userId);
+    }
+
+    /**
+     * Records that an application has been submitted.
+     *
+     * @param application the saved application with its applicant and program
+     */
+    public void onApplicationSubmitted(ScholarshipApplication application) {
+        User applicant = application.getApplicant();
+        onApplicationChanged(applicant.getId());
+        applicationIndex.put(application.getId(), applicant.getUsername(), applicant.getFirstName(),
+                applicant.getLastName(), application.getProgram().getName());
+    }
+
+    /**
+     * Records that an application has been approved, rejected or otherwise changed.
+     *
+     * @param applicantId the ID of the applicant
+     */
+    public void onApplicationChanged(Long applicantId) {
+        reportCache.onApplicationsChanged();
+        shortlistCache.clear();
+        studentReportCache.invalidate(applicantId);
+    }
+
+    /**
+     * Records that scholarship programs have been created, edited or deleted.
+     */
+    public void onProgramsChanged() {
+        dataVersions.bump(DataSet.SCHOLARSHIP_PROGRAMS);
+        reportCache.onProgramsChanged();
+        shortlistCache.clear();
+        studentReportCache.clear();
+        // Applications are searched by their program's name
+        applicationIndex.invalidate();
+    }
+
+    /**
+     * Records that the funds of scholarship programs have been used.
+     */
+    public void onProgramFundsChanged() {
+        dataVersions.bump(DataSet.SCHOLARSHIP_PROGRAMS);
+        reportCache.onProgramsChanged();
+        shortlistCache.clear();
+    }
+
+    /**
+     * Records that funds have been allocated from budgets to programs, or such an allocation has changed.
+     */
+    public void onAllocationsChanged() {
+        dataVersions.bump(DataSet.BUDGETS, DataSet.SCHOLARSHIP_PROGRAMS);
+        reportCache.onProgramsChanged();
+        shortlistCache.clear();
+    }
+
+    /**
+     * Records that budgets have been created, edited or deleted.
+     */
+    public void onBudgetsChanged() {
+        dataVersions.bump(DataSet.BUDGETS);
+    }
+
+    /**
+     * Records that academic periods have been created, edited or deleted.
+     */
+    public void onPeriodsChanged() {
+        dataVersions.bump(DataSet.ACADEMIC_PERIODS);
+        reportCache.invalidate(ReportCache.ReportType.APPLICATION_STATUS);
+        studentReportCache.clear();
+    }
+
+    /**
+     * Records that course grades, and so GPAs, have changed.
+     *
+     * @param userId the ID of the student user whose grades changed, or null if any may have
+     */
+    public void onGradesChanged(Long userId) {
+        shortlistCache.clear();
+        if (userId != null) {
+            studentReportCache.invalidate(userId);
+        } else {
+            studentReportCache.clear();
+        }
+    }
+
+    /**
+     * Records that payments have been made.
+     */
+    public void onPaymentsChanged() {
+        studentReportCache.clear();
+    }
+
+    private void indexUser(User user) {
+        userIndex.put(user.getId(), user.getUsername(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
+}
@@ -0,0 +1,157 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.dao.DataVersionDao;
+import com.kasperovich.dao.impl.DataVersionDaoImpl;
+import com.kasperovich.dto.sync.DataSet;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Version counters of the data sets clients cache.
+ * The service write paths bump the version of every data set they change; list responses
+ * carry the version read before their query, so a client copy is current exactly when its
+ * version equals the current one.
+ * <p>
+ * The counters are kept in the database, so that servers sharing it issue the same versions and
+ * a change made through one server is seen by clients of the others. Each server reads them at
+ * most every {@link #REFRESH_MILLIS}, so a client may be told its copy is current for that long
+ * after another server changed the data. If the database cannot be reached, the last known
+ * versions are used and bumped in memory.
+ * <p>
+ * The versions of scholarship programs and academic periods also advance every day, since their
+ * lists show flags that depend on the current date.
+ */
+public class DataVersions {
+    private static final Logger logger = LoggerUtil.getLogger(DataVersions.class);
+    static final long REFRESH_MILLIS = 2000;
+    // Programs and periods carry flags computed from today's date, such as whether a program still
+    // accepts applications, so their lists also change when the date does
+    private static final Set<DataSet> DATE_DEPENDENT = EnumSet.of(DataSet.SCHOLARSHIP_PROGRAMS, DataSet.ACADEMIC_PERIODS);
+
+    private static final DataVersions instance =
+            new DataVersions(new DataVersionDaoImpl(), System.currentTimeMillis(), System::currentTimeMillis);
+
+    private final Map<DataSet, AtomicLong> versions = new EnumMap<>(DataSet.class);
+    private final DataVersionDao dataVersionDao;
+    private final LongSupplier clock;
+    private long refreshedAt;
+    private boolean refreshed;
+
+    /**
+     * Creates version counters kept in memory only.
+     *
+     * @param initialVersion the version every data set starts at
+     */
+    public DataVersions(long initialVersion) {
+        this(null, initialVersion, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates version counters.
+     *
+     * @param dataVersionDao the shared counters, or null to keep them in memory only
+     * @param initialVersion the version every data set starts at until the shared counters are read
+     * @param clock supplies the current time in milliseconds
+     */
+    DataVersions(DataVersionDao dataVersionDao, long initialVersion, LongSupplier clock) {
+        this.dataVersionDao = dataVersionDao;
+        this.clock = clock;
+        for (DataSet dataSet : DataSet.values()) {
+            versions.put(dataSet, new AtomicLong(initialVersion));
+        }
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the data versions instance
+     */
+    public static DataVersions getInstance() {
+        return instance;
+    }
+
+    /**
+     * Gets the current version of a data set.
+     *
+     * @param dataSet the data set
+     * @return the current version
+     */
+    public long get(DataSet dataSet) {
+        refreshIfDue();
+        return effectiveVersion(dataSet, versions.get(dataSet).get(), today());
+    }
+
+    /**
+     * Records that data sets have changed.
+     *
+     * @param dataSets the changed data sets
+     */
+    public void bump(DataSet... dataSets) {
+        if (dataVersionDao != null) {
+            try {
+                dataVersionDao.increment(dataSets);
+                refresh();
+                logger.debug("{} changed", Arrays.toString(dataSets));
+                return;
+            } catch (Exception e) {
+                logger.warn("Could not bump the shared data versions, bumping them in memory: {}", e.getMessage());
+            }
+        }
+        for (DataSet dataSet : dataSets) {
+            long version = versions.get(dataSet).incrementAndGet();
+            logger.debug("{} changed, now at version {}", dataSet, version);
+        }
+    }
+
+    /**
+     * Gets the current versions of all data sets.
+     *
+     * @return the versions by data set
+     */
+    public EnumMap<DataSet, Long> snapshot() {
+        refreshIfDue();
+        EnumMap<DataSet, Long> snapshot = new EnumMap<>(DataSet.class);
+        long today = today();
+        versions.forEach((dataSet, version) -> snapshot.put(dataSet, effectiveVersion(dataSet, version.get(), today)));
+        return snapshot;
+    }
+
+    /**
+     * Combines the stored version of a data set whose content depends on the date with the day.
+     * Both parts only grow, so the combined version differs from every earlier one.
+     */
+    private static long effectiveVersion(DataSet dataSet, long version, long epochDay) {
+        return DATE_DEPENDENT.contains(dataSet) ? version * 31 + epochDay : version;
+    }
+
+    private long today() {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(clock.getAsLong()), ZoneId.systemDefault()).toEpochDay();
+    }
+
+    private synchronized void refreshIfDue() {
+        if (dataVersionDao != null && (!refreshed || clock.getAsLong() - refreshedAt >= REFRESH_MILLIS)) {
+            refresh();
+        }
+    }
+
+    private synchronized void refresh() {
+        refreshed = true;
+        refreshedAt = clock.getAsLong();
+        try {
+            dataVersionDao.findAll().forEach((dataSet, version) -> versions.get(dataSet).set(version));
+        } catch (Exception e) {
+            logger.warn("Could not read the shared data versions, using the last known ones: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Responses to commands sent with an idempotency key, so that a client that sends a command
+ * again, because the connection dropped or the response timed out, gets the original response
+ * instead of having the command carried out twice. A command sent again while the original is
+ * still running waits for the original's response.
+ * <p>
+ * Responses are kept in memory for a limited time and up to a fixed number of keys, which
+ * covers the seconds to minutes in which a client retries. Keys whose command is still running
+ * are never dropped. The store belongs to one server process, so clients only send a command
+ * again to the same process (see {@link com.kasperovich.commands.fromserver.ResponseWrapper#getServerInstanceId()}).
+ */
+public class IdempotencyStore {
+    private static final Logger logger = LoggerUtil.getLogger(IdempotencyStore.class);
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final long DEFAULT_TTL_MILLIS = 15 * 60 * 1000L;
+
+    private static final IdempotencyStore instance =
+            new IdempotencyStore(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+
+    /**
+     * Creates a store.
+     *
+     * @param maxEntries the maximum number of keys kept; the oldest completed key is dropped first
+     * @param ttlMillis how long a response is kept after the command was first received
+     * @param clock supplies the current time in milliseconds
+     */
+    IdempotencyStore(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the store instance
+     */
+    public static IdempotencyStore getInstance() {
+        return instance;
+    }
+
+    /**
+     * Claims a key before carrying out its command.
+     * The first caller gets null and must then call {@link #complete} or {@link #abandon};
+     * later callers get the response of the first one, completed once it is available.
+     *
+     * @param key the idempotency key
+     * @return null if the command must be carried out, or the original response otherwise
+     */
+    public synchronized CompletableFuture<ResponseWrapper> claim(String key) {
+        removeExpired();
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            logger.info("Command with idempotency key {} was received before; returning the original response", key);
+            return entry.response;
+        }
+        entries.put(key, new Entry(clock.getAsLong()));
+        removeOldestCompleted();
+        return null;
+    }
+
+    /**
+     * Records the response to a claimed key.
+     *
+     * @param key the idempotency key
+     * @param response the response sent to the client
+     */
+    public synchronized void complete(String key, ResponseWrapper response) {
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            entry.response.complete(response);
+        }
+    }
+
+    /**
+     * Releases a claimed key whose command produced no response, so that it can be sent again.
+     * Callers waiting for the original response fail.
+     *
+     * @param key the idempotency key
+     */
+    public synchronized void abandon(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.response.completeExceptionally(new IllegalStateException("The original command failed"));
+        }
+    }
+
+    /**
+     * Returns the number of keys kept.
+     *
+     * @return the number of keys
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drops the oldest keys whose command has completed while there are too many keys.
+     */
+    private void removeOldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void removeExpired() {
+        long now = clock.getAsLong();
+        Iterator<Entry> iterator = entries.values().iterator();
+        // Keys are kept in the order they were claimed, so the expired ones come first
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.claimedAt < ttlMillis) {
+                break;
+            }
+            if (entry.response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final long claimedAt;
+        private final CompletableFuture<ResponseWrapper> response = new CompletableFuture<>();
+
+        Entry(long claimedAt) {
+            this.claimedAt = claimedAt;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Shared cache of report results keyed by report type and parameters.
+ * Entries are evicted in least-recently-used order once either the entry limit
+ * or the total row limit is exceeded. Concurrent requests for the same key are
+ * collapsed into a single computation. Write paths invalidate the report types
+ * that depend on the data they change. Data changed through another server sharing the
+ * database is not seen by these write paths, so a report is also recomputed once it
+ * is older than the maximum age.
+ */
+public class ReportCache {
+    private static final Logger logger = LoggerUtil.getLogger(ReportCache.class);
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+    private static final long DEFAULT_MAX_ROWS = 50_000;
+    private static final long DEFAULT_MAX_AGE_MILLIS = 60_000;
+
+    private static final ReportCache instance = new ReportCache(DEFAULT_MAX_ENTRIES, DEFAULT_MAX_ROWS);
+
+    /**
+     * Report types that can be cached.
+     */
+    public enum ReportType {
+        SCHOLARSHIP_DISTRIBUTION,
+        APPLICATION_STATUS,
+        USER_ACTIVITY
+    }
+
+    /**
+     * Computes a report when it is not cached.
+     *
+     * @param <T> the type of the report rows
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * Computes the report rows.
+         *
+         * @return the report rows
+         * @throws Exception if the report cannot be computed
+         */
+        List<T> load() throws Exception;
+    }
+
+    private final int maxEntries;
+    private final long maxRows;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<List<?>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<ReportType, AtomicLong> generations = new EnumMap<>(ReportType.class);
+    private long cachedRows;
+
+    /**
+     * Creates a cache with the given limits.
+     *
+     * @param maxEntries the maximum number of cached reports
+     * @param maxRows the maximum total number of rows across cached reports
+     */
+    ReportCache(int maxEntries, long maxRows) {
+        this(maxEntries, maxRows, DEFAULT_MAX_AGE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with the given limits and maximum age.
+     *
+     * @param maxEntries the maximum number of cached reports
+     * @param maxRows the maximum total number of rows across cached reports
+     * @param maxAgeMillis how long a report is served after it was computed
+     * @param clock supplies the current time in milliseconds
+     */
+    ReportCache(int maxEntries, long maxRows, long maxAgeMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.maxRows = maxRows;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        for (ReportType type : ReportType.values()) {
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the report cache instance
+     */
+    public static ReportCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the cached report for the given type and parameters, computing it with the loader on a miss.
+     * Only one computation runs per key at a time; other callers wait for its result.
+     *
+     * @param type the report type
+     * @param params the report parameters, may contain nulls
+     * @param loader computes the report on a miss
+     * @param <T> the type of the report rows
+     * @return a copy of the report rows
+     * @throws Exception if the computation fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(ReportType type, List<?> params, Loader<T> loader) throws Exception {
+        Key key = new Key(type, new ArrayList<>(params));
+
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && clock.getAsLong() - cached.storedAt() < maxAgeMillis) {
+                logger.debug("Report cache hit for {}", key);
+                return new ArrayList<>((List<T>) cached.rows());
+            }
+            if (cached != null) {
+                entries.remove(key);
+                cachedRows -= weight(cached.rows());
+            }
+        }
+
+        CompletableFuture<List<?>> future = new CompletableFuture<>();
+        CompletableFuture<List<?>> running = inFlight.putIfAbsent(key, future);
+        if (running != null) {
+            logger.debug("Waiting for in-flight report computation for {}", key);
+            return new ArrayList<>((List<T>) await(running));
+        }
+
+        long generation = generations.get(type).get();
+        try {
+            List<T> result = loader.load();
+            store(key, result, generation);
+            future.complete(result);
+            return new ArrayList<>(result);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Removes all cached reports of the given types.
+     * Computations already running for these types will not be cached.
+     *
+     * @param types the report types to invalidate
+     */
+    public void invalidate(ReportType... types) {
+        synchronized (this) {
+            for (ReportType type : types) {
+                generations.get(type).incrementAndGet();
+            }
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, Entry> entry = iterator.next();
+                if (Arrays.asList(types).contains(entry.getKey().type())) {
+                    cachedRows -= weight(entry.getValue().rows());
+                    iterator.remove();
+                }
+            }
+        }
+        logger.debug("Invalidated cached reports: {}", Arrays.toString(types));
+    }
+
+    /**
+     * Invalidates reports that depend on scholarship applications.
+     */
+    public void onApplicationsChanged() {
+        invalidate(ReportType.values());
+    }
+
+    /**
+     * Invalidates reports that depend on user registrations.
+     */
+    public void onUsersChanged() {
+        invalidate(ReportType.USER_ACTIVITY);
+    }
+
+    /**
+     * Invalidates reports that show program or period details.
+     */
+    public void onProgramsChanged() {
+        invalidate(ReportType.SCHOLARSHIP_DISTRIBUTION, ReportType.APPLICATION_STATUS);
+    }
+
+    /**
+     * Removes all cached reports.
+     */
+    public void clear() {
+        invalidate(ReportType.values());
+    }
+
+    /**
+     * Returns the number of cached reports.
+     *
+     * @return the number of cached reports
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stores a computed report unless its type was invalidated while it was being computed.
+     */
+    private synchronized void store(Key key, List<?> result, long generation) {
+        if (generations.get(key.type()).get() != generation) {
+            logger.debug("Discarding report computed during invalidation for {}", key);
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(new ArrayList<>(result), clock.getAsLong()));
+        if (previous != null) {
+            cachedRows -= weight(previous.rows());
+        }
+        cachedRows += weight(result);
+
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || cachedRows > maxRows) && iterator.hasNext()) {
+            Map.Entry<Key, Entry> eldest = iterator.next();
+            cachedRows -= weight(eldest.getValue().rows());
+            iterator.remove();
+            logger.debug("Evicted cached report {}", eldest.getKey());
+        }
+    }
+
+    private static long weight(List<?> rows) {
+        return Math.max(1, rows.size());
+    }
+
+    private static List<?> await(CompletableFuture<List<?>> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cache key made of the report type and its parameters.
+     */
+    private record Key(ReportType type, List<Object> params) {
+    }
+
+    /**
+     * Cached report rows and the time they were computed.
+     */
+    private record Entry(List<?> rows, long storedAt) {
+    }
+}
@@ -0,0 +1,364 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory substring index over the searchable text of users and applications.
+ * Each entry's fields are lowercased once and split into trigrams; a search looks up the
+ * rarest trigram of the query and checks only the entries containing it, instead of comparing
+ * every row with LIKE '%text%'. The results of recent queries are kept, so a query that extends
+ * one of them, as it does on every keystroke of a search box, only rechecks the previous matches.
+ * <p>
+ * The index is loaded on the first search. Write paths keep it current with {@link #put} and
+ * {@link #remove}, or drop it with {@link #invalidate()} when a change touches many entries.
+ * Changes made through another server sharing the database do not reach these calls, so the
+ * index is also loaded again on the first search after it is older than the maximum age.
+ *
+ * @param <K> the type of the entry keys
+ */
+public class SearchIndex<K> {
+    private static final Logger logger = LoggerUtil.getLogger(SearchIndex.class);
+
+    /**
+     * The largest number of matches to pass to the database as a list of IDs.
+     * SQL Server accepts at most 2100 parameters per statement.
+     */
+    public static final int MAX_ID_RESTRICTION = 2000;
+    private static final int MAX_RECENT_RESULTS = 32;
+    private static final int MIN_SLOTS_TO_COMPACT = 1024;
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final long DEFAULT_MAX_AGE_MILLIS = 60_000;
+
+    private static final SearchIndex<Long> users = new SearchIndex<>("users");
+    private static final SearchIndex<Long> applications = new SearchIndex<>("applications");
+
+    /**
+     * Loads the searchable fields of all entries when the index is not loaded.
+     *
+     * @param <K> the type of the entry keys
+     */
+    @FunctionalInterface
+    public interface Loader<K> {
+        /**
+         * Loads the entries.
+         *
+         * @return the searchable fields of each entry
+         * @throws Exception if the entries cannot be loaded
+         */
+        Map<K, String[]> load() throws Exception;
+    }
+
+    private final String name;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+    private final List<K> keys = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<K, Integer> slots = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final Map<String, int[]> recentResults;
+    private boolean loaded;
+    private long loadedAt;
+    private long generation;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param name the name used in log messages
+     */
+    SearchIndex(String name) {
+        this(name, DEFAULT_MAX_AGE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates an empty index that is loaded again once it is older than a maximum age.
+     *
+     * @param name the name used in log messages
+     * @param maxAgeMillis how long the loaded entries are searched before they are loaded again
+     * @param clock supplies the current time in milliseconds
+     */
+    SearchIndex(String name, long maxAgeMillis, LongSupplier clock) {
+        this.name = name;
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        this.recentResults = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, int[]> eldest) {
+                return size() > MAX_RECENT_RESULTS;
+            }
+        };
+    }
+
+    /**
+     * Gets the index of users by username, first name, last name and email.
+     *
+     * @return the user index
+     */
+    public static SearchIndex<Long> users() {
+        return users;
+    }
+
+    /**
+     * Gets the index of scholarship applications by applicant username, first name and last name,
+     * and program name.
+     *
+     * @return the application index
+     */
+    public static SearchIndex<Long> applications() {
+        return applications;
+    }
+
+    /**
+     * Finds the entries with a field containing a text, ignoring case.
+     * An index changed while it was being loaded is searched but not kept.
+     *
+     * @param text the text to search for; must not be blank
+     * @param loader loads the entries if the index is not loaded
+     * @return the keys of the matching entries, in no particular order
+     * @throws Exception if the loader fails
+     */
+    public List<K> search(String text, Loader<K> loader) throws Exception {
+        String query = normalize(text);
+        long startGeneration;
+        long startedAt;
+        synchronized (this) {
+            if (loaded && clock.getAsLong() - loadedAt >= maxAgeMillis) {
+                logger.debug("Reloading {} search index", name);
+                invalidate();
+            }
+            if (loaded) {
+                return search(query);
+            }
+            startGeneration = generation;
+            startedAt = clock.getAsLong();
+        }
+
+        Map<K, String[]> entries = loader.load();
+
+        synchronized (this) {
+            if (!loaded && generation == startGeneration) {
+                for (Map.Entry<K, String[]> entry : entries.entrySet()) {
+                    add(entry.getKey(), entry.getValue());
+                }
+                loaded = true;
+                loadedAt = startedAt;
+                logger.info("Loaded {} search index with {} entries", name, slots.size());
+            }
+            if (loaded) {
+                return search(query);
+            }
+        }
+        List<K> matches = new ArrayList<>();
+        for (Map.Entry<K, String[]> entry : entries.entrySet()) {
+            if (text(entry.getValue()).contains(query)) {
+                matches.add(entry.getKey());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds an entry or replaces its fields.
+     *
+     * @param key the key of the entry
+     * @param fields the searchable fields; null fields are skipped
+     */
+    public synchronized void put(K key, String... fields) {
+        generation++;
+        if (loaded) {
+            recentResults.clear();
+            drop(key);
+            add(key, fields);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key the key of the entry
+     */
+    public synchronized void remove(K key) {
+        generation++;
+        if (loaded) {
+            recentResults.clear();
+            drop(key);
+            compactIfSparse();
+        }
+    }
+
+    /**
+     * Drops all entries; the index is loaded again on the next search.
+     */
+    public synchronized void invalidate() {
+        generation++;
+        loaded = false;
+        clearEntries();
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    private List<K> search(String query) {
+        int[] candidates = null;
+        String base = null;
+        // A query containing a recent one can only match entries that one matched
+        for (Map.Entry<String, int[]> recent : recentResults.entrySet()) {
+            String previous = recent.getKey();
+            if (query.contains(previous) && (base == null || previous.length() > base.length())) {
+                base = previous;
+                candidates = recent.getValue();
+            }
+        }
+        if (candidates == null) {
+            candidates = query.length() >= 3 ? rarestPostings(query) : allSlots();
+        }
+
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int slot : candidates) {
+            String entryText = texts.get(slot);
+            if (entryText != null && entryText.contains(query)) {
+                matches[count++] = slot;
+            }
+        }
+        matches = Arrays.copyOf(matches, count);
+        recentResults.put(query, matches);
+
+        List<K> result = new ArrayList<>(count);
+        for (int slot : matches) {
+            result.add(keys.get(slot));
+        }
+        return result;
+    }
+
+    private int[] rarestPostings(String query) {
+        Postings rarest = null;
+        for (int i = 0; i + 3 <= query.length(); i++) {
+            Postings list = postings.get(trigram(query, i));
+            if (list == null) {
+                return new int[0];
+            }
+            if (rarest == null || list.size < rarest.size) {
+                rarest = list;
+            }
+        }
+        return Arrays.copyOf(rarest.slots, rarest.size);
+    }
+
+    private int[] allSlots() {
+        int[] all = new int[slots.size()];
+        int i = 0;
+        for (int slot : slots.values()) {
+            all[i++] = slot;
+        }
+        return all;
+    }
+
+    private void add(K key, String[] fields) {
+        int slot = texts.size();
+        String entryText = text(fields);
+        keys.add(key);
+        texts.add(entryText);
+        slots.put(key, slot);
+        for (int i = 0; i + 3 <= entryText.length(); i++) {
+            // Slots only grow, so each posting list stays sorted
+            postings.computeIfAbsent(trigram(entryText, i), t -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Marks an entry's slot as dead; its postings are skipped until the next compaction.
+     */
+    private void drop(K key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            keys.set(slot, null);
+            texts.set(slot, null);
+        }
+    }
+
+    private void compactIfSparse() {
+        int deadSlots = texts.size() - slots.size();
+        if (deadSlots < MIN_SLOTS_TO_COMPACT || deadSlots < slots.size()) {
+            return;
+        }
+        List<K> liveKeys = new ArrayList<>(slots.size());
+        List<String> liveTexts = new ArrayList<>(slots.size());
+        for (int slot = 0; slot < texts.size(); slot++) {
+            if (texts.get(slot) != null) {
+                liveKeys.add(keys.get(slot));
+                liveTexts.add(texts.get(slot));
+            }
+        }
+        clearEntries();
+        for (int i = 0; i < liveKeys.size(); i++) {
+            // The texts are already joined and lowercased
+            add(liveKeys.get(i), new String[] {liveTexts.get(i)});
+        }
+        logger.debug("Compacted {} search index, dropping {} dead slots", name, deadSlots);
+    }
+
+    private void clearEntries() {
+        keys.clear();
+        texts.clear();
+        slots.clear();
+        postings.clear();
+        recentResults.clear();
+    }
+
+    private static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String text(String[] fields) {
+        StringBuilder text = new StringBuilder();
+        for (String field : fields) {
+            if (field != null) {
+                if (!text.isEmpty()) {
+                    text.append(FIELD_SEPARATOR);
+                }
+                text.append(field.toLowerCase(Locale.ROOT));
+            }
+        }
+        return text.toString();
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * A growable list of slots containing a trigram, in increasing order.
+     */
+    private static final class Postings {
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            // A trigram repeated within one text is listed once
+            if (size > 0 && slots[size - 1] == slot) {
+                return;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size++] = slot;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of application rankings keyed by program and academic period.
+ * Ranking depends on pending applications, student GPAs and program funds, so every write
+ * path that changes one of them clears the whole cache. Paging through a shortlist then
+ * ranks the candidates once instead of once per page. Changes made through another server
+ * sharing the database do not clear this cache, so a shortlist is also ranked again once it
+ * is older than the maximum age.
+ */
+public class ShortlistCache {
+    private static final Logger logger = LoggerUtil.getLogger(ShortlistCache.class);
+    private static final int DEFAULT_MAX_ENTRIES = 32;
+    private static final long DEFAULT_MAX_AGE_MILLIS = 60_000;
+
+    private static final ShortlistCache instance = new ShortlistCache(DEFAULT_MAX_ENTRIES);
+
+    /**
+     * Computes a shortlist when it is not cached.
+     *
+     * @param <T> the type of the shortlist
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * Computes the shortlist.
+         *
+         * @return the shortlist
+         * @throws Exception if the shortlist cannot be computed
+         */
+        T load() throws Exception;
+    }
+
+    private final Map<Key, Entry> entries;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+    private long generation;
+
+    /**
+     * Creates a cache with the given limit.
+     *
+     * @param maxEntries the maximum number of cached shortlists
+     */
+    ShortlistCache(int maxEntries) {
+        this(maxEntries, DEFAULT_MAX_AGE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with the given limit and maximum age.
+     *
+     * @param maxEntries the maximum number of cached shortlists
+     * @param maxAgeMillis how long a shortlist is served after it was computed
+     * @param clock supplies the current time in milliseconds
+     */
+    ShortlistCache(int maxEntries, long maxAgeMillis, LongSupplier clock) {
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache instance
+     */
+    public static ShortlistCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the cached shortlist of a program and period, computing it with the loader on a miss.
+     * A shortlist computed while the cache was cleared is returned but not stored.
+     *
+     * @param programId the ID of the program
+     * @param periodId the ID of the academic period, or null for all periods
+     * @param loader computes the shortlist on a miss
+     * @param <T> the type of the shortlist
+     * @return the shortlist
+     * @throws Exception if the loader fails
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(Long programId, Long periodId, Loader<T> loader) throws Exception {
+        Key key = new Key(programId, periodId);
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(key);
+            if (cached != null && clock.getAsLong() - cached.storedAt < maxAgeMillis) {
+                logger.debug("Shortlist cache hit for program ID: {}, period ID: {}", programId, periodId);
+                return (T) cached.shortlist;
+            }
+            startGeneration = generation;
+        }
+
+        T shortlist = loader.load();
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, new Entry(shortlist, clock.getAsLong()));
+            }
+        }
+        return shortlist;
+    }
+
+    /**
+     * Drops all cached shortlists.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached shortlists.
+     *
+     * @return the number of cached shortlists
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry {
+        private final Object shortlist;
+        private final long storedAt;
+
+        Entry(Object shortlist, long storedAt) {
+            this.shortlist = shortlist;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private static final class Key {
+        private final Long programId;
+        private final Long periodId;
+
+        Key(Long programId, Long periodId) {
+            this.programId = programId;
+            this.periodId = periodId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(programId, other.programId) && Objects.equals(periodId, other.periodId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(programId, periodId);
+        }
+    }
+}
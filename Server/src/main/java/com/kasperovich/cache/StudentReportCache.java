@@ -0,0 +1,143 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.dto.report.AcademicPerformanceReportDTO;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of academic performance reports keyed by user ID.
+ * The least recently used reports are evicted once the entry limit is exceeded.
+ * Write paths invalidate the report of the student whose grades, payments,
+ * applications or profile they change. Changes made through another server sharing the
+ * database do not reach this cache, so a report is also recomputed once it is older
+ * than the maximum age.
+ */
+public class StudentReportCache {
+    private static final Logger logger = LoggerUtil.getLogger(StudentReportCache.class);
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final long DEFAULT_MAX_AGE_MILLIS = 60_000;
+
+    private static final StudentReportCache instance = new StudentReportCache(DEFAULT_MAX_ENTRIES);
+
+    /**
+     * Computes a report when it is not cached.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * Computes the report.
+         *
+         * @return the report
+         * @throws Exception if the report cannot be computed
+         */
+        AcademicPerformanceReportDTO load() throws Exception;
+    }
+
+    private final Map<Long, Entry> entries;
+    private final long maxAgeMillis;
+    private final LongSupplier clock;
+    private long generation;
+
+    /**
+     * Creates a cache with the given limit.
+     *
+     * @param maxEntries the maximum number of cached reports
+     */
+    StudentReportCache(int maxEntries) {
+        this(maxEntries, DEFAULT_MAX_AGE_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with the given limit and maximum age.
+     *
+     * @param maxEntries the maximum number of cached reports
+     * @param maxAgeMillis how long a report is served after it was computed
+     * @param clock supplies the current time in milliseconds
+     */
+    StudentReportCache(int maxEntries, long maxAgeMillis, LongSupplier clock) {
+        this.maxAgeMillis = maxAgeMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the cache instance
+     */
+    public static StudentReportCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns the cached report of a user, computing it with the loader on a miss.
+     * A report computed while the cache was invalidated is returned but not stored.
+     *
+     * @param userId the ID of the user
+     * @param loader computes the report on a miss
+     * @return the report
+     * @throws Exception if the loader fails
+     */
+    public AcademicPerformanceReportDTO get(Long userId, Loader loader) throws Exception {
+        long startGeneration;
+        synchronized (this) {
+            Entry cached = entries.get(userId);
+            if (cached != null && clock.getAsLong() - cached.storedAt() < maxAgeMillis) {
+                logger.debug("Academic performance report cache hit for user ID: {}", userId);
+                return cached.report();
+            }
+            startGeneration = generation;
+        }
+
+        AcademicPerformanceReportDTO report = loader.load();
+
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(userId, new Entry(report, clock.getAsLong()));
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Drops the cached report of a user.
+     *
+     * @param userId the ID of the user
+     */
+    public synchronized void invalidate(Long userId) {
+        generation++;
+        entries.remove(userId);
+    }
+
+    /**
+     * Drops all cached reports.
+     */
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of cached reports.
+     *
+     * @return the number of cached reports
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A cached report and the time it was computed.
+     */
+    private record Entry(AcademicPerformanceReportDTO report, long storedAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.CourseGrade;
+
+import java.util.List;
+
+/**
+ * Data Access Object interface for CourseGrade entity.
+ */
+public interface CourseGradeDao extends BaseDao<CourseGrade, Long> {
+    
+    /**
+     * Finds the grades of a student with their courses and academic periods loaded,
+     * ordered by academic period and course code.
+     *
+     * @param studentId the ID of the student profile
+     * @return a list of course grades
+     */
+    List<CourseGrade> findByStudentId(Long studentId);
+    
+    /**
+     * Computes the credit totals of a student's transcript.
+     *
+     * @param studentId the ID of the student profile
+     * @return an array of the sum of grade value times credits and the sum of credits over grades
+     *         included in the GPA, the completed credits and the credits in progress
+     */
+    Object[] summarizeByStudentId(Long studentId);
+}
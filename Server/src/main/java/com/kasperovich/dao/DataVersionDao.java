@@ -0,0 +1,25 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.dto.sync.DataSet;
+
+import java.util.Map;
+
+/**
+ * Data Access Object interface for the data set versions shared by all servers.
+ */
+public interface DataVersionDao {
+    
+    /**
+     * Finds the current version of every data set.
+     *
+     * @return the versions by data set
+     */
+    Map<DataSet, Long> findAll();
+    
+    /**
+     * Advances the versions of data sets by one.
+     *
+     * @param dataSets the changed data sets
+     */
+    void increment(DataSet... dataSets);
+}
@@ -0,0 +1,57 @@
+package com.kasperovich.dao;
+
+import java.io.IOException;
+
+/**
+ * Data Access Object interface for full data exports.
+ * Rows are streamed to a handler one at a time instead of being collected in a list,
+ * so memory use does not depend on the size of the exported tables.
+ */
+public interface ExportDao {
+    
+    /**
+     * Receives exported rows one at a time.
+     */
+    @FunctionalInterface
+    interface RowHandler {
+        /**
+         * Handles one exported row.
+         *
+         * @param row the column values of the row
+         * @throws IOException if the row cannot be written
+         */
+        void handle(Object[] row) throws IOException;
+    }
+    
+    /**
+     * Streams all scholarship applications ordered by ID.
+     * Columns: id, applicant username, first name, last name, program, period,
+     * submission date, status, decision date, reviewer username, decision comments.
+     *
+     * @param handler the handler receiving the rows
+     * @return the number of exported rows
+     * @throws IOException if the handler fails to write a row
+     */
+    long streamApplications(RowHandler handler) throws IOException;
+    
+    /**
+     * Streams all fund allocations ordered by ID.
+     * Columns: id, fiscal year, fiscal period, program, amount, previous amount,
+     * allocation date, status, allocated by username, notes.
+     *
+     * @param handler the handler receiving the rows
+     * @return the number of exported rows
+     * @throws IOException if the handler fails to write a row
+     */
+    long streamAllocations(RowHandler handler) throws IOException;
+    
+    /**
+     * Streams all users ordered by ID, without credentials.
+     * Columns: id, username, first name, last name, email, role, created at, last login, active.
+     *
+     * @param handler the handler receiving the rows
+     * @return the number of exported rows
+     * @throws IOException if the handler fails to write a row
+     */
+    long streamUsers(RowHandler handler) throws IOException;
+}
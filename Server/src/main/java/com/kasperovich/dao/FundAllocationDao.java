@@ -3,7 +3,9 @@ package com.kasperovich.dao;
 import com.kasperovich.entities.FundAllocation;
 import com.kasperovich.entities.AllocationStatus;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -58,6 +60,20 @@ public interface FundAllocationDao {
      */
     FundAllocation save(FundAllocation allocation);
     
+    /**
+     * Allocates funds from a budget to several programs in one transaction.
+     * The budget and the programs are locked while their totals are updated, so the
+     * whole plan is either written completely or not at all.
+     *
+     * @param budgetId the ID of the budget to allocate from
+     * @param amounts the amount to allocate per program ID
+     * @param allocatedById the ID of the user making the allocations
+     * @param notes notes stored on every allocation
+     * @return the saved fund allocations
+     * @throws IllegalStateException if the budget is not active, a program is missing or the budget has insufficient funds
+     */
+    List<FundAllocation> saveAll(Long budgetId, Map<Long, BigDecimal> amounts, Long allocatedById, String notes);
+    
     /**
      * Updates a fund allocation.
      *
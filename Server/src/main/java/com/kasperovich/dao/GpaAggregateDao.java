@@ -0,0 +1,60 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.StudentGpaAggregate;
+import org.hibernate.Session;
+
+import java.util.List;
+
+/**
+ * Data Access Object interface for the per-student GPA sums.
+ * The write methods take the caller's session so the sums are updated
+ * in the same transaction as the grade that changed.
+ */
+public interface GpaAggregateDao {
+    
+    /**
+     * Adds or removes the contribution of one grade to the sums of its student and period.
+     * Grades excluded from the GPA contribute nothing.
+     *
+     * @param session the session of the transaction that changed the grade
+     * @param studentId the ID of the student profile
+     * @param periodId the ID of the academic period
+     * @param gradeValue the numeric grade value
+     * @param credits the credits of the course
+     * @param includedInGpa whether the grade counts towards the GPA
+     * @param sign 1 to add the grade, -1 to remove it
+     */
+    void applyGrade(Session session, Long studentId, Long periodId, Double gradeValue, Integer credits,
+                    boolean includedInGpa, int sign);
+    
+    /**
+     * Updates the stored current GPA of a student from the sums of all periods.
+     *
+     * @param session the session of the current transaction
+     * @param studentId the ID of the student profile
+     */
+    void refreshCurrentGpa(Session session, Long studentId);
+    
+    /**
+     * Finds the sums of a student for every period with graded credits.
+     *
+     * @param studentId the ID of the student profile
+     * @return a list of aggregates
+     */
+    List<StudentGpaAggregate> findByStudentId(Long studentId);
+    
+    /**
+     * Finds the IDs of all student profiles.
+     *
+     * @return a list of student profile IDs in ascending order
+     */
+    List<Long> findAllStudentIds();
+    
+    /**
+     * Recomputes the sums and the stored current GPA of the given students from their grades
+     * in a single transaction.
+     *
+     * @param studentIds the IDs of the student profiles
+     */
+    void recomputeForStudents(List<Long> studentIds);
+}
@@ -0,0 +1,34 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.Payment;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface PaymentDao extends BaseDao<Payment, Long> {
+    
+    List<Payment> findByApplicantId(Long userId);
+    
+    /**
+     * Finds the next keyset chunk of approved applications without a payment.
+     * Each row contains the application ID and the funding amount of its program.
+     *
+     * @param afterApplicationId only applications with a greater ID are returned
+     * @param limit the maximum number of rows
+     * @return rows ordered by application ID
+     */
+    List<Object[]> findUnpaidApproved(long afterApplicationId, int limit);
+    
+    /**
+     * Inserts processed payments for a chunk of applications as one JDBC batch and advances
+     * the counters of the payment run in the same transaction. Applications that have been
+     * paid in the meantime are skipped.
+     *
+     * @param runId the ID of the payment run
+     * @param approvedById the ID of the user who started the run
+     * @param applicationIds the IDs of the applications to pay
+     * @param amounts the amount to pay for each application
+     * @return the number of payments inserted
+     */
+    int insertChunk(Long runId, Long approvedById, long[] applicationIds, BigDecimal[] amounts);
+}
@@ -0,0 +1,70 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.PaymentRun;
+import com.kasperovich.entities.PaymentRunStatus;
+import org.hibernate.Session;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Data Access Object interface for PaymentRun entity.
+ */
+public interface PaymentRunDao extends BaseDao<PaymentRun, Long> {
+    
+    /**
+     * A lock held until it is closed.
+     */
+    interface RunLock extends AutoCloseable {
+        
+        /**
+         * Releases the lock.
+         */
+        @Override
+        void close();
+    }
+    
+    /**
+     * Takes the lock that lets only one payment run execute at a time across all servers sharing
+     * the database. The database releases it if the server holding it goes away.
+     *
+     * @return the lock, or empty if a run holds it
+     */
+    Optional<RunLock> tryLockRuns();
+    
+    /**
+     * Finds the most recently started payment run.
+     *
+     * @return the latest run, or empty if no run was ever started
+     */
+    Optional<PaymentRun> findLatest();
+    
+    /**
+     * Adds the payments of one chunk to the counters of a run.
+     *
+     * @param session the session of the transaction that inserted the payments
+     * @param runId the ID of the run
+     * @param payments the number of payments inserted
+     * @param amount the total amount of the inserted payments
+     */
+    void recordChunk(Session session, Long runId, int payments, BigDecimal amount);
+    
+    /**
+     * Moves the checkpoint of a run forward.
+     *
+     * @param runId the ID of the run
+     * @param lastApplicationId the ID up to which every application has been handled
+     * @param elapsedMillis the total time the run has been active
+     */
+    void updateCheckpoint(Long runId, long lastApplicationId, long elapsedMillis);
+    
+    /**
+     * Marks a run as finished.
+     *
+     * @param runId the ID of the run
+     * @param status the final status
+     * @param errorMessage the reason of a failure, or null
+     * @param elapsedMillis the total time the run has been active
+     */
+    void finish(Long runId, PaymentRunStatus status, String errorMessage, long elapsedMillis);
+}
@@ -0,0 +1,84 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.ScholarshipApplication;
+import com.kasperovich.entities.User;
+import org.hibernate.Session;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Data Access Object interface for the report rollup tables.
+ * The record methods take the caller's session so the rollups are updated
+ * in the same transaction as the row that changed.
+ */
+public interface ReportRollupDao {
+    
+    /**
+     * Records a newly submitted application.
+     *
+     * @param session the session of the transaction that inserted the application
+     * @param application the submitted application
+     */
+    void recordApplicationSubmitted(Session session, ScholarshipApplication application);
+    
+    /**
+     * Records a status change of an existing application.
+     *
+     * @param session the session of the transaction that updated the application
+     * @param application the application with its new status
+     * @param previousStatus the status stored before the update
+     */
+    void recordApplicationStatusChanged(Session session, ScholarshipApplication application, String previousStatus);
+    
+    /**
+     * Records the removal of an application.
+     *
+     * @param session the session of the transaction that deleted the application
+     * @param application the deleted application
+     */
+    void recordApplicationRemoved(Session session, ScholarshipApplication application);
+    
+    /**
+     * Records a newly registered user. Only students are counted.
+     *
+     * @param session the session of the transaction that inserted the user
+     * @param user the registered user
+     */
+    void recordUserRegistered(Session session, User user);
+    
+    /**
+     * Finds the application status rollups joined with program and period names.
+     * Each row contains the program name, the period name, the pending, approved
+     * and rejected counts and the approved amount.
+     *
+     * @param programId the program ID to filter by, or null for all programs
+     * @param periodId the period ID to filter by, or null for all periods
+     * @return the matching rollup rows
+     */
+    List<Object[]> findApplicationStatusRollups(Long programId, Long periodId);
+    
+    /**
+     * Finds the monthly activity rollups within the given months.
+     * Each row contains the year, the month (1-12), the new student count and the application count.
+     *
+     * @param from the first month, inclusive
+     * @param to the last month, inclusive
+     * @return the matching rollup rows
+     */
+    List<Object[]> findMonthlyActivityRollups(YearMonth from, YearMonth to);
+    
+    /**
+     * Checks whether the rollup tables have been built by a full rebuild.
+     * Once built, they are kept current by the record methods.
+     *
+     * @return true if a rebuild has completed, false otherwise
+     */
+    boolean isBuilt();
+    
+    /**
+     * Recomputes all rollup tables from the source tables in a single transaction
+     * and records that they have been built.
+     */
+    void rebuild();
+}
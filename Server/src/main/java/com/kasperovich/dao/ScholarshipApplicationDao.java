@@ -3,7 +3,10 @@ package com.kasperovich.dao;
 import com.kasperovich.entities.ScholarshipApplication;
 import com.kasperovich.entities.User;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -66,6 +69,112 @@ public interface ScholarshipApplicationDao {
      */
     List<ScholarshipApplication> findAll();
     
+    /**
+     * Counts applications per program submitted within the given range.
+     * Each row contains the program name, the program funding amount,
+     * the total number of applications and the number of approved applications.
+     *
+     * @param from the inclusive lower bound of the submission date
+     * @param to the exclusive upper bound of the submission date
+     * @return one row per program that has applications in the range, ordered by program name
+     */
+    List<Object[]> countByProgramSubmittedBetween(LocalDateTime from, LocalDateTime to);
+    
+    /**
+     * Finds the pending applications of a program as ranking candidates.
+     * Each row contains the application ID and the applicant's current GPA, which is null
+     * when the applicant has no student profile. Rows are ordered by submission date.
+     *
+     * @param programId the ID of the program
+     * @param periodId the ID of the academic period, or null for all periods
+     * @return one row per pending application
+     */
+    List<Object[]> findRankingCandidates(Long programId, Long periodId);
+    
+    /**
+     * Counts the pending applications of every program.
+     * Each row contains the program ID and the number of pending applications.
+     *
+     * @return one row per program with pending applications
+     */
+    List<Object[]> countPendingByProgram();
+    
+    /**
+     * Finds scholarship applications by their IDs.
+     *
+     * @param ids the IDs of the applications
+     * @return the applications found, in no particular order
+     */
+    List<ScholarshipApplication> findByIds(Collection<Long> ids);
+    
+    /**
+     * Finds the scholarship applications submitted or reviewed after a point in time.
+     *
+     * @param since the exclusive lower bound of the last modification time
+     * @param applicantId the ID of the applicant to restrict the result to, or null for all applicants
+     * @return the applications found, ordered by ID
+     */
+    List<ScholarshipApplication> findModifiedSince(LocalDateTime since, Long applicantId);
+    
+    /**
+     * Finds the IDs of the scholarship applications deleted after a point in time.
+     *
+     * @param since the exclusive lower bound of the deletion time
+     * @param applicantId the ID of the applicant to restrict the result to, or null for all applicants
+     * @return the IDs of the deleted applications
+     */
+    List<Long> findRemovedIdsSince(LocalDateTime since, Long applicantId);
+    
+    /**
+     * Finds the most recently submitted or reviewed scholarship applications.
+     *
+     * @param limit the maximum number of applications to return
+     * @return the applications found, newest modification first
+     */
+    List<ScholarshipApplication> findMostRecentlyModified(int limit);
+    
+    /**
+     * Counts the scholarship applications with a specific status.
+     *
+     * @param status the status to count
+     * @return the number of applications with the given status
+     */
+    long countByStatus(String status);
+    
+    /**
+     * Finds one page of scholarship applications.
+     * The sort fields are id, applicant, program, period, submissionDate, status and reviewer;
+     * any other field sorts by ID.
+     *
+     * @param status the status to restrict the result to, or null for all statuses
+     * @param search text the applicant's name or username, or the program name, must contain, or null
+     * @param ids the IDs to restrict the result to, or null for no restriction
+     * @param sortField the field to sort by, or null to sort by ID
+     * @param ascending whether to sort in ascending order
+     * @param offset the index of the first application to return
+     * @param limit the maximum number of applications to return
+     * @return the applications on the page
+     */
+    List<ScholarshipApplication> findPage(String status, String search, Collection<Long> ids, String sortField,
+                                          boolean ascending, int offset, int limit);
+    
+    /**
+     * Counts the scholarship applications matching a status and a search text.
+     *
+     * @param status the status to restrict the count to, or null for all statuses
+     * @param search text the applicant's name or username, or the program name, must contain, or null
+     * @param ids the IDs to restrict the count to, or null for no restriction
+     * @return the number of matching applications
+     */
+    long countMatching(String status, String search, Collection<Long> ids);
+    
+    /**
+     * Finds the searchable fields of all scholarship applications, for the in-memory search index.
+     *
+     * @return the applicant's username, first name and last name, and the program name, by application ID
+     */
+    Map<Long, String[]> findSearchTexts();
+    
     /**
      * Updates a scholarship application.
      *
@@ -0,0 +1,19 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.StudentProfile;
+
+import java.util.Optional;
+
+/**
+ * Data Access Object interface for StudentProfile entity.
+ */
+public interface StudentProfileDao extends BaseDao<StudentProfile, Long> {
+    
+    /**
+     * Finds the student profile of a user.
+     *
+     * @param userId the ID of the user
+     * @return an Optional containing the profile, or empty if the user has no student profile
+     */
+    Optional<StudentProfile> findByUserId(Long userId);
+}
@@ -1,7 +1,11 @@
 package com.kasperovich.dao;
 
 import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -47,4 +51,37 @@ public interface UserDao extends BaseDao<User, Long> {
      * @param userId the ID of the user to update
      */
     void updateLastLogin(Long userId);
+    
+    /**
+     * Finds one page of users.
+     * The sort fields are id, username, name, email and role; any other field sorts by ID.
+     *
+     * @param role the role to restrict the result to, or null for all roles
+     * @param search text the username, first name, last name or email must contain, or null
+     * @param ids the IDs to restrict the result to, or null for no restriction
+     * @param sortField the field to sort by, or null to sort by ID
+     * @param ascending whether to sort in ascending order
+     * @param offset the index of the first user to return
+     * @param limit the maximum number of users to return
+     * @return the users on the page
+     */
+    List<User> findPage(UserRole role, String search, Collection<Long> ids, String sortField, boolean ascending,
+                        int offset, int limit);
+    
+    /**
+     * Counts the users matching a role and a search text.
+     *
+     * @param role the role to restrict the count to, or null for all roles
+     * @param search text the username, first name, last name or email must contain, or null
+     * @param ids the IDs to restrict the count to, or null for no restriction
+     * @return the number of matching users
+     */
+    long countMatching(UserRole role, String search, Collection<Long> ids);
+    
+    /**
+     * Finds the searchable fields of all users, for the in-memory search index.
+     *
+     * @return the username, first name, last name and email of each user, by user ID
+     */
+    Map<Long, String[]> findSearchTexts();
 }
@@ -0,0 +1,37 @@
+package com.kasperovich.dao;
+
+import com.kasperovich.entities.UserSession;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Access Object interface for UserSession entities, keyed by token hash.
+ */
+public interface UserSessionDao extends BaseDao<UserSession, String> {
+    
+    /**
+     * Deletes all sessions of a user.
+     *
+     * @param userId the user ID
+     * @return the number of sessions deleted
+     */
+    int deleteByUserId(Long userId);
+    
+    /**
+     * Records that a session has been used.
+     *
+     * @param tokenHash the token hash of the session
+     * @param lastUsedAt the time the session was used
+     * @return true if the session exists, false otherwise
+     */
+    boolean touch(String tokenHash, LocalDateTime lastUsedAt);
+    
+    /**
+     * Deletes the sessions that expired, or that have not been used since a point in time.
+     *
+     * @param now the current time
+     * @param idleBefore sessions last used before this time are deleted
+     * @return the number of sessions deleted
+     */
+    int deleteExpired(LocalDateTime now, LocalDateTime idleBefore);
+}
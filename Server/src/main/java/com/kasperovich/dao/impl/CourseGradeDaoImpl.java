@@ -0,0 +1,173 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.CourseGradeDao;
+import com.kasperovich.dao.GpaAggregateDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.CourseGrade;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.List;
+
+/**
+ * Implementation of the CourseGradeDao interface.
+ * Saving or deleting a grade also updates the student's GPA sums in the same transaction.
+ */
+public class CourseGradeDaoImpl extends BaseDaoImpl<CourseGrade, Long> implements CourseGradeDao {
+    
+    private final GpaAggregateDao gpaAggregateDao;
+    
+    /**
+     * Creates the DAO on its default dependencies.
+     */
+    public CourseGradeDaoImpl() {
+        this(new GpaAggregateDaoImpl());
+    }
+    
+    /**
+     * Creates the DAO on shared dependencies.
+     *
+     * @param gpaAggregateDao the DAO that stores the GPA sums
+     */
+    public CourseGradeDaoImpl(GpaAggregateDao gpaAggregateDao) {
+        this.gpaAggregateDao = gpaAggregateDao;
+    }
+    
+    /**
+     * Saves a grade and moves its GPA contribution from the previously stored values to the new ones.
+     *
+     * @param grade the grade to save
+     * @return the saved grade
+     */
+    @Override
+    public CourseGrade save(CourseGrade grade) {
+        logger.debug("Saving course grade with ID: {}", grade.getId());
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            
+            // Lock the row so concurrent saves of the same grade move its contribution in turn
+            CourseGrade current = grade.getId() != null
+                    ? session.find(CourseGrade.class, grade.getId(), LockModeType.PESSIMISTIC_WRITE)
+                    : null;
+            Object[] previous = current != null ? findContribution(session, current.getId()) : null;
+            if (previous != null) {
+                applyContribution(session, previous, -1);
+            }
+            
+            CourseGrade merged = session.merge(grade);
+            session.flush();
+            Object[] saved = findContribution(session, merged.getId());
+            applyContribution(session, saved, 1);
+            
+            gpaAggregateDao.refreshCurrentGpa(session, (Long) saved[0]);
+            if (previous != null && !previous[0].equals(saved[0])) {
+                gpaAggregateDao.refreshCurrentGpa(session, (Long) previous[0]);
+            }
+            
+            transaction.commit();
+            grade.setId(merged.getId());
+            return grade;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error saving course grade", e);
+            throw new RuntimeException("Error saving course grade", e);
+        }
+    }
+    
+    /**
+     * Deletes a grade and removes its GPA contribution.
+     *
+     * @param grade the grade to delete
+     */
+    @Override
+    public void delete(CourseGrade grade) {
+        logger.debug("Deleting course grade with ID: {}", grade.getId());
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            
+            // The contribution removed is the one of the locked row, not the caller's copy
+            CourseGrade current = session.find(CourseGrade.class, grade.getId(), LockModeType.PESSIMISTIC_WRITE);
+            Object[] previous = current != null ? findContribution(session, current.getId()) : null;
+            if (previous != null) {
+                applyContribution(session, previous, -1);
+                session.remove(current);
+                session.flush();
+                gpaAggregateDao.refreshCurrentGpa(session, (Long) previous[0]);
+            }
+            
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error deleting course grade", e);
+            throw new RuntimeException("Error deleting course grade", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CourseGrade> findByStudentId(Long studentId) {
+        logger.debug("Finding course grades for student ID: {}", studentId);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "FROM CourseGrade g " +
+                    "JOIN FETCH g.course c " +
+                    "JOIN FETCH g.academicPeriod p " +
+                    "WHERE g.student.id = :studentId " +
+                    "ORDER BY p.startDate, c.code", CourseGrade.class)
+                    .setParameter("studentId", studentId)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding course grades for student ID: {}", studentId, e);
+            throw new RuntimeException("Error finding course grades", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object[] summarizeByStudentId(Long studentId) {
+        logger.debug("Summarizing course grades for student ID: {}", studentId);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "SELECT COALESCE(SUM(CASE WHEN g.includedInGpa = true THEN g.gradeValue * c.credits ELSE 0 END), 0), " +
+                    "COALESCE(SUM(CASE WHEN g.includedInGpa = true THEN c.credits ELSE 0 END), 0), " +
+                    "COALESCE(SUM(CASE WHEN g.completionDate IS NOT NULL THEN c.credits ELSE 0 END), 0), " +
+                    "COALESCE(SUM(CASE WHEN g.completionDate IS NULL THEN c.credits ELSE 0 END), 0) " +
+                    "FROM CourseGrade g JOIN g.course c " +
+                    "WHERE g.student.id = :studentId", Object[].class)
+                    .setParameter("studentId", studentId)
+                    .getSingleResult();
+        } catch (Exception e) {
+            logger.error("Error summarizing course grades for student ID: {}", studentId, e);
+            throw new RuntimeException("Error summarizing course grades", e);
+        }
+    }
+    
+    /**
+     * Reads the stored values of a grade that determine its GPA contribution.
+     *
+     * @return student ID, period ID, grade value, credits and whether the grade counts, or null if not stored
+     */
+    private Object[] findContribution(Session session, Long gradeId) {
+        return session.createQuery(
+                "SELECT g.student.id, g.academicPeriod.id, g.gradeValue, c.credits, g.includedInGpa " +
+                "FROM CourseGrade g JOIN g.course c WHERE g.id = :id", Object[].class)
+                .setParameter("id", gradeId)
+                .uniqueResult();
+    }
+    
+    private void applyContribution(Session session, Object[] contribution, int sign) {
+        gpaAggregateDao.applyGrade(session, (Long) contribution[0], (Long) contribution[1],
+                (Double) contribution[2], (Integer) contribution[3], (Boolean) contribution[4], sign);
+    }
+}
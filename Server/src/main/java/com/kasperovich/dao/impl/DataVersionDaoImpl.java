@@ -0,0 +1,75 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.DataVersionDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.dto.sync.DataSet;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of DataVersionDao using Hibernate.
+ * A data set without a row is created on its first change.
+ */
+public class DataVersionDaoImpl implements DataVersionDao {
+    private static final Logger logger = LoggerUtil.getLogger(DataVersionDaoImpl.class);
+
+    private static final String MERGE_VERSION =
+            "MERGE data_versions WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :dataSet AS data_set) AS s ON t.data_set = s.data_set " +
+            "WHEN MATCHED THEN UPDATE SET version = t.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (data_set, version) " +
+            "VALUES (s.data_set, DATEDIFF_BIG(MILLISECOND, '1970-01-01', SYSUTCDATETIME()));";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<DataSet, Long> findAll() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Object[]> rows = session.createNativeQuery(
+                    "SELECT data_set, version FROM data_versions", Object[].class).getResultList();
+            Map<DataSet, Long> versions = new EnumMap<>(DataSet.class);
+            for (Object[] row : rows) {
+                try {
+                    versions.put(DataSet.valueOf((String) row[0]), ((Number) row[1]).longValue());
+                } catch (IllegalArgumentException e) {
+                    // A row written by a newer server version
+                    logger.debug("Skipping unknown data set {}", row[0]);
+                }
+            }
+            return versions;
+        } catch (Exception e) {
+            logger.error("Error finding data versions", e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void increment(DataSet... dataSets) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            for (DataSet dataSet : dataSets) {
+                session.createNativeMutationQuery(MERGE_VERSION)
+                        .setParameter("dataSet", dataSet.name())
+                        .executeUpdate();
+            }
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error incrementing data versions", e);
+            throw e;
+        }
+    }
+}
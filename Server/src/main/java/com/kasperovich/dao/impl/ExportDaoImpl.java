@@ -0,0 +1,106 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.ExportDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+
+import java.io.IOException;
+
+/**
+ * Implementation of ExportDao using a Hibernate stateless session.
+ * Rows are read through a forward-only cursor with a bounded JDBC fetch size,
+ * and the stateless session keeps no persistence context, so nothing accumulates while scrolling.
+ */
+public class ExportDaoImpl implements ExportDao {
+    private static final Logger logger = LoggerUtil.getLogger(ExportDaoImpl.class);
+    
+    private static final int FETCH_SIZE = 500;
+    
+    private static final String APPLICATIONS_QUERY =
+        "SELECT a.id, u.username, u.firstName, u.lastName, p.name, per.name, " +
+        "a.submissionDate, a.status, a.decisionDate, r.username, a.decisionComments " +
+        "FROM ScholarshipApplication a " +
+        "JOIN a.applicant u " +
+        "JOIN a.program p " +
+        "JOIN a.period per " +
+        "LEFT JOIN a.reviewer r " +
+        "ORDER BY a.id";
+    
+    private static final String ALLOCATIONS_QUERY =
+        "SELECT f.id, b.fiscalYear, b.fiscalPeriod, p.name, f.amount, f.previousAmount, " +
+        "f.allocationDate, f.status, u.username, f.notes " +
+        "FROM FundAllocation f " +
+        "JOIN f.budget b " +
+        "JOIN f.program p " +
+        "JOIN f.allocatedBy u " +
+        "ORDER BY f.id";
+    
+    private static final String USERS_QUERY =
+        "SELECT u.id, u.username, u.firstName, u.lastName, u.email, u.role, u.createdAt, u.lastLogin, u.active " +
+        "FROM User u " +
+        "ORDER BY u.id";
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long streamApplications(RowHandler handler) throws IOException {
+        return stream("applications", APPLICATIONS_QUERY, handler);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long streamAllocations(RowHandler handler) throws IOException {
+        return stream("allocations", ALLOCATIONS_QUERY, handler);
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long streamUsers(RowHandler handler) throws IOException {
+        return stream("users", USERS_QUERY, handler);
+    }
+    
+    private long stream(String name, String hql, RowHandler handler) throws IOException {
+        Transaction transaction = null;
+        long count = 0;
+        try (StatelessSession session = HibernateUtil.getSessionFactory().openStatelessSession()) {
+            transaction = session.beginTransaction();
+            try (ScrollableResults<Object[]> results = session.createQuery(hql, Object[].class)
+                    .setFetchSize(FETCH_SIZE)
+                    .setReadOnly(true)
+                    .scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    handler.handle(results.get());
+                    count++;
+                }
+            }
+            transaction.commit();
+            logger.debug("Streamed {} {} rows", count, name);
+            return count;
+        } catch (IOException e) {
+            // The receiver went away; the read-only transaction has nothing to keep
+            rollback(transaction);
+            logger.error("Error writing exported {} after {} rows", name, count, e);
+            throw e;
+        } catch (Exception e) {
+            rollback(transaction);
+            logger.error("Error streaming {}", name, e);
+            throw e;
+        }
+    }
+    
+    private void rollback(Transaction transaction) {
+        if (transaction != null && transaction.isActive()) {
+            transaction.rollback();
+        }
+    }
+}
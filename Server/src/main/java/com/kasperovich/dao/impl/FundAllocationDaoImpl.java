@@ -2,16 +2,24 @@ package com.kasperovich.dao.impl;
 
 import com.kasperovich.dao.FundAllocationDao;
 import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.Budget;
+import com.kasperovich.entities.BudgetStatus;
 import com.kasperovich.entities.FundAllocation;
 import com.kasperovich.entities.AllocationStatus;
+import com.kasperovich.entities.ScholarshipProgram;
+import com.kasperovich.entities.User;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import jakarta.persistence.LockModeType;
 import org.hibernate.query.Query;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -20,6 +28,8 @@ import java.util.Optional;
 public class FundAllocationDaoImpl implements FundAllocationDao {
     private static final Logger logger = LoggerUtil.getLogger(FundAllocationDaoImpl.class);
     
+    private static final int BATCH_SIZE = 50;
+    
     /**
      * {@inheritDoc}
      */
@@ -163,6 +173,75 @@ public class FundAllocationDaoImpl implements FundAllocationDao {
         return allocation;
     }
     
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FundAllocation> saveAll(Long budgetId, Map<Long, BigDecimal> amounts, Long allocatedById, String notes) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            session.setJdbcBatchSize(BATCH_SIZE);
+            transaction = session.beginTransaction();
+            
+            Budget budget = session.find(Budget.class, budgetId, LockModeType.PESSIMISTIC_WRITE);
+            if (budget == null || budget.getStatus() != BudgetStatus.ACTIVE) {
+                throw new IllegalStateException("Cannot allocate funds from a budget that is not active");
+            }
+            BigDecimal total = amounts.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+            if (!budget.hasSufficientFunds(total)) {
+                throw new IllegalStateException("Insufficient funds in the budget. Available: " + budget.getRemainingAmount());
+            }
+            
+            List<ScholarshipProgram> programs = session.createQuery(
+                    "FROM ScholarshipProgram p WHERE p.id IN (:ids)", ScholarshipProgram.class)
+                    .setParameterList("ids", amounts.keySet())
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (programs.size() != amounts.size()) {
+                throw new IllegalStateException("One or more scholarship programs in the plan no longer exist");
+            }
+            
+            User allocatedBy = session.find(User.class, allocatedById);
+            LocalDateTime now = LocalDateTime.now();
+            List<FundAllocation> allocations = new ArrayList<>(programs.size());
+            for (ScholarshipProgram program : programs) {
+                BigDecimal amount = amounts.get(program.getId());
+                
+                FundAllocation allocation = new FundAllocation();
+                allocation.setBudget(budget);
+                allocation.setProgram(program);
+                allocation.setAmount(amount);
+                allocation.setPreviousAmount(program.getAllocatedAmount());
+                allocation.setAllocationDate(now);
+                allocation.setAllocatedBy(allocatedBy);
+                allocation.setStatus(AllocationStatus.APPROVED);
+                allocation.setNotes(notes);
+                session.persist(allocation);
+                allocations.add(allocation);
+                
+                // Managed entities: the program updates are flushed as one batch on commit
+                program.setAllocatedAmount(program.getAllocatedAmount() == null
+                        ? amount
+                        : program.getAllocatedAmount().add(amount));
+                program.calculateRemainingAmount();
+            }
+            
+            budget.setAllocatedAmount(budget.getAllocatedAmount().add(total));
+            budget.calculateRemainingAmount();
+            budget.setUpdatedAt(now);
+            
+            transaction.commit();
+            logger.info("Saved {} fund allocations totalling {} from budget ID: {}", allocations.size(), total, budgetId);
+            return allocations;
+        } catch (Exception e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            logger.error("Error saving fund allocations for budget ID: {}", budgetId, e);
+            throw e;
+        }
+    }
+    
     /**
      * {@inheritDoc}
      */
@@ -0,0 +1,135 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.GpaAggregateDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.StudentGpaAggregate;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Implementation of GpaAggregateDao using Hibernate.
+ * Incremental updates are applied with a MERGE statement so a missing row is created on first use.
+ */
+public class GpaAggregateDaoImpl implements GpaAggregateDao {
+    private static final Logger logger = LoggerUtil.getLogger(GpaAggregateDaoImpl.class);
+
+    private static final String MERGE_GPA_AGGREGATE =
+            "MERGE student_gpa_aggregates WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :studentId AS student_id, :periodId AS period_id) AS s " +
+            "ON t.student_id = s.student_id AND t.period_id = s.period_id " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "weighted_grade_sum = t.weighted_grade_sum + :weighted, " +
+            "gpa_credits = t.gpa_credits + :credits " +
+            "WHEN NOT MATCHED THEN INSERT (student_id, period_id, weighted_grade_sum, gpa_credits) " +
+            "VALUES (s.student_id, s.period_id, :weighted, :credits);";
+
+    private static final String UPDATE_CURRENT_GPA =
+            "UPDATE student_profiles SET current_gpa = (" +
+            "SELECT CASE WHEN SUM(a.gpa_credits) > 0 THEN SUM(a.weighted_grade_sum) / SUM(a.gpa_credits) END " +
+            "FROM student_gpa_aggregates a WHERE a.student_id = student_profiles.id) ";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void applyGrade(Session session, Long studentId, Long periodId, Double gradeValue, Integer credits,
+                           boolean includedInGpa, int sign) {
+        if (!includedInGpa || gradeValue == null || credits == null || credits == 0) {
+            return;
+        }
+        BigDecimal weighted = BigDecimal.valueOf(gradeValue).multiply(BigDecimal.valueOf((long) credits * sign));
+        session.createNativeMutationQuery(MERGE_GPA_AGGREGATE)
+                .setParameter("studentId", studentId)
+                .setParameter("periodId", periodId)
+                .setParameter("weighted", weighted)
+                .setParameter("credits", credits * sign)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void refreshCurrentGpa(Session session, Long studentId) {
+        session.createNativeMutationQuery(UPDATE_CURRENT_GPA + "WHERE student_profiles.id = :studentId")
+                .setParameter("studentId", studentId)
+                .executeUpdate();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<StudentGpaAggregate> findByStudentId(Long studentId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "FROM StudentGpaAggregate a WHERE a.studentId = :studentId AND a.gpaCredits > 0 " +
+                    "ORDER BY a.periodId", StudentGpaAggregate.class)
+                    .setParameter("studentId", studentId)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding GPA aggregates for student ID: {}", studentId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findAllStudentIds() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("SELECT s.id FROM StudentProfile s ORDER BY s.id", Long.class)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding student IDs", e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recomputeForStudents(List<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return;
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+
+            session.createNativeMutationQuery(
+                    "DELETE FROM student_gpa_aggregates WHERE student_id IN (:studentIds)")
+                    .setParameterList("studentIds", studentIds)
+                    .executeUpdate();
+
+            session.createNativeMutationQuery(
+                    "INSERT INTO student_gpa_aggregates (student_id, period_id, weighted_grade_sum, gpa_credits) " +
+                    "SELECT g.student_id, g.period_id, SUM(g.grade_value * c.credits), SUM(c.credits) " +
+                    "FROM course_grades g JOIN courses c ON c.id = g.course_id " +
+                    "WHERE g.included_in_gpa = 1 AND g.student_id IN (:studentIds) " +
+                    "GROUP BY g.student_id, g.period_id")
+                    .setParameterList("studentIds", studentIds)
+                    .executeUpdate();
+
+            session.createNativeMutationQuery(UPDATE_CURRENT_GPA + "WHERE student_profiles.id IN (:studentIds)")
+                    .setParameterList("studentIds", studentIds)
+                    .executeUpdate();
+
+            transaction.commit();
+            logger.debug("Recomputed GPA aggregates for {} students", studentIds.size());
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error recomputing GPA aggregates", e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kasperovich.dao.impl;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds the parts of HQL queries that page through a sorted, filtered and searched list.
+ */
+final class PageQueries {
+
+    /**
+     * The escape character used by {@link #containsPattern(String)}; queries must declare it with
+     * {@code ESCAPE '\'}.
+     */
+    static final char ESCAPE = '\\';
+
+    private PageQueries() {
+    }
+
+    /**
+     * Builds a LIKE pattern matching values that contain the search text, ignoring case.
+     * Wildcard characters in the text, including SQL Server's bracket ranges, match literally.
+     *
+     * @param search the text to search for
+     * @return the pattern to compare lowercased values with, or null if there is nothing to search for
+     */
+    static String containsPattern(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+        StringBuilder pattern = new StringBuilder("%");
+        for (char c : search.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (c == ESCAPE || c == '%' || c == '_' || c == '[') {
+                pattern.append(ESCAPE);
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    /**
+     * Builds an ORDER BY clause from a client-supplied sort field.
+     * Only fields in the allow list are accepted, so the client never supplies HQL. The ID is
+     * always the last sort key, which keeps the order total and the pages stable.
+     *
+     * @param sortFields the sortable fields, mapped to the HQL path they sort by
+     * @param sortField the requested sort field, or null for the default order
+     * @param ascending whether to sort in ascending order
+     * @param idPath the HQL path of the ID
+     * @return the ORDER BY clause, with a leading space
+     */
+    static String orderBy(Map<String, String> sortFields, String sortField, boolean ascending, String idPath) {
+        String direction = ascending ? " ASC" : " DESC";
+        String path = sortField != null ? sortFields.get(sortField) : null;
+        if (path == null || path.equals(idPath)) {
+            return " ORDER BY " + idPath + direction;
+        }
+        return " ORDER BY " + path + direction + ", " + idPath + direction;
+    }
+
+    /**
+     * Builds the condition restricting a query to a list of IDs, bound to the {@code ids} parameter.
+     *
+     * @param ids the IDs, or null for no restriction
+     * @param idPath the HQL path of the ID
+     * @return the condition with a leading space, or an empty string if there is no restriction
+     */
+    static String idRestriction(Collection<Long> ids, String idPath) {
+        return ids != null ? " AND " + idPath + " IN (:ids)" : "";
+    }
+}
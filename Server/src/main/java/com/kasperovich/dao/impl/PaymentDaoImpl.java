@@ -0,0 +1,140 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.PaymentDao;
+import com.kasperovich.dao.PaymentRunDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.Payment;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Implementation of the PaymentDao interface.
+ */
+public class PaymentDaoImpl extends BaseDaoImpl<Payment, Long> implements PaymentDao {
+    
+    // Guarded insert so an application paid since the chunk was read is not paid twice; the range
+    // lock makes a concurrent insert for the same application wait and then skip it instead of
+    // failing on the unique index
+    private static final String INSERT_PAYMENT =
+            "INSERT INTO payments (application_id, amount, payment_date, status, reference_number, " +
+            "approved_by, approved_date, receipt_acknowledged) " +
+            "SELECT ?, ?, ?, 'PROCESSED', ?, ?, ?, 0 " +
+            "WHERE NOT EXISTS (SELECT 1 FROM payments WITH (UPDLOCK, HOLDLOCK) " +
+            "WHERE application_id = ? AND status <> 'FAILED')";
+    
+    private final PaymentRunDao paymentRunDao;
+    
+    /**
+     * Creates the DAO on its default dependencies.
+     */
+    public PaymentDaoImpl() {
+        this(new PaymentRunDaoImpl());
+    }
+    
+    /**
+     * Creates the DAO on shared dependencies.
+     *
+     * @param paymentRunDao the DAO that records the checkpoints of payment runs
+     */
+    public PaymentDaoImpl(PaymentRunDao paymentRunDao) {
+        this.paymentRunDao = paymentRunDao;
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Payment> findByApplicantId(Long userId) {
+        logger.debug("Finding payments for applicant ID: {}", userId);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "FROM Payment p " +
+                    "JOIN FETCH p.application a " +
+                    "JOIN FETCH a.program " +
+                    "WHERE a.applicant.id = :userId " +
+                    "ORDER BY p.paymentDate DESC", Payment.class)
+                    .setParameter("userId", userId)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding payments for applicant ID: {}", userId, e);
+            throw new RuntimeException("Error finding payments", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object[]> findUnpaidApproved(long afterApplicationId, int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "SELECT a.id, p.fundingAmount " +
+                    "FROM ScholarshipApplication a " +
+                    "JOIN a.program p " +
+                    "WHERE a.status = 'APPROVED' " +
+                    "AND a.id > :afterId " +
+                    "AND p.fundingAmount IS NOT NULL " +
+                    "AND NOT EXISTS (SELECT 1 FROM Payment pay " +
+                    "WHERE pay.application = a AND pay.status <> 'FAILED') " +
+                    "ORDER BY a.id", Object[].class)
+                    .setParameter("afterId", afterApplicationId)
+                    .setMaxResults(limit)
+                    .setReadOnly(true)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding unpaid approved applications after ID: {}", afterApplicationId, e);
+            throw new RuntimeException("Error finding unpaid approved applications", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int insertChunk(Long runId, Long approvedById, long[] applicationIds, BigDecimal[] amounts) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int[] inserted = new int[1];
+            BigDecimal[] total = {BigDecimal.ZERO};
+            session.doWork(connection -> {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                try (PreparedStatement statement = connection.prepareStatement(INSERT_PAYMENT)) {
+                    for (int i = 0; i < applicationIds.length; i++) {
+                        statement.setLong(1, applicationIds[i]);
+                        statement.setBigDecimal(2, amounts[i]);
+                        statement.setTimestamp(3, now);
+                        statement.setString(4, "PAY-" + runId + "-" + applicationIds[i]);
+                        statement.setLong(5, approvedById);
+                        statement.setTimestamp(6, now);
+                        statement.setLong(7, applicationIds[i]);
+                        statement.addBatch();
+                    }
+                    int[] counts = statement.executeBatch();
+                    for (int i = 0; i < counts.length; i++) {
+                        if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                            inserted[0]++;
+                            total[0] = total[0].add(amounts[i]);
+                        }
+                    }
+                }
+            });
+            paymentRunDao.recordChunk(session, runId, inserted[0], total[0]);
+            transaction.commit();
+            return inserted[0];
+        } catch (Exception e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            logger.error("Error inserting payment chunk for run ID: {}", runId, e);
+            throw new RuntimeException("Error inserting payments", e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.PaymentRunDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.PaymentRun;
+import com.kasperovich.entities.PaymentRunStatus;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Implementation of the PaymentRunDao interface.
+ * The run lock is a SQL Server application lock owned by a connection kept for the whole run,
+ * so the database releases it when the connection of a failed server is dropped.
+ */
+public class PaymentRunDaoImpl extends BaseDaoImpl<PaymentRun, Long> implements PaymentRunDao {
+    
+    private static final String RUN_LOCK_RESOURCE = "payment_run";
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<RunLock> tryLockRuns() {
+        ConnectionProvider provider = HibernateUtil.getConnectionProvider();
+        Connection connection = null;
+        try {
+            connection = provider.getConnection();
+            try (CallableStatement call = connection.prepareCall("{? = call sp_getapplock(?, ?, ?, ?)}")) {
+                call.registerOutParameter(1, Types.INTEGER);
+                call.setString(2, RUN_LOCK_RESOURCE);
+                call.setString(3, "Exclusive");
+                call.setString(4, "Session");
+                call.setInt(5, 0);
+                call.execute();
+                if (call.getInt(1) < 0) {
+                    provider.closeConnection(connection);
+                    return Optional.empty();
+                }
+            }
+            Connection held = connection;
+            return Optional.of(() -> releaseRunLock(provider, held));
+        } catch (SQLException e) {
+            if (connection != null) {
+                closeQuietly(provider, connection);
+            }
+            logger.error("Error taking the payment run lock", e);
+            throw new RuntimeException("Error locking payment runs", e);
+        }
+    }
+    
+    private void releaseRunLock(ConnectionProvider provider, Connection connection) {
+        try (CallableStatement call = connection.prepareCall("{? = call sp_releaseapplock(?, ?)}")) {
+            call.registerOutParameter(1, Types.INTEGER);
+            call.setString(2, RUN_LOCK_RESOURCE);
+            call.setString(3, "Session");
+            call.execute();
+        } catch (SQLException e) {
+            logger.error("Error releasing the payment run lock", e);
+            try {
+                // Dropping the connection releases the lock, and keeps the pool from reusing it
+                connection.abort(Runnable::run);
+            } catch (SQLException abortError) {
+                logger.debug("Error aborting connection", abortError);
+            }
+        } finally {
+            closeQuietly(provider, connection);
+        }
+    }
+    
+    private void closeQuietly(ConnectionProvider provider, Connection connection) {
+        try {
+            provider.closeConnection(connection);
+        } catch (SQLException e) {
+            logger.debug("Error closing connection", e);
+        }
+    }
+    
+    /**
+     * Saves a run, assigning the ID of a new run to the given entity.
+     *
+     * @param run the run to save
+     * @return the saved run
+     */
+    @Override
+    public PaymentRun save(PaymentRun run) {
+        if (run.getId() != null) {
+            return super.save(run);
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.persist(run);
+            transaction.commit();
+            return run;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error saving payment run", e);
+            throw new RuntimeException("Error saving payment run", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<PaymentRun> findLatest() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery("FROM PaymentRun r ORDER BY r.id DESC", PaymentRun.class)
+                    .setMaxResults(1)
+                    .uniqueResultOptional();
+        } catch (Exception e) {
+            logger.error("Error finding the latest payment run", e);
+            throw new RuntimeException("Error finding payment run", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordChunk(Session session, Long runId, int payments, BigDecimal amount) {
+        session.createMutationQuery(
+                "UPDATE PaymentRun r SET r.processedCount = r.processedCount + :payments, " +
+                "r.totalAmount = r.totalAmount + :amount, r.chunkCount = r.chunkCount + 1 " +
+                "WHERE r.id = :runId")
+                .setParameter("payments", (long) payments)
+                .setParameter("amount", amount)
+                .setParameter("runId", runId)
+                .executeUpdate();
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void updateCheckpoint(Long runId, long lastApplicationId, long elapsedMillis) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.createMutationQuery(
+                    "UPDATE PaymentRun r SET r.lastApplicationId = :lastId, r.elapsedMillis = :elapsed " +
+                    "WHERE r.id = :runId AND r.lastApplicationId < :lastId")
+                    .setParameter("lastId", lastApplicationId)
+                    .setParameter("elapsed", elapsedMillis)
+                    .setParameter("runId", runId)
+                    .executeUpdate();
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error updating checkpoint of payment run ID: {}", runId, e);
+            throw new RuntimeException("Error updating payment run", e);
+        }
+    }
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void finish(Long runId, PaymentRunStatus status, String errorMessage, long elapsedMillis) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.createMutationQuery(
+                    "UPDATE PaymentRun r SET r.status = :status, r.errorMessage = :error, " +
+                    "r.elapsedMillis = :elapsed, r.finishedAt = :finishedAt WHERE r.id = :runId")
+                    .setParameter("status", status)
+                    .setParameter("error", errorMessage)
+                    .setParameter("elapsed", elapsedMillis)
+                    .setParameter("finishedAt", LocalDateTime.now())
+                    .setParameter("runId", runId)
+                    .executeUpdate();
+            transaction.commit();
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error finishing payment run ID: {}", runId, e);
+            throw new RuntimeException("Error updating payment run", e);
+        }
+    }
+}
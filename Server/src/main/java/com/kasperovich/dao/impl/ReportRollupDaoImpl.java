@@ -0,0 +1,253 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.ReportRollupDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.ScholarshipApplication;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.query.Query;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Implementation of ReportRollupDao using Hibernate.
+ * Incremental updates are applied with MERGE statements so a missing rollup row is created on first use.
+ */
+public class ReportRollupDaoImpl implements ReportRollupDao {
+    private static final Logger logger = LoggerUtil.getLogger(ReportRollupDaoImpl.class);
+
+    private static final String MERGE_APPLICATION_STATUS =
+            "MERGE report_application_status_rollup WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :programId AS program_id, :periodId AS period_id) AS s " +
+            "ON t.program_id = s.program_id AND t.period_id = s.period_id " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "pending_count = t.pending_count + :pending, " +
+            "approved_count = t.approved_count + :approved, " +
+            "rejected_count = t.rejected_count + :rejected " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(program_id, period_id, pending_count, approved_count, rejected_count) " +
+            "VALUES (s.program_id, s.period_id, :pending, :approved, :rejected);";
+
+    private static final String MERGE_MONTHLY_ACTIVITY =
+            "MERGE report_monthly_activity_rollup WITH (HOLDLOCK) AS t " +
+            "USING (SELECT :year AS activity_year, :month AS activity_month) AS s " +
+            "ON t.activity_year = s.activity_year AND t.activity_month = s.activity_month " +
+            "WHEN MATCHED THEN UPDATE SET " +
+            "new_user_count = t.new_user_count + :newUsers, " +
+            "application_count = t.application_count + :applications " +
+            "WHEN NOT MATCHED THEN INSERT " +
+            "(activity_year, activity_month, new_user_count, application_count) " +
+            "VALUES (s.activity_year, s.activity_month, :newUsers, :applications);";
+
+    private static final String MERGE_ROLLUP_STATE =
+            "MERGE report_rollup_state WITH (HOLDLOCK) AS t " +
+            "USING (SELECT 1 AS id) AS s ON t.id = s.id " +
+            "WHEN MATCHED THEN UPDATE SET rebuilt_at = SYSDATETIME() " +
+            "WHEN NOT MATCHED THEN INSERT (id, rebuilt_at) VALUES (1, SYSDATETIME());";
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordApplicationSubmitted(Session session, ScholarshipApplication application) {
+        applyStatusDelta(session, application, application.getStatus(), 1);
+        applyMonthlyDelta(session, application.getSubmissionDate(), 0, 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordApplicationStatusChanged(Session session, ScholarshipApplication application, String previousStatus) {
+        if (previousStatus == null || previousStatus.equals(application.getStatus())) {
+            return;
+        }
+        applyStatusDelta(session, application, previousStatus, -1);
+        applyStatusDelta(session, application, application.getStatus(), 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordApplicationRemoved(Session session, ScholarshipApplication application) {
+        applyStatusDelta(session, application, application.getStatus(), -1);
+        applyMonthlyDelta(session, application.getSubmissionDate(), 0, -1);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void recordUserRegistered(Session session, User user) {
+        if (user.getRole() != UserRole.STUDENT) {
+            return;
+        }
+        LocalDateTime createdAt = user.getCreatedAt() != null ? user.getCreatedAt() : LocalDateTime.now();
+        applyMonthlyDelta(session, createdAt, 1, 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object[]> findApplicationStatusRollups(Long programId, Long periodId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // The amount uses the current funding, so it follows changes to the program
+            StringBuilder hql = new StringBuilder(
+                    "SELECT p.name, pe.name, r.pendingCount, r.approvedCount, r.rejectedCount, " +
+                    "r.approvedCount * COALESCE(p.fundingAmount, 0) " +
+                    "FROM ApplicationStatusRollup r " +
+                    "JOIN ScholarshipProgram p ON p.id = r.programId " +
+                    "JOIN AcademicPeriod pe ON pe.id = r.periodId " +
+                    "WHERE r.pendingCount + r.approvedCount + r.rejectedCount > 0");
+            if (programId != null) {
+                hql.append(" AND r.programId = :programId");
+            }
+            if (periodId != null) {
+                hql.append(" AND r.periodId = :periodId");
+            }
+            hql.append(" ORDER BY p.name, pe.name");
+
+            Query<Object[]> query = session.createQuery(hql.toString(), Object[].class);
+            if (programId != null) {
+                query.setParameter("programId", programId);
+            }
+            if (periodId != null) {
+                query.setParameter("periodId", periodId);
+            }
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding application status rollups", e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Object[]> findMonthlyActivityRollups(YearMonth from, YearMonth to) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(
+                    "SELECT r.activityYear, r.activityMonth, r.newUserCount, r.applicationCount " +
+                    "FROM MonthlyActivityRollup r " +
+                    "WHERE r.activityYear * 12 + r.activityMonth BETWEEN :fromIndex AND :toIndex " +
+                    "ORDER BY r.activityYear, r.activityMonth",
+                    Object[].class);
+            query.setParameter("fromIndex", from.getYear() * 12 + from.getMonthValue());
+            query.setParameter("toIndex", to.getYear() * 12 + to.getMonthValue());
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding monthly activity rollups", e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isBuilt() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Integer count = session.createNativeQuery("SELECT COUNT(*) FROM report_rollup_state", Integer.class)
+                    .uniqueResult();
+            return count != null && count > 0;
+        } catch (Exception e) {
+            logger.error("Error checking report rollups", e);
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rebuild() {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+
+            session.createNativeMutationQuery("DELETE FROM report_application_status_rollup").executeUpdate();
+            session.createNativeMutationQuery("DELETE FROM report_monthly_activity_rollup").executeUpdate();
+
+            int statusRows = session.createNativeMutationQuery(
+                    "INSERT INTO report_application_status_rollup " +
+                    "(program_id, period_id, pending_count, approved_count, rejected_count) " +
+                    "SELECT a.program_id, a.period_id, " +
+                    "SUM(CASE WHEN a.status = 'PENDING' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN a.status = 'APPROVED' THEN 1 ELSE 0 END), " +
+                    "SUM(CASE WHEN a.status = 'REJECTED' THEN 1 ELSE 0 END) " +
+                    "FROM scholarship_applications a " +
+                    "GROUP BY a.program_id, a.period_id").executeUpdate();
+
+            int monthlyRows = session.createNativeMutationQuery(
+                    "INSERT INTO report_monthly_activity_rollup " +
+                    "(activity_year, activity_month, new_user_count, application_count) " +
+                    "SELECT x.activity_year, x.activity_month, SUM(x.new_users), SUM(x.applications) FROM (" +
+                    "SELECT YEAR(u.created_at) AS activity_year, MONTH(u.created_at) AS activity_month, " +
+                    "1 AS new_users, 0 AS applications " +
+                    "FROM users u WHERE u.role = 'STUDENT' AND u.created_at IS NOT NULL " +
+                    "UNION ALL " +
+                    "SELECT YEAR(a.submission_date), MONTH(a.submission_date), 0, 1 " +
+                    "FROM scholarship_applications a" +
+                    ") x GROUP BY x.activity_year, x.activity_month").executeUpdate();
+
+            session.createNativeMutationQuery(MERGE_ROLLUP_STATE).executeUpdate();
+
+            transaction.commit();
+            logger.info("Rebuilt report rollups: {} status rows, {} monthly rows", statusRows, monthlyRows);
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error rebuilding report rollups", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the given delta to the counter of one status in the application's program and period rollup.
+     *
+     * @param session the current session
+     * @param application the application whose program and period identify the rollup row
+     * @param status the status counter to change
+     * @param delta the amount to add, 1 or -1
+     */
+    private void applyStatusDelta(Session session, ScholarshipApplication application, String status, int delta) {
+        int pending = "PENDING".equals(status) ? delta : 0;
+        int approved = "APPROVED".equals(status) ? delta : 0;
+        int rejected = "REJECTED".equals(status) ? delta : 0;
+
+        session.createNativeMutationQuery(MERGE_APPLICATION_STATUS)
+                .setParameter("programId", application.getProgram().getId())
+                .setParameter("periodId", application.getPeriod().getId())
+                .setParameter("pending", pending)
+                .setParameter("approved", approved)
+                .setParameter("rejected", rejected)
+                .executeUpdate();
+    }
+
+    /**
+     * Adds the given deltas to the activity rollup of the month containing the given date.
+     *
+     * @param session the current session
+     * @param date the date that determines the month
+     * @param newUsers the change in new student count
+     * @param applications the change in application count
+     */
+    private void applyMonthlyDelta(Session session, LocalDateTime date, int newUsers, int applications) {
+        session.createNativeMutationQuery(MERGE_MONTHLY_ACTIVITY)
+                .setParameter("year", date.getYear())
+                .setParameter("month", date.getMonthValue())
+                .setParameter("newUsers", newUsers)
+                .setParameter("applications", applications)
+                .executeUpdate();
+    }
+}
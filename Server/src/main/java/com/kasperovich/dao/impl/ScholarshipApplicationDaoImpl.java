@@ -1,17 +1,24 @@
 package com.kasperovich.dao.impl;
 
+import com.kasperovich.dao.ReportRollupDao;
 import com.kasperovich.dao.ScholarshipApplicationDao;
 import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.ApplicationTombstone;
 import com.kasperovich.entities.ScholarshipApplication;
 import com.kasperovich.entities.User;
 import com.kasperovich.utils.LoggerUtil;
+import jakarta.persistence.LockModeType;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,6 +26,38 @@ import java.util.Optional;
  */
 public class ScholarshipApplicationDaoImpl implements ScholarshipApplicationDao {
     private static final Logger logger = LoggerUtil.getLogger(ScholarshipApplicationDaoImpl.class);
+    private static final Map<String, String> SORT_FIELDS = Map.of(
+            "id", "a.id",
+            "applicant", "ap.lastName",
+            "program", "p.name",
+            "period", "pe.name",
+            "submissionDate", "a.submissionDate",
+            "status", "a.status",
+            "reviewer", "r.username");
+    private static final String PAGE_CONDITIONS =
+            "WHERE (:status IS NULL OR a.status = :status) " +
+            "AND (:pattern IS NULL OR LOWER(ap.username) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(ap.firstName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(ap.lastName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(p.name) LIKE :pattern ESCAPE '\\')";
+    
+    private final ReportRollupDao rollupDao;
+    
+    /**
+     * Creates the DAO on its default dependencies.
+     */
+    public ScholarshipApplicationDaoImpl() {
+        this(new ReportRollupDaoImpl());
+    }
+    
+    /**
+     * Creates the DAO on shared dependencies.
+     *
+     * @param rollupDao the DAO that maintains the report rollups
+     */
+    public ScholarshipApplicationDaoImpl(ReportRollupDao rollupDao) {
+        this.rollupDao = rollupDao;
+    }
 
     /**
      * Saves a scholarship application.
@@ -32,6 +71,7 @@ public class ScholarshipApplicationDaoImpl implements ScholarshipApplicationDao
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
             session.persist(application);
+            rollupDao.recordApplicationSubmitted(session, application);
             transaction.commit();
             logger.info("Saved scholarship application with ID: {}", application.getId());
             return application;
@@ -199,6 +239,320 @@ public class ScholarshipApplicationDaoImpl implements ScholarshipApplicationDao
         }
     }
 
+    /**
+     * Counts applications per program submitted within the given range.
+     *
+     * @param from the inclusive lower bound of the submission date
+     * @param to the exclusive upper bound of the submission date
+     * @return rows of program name, funding amount, total count and approved count
+     */
+    @Override
+    public List<Object[]> countByProgramSubmittedBetween(LocalDateTime from, LocalDateTime to) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // Aggregate in the database so only one row per program is transferred
+            Query<Object[]> query = session.createQuery(
+                    "SELECT p.name, p.fundingAmount, COUNT(a), " +
+                    "SUM(CASE WHEN a.status = 'APPROVED' THEN 1 ELSE 0 END) " +
+                    "FROM ScholarshipApplication a " +
+                    "JOIN a.program p " +
+                    "WHERE a.submissionDate >= :from AND a.submissionDate < :to " +
+                    "GROUP BY p.id, p.name, p.fundingAmount " +
+                    "ORDER BY p.name",
+                    Object[].class);
+            query.setParameter("from", from);
+            query.setParameter("to", to);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error counting scholarship applications by program between {} and {}", from, to, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the pending applications of a program as ranking candidates.
+     *
+     * @param programId the ID of the program
+     * @param periodId the ID of the academic period, or null for all periods
+     * @return rows of application ID and current GPA
+     */
+    @Override
+    public List<Object[]> findRankingCandidates(Long programId, Long periodId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // Project only the two columns ranking needs instead of loading full entities
+            Query<Object[]> query = session.createQuery(
+                    "SELECT a.id, s.currentGpa " +
+                    "FROM ScholarshipApplication a " +
+                    "LEFT JOIN StudentProfile s ON s.user = a.applicant " +
+                    "WHERE a.program.id = :programId " +
+                    "AND a.status = 'PENDING' " +
+                    (periodId != null ? "AND a.period.id = :periodId " : "") +
+                    "ORDER BY a.submissionDate, a.id",
+                    Object[].class);
+            query.setParameter("programId", programId);
+            if (periodId != null) {
+                query.setParameter("periodId", periodId);
+            }
+            query.setReadOnly(true);
+            query.setFetchSize(1000);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding ranking candidates for program ID: {}", programId, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the pending applications of every program.
+     *
+     * @return rows of program ID and pending application count
+     */
+    @Override
+    public List<Object[]> countPendingByProgram() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Object[]> query = session.createQuery(
+                    "SELECT a.program.id, COUNT(a) " +
+                    "FROM ScholarshipApplication a " +
+                    "WHERE a.status = 'PENDING' " +
+                    "GROUP BY a.program.id",
+                    Object[].class);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error counting pending scholarship applications by program", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds scholarship applications by their IDs.
+     *
+     * @param ids the IDs of the applications
+     * @return the applications found
+     */
+    @Override
+    public List<ScholarshipApplication> findByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<ScholarshipApplication> query = session.createQuery(
+                    "FROM ScholarshipApplication a " +
+                    "LEFT JOIN FETCH a.applicant " +
+                    "LEFT JOIN FETCH a.program " +
+                    "LEFT JOIN FETCH a.period " +
+                    "LEFT JOIN FETCH a.reviewer " +
+                    "WHERE a.id IN (:ids)",
+                    ScholarshipApplication.class);
+            query.setParameterList("ids", ids);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding scholarship applications by IDs", e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the scholarship applications submitted or reviewed after a point in time.
+     *
+     * @param since the exclusive lower bound of the last modification time
+     * @param applicantId the ID of the applicant to restrict the result to, or null for all applicants
+     * @return the applications found, ordered by ID
+     */
+    @Override
+    public List<ScholarshipApplication> findModifiedSince(LocalDateTime since, Long applicantId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // Only the conditions that apply are added, so the plan can seek on the last modification index
+            StringBuilder hql = new StringBuilder(
+                    "FROM ScholarshipApplication a " +
+                    "LEFT JOIN FETCH a.applicant " +
+                    "LEFT JOIN FETCH a.program " +
+                    "LEFT JOIN FETCH a.period " +
+                    "LEFT JOIN FETCH a.reviewer " +
+                    "WHERE a.lastModified > :since");
+            if (applicantId != null) {
+                hql.append(" AND a.applicant.id = :applicantId");
+            }
+            hql.append(" ORDER BY a.id");
+
+            Query<ScholarshipApplication> query = session.createQuery(hql.toString(), ScholarshipApplication.class);
+            query.setParameter("since", since);
+            if (applicantId != null) {
+                query.setParameter("applicantId", applicantId);
+            }
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding scholarship applications modified since: {}", since, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the IDs of the scholarship applications deleted after a point in time.
+     *
+     * @param since the exclusive lower bound of the deletion time
+     * @param applicantId the ID of the applicant to restrict the result to, or null for all applicants
+     * @return the IDs of the deleted applications
+     */
+    @Override
+    public List<Long> findRemovedIdsSince(LocalDateTime since, Long applicantId) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            StringBuilder hql = new StringBuilder(
+                    "SELECT t.applicationId FROM ApplicationTombstone t WHERE t.deletedAt > :since");
+            if (applicantId != null) {
+                hql.append(" AND t.applicantId = :applicantId");
+            }
+
+            Query<Long> query = session.createQuery(hql.toString(), Long.class);
+            query.setParameter("since", since);
+            if (applicantId != null) {
+                query.setParameter("applicantId", applicantId);
+            }
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding scholarship applications deleted since: {}", since, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the most recently submitted or reviewed scholarship applications.
+     *
+     * @param limit the maximum number of applications to return
+     * @return the applications found, newest modification first
+     */
+    @Override
+    public List<ScholarshipApplication> findMostRecentlyModified(int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // Only to-one associations are fetched, so the limit is applied by the database
+            return session.createQuery(
+                    "FROM ScholarshipApplication a " +
+                    "LEFT JOIN FETCH a.applicant " +
+                    "LEFT JOIN FETCH a.program " +
+                    "LEFT JOIN FETCH a.period " +
+                    "LEFT JOIN FETCH a.reviewer " +
+                    "ORDER BY a.lastModified DESC, a.id DESC",
+                    ScholarshipApplication.class)
+                    .setMaxResults(limit)
+                    .getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding the {} most recently modified scholarship applications", limit, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the scholarship applications with a specific status.
+     *
+     * @param status the status to count
+     * @return the number of applications with the given status
+     */
+    @Override
+    public long countByStatus(String status) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "SELECT COUNT(a) FROM ScholarshipApplication a WHERE a.status = :status", Long.class)
+                    .setParameter("status", status)
+                    .uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting scholarship applications by status: {}", status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds one page of scholarship applications.
+     *
+     * @param status the status to restrict the result to, or null for all statuses
+     * @param search text the applicant's name or username, or the program name, must contain, or null
+     * @param ids the IDs to restrict the result to, or null for no restriction
+     * @param sortField the field to sort by, or null to sort by ID
+     * @param ascending whether to sort in ascending order
+     * @param offset the index of the first application to return
+     * @param limit the maximum number of applications to return
+     * @return the applications on the page
+     */
+    @Override
+    public List<ScholarshipApplication> findPage(String status, String search, Collection<Long> ids, String sortField,
+                                                 boolean ascending, int offset, int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            // Only to-one associations are fetched, so the offset and limit are applied by the database
+            Query<ScholarshipApplication> query = session.createQuery(
+                    "FROM ScholarshipApplication a " +
+                    "JOIN FETCH a.applicant ap " +
+                    "JOIN FETCH a.program p " +
+                    "LEFT JOIN FETCH a.period pe " +
+                    "LEFT JOIN FETCH a.reviewer r " +
+                    PAGE_CONDITIONS + PageQueries.idRestriction(ids, "a.id") +
+                    PageQueries.orderBy(SORT_FIELDS, sortField, ascending, "a.id"),
+                    ScholarshipApplication.class);
+            query.setParameter("status", status);
+            query.setParameter("pattern", PageQueries.containsPattern(search));
+            if (ids != null) {
+                query.setParameterList("ids", ids);
+            }
+            query.setFirstResult(offset);
+            query.setMaxResults(limit);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding scholarship applications page at offset {}", offset, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the scholarship applications matching a status and a search text.
+     *
+     * @param status the status to restrict the count to, or null for all statuses
+     * @param search text the applicant's name or username, or the program name, must contain, or null
+     * @param ids the IDs to restrict the count to, or null for no restriction
+     * @return the number of matching applications
+     */
+    @Override
+    public long countMatching(String status, String search, Collection<Long> ids) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(a) FROM ScholarshipApplication a " +
+                    "JOIN a.applicant ap " +
+                    "JOIN a.program p " +
+                    PAGE_CONDITIONS + PageQueries.idRestriction(ids, "a.id"),
+                    Long.class);
+            query.setParameter("status", status);
+            query.setParameter("pattern", PageQueries.containsPattern(search));
+            if (ids != null) {
+                query.setParameterList("ids", ids);
+            }
+            return query.uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting scholarship applications with status: {}", status, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Finds the searchable fields of all scholarship applications.
+     *
+     * @return the applicant's username, first name and last name, and the program name, by application ID
+     */
+    @Override
+    public Map<Long, String[]> findSearchTexts() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Object[]> rows = session.createQuery(
+                    "SELECT a.id, ap.username, ap.firstName, ap.lastName, p.name " +
+                    "FROM ScholarshipApplication a " +
+                    "JOIN a.applicant ap " +
+                    "JOIN a.program p",
+                    Object[].class)
+                    .getResultList();
+            Map<Long, String[]> texts = new HashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                texts.put((Long) row[0], new String[] {(String) row[1], (String) row[2], (String) row[3], (String) row[4]});
+            }
+            return texts;
+        } catch (Exception e) {
+            logger.error("Error finding scholarship application search texts", e);
+            throw e;
+        }
+    }
+
     /**
      * Updates a scholarship application.
      *
@@ -210,7 +564,12 @@ public class ScholarshipApplicationDaoImpl implements ScholarshipApplicationDao
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
+            // Lock the row so concurrent decisions on the same application apply their rollup deltas in turn
+            ScholarshipApplication current = session.find(ScholarshipApplication.class, application.getId(),
+                    LockModeType.PESSIMISTIC_WRITE);
+            String previousStatus = current != null ? current.getStatus() : null;
             session.merge(application);
+            rollupDao.recordApplicationStatusChanged(session, application, previousStatus);
             transaction.commit();
             logger.info("Updated scholarship application with ID: {}", application.getId());
             return application;
@@ -233,7 +592,18 @@ public class ScholarshipApplicationDaoImpl implements ScholarshipApplicationDao
         Transaction transaction = null;
         try (Session session = HibernateUtil.getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
-            session.remove(application);
+            // The rollup is changed by the status of the locked row, not the caller's copy
+            ScholarshipApplication current = session.find(ScholarshipApplication.class, application.getId(),
+                    LockModeType.PESSIMISTIC_WRITE);
+            if (current == null) {
+                transaction.commit();
+                logger.info("Scholarship application with ID {} was already deleted", application.getId());
+                return;
+            }
+            session.remove(current);
+            session.persist(new ApplicationTombstone(current.getId(),
+                    current.getApplicant().getId(), LocalDateTime.now()));
+            rollupDao.recordApplicationRemoved(session, current);
             transaction.commit();
             logger.info("Deleted scholarship application with ID: {}", application.getId());
         } catch (Exception e) {
@@ -0,0 +1,31 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.StudentProfileDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.StudentProfile;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the StudentProfileDao interface.
+ */
+public class StudentProfileDaoImpl extends BaseDaoImpl<StudentProfile, Long> implements StudentProfileDao {
+    
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<StudentProfile> findByUserId(Long userId) {
+        logger.debug("Finding student profile for user ID: {}", userId);
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            return session.createQuery(
+                    "FROM StudentProfile s WHERE s.user.id = :userId", StudentProfile.class)
+                    .setParameter("userId", userId)
+                    .uniqueResultOptional();
+        } catch (Exception e) {
+            logger.error("Error finding student profile for user ID: {}", userId, e);
+            throw new RuntimeException("Error finding student profile", e);
+        }
+    }
+}
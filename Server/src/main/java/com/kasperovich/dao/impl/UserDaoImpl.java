@@ -1,18 +1,84 @@
 package com.kasperovich.dao.impl;
 
+import com.kasperovich.dao.ReportRollupDao;
 import com.kasperovich.dao.UserDao;
 import com.kasperovich.database.HibernateUtil;
 import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Implementation of the UserDao interface using Hibernate.
  */
 public class UserDaoImpl extends BaseDaoImpl<User, Long> implements UserDao {
+    
+    private static final Map<String, String> SORT_FIELDS = Map.of(
+            "id", "u.id",
+            "username", "u.username",
+            "name", "u.lastName",
+            "email", "u.email",
+            "role", "u.role");
+    private static final String PAGE_CONDITIONS =
+            "WHERE (:role IS NULL OR u.role = :role) " +
+            "AND (:pattern IS NULL OR LOWER(u.username) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.firstName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.lastName) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(u.email) LIKE :pattern ESCAPE '\\')";
+    
+    private final ReportRollupDao rollupDao;
+    
+    /**
+     * Creates the DAO on its default dependencies.
+     */
+    public UserDaoImpl() {
+        this(new ReportRollupDaoImpl());
+    }
+    
+    /**
+     * Creates the DAO on shared dependencies.
+     *
+     * @param rollupDao the DAO that maintains the report rollups
+     */
+    public UserDaoImpl(ReportRollupDao rollupDao) {
+        this.rollupDao = rollupDao;
+    }
+    
+    /**
+     * Saves a user, assigning the ID of a new user to the given entity.
+     * New users are counted in the report rollups within the save transaction.
+     *
+     * @param user the user to save
+     * @return the saved user
+     */
+    @Override
+    public User save(User user) {
+        if (user.getId() != null) {
+            return super.save(user);
+        }
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            session.persist(user);
+            rollupDao.recordUserRegistered(session, user);
+            transaction.commit();
+            return user;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error saving user", e);
+            throw new RuntimeException("Error saving user", e);
+        }
+    }
 
     @Override
     public Optional<User> findByUsername(String username) {
@@ -101,4 +167,61 @@ public class UserDaoImpl extends BaseDaoImpl<User, Long> implements UserDao {
             throw new RuntimeException("Error updating last login time", e);
         }
     }
+
+    @Override
+    public List<User> findPage(UserRole role, String search, Collection<Long> ids, String sortField, boolean ascending,
+                               int offset, int limit) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<User> query = session.createQuery(
+                    "FROM User u " + PAGE_CONDITIONS + PageQueries.idRestriction(ids, "u.id") +
+                    PageQueries.orderBy(SORT_FIELDS, sortField, ascending, "u.id"),
+                    User.class);
+            query.setParameter("role", role);
+            query.setParameter("pattern", PageQueries.containsPattern(search));
+            if (ids != null) {
+                query.setParameterList("ids", ids);
+            }
+            query.setFirstResult(offset);
+            query.setMaxResults(limit);
+            return query.getResultList();
+        } catch (Exception e) {
+            logger.error("Error finding users page at offset {}", offset, e);
+            throw e;
+        }
+    }
+
+    @Override
+    public long countMatching(UserRole role, String search, Collection<Long> ids) {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            Query<Long> query = session.createQuery(
+                    "SELECT COUNT(u) FROM User u " + PAGE_CONDITIONS + PageQueries.idRestriction(ids, "u.id"),
+                    Long.class);
+            query.setParameter("role", role);
+            query.setParameter("pattern", PageQueries.containsPattern(search));
+            if (ids != null) {
+                query.setParameterList("ids", ids);
+            }
+            return query.uniqueResult();
+        } catch (Exception e) {
+            logger.error("Error counting users", e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Map<Long, String[]> findSearchTexts() {
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            List<Object[]> rows = session.createQuery(
+                    "SELECT u.id, u.username, u.firstName, u.lastName, u.email FROM User u", Object[].class)
+                    .getResultList();
+            Map<Long, String[]> texts = new HashMap<>(rows.size() * 2);
+            for (Object[] row : rows) {
+                texts.put((Long) row[0], new String[] {(String) row[1], (String) row[2], (String) row[3], (String) row[4]});
+            }
+            return texts;
+        } catch (Exception e) {
+            logger.error("Error finding user search texts", e);
+            throw e;
+        }
+    }
 }
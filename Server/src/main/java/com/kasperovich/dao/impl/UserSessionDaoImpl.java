@@ -0,0 +1,76 @@
+package com.kasperovich.dao.impl;
+
+import com.kasperovich.dao.UserSessionDao;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.entities.UserSession;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of the UserSessionDao interface using Hibernate.
+ */
+public class UserSessionDaoImpl extends BaseDaoImpl<UserSession, String> implements UserSessionDao {
+    
+    @Override
+    public int deleteByUserId(Long userId) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int deleted = session.createMutationQuery("DELETE FROM UserSession s WHERE s.userId = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            transaction.commit();
+            return deleted;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error deleting sessions of user ID: {}", userId, e);
+            throw new RuntimeException("Error deleting user sessions", e);
+        }
+    }
+    
+    @Override
+    public boolean touch(String tokenHash, LocalDateTime lastUsedAt) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int updated = session.createMutationQuery(
+                            "UPDATE UserSession s SET s.lastUsedAt = :lastUsedAt WHERE s.tokenHash = :tokenHash")
+                    .setParameter("lastUsedAt", lastUsedAt)
+                    .setParameter("tokenHash", tokenHash)
+                    .executeUpdate();
+            transaction.commit();
+            return updated > 0;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error recording use of session", e);
+            throw new RuntimeException("Error recording use of session", e);
+        }
+    }
+    
+    @Override
+    public int deleteExpired(LocalDateTime now, LocalDateTime idleBefore) {
+        Transaction transaction = null;
+        try (Session session = HibernateUtil.getSessionFactory().openSession()) {
+            transaction = session.beginTransaction();
+            int deleted = session.createMutationQuery(
+                            "DELETE FROM UserSession s WHERE s.expiresAt < :now OR s.lastUsedAt < :idleBefore")
+                    .setParameter("now", now)
+                    .setParameter("idleBefore", idleBefore)
+                    .executeUpdate();
+            transaction.commit();
+            return deleted;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            logger.error("Error deleting expired sessions", e);
+            throw new RuntimeException("Error deleting expired sessions", e);
+        }
+    }
+}
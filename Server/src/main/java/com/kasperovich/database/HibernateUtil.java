@@ -4,11 +4,18 @@ import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 /**
@@ -17,7 +24,8 @@ import java.util.Properties;
  */
 public class HibernateUtil {
     private static final Logger logger = LoggerUtil.getLogger(HibernateUtil.class);
-    private static SessionFactory sessionFactory;
+    private static final String MINIMUM_IDLE_PROPERTY = "hibernate.hikari.minimumIdle";
+    private static volatile SessionFactory sessionFactory;
     
     /**
      * Private constructor to prevent instantiation.
@@ -27,11 +35,19 @@ public class HibernateUtil {
     
     /**
      * Gets the Hibernate SessionFactory instance.
-     * Creates it if it doesn't exist.
+     * Creates it if it doesn't exist; once built, callers do not take a lock.
      *
      * @return the SessionFactory instance
      */
-    public static synchronized SessionFactory getSessionFactory() {
+    public static SessionFactory getSessionFactory() {
+        SessionFactory factory = sessionFactory;
+        if (factory == null) {
+            factory = buildSessionFactory();
+        }
+        return factory;
+    }
+    
+    private static synchronized SessionFactory buildSessionFactory() {
         if (sessionFactory == null) {
             try {
                 logger.info("Initializing Hibernate SessionFactory");
@@ -51,6 +67,13 @@ public class HibernateUtil {
                 configuration.setProperty("hibernate.connection.username", dbProperties.getProperty("db.username"));
                 configuration.setProperty("hibernate.connection.password", dbProperties.getProperty("db.password"));
                 
+                QueryStatistics.getInstance().setSlowThresholdMillis(Long.parseLong(
+                        dbProperties.getProperty("db.slowQueryMillis",
+                                String.valueOf(QueryStatistics.DEFAULT_SLOW_THRESHOLD_MILLIS))));
+                
+                // Bring the schema up to date before Hibernate maps onto it
+                migrateSchema(configuration, dbProperties);
+                
                 sessionFactory = configuration.buildSessionFactory();
                 logger.info("Hibernate SessionFactory initialized successfully");
             } catch (Exception e) {
@@ -61,6 +84,63 @@ public class HibernateUtil {
         return sessionFactory;
     }
     
+    /**
+     * Applies pending migration scripts over a plain JDBC connection.
+     *
+     * @param configuration the configuration holding the connection settings
+     * @param dbProperties the database properties, optionally holding db.migration.baseline
+     * @throws SQLException if a migration fails
+     * @throws IOException if the migration scripts cannot be read
+     */
+    private static void migrateSchema(Configuration configuration, Properties dbProperties) throws SQLException, IOException {
+        int baseline = Integer.parseInt(dbProperties.getProperty("db.migration.baseline",
+                String.valueOf(MigrationRunner.DEFAULT_BASELINE_VERSION)));
+        try (Connection connection = DriverManager.getConnection(
+                configuration.getProperty("hibernate.connection.url"),
+                configuration.getProperty("hibernate.connection.username"),
+                configuration.getProperty("hibernate.connection.password"))) {
+            new MigrationRunner(MigrationRunner.DEFAULT_LOCATION, baseline).migrate(connection);
+        }
+    }
+    
+    /**
+     * Opens the configured minimum number of idle connections at once and returns them to the pool,
+     * so the first clients do not pay for connection setup.
+     *
+     * @return the number of connections opened
+     * @throws SQLException if a connection cannot be opened
+     */
+    public static int prefillConnectionPool() throws SQLException {
+        SessionFactoryImplementor factory = getSessionFactory().unwrap(SessionFactoryImplementor.class);
+        ConnectionProvider provider = getConnectionProvider();
+        Object minimumIdle = factory.getProperties().get(MINIMUM_IDLE_PROPERTY);
+        int size = minimumIdle == null ? 1 : Integer.parseInt(minimumIdle.toString());
+        
+        List<Connection> connections = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                connections.add(provider.getConnection());
+            }
+            logger.debug("Pre-filled connection pool with {} connections", connections.size());
+            return connections.size();
+        } finally {
+            for (Connection connection : connections) {
+                provider.closeConnection(connection);
+            }
+        }
+    }
+    
+    /**
+     * Gets the pool that hands out the connections of the SessionFactory, for work that must keep
+     * one connection across several transactions.
+     *
+     * @return the connection provider
+     */
+    public static ConnectionProvider getConnectionProvider() {
+        return getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+    }
+    
     /**
      * Loads database properties from the configuration file.
      *
@@ -0,0 +1,321 @@
+package com.kasperovich.database;
+
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Applies the versioned SQL scripts in {@code db/migration} before Hibernate starts.
+ * Scripts are named {@code V<version>__<description>.sql} and run in version order; each one
+ * runs in its own transaction together with its row in the schema history table, so a failed
+ * script leaves no trace and is retried on the next start. Scripts may be split into batches
+ * with {@code GO} lines.
+ * A database that already has tables but no history (created by hbm2ddl) is baselined at the
+ * configured version, so the scripts that would create existing tables are not run again.
+ */
+public class MigrationRunner {
+    private static final Logger logger = LoggerUtil.getLogger(MigrationRunner.class);
+
+    public static final String DEFAULT_LOCATION = "db/migration";
+    public static final int DEFAULT_BASELINE_VERSION = 4;
+
+    private static final String HISTORY_TABLE = "schema_history";
+    private static final String BASELINE_DESCRIPTION = "<< Baseline >>";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    private static final Pattern BATCH_SEPARATOR = Pattern.compile("(?im)^\\s*GO\\s*;?\\s*$");
+
+    private final String location;
+    private final int baselineVersion;
+
+    /**
+     * Creates a migration runner.
+     *
+     * @param location the classpath directory that holds the scripts
+     * @param baselineVersion the version recorded for an existing database without history
+     */
+    public MigrationRunner(String location, int baselineVersion) {
+        this.location = location;
+        this.baselineVersion = baselineVersion;
+    }
+
+    /**
+     * Applies all pending scripts.
+     *
+     * @param connection the connection to migrate; its auto-commit mode is restored afterwards
+     * @return the number of scripts applied
+     * @throws SQLException if a script fails
+     * @throws IOException if the scripts cannot be read
+     */
+    public int migrate(Connection connection) throws SQLException, IOException {
+        long start = System.nanoTime();
+        List<Script> scripts = findScripts();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            if (createHistoryTable(connection) && hasExistingSchema(connection)) {
+                logger.info("Existing schema without migration history; baselining at version {}", baselineVersion);
+                recordBaseline(connection);
+            }
+
+            Map<Integer, Integer> applied = appliedChecksums(connection);
+            int current = applied.keySet().stream().max(Integer::compare).orElse(0);
+            int count = 0;
+            for (Script script : scripts) {
+                Integer checksum = applied.get(script.getVersion());
+                if (checksum != null && checksum != 0 && checksum != script.getChecksum()) {
+                    logger.warn("Migration script {} changed after it was applied", script.getFileName());
+                }
+                if (script.getVersion() > current) {
+                    apply(connection, script);
+                    current = script.getVersion();
+                    count++;
+                }
+            }
+            logger.info("Schema is at version {} after applying {} migration(s) in {} ms",
+                    current, count, (System.nanoTime() - start) / 1_000_000);
+            return count;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private boolean createHistoryTable(Connection connection) throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT OBJECT_ID('" + HISTORY_TABLE + "', 'U')")) {
+            rs.next();
+            if (rs.getObject(1) != null) {
+                return false;
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE " + HISTORY_TABLE + " ("
+                    + "version INT NOT NULL PRIMARY KEY, "
+                    + "description NVARCHAR(200) NOT NULL, "
+                    + "script NVARCHAR(200) NULL, "
+                    + "checksum INT NOT NULL DEFAULT 0, "
+                    + "installed_on DATETIME2 NOT NULL DEFAULT SYSUTCDATETIME(), "
+                    + "execution_millis BIGINT NOT NULL DEFAULT 0)");
+        }
+        logger.info("Created migration history table {}", HISTORY_TABLE);
+        return true;
+    }
+
+    private boolean hasExistingSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT OBJECT_ID('users', 'U')")) {
+            rs.next();
+            return rs.getObject(1) != null;
+        }
+    }
+
+    private void recordBaseline(Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO " + HISTORY_TABLE + " (version, description) VALUES (?, ?)")) {
+            statement.setInt(1, baselineVersion);
+            statement.setString(2, BASELINE_DESCRIPTION);
+            statement.executeUpdate();
+        }
+    }
+
+    private Map<Integer, Integer> appliedChecksums(Connection connection) throws SQLException {
+        Map<Integer, Integer> applied = new HashMap<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version, checksum FROM " + HISTORY_TABLE)) {
+            while (rs.next()) {
+                applied.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        return applied;
+    }
+
+    private void apply(Connection connection, Script script) throws SQLException {
+        logger.info("Applying migration {}", script.getFileName());
+        long start = System.nanoTime();
+        connection.setAutoCommit(false);
+        try {
+            try (Statement statement = connection.createStatement()) {
+                for (String batch : splitBatches(script.getSql())) {
+                    statement.execute(batch);
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + HISTORY_TABLE
+                    + " (version, description, script, checksum, execution_millis) VALUES (?, ?, ?, ?, ?)")) {
+                statement.setInt(1, script.getVersion());
+                statement.setString(2, script.getDescription());
+                statement.setString(3, script.getFileName());
+                statement.setInt(4, script.getChecksum());
+                statement.setLong(5, (System.nanoTime() - start) / 1_000_000);
+                statement.executeUpdate();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration " + script.getFileName() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Finds the migration scripts on the classpath, in version order.
+     *
+     * @return the scripts
+     * @throws IOException if the scripts cannot be read
+     */
+    List<Script> findScripts() throws IOException {
+        ClassLoader classLoader = MigrationRunner.class.getClassLoader();
+        List<Script> scripts = new ArrayList<>();
+        for (String fileName : listScriptNames(classLoader)) {
+            try (InputStream in = classLoader.getResourceAsStream(location + "/" + fileName)) {
+                if (in == null) {
+                    continue;
+                }
+                Script script = parse(fileName, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                if (script != null) {
+                    scripts.add(script);
+                }
+            }
+        }
+        scripts.sort(Comparator.comparingInt(Script::getVersion));
+        for (int i = 1; i < scripts.size(); i++) {
+            if (scripts.get(i).getVersion() == scripts.get(i - 1).getVersion()) {
+                throw new IllegalStateException("Duplicate migration version " + scripts.get(i).getVersion());
+            }
+        }
+        return scripts;
+    }
+
+    private List<String> listScriptNames(ClassLoader classLoader) throws IOException {
+        URL url = classLoader.getResource(location);
+        List<String> names = new ArrayList<>();
+        if (url == null) {
+            logger.warn("No migration scripts found at {}", location);
+            return names;
+        }
+        if ("jar".equals(url.getProtocol())) {
+            JarFile jar = ((JarURLConnection) url.openConnection()).getJarFile();
+            String prefix = location + "/";
+            Enumeration<JarEntry> entries = jar.entries();
+            while (entries.hasMoreElements()) {
+                String name = entries.nextElement().getName();
+                if (name.startsWith(prefix) && name.indexOf('/', prefix.length()) < 0 && name.length() > prefix.length()) {
+                    names.add(name.substring(prefix.length()));
+                }
+            }
+        } else {
+            try (Stream<Path> files = Files.list(Paths.get(url.toURI()))) {
+                files.forEach(path -> names.add(path.getFileName().toString()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid migration location " + url, e);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Parses a migration script.
+     *
+     * @param fileName the file name of the script
+     * @param sql the content of the script
+     * @return the script, or null if the file name is not a migration name
+     */
+    static Script parse(String fileName, String sql) {
+        Matcher matcher = SCRIPT_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(sql.replace("\r\n", "\n").getBytes(StandardCharsets.UTF_8));
+        return new Script(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '),
+                fileName, sql, (int) crc.getValue());
+    }
+
+    /**
+     * Splits a script into the batches separated by {@code GO} lines, skipping empty batches.
+     *
+     * @param sql the script
+     * @return the batches
+     */
+    static List<String> splitBatches(String sql) {
+        List<String> batches = new ArrayList<>();
+        for (String batch : BATCH_SEPARATOR.split(sql)) {
+            if (hasStatements(batch)) {
+                batches.add(batch.trim());
+            }
+        }
+        return batches;
+    }
+
+    private static boolean hasStatements(String batch) {
+        for (String line : batch.split("\\R")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("--")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A versioned migration script.
+     */
+    static class Script {
+        private final int version;
+        private final String description;
+        private final String fileName;
+        private final String sql;
+        private final int checksum;
+
+        Script(int version, String description, String fileName, String sql, int checksum) {
+            this.version = version;
+            this.description = description;
+            this.fileName = fileName;
+            this.sql = sql;
+            this.checksum = checksum;
+        }
+
+        int getVersion() {
+            return version;
+        }
+
+        String getDescription() {
+            return description;
+        }
+
+        String getFileName() {
+            return fileName;
+        }
+
+        String getSql() {
+            return sql;
+        }
+
+        int getChecksum() {
+            return checksum;
+        }
+    }
+}
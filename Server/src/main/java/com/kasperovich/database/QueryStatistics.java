@@ -0,0 +1,215 @@
+package com.kasperovich.database;
+
+import com.kasperovich.dto.report.QueryStatisticDTO;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Execution statistics of SQL statements, grouped by statement shape.
+ * A shape is the statement text with literals replaced by placeholders, so the same query with
+ * different values is counted once. Durations go into a log-linear histogram per shape, from
+ * which the p99 is read. Statements slower than the threshold are logged individually.
+ */
+public class QueryStatistics {
+    private static final Logger logger = LoggerUtil.getLogger(QueryStatistics.class);
+    public static final long DEFAULT_SLOW_THRESHOLD_MILLIS = 200;
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_CACHED_STATEMENTS = 5000;
+    private static final int BUCKETS = 160;
+    private static final String OTHER_SHAPE = "<other statements>";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final QueryStatistics instance = new QueryStatistics(DEFAULT_SLOW_THRESHOLD_MILLIS);
+
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+    private volatile long slowThresholdNanos;
+
+    /**
+     * Creates empty statistics.
+     *
+     * @param slowThresholdMillis the duration from which statements are logged
+     */
+    QueryStatistics(long slowThresholdMillis) {
+        setSlowThresholdMillis(slowThresholdMillis);
+    }
+
+    /**
+     * Gets the singleton instance.
+     *
+     * @return the statistics instance
+     */
+    public static QueryStatistics getInstance() {
+        return instance;
+    }
+
+    /**
+     * Sets the duration from which statements are logged.
+     *
+     * @param millis the threshold in milliseconds
+     */
+    public void setSlowThresholdMillis(long millis) {
+        this.slowThresholdNanos = millis * 1_000_000;
+    }
+
+    /**
+     * Gets the shape of a statement, computing it once per distinct statement text.
+     *
+     * @param sql the statement
+     * @return the statement with literals replaced by placeholders
+     */
+    public String shapeOf(String sql) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (shapes.size() < MAX_CACHED_STATEMENTS) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Records one execution of a statement.
+     *
+     * @param sql the executed statement
+     * @param nanos how long it took
+     */
+    public void record(String sql, long nanos) {
+        String shape = shapeOf(sql);
+        StatementStats entry = stats.get(shape);
+        if (entry == null) {
+            if (stats.size() >= MAX_SHAPES) {
+                shape = OTHER_SHAPE;
+            }
+            entry = stats.computeIfAbsent(shape, StatementStats::new);
+        }
+        boolean slow = nanos >= slowThresholdNanos;
+        entry.add(nanos, slow);
+        if (slow) {
+            logger.warn("Slow statement ({} ms): {}", nanos / 1_000_000, sql);
+        }
+    }
+
+    /**
+     * Gets the statements with the highest total execution time.
+     *
+     * @param limit the maximum number of statements
+     * @return the statistics, most expensive first
+     */
+    public List<QueryStatisticDTO> getTopStatements(int limit) {
+        List<QueryStatisticDTO> result = new ArrayList<>(stats.size());
+        for (StatementStats entry : stats.values()) {
+            result.add(entry.toDTO());
+        }
+        result.sort(Comparator.comparingDouble(QueryStatisticDTO::getTotalMillis).reversed());
+        return new ArrayList<>(result.subList(0, Math.min(Math.max(limit, 0), result.size())));
+    }
+
+    /**
+     * Removes all recorded statistics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    /**
+     * Gets the histogram bucket of a duration. Durations below 4 microseconds get a bucket each;
+     * above that every power of two is split into four buckets.
+     *
+     * @param micros the duration in microseconds
+     * @return the bucket index
+     */
+    static int bucketOf(long micros) {
+        if (micros < 4) {
+            return (int) Math.max(micros, 0);
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        return Math.min(BUCKETS - 1, (msb - 1) * 4 + (int) ((micros >> (msb - 2)) & 3));
+    }
+
+    /**
+     * Gets the exclusive upper bound of a histogram bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound in microseconds
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < 4) {
+            return bucket + 1;
+        }
+        int msb = bucket / 4 + 1;
+        long width = 1L << (msb - 2);
+        return (4 + bucket % 4) * width + width;
+    }
+
+    private static final class StatementStats {
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder slowCount = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+        StatementStats(String shape) {
+            this.shape = shape;
+        }
+
+        void add(long nanos, boolean slow) {
+            count.increment();
+            totalNanos.add(nanos);
+            if (slow) {
+                slowCount.increment();
+            }
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            histogram.incrementAndGet(bucketOf(nanos / 1000));
+        }
+
+        QueryStatisticDTO toDTO() {
+            long executions = count.sum();
+            double total = totalNanos.sum() / 1_000_000.0;
+            double max = maxNanos.get() / 1_000_000.0;
+            return new QueryStatisticDTO(shape, executions, slowCount.sum(), total,
+                    executions == 0 ? 0 : total / executions, Math.min(percentile(0.99) / 1000.0, max), max);
+        }
+
+        private long percentile(double fraction) {
+            long[] counts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = histogram.get(i);
+                total += counts[i];
+            }
+            long rank = (long) Math.ceil(total * fraction);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) {
+                    return upperBoundOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
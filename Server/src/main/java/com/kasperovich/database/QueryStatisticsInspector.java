@@ -0,0 +1,17 @@
+package com.kasperovich.database;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that computes the shape of each statement when Hibernate
+ * prepares it, so recording its executions only needs a map lookup.
+ * The statement is passed on unchanged.
+ */
+public class QueryStatisticsInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryStatistics.getInstance().shapeOf(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,97 @@
+package com.kasperovich.database;
+
+import org.hibernate.hikaricp.internal.HikariCPConnectionProvider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Hikari connection provider that times every statement execution at the JDBC level and
+ * records it in {@link QueryStatistics}. Connections and statements are wrapped in dynamic
+ * proxies; only the execute methods are timed, everything else is passed straight through.
+ */
+public class TimedConnectionProvider extends HikariCPConnectionProvider {
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    /**
+     * Wraps a connection so the statements it creates are timed.
+     *
+     * @param connection the connection to wrap
+     * @return the timed connection
+     */
+    static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimedConnectionProvider.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedConnectionProvider.invoke(connection, method, args);
+            if (result instanceof Statement) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                Class<?> type = result instanceof CallableStatement ? CallableStatement.class
+                        : result instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(TimedConnectionProvider.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler((Statement) result, sql));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement statement;
+        private String sql;
+
+        StatementHandler(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args.length == 1 && args[0] instanceof String) {
+                sql = (String) args[0];
+            }
+            if (!name.startsWith("execute")) {
+                return TimedConnectionProvider.invoke(statement, method, args);
+            }
+            String executed = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+            long start = System.nanoTime();
+            try {
+                return TimedConnectionProvider.invoke(statement, method, args);
+            } finally {
+                if (executed != null) {
+                    QueryStatistics.getInstance().record(executed, System.nanoTime() - start);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.kasperovich.ranking;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Ranks scholarship candidates held in primitive arrays.
+ * Candidates are given in submission order. Each candidate is scored in parallel with fork-join
+ * into a single sortable long key (higher GPA first, then earlier submission), so ranking is one
+ * primitive parallel sort without boxing or comparators. Candidates below the minimum GPA are
+ * excluded; candidates without a recorded GPA stay eligible but rank after everyone with a GPA.
+ */
+public class RankingEngine {
+    static final int SEQUENTIAL_THRESHOLD = 8192;
+    private static final double SCORE_SCALE = 10_000;
+    private static final long MAX_SCORE = 1_000_000;
+    private static final long INELIGIBLE = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Creates an engine that scores on the common fork-join pool.
+     */
+    public RankingEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates an engine that scores on the given pool.
+     *
+     * @param pool the fork-join pool
+     */
+    public RankingEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Ranks candidates.
+     *
+     * @param gpas the GPA of every candidate in submission order, NaN when unknown
+     * @param minGpa the minimum GPA, NaN when there is none
+     * @param fundedSlots the number of awards the remaining funds cover
+     * @return the ranking
+     */
+    public Ranking rank(double[] gpas, double minGpa, int fundedSlots) {
+        int count = gpas.length;
+        long[] keys = new long[count];
+        pool.invoke(new ScoreTask(gpas, minGpa, keys, 0, count));
+        Arrays.parallelSort(keys);
+
+        int eligible = 0;
+        while (eligible < count && keys[eligible] != INELIGIBLE) {
+            eligible++;
+        }
+
+        int[] order = new int[eligible];
+        for (int i = 0; i < eligible; i++) {
+            order[i] = (int) keys[i];
+        }
+        return new Ranking(order, count, Math.max(0, Math.min(fundedSlots, eligible)));
+    }
+
+    /**
+     * Computes the sort key of one candidate.
+     */
+    static long key(double gpa, double minGpa, int index) {
+        if (Double.isNaN(gpa)) {
+            return ((MAX_SCORE) << 32) | index;
+        }
+        if (!Double.isNaN(minGpa) && gpa < minGpa) {
+            return INELIGIBLE;
+        }
+        long score = Math.min(MAX_SCORE - 1, Math.max(0, Math.round(gpa * SCORE_SCALE)));
+        return ((MAX_SCORE - 1 - score) << 32) | index;
+    }
+
+    /**
+     * Fork-join task computing the keys of a range of candidates.
+     */
+    private static class ScoreTask extends RecursiveAction {
+        private final double[] gpas;
+        private final double minGpa;
+        private final long[] keys;
+        private final int from;
+        private final int to;
+
+        ScoreTask(double[] gpas, double minGpa, long[] keys, int from, int to) {
+            this.gpas = gpas;
+            this.minGpa = minGpa;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    keys[i] = key(gpas[i], minGpa, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ScoreTask(gpas, minGpa, keys, from, middle),
+                    new ScoreTask(gpas, minGpa, keys, middle, to));
+        }
+    }
+
+    /**
+     * Result of ranking: the candidate indexes of all eligible candidates in rank order.
+     */
+    public static class Ranking {
+        private final int[] order;
+        private final int candidateCount;
+        private final int fundedCount;
+
+        Ranking(int[] order, int candidateCount, int fundedCount) {
+            this.order = order;
+            this.candidateCount = candidateCount;
+            this.fundedCount = fundedCount;
+        }
+
+        /**
+         * Returns the candidate index at a rank.
+         *
+         * @param rank the 0-based rank
+         * @return the index of the candidate in the input arrays
+         */
+        public int candidateAt(int rank) {
+            return order[rank];
+        }
+
+        /**
+         * Returns the number of eligible candidates.
+         *
+         * @return the number of ranked candidates
+         */
+        public int eligibleCount() {
+            return order.length;
+        }
+
+        /**
+         * Returns the number of candidates that were ranked, including ineligible ones.
+         *
+         * @return the number of input candidates
+         */
+        public int candidateCount() {
+            return candidateCount;
+        }
+
+        /**
+         * Returns the number of top-ranked candidates covered by the remaining funds.
+         *
+         * @return the number of funded candidates
+         */
+        public int fundedCount() {
+            return fundedCount;
+        }
+    }
+}
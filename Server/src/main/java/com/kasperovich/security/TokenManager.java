@@ -1,32 +1,67 @@
 package com.kasperovich.security;
 
+import com.kasperovich.dao.UserSessionDao;
+import com.kasperovich.dao.impl.UserSessionDaoImpl;
+import com.kasperovich.entities.UserSession;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages authentication tokens for user sessions.
+ * Each token is stored, hashed, as a {@link UserSession}, which is the shared record of the
+ * session for all servers on the database: after a server restart, or on another server, a
+ * client can resume its session with the token it holds. Tokens are validated from memory, and
+ * the stored session is checked again at most every {@value #STORED_SESSION_CHECK_SECONDS}
+ * seconds, so a logout on one server reaches the others within that time, and activity on any
+ * server keeps the session alive on all of them. A session ends after
+ * {@value #TOKEN_EXPIRATION_MINUTES} minutes without use on any server, and at most
+ * {@value #SESSION_MAX_HOURS} hours after login.
  */
 public class TokenManager {
     private static final Logger logger = LoggerUtil.getLogger(TokenManager.class);
     private static final int TOKEN_LENGTH = 32;
-    private static final long TOKEN_EXPIRATION_MINUTES = 60; // 1 hour
+    static final long TOKEN_EXPIRATION_MINUTES = 60; // 1 hour
+    static final long SESSION_MAX_HOURS = 12;
+    static final long STORED_SESSION_CHECK_SECONDS = 30;
     
-    private static final TokenManager instance = new TokenManager();
+    private static final TokenManager instance = new TokenManager(new UserSessionDaoImpl());
     
     // Map of token to user ID and expiration time
     private final Map<String, TokenInfo> tokenMap = new ConcurrentHashMap<>();
     private final SecureRandom random = new SecureRandom();
+    private final UserSessionDao sessionDao;
+    private final Clock clock;
     
     /**
-     * Private constructor to enforce singleton pattern.
+     * Creates a token manager; use {@link #getInstance()} outside of tests.
+     *
+     * @param sessionDao stores the sessions
      */
-    private TokenManager() {
+    TokenManager(UserSessionDao sessionDao) {
+        this(sessionDao, Clock.systemDefaultZone());
+    }
+    
+    /**
+     * Creates a token manager with the given clock.
+     *
+     * @param sessionDao stores the sessions
+     * @param clock supplies the current time
+     */
+    TokenManager(UserSessionDao sessionDao, Clock clock) {
+        this.sessionDao = sessionDao;
+        this.clock = clock;
     }
     
     /**
@@ -50,8 +85,15 @@ public class TokenManager {
         String token = Base64.getUrlEncoder().withoutPadding().encodeToString(tokenBytes);
         
         // Store token with expiration time
-        LocalDateTime expiration = LocalDateTime.now().plusMinutes(TOKEN_EXPIRATION_MINUTES);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime expiration = now.plusMinutes(TOKEN_EXPIRATION_MINUTES);
         tokenMap.put(token, new TokenInfo(userId, expiration));
+        try {
+            sessionDao.save(new UserSession(hash(token), userId, now, now.plusHours(SESSION_MAX_HOURS), now));
+        } catch (Exception e) {
+            // The token works until its stored session is first checked
+            logger.warn("Could not store session for user ID {}", userId, e);
+        }
         
         logger.debug("Generated token for user ID {}: {}", userId, token);
         return token;
@@ -64,17 +106,14 @@ public class TokenManager {
      * @return the user ID associated with the token, or null if the token is invalid
      */
     public Long validateToken(String token) {
-        TokenInfo info = tokenMap.get(token);
-        
-        if (info == null) {
-            logger.debug("Token not found: {}", token);
+        if (token == null) {
             return null;
         }
+        TokenInfo info = tokenMap.get(token);
         
-        if (info.isExpired()) {
-            logger.debug("Token expired: {}", token);
-            tokenMap.remove(token);
-            return null;
+        if (info == null || info.isExpired() || info.isCheckDue()) {
+            // The stored session decides: it may have been logged out or used on another server
+            return checkStoredSession(token, info);
         }
         
         // Extend token expiration on successful validation
@@ -94,6 +133,11 @@ public class TokenManager {
         if (removed != null) {
             logger.debug("Token invalidated for user ID {}: {}", removed.getUserId(), token);
         }
+        try {
+            sessionDao.deleteById(hash(token));
+        } catch (Exception e) {
+            logger.warn("Could not delete stored session", e);
+        }
     }
     
     /**
@@ -109,10 +153,16 @@ public class TokenManager {
             }
             return matches;
         });
+        try {
+            sessionDao.deleteByUserId(userId);
+        } catch (Exception e) {
+            logger.warn("Could not delete stored sessions of user ID {}", userId, e);
+        }
     }
     
     /**
-     * Removes expired tokens.
+     * Removes expired tokens from memory, and deletes the stored sessions that expired or were
+     * not used on any server within the inactivity timeout.
      */
     public void cleanupExpiredTokens() {
         int count = 0;
@@ -125,14 +175,81 @@ public class TokenManager {
         if (count > 0) {
             logger.debug("Cleaned up {} expired tokens", count);
         }
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            sessionDao.deleteExpired(now, now.minusMinutes(TOKEN_EXPIRATION_MINUTES));
+        } catch (Exception e) {
+            logger.warn("Could not delete expired stored sessions", e);
+        }
+    }
+    
+    /**
+     * Looks up a token among the stored sessions, when it is not in memory, for example after a
+     * server restart, or when its check is due. The token is kept in memory and the use of its
+     * session recorded if the session is still valid.
+     *
+     * @param token the token
+     * @param info the token in memory, or null if there is none
+     * @return the user ID of the session, or null if there is no valid session
+     */
+    private Long checkStoredSession(String token, TokenInfo info) {
+        tokenMap.remove(token);
+        try {
+            String tokenHash = hash(token);
+            Optional<UserSession> session = sessionDao.findById(tokenHash);
+            if (session.isEmpty()) {
+                logger.debug("Token not found: {}", token);
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now(clock);
+            if (!session.get().getExpiresAt().isAfter(now)
+                    || session.get().getLastUsedAt().plusMinutes(TOKEN_EXPIRATION_MINUTES).isBefore(now)) {
+                // Not used on any server within the timeout, so the session has ended everywhere
+                logger.debug("Stored session expired: {}", token);
+                sessionDao.deleteById(tokenHash);
+                return null;
+            }
+            sessionDao.touch(tokenHash, now);
+            Long userId = session.get().getUserId();
+            tokenMap.put(token, new TokenInfo(userId, now.plusMinutes(TOKEN_EXPIRATION_MINUTES)));
+            logger.debug("Checked stored session for user ID {}", userId);
+            return userId;
+        } catch (Exception e) {
+            if (info != null && !info.isExpired()) {
+                // Sessions are not ended because the database is briefly unavailable
+                logger.warn("Could not check stored session, accepting the token in memory", e);
+                info.extendExpiration();
+                tokenMap.put(token, info);
+                return info.getUserId();
+            }
+            logger.warn("Could not look up stored session", e);
+            return null;
+        }
+    }
+    
+    /**
+     * Hashes a token for storage, so a leaked sessions table does not leak usable tokens.
+     *
+     * @param token the token
+     * @return the hex-encoded SHA-256 hash of the token
+     */
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
     
     /**
      * Inner class to store token information.
      */
-    private static class TokenInfo {
+    private class TokenInfo {
         private final Long userId;
         private LocalDateTime expiration;
+        // When the stored session was last checked
+        private final LocalDateTime checkedAt;
         
         /**
          * Creates a new token info with the specified user ID and expiration time.
@@ -143,6 +260,7 @@ public class TokenManager {
         public TokenInfo(Long userId, LocalDateTime expiration) {
             this.userId = userId;
             this.expiration = expiration;
+            this.checkedAt = LocalDateTime.now(clock);
         }
         
         /**
@@ -160,14 +278,23 @@ public class TokenManager {
          * @return true if the token is expired, false otherwise
          */
         public boolean isExpired() {
-            return LocalDateTime.now().isAfter(expiration);
+            return LocalDateTime.now(clock).isAfter(expiration);
+        }
+        
+        /**
+         * Checks if the stored session should be checked again.
+         *
+         * @return true if the last check is older than the check interval
+         */
+        public boolean isCheckDue() {
+            return LocalDateTime.now(clock).isAfter(checkedAt.plusSeconds(STORED_SESSION_CHECK_SECONDS));
         }
         
         /**
          * Extends the expiration time.
          */
         public void extendExpiration() {
-            this.expiration = LocalDateTime.now().plusMinutes(TOKEN_EXPIRATION_MINUTES);
+            this.expiration = LocalDateTime.now(clock).plusMinutes(TOKEN_EXPIRATION_MINUTES);
         }
     }
 }
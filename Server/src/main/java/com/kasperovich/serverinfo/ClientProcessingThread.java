@@ -1,27 +1,43 @@
 package com.kasperovich.serverinfo;
 
+import com.kasperovich.cache.DataVersions;
+import com.kasperovich.cache.IdempotencyStore;
 import com.kasperovich.commands.fromserver.*;
 import com.kasperovich.commands.toserver.*;
 import com.kasperovich.config.ConnectedClientConfig;
 import com.kasperovich.dto.auth.LoginRequest;
 import com.kasperovich.dto.auth.RegistrationRequest;
 import com.kasperovich.dto.auth.UserDTO;
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
 import com.kasperovich.dto.report.ApplicationStatusDTO;
+import com.kasperovich.dto.report.QueryStatisticDTO;
 import com.kasperovich.dto.report.ScholarshipDistributionDTO;
 import com.kasperovich.dto.report.UserActivityDTO;
 import com.kasperovich.dto.scholarship.*;
+import com.kasperovich.dto.sync.DataSet;
 import com.kasperovich.entities.User;
 import com.kasperovich.entities.UserRole;
 import com.kasperovich.service.*;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Thread responsible for handling client connections.
@@ -29,6 +45,13 @@ import java.util.List;
 public class ClientProcessingThread extends Thread {
 
     private static final Logger logger = LoggerUtil.getLogger(ClientProcessingThread.class);
+    private static final int EXPORT_CHUNK_SIZE = 64 * 1024;
+    private static final long ORIGINAL_RESPONSE_WAIT_MILLIS = 5000;
+    // Identifies this server process in every response, since idempotency keys are only known to it
+    private static final String SERVER_INSTANCE_ID = UUID.randomUUID().toString();
+    // Clients whose connection is open, reported by HEALTH_CHECK so clients can pick the least loaded server.
+    // A connection counts once it sends a command other than HEALTH_CHECK, so health check probes do not.
+    private static final AtomicInteger openConnections = new AtomicInteger();
     private final ConnectedClientConfig clientInfo;
     private final ObjectOutputStream objectOutputStream;
     private final ObjectInputStream objectInputStream;
@@ -39,26 +62,53 @@ public class ClientProcessingThread extends Thread {
     private final UserService userService;
     private final FundManagementService fundManagementService;
     private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ExportService exportService;
+    private final GpaService gpaService;
+    private final RankingService rankingService;
+    private final PaymentRunService paymentRunService;
+    private final DiagnosticsService diagnosticsService;
+    private final DataVersions dataVersions;
     private Long authenticatedUserId;
+    private String pendingIdempotencyKey;
+    private boolean countedAsOpen;
 
     /**
-     * Creates a new client processing thread for the given client.
+     * Creates a new client processing thread for the given client using the shared server context.
      *
      * @param clientInfo the client configuration
      * @throws IOException if an I/O error occurs
      */
     public ClientProcessingThread(ConnectedClientConfig clientInfo) throws IOException {
+        this(clientInfo, ServerContext.getInstance());
+    }
+
+    /**
+     * Creates a new client processing thread for the given client.
+     *
+     * @param clientInfo the client configuration
+     * @param context the context providing the shared services
+     * @throws IOException if an I/O error occurs
+     */
+    public ClientProcessingThread(ConnectedClientConfig clientInfo, ServerContext context) throws IOException {
         this.clientInfo = clientInfo;
         var socket = clientInfo.getConnectionSocket();
         objectOutputStream = new ObjectOutputStream(socket.getOutputStream());
         objectInputStream = new ObjectInputStream(socket.getInputStream());
-        this.authService = AuthenticationService.getInstance();
-        this.scholarshipService = new ScholarshipService();
-        this.scholarshipApplicationService = new ScholarshipApplicationService();
-        this.academicPeriodService = new AcademicPeriodService();
-        this.userService = new UserService();
-        this.fundManagementService = new FundManagementService();
-        this.reportService = new ReportService();
+        this.authService = context.getAuthenticationService();
+        this.scholarshipService = context.getScholarshipService();
+        this.scholarshipApplicationService = context.getScholarshipApplicationService();
+        this.academicPeriodService = context.getAcademicPeriodService();
+        this.userService = context.getUserService();
+        this.fundManagementService = context.getFundManagementService();
+        this.reportService = context.getReportService();
+        this.reportJobService = context.getReportJobService();
+        this.exportService = context.getExportService();
+        this.gpaService = context.getGpaService();
+        this.rankingService = context.getRankingService();
+        this.paymentRunService = context.getPaymentRunService();
+        this.diagnosticsService = context.getDiagnosticsService();
+        this.dataVersions = context.getDataVersions();
         logger.debug("Created new client processing thread for client: {}", clientInfo.getConnectionSocket().getInetAddress());
     }
 
@@ -69,6 +119,14 @@ public class ClientProcessingThread extends Thread {
      * @throws IOException if an I/O error occurs
      */
     protected void sendObject(Serializable object) throws IOException {
+        if (object instanceof ResponseWrapper response) {
+            response.setServerInstanceId(SERVER_INSTANCE_ID);
+        }
+        if (pendingIdempotencyKey != null && object instanceof ResponseWrapper response) {
+            // Recorded before writing: the command has been carried out even if the write fails
+            IdempotencyStore.getInstance().complete(pendingIdempotencyKey, response);
+            pendingIdempotencyKey = null;
+        }
         logger.debug("Sending object to client {}: {}",
                 clientInfo.getConnectionSocket().getInetAddress(), object);
         objectOutputStream.writeObject(object);
@@ -94,10 +152,29 @@ public class ClientProcessingThread extends Thread {
     public void run() {
         logger.info("Client processing thread started for client: {}",
                 clientInfo.getConnectionSocket().getInetAddress());
+        try {
+            processCommands();
+        } finally {
+            if (countedAsOpen) {
+                openConnections.decrementAndGet();
+            }
+        }
+
+        logger.info("Client processing thread terminated for client: {}",
+                clientInfo.getConnectionSocket().getInetAddress());
+    }
 
+    /**
+     * Processes commands until the connection breaks.
+     */
+    private void processCommands() {
         while (true) {
             try {
                 startClient();
+            } catch (EOFException e) {
+                logger.debug("Client {} closed the connection",
+                        clientInfo.getConnectionSocket().getInetAddress());
+                break;
             } catch (IOException e) {
                 logger.error("I/O error while processing client request", e);
                 break; // Exit the loop on I/O error as the connection is likely broken
@@ -109,9 +186,6 @@ public class ClientProcessingThread extends Thread {
                 break; // Exit the loop on unexpected errors
             }
         }
-
-        logger.info("Client processing thread terminated for client: {}",
-                clientInfo.getConnectionSocket().getInetAddress());
     }
 
     @Override
@@ -143,6 +217,10 @@ public class ClientProcessingThread extends Thread {
     private void startClient() throws Exception {
         CommandWrapper commandWrapper = receiveObject();
         logger.debug("Processing command: {}", commandWrapper);
+        if (!countedAsOpen && commandWrapper.getCommand() != Command.HEALTH_CHECK) {
+            countedAsOpen = true;
+            openConnections.incrementAndGet();
+        }
 
         // Validate authentication token for commands that require authentication
         if (requiresAuthentication(commandWrapper.getCommand()) && !isAuthenticated(commandWrapper)) {
@@ -151,10 +229,78 @@ public class ClientProcessingThread extends Thread {
             return;
         }
 
+        String idempotencyKey = scopedIdempotencyKey(commandWrapper);
+        if (idempotencyKey != null) {
+            CompletableFuture<ResponseWrapper> original = IdempotencyStore.getInstance().claim(idempotencyKey);
+            if (original != null) {
+                sendObject(awaitOriginalResponse(original));
+                return;
+            }
+            pendingIdempotencyKey = idempotencyKey;
+        }
+        try {
+            dispatch(commandWrapper);
+        } finally {
+            if (pendingIdempotencyKey != null) {
+                // The command failed without a response, so a retry carries it out again
+                IdempotencyStore.getInstance().abandon(pendingIdempotencyKey);
+                pendingIdempotencyKey = null;
+            }
+        }
+    }
+
+    /**
+     * Gets the idempotency key of a command, scoped to the authenticated user so that
+     * keys of different users never collide.
+     *
+     * @param commandWrapper the command wrapper
+     * @return the scoped key, or null if the command has no key or is idempotent anyway
+     */
+    private String scopedIdempotencyKey(CommandWrapper commandWrapper) {
+        String key = commandWrapper.getIdempotencyKey();
+        if (key == null || commandWrapper.getCommand().isIdempotent()) {
+            return null;
+        }
+        return (authenticatedUserId == null ? "-" : authenticatedUserId.toString()) + ":" + key;
+    }
+
+    /**
+     * Waits for the response to the original of a command that was sent again.
+     *
+     * @param original the response to the original command
+     * @return the original response, or an error if it failed or is still being prepared
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private ResponseWrapper awaitOriginalResponse(CompletableFuture<ResponseWrapper> original)
+            throws InterruptedException {
+        try {
+            return original.get(ORIGINAL_RESPONSE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Original of a repeated command is still being processed");
+            return new ResponseWrapper(ResponseFromServer.ERROR,
+                    "The request is still being processed, please try again shortly");
+        } catch (ExecutionException e) {
+            logger.warn("Original of a repeated command failed");
+            return new ResponseWrapper(ResponseFromServer.ERROR, "The request failed, please try again");
+        }
+    }
+
+    /**
+     * Carries out a command.
+     *
+     * @param commandWrapper the command wrapper
+     * @throws Exception if an error occurs
+     */
+    private void dispatch(CommandWrapper commandWrapper) throws Exception {
         switch (commandWrapper.getCommand()) {
             case HEALTH_CHECK: {
-                logger.debug("Responding to health check with SUCCESS");
-                sendObject(new ResponseWrapper(ResponseFromServer.SUCCESS));
+                int connections = openConnections.get();
+                logger.debug("Responding to health check with SUCCESS, open connections: {}", connections);
+                sendObject(new ResponseWrapper(ResponseFromServer.SUCCESS, connections));
+                break;
+            }
+            case GET_DATA_VERSIONS: {
+                handleGetDataVersions(commandWrapper);
                 break;
             }
             case LOGIN: {
@@ -169,6 +315,10 @@ public class ClientProcessingThread extends Thread {
                 handleLogout(commandWrapper);
                 break;
             }
+            case RESUME_SESSION: {
+                handleResumeSession(commandWrapper);
+                break;
+            }
             case GET_SCHOLARSHIP_PROGRAMS: {
                 handleGetScholarshipPrograms(commandWrapper);
                 break;
@@ -181,6 +331,10 @@ public class ClientProcessingThread extends Thread {
                 handleGetUserApplications(commandWrapper);
                 break;
             }
+            case GET_APPLICATION_CHANGES_SINCE: {
+                handleGetApplicationChangesSince(commandWrapper);
+                break;
+            }
             case GET_ACADEMIC_PERIODS: {
                 handleGetAcademicPeriods(commandWrapper);
                 break;
@@ -209,6 +363,14 @@ public class ClientProcessingThread extends Thread {
                 handleGetAllApplications(commandWrapper);
                 break;
             }
+            case GET_RECENT_ACTIVITY: {
+                handleGetRecentActivity(commandWrapper);
+                break;
+            }
+            case GET_APPLICATIONS_PAGE: {
+                handleGetApplicationsPage(commandWrapper);
+                break;
+            }
             case APPROVE_APPLICATION: {
                 handleApproveApplication(commandWrapper);
                 break;
@@ -217,6 +379,10 @@ public class ClientProcessingThread extends Thread {
                 handleRejectApplication(commandWrapper);
                 break;
             }
+            case GET_APPLICATION_SHORTLIST: {
+                handleGetApplicationShortlist(commandWrapper);
+                break;
+            }
             case GET_ALL_BUDGETS: {
                 handleGetAllBudgets(commandWrapper);
                 break;
@@ -253,6 +419,22 @@ public class ClientProcessingThread extends Thread {
                 handleGetAllocationsByProgram(commandWrapper);
                 break;
             }
+            case PLAN_ALLOCATIONS: {
+                handlePlanAllocations(commandWrapper);
+                break;
+            }
+            case APPLY_ALLOCATION_PLAN: {
+                handleApplyAllocationPlan(commandWrapper);
+                break;
+            }
+            case START_PAYMENT_RUN: {
+                handleStartPaymentRun(commandWrapper);
+                break;
+            }
+            case GET_PAYMENT_RUN_STATUS: {
+                handleGetPaymentRunStatus(commandWrapper);
+                break;
+            }
             case CREATE_ACADEMIC_PERIOD:
                 handleCreateAcademicPeriod(commandWrapper);
                 break;
@@ -278,14 +460,46 @@ public class ClientProcessingThread extends Thread {
                 handleGetAcademicPerformanceReport(commandWrapper);
                 break;
             }
+            case REBUILD_REPORT_ROLLUPS: {
+                handleRebuildReportRollups(commandWrapper);
+                break;
+            }
+            case SUBMIT_REPORT_JOB: {
+                handleSubmitReportJob(commandWrapper);
+                break;
+            }
+            case GET_REPORT_JOB_STATUS: {
+                handleGetReportJobStatus(commandWrapper);
+                break;
+            }
+            case FETCH_REPORT_RESULT: {
+                handleFetchReportResult(commandWrapper);
+                break;
+            }
+            case EXPORT_DATA: {
+                handleExportData(commandWrapper);
+                break;
+            }
+            case RECOMPUTE_GPA: {
+                handleRecomputeGpa(commandWrapper);
+                break;
+            }
             case GET_ALL_USERS: {
                 handleGetAllUsers(commandWrapper);
                 break;
             }
+            case GET_USERS_PAGE: {
+                handleGetUsersPage(commandWrapper);
+                break;
+            }
             case UPDATE_USER_STATUS: {
                 handleUpdateUserStatus(commandWrapper);
                 break;
             }
+            case GET_QUERY_STATISTICS: {
+                handleGetQueryStatistics(commandWrapper);
+                break;
+            }
             default: {
                 logger.warn("Received unknown command: {}", commandWrapper.getCommand());
                 sendObject(new ResponseWrapper(ResponseFromServer.UNKNOWN_COMMAND));
@@ -406,6 +620,63 @@ public class ClientProcessingThread extends Thread {
         sendObject(new ResponseWrapper(ResponseFromServer.LOGOUT_SUCCESS));
     }
 
+    /**
+     * Handles resuming a session on a new connection.
+     * The token was validated before dispatch, so this only checks that the user may still log in
+     * and returns the user's current details, without the cost of a password check.
+     *
+     * @param commandWrapper the command wrapper carrying the token of the session
+     * @throws IOException if an I/O error occurs
+     */
+    private void handleResumeSession(CommandWrapper commandWrapper) throws IOException {
+        UserDTO user = authService.resumeSession(authenticatedUserId);
+
+        if (user == null) {
+            authService.logout(commandWrapper.getAuthToken());
+            authenticatedUserId = null;
+            sendObject(new ResponseWrapper(ResponseFromServer.AUTHENTICATION_REQUIRED));
+            return;
+        }
+
+        ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SESSION_RESUMED, user);
+        response.setAuthToken(commandWrapper.getAuthToken());
+        sendObject(response);
+    }
+
+    /**
+     * Handles getting the current versions of the cached data sets.
+     * Clients use them to check whether the lists they hold are still current.
+     *
+     * @param commandWrapper the command wrapper
+     * @throws IOException if an I/O error occurs
+     */
+    private void handleGetDataVersions(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_DATA_VERSIONS command");
+        sendObject(new ResponseWrapper(ResponseFromServer.DATA_VERSIONS_RETRIEVED,
+                dataVersions.snapshot()));
+    }
+
+    /**
+     * Answers NOT_MODIFIED if the client already holds the current version of the requested list,
+     * so neither the query nor the list serialization is repeated.
+     *
+     * @param commandWrapper the command wrapper
+     * @param version the current version of the requested data set
+     * @return true if the NOT_MODIFIED response was sent
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean sendNotModifiedIfCurrent(CommandWrapper commandWrapper, long version) throws IOException {
+        Long clientVersion = commandWrapper.getIfNoneMatchVersion();
+        if (clientVersion == null || clientVersion != version) {
+            return false;
+        }
+        logger.debug("{} not modified since version {}", commandWrapper.getCommand(), version);
+        ResponseWrapper response = new ResponseWrapper(ResponseFromServer.NOT_MODIFIED);
+        response.setDataVersion(version);
+        sendObject(response);
+        return true;
+    }
+
     /**
      * Handles getting scholarship programs.
      *
@@ -416,11 +687,18 @@ public class ClientProcessingThread extends Thread {
         logger.debug("Handling GET_SCHOLARSHIP_PROGRAMS command");
 
         try {
+            // Read the version before the query, so a change made meanwhile is not missed
+            long version = dataVersions.get(DataSet.SCHOLARSHIP_PROGRAMS);
+            if (sendNotModifiedIfCurrent(commandWrapper, version)) {
+                return;
+            }
+
             // Get all scholarship programs
             List<ScholarshipProgramDTO> programs = scholarshipService.getAllScholarshipPrograms();
 
             // Create response with the programs list wrapped as a serializable ArrayList
             ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SCHOLARSHIP_PROGRAMS_FOUND, new ArrayList<>(programs));
+            response.setDataVersion(version);
 
             logger.info("Returning {} scholarship programs", programs.size());
             sendObject(response);
@@ -501,6 +779,39 @@ public class ClientProcessingThread extends Thread {
         }
     }
 
+    /**
+     * Handles getting the applications that changed after a watermark.
+     *
+     * @param commandWrapper the command wrapper
+     * @throws IOException if an I/O error occurs
+     */
+    private void handleGetApplicationChangesSince(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_APPLICATION_CHANGES_SINCE command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            GetApplicationChangesCommand command = commandWrapper.getData();
+            LocalDateTime since = command != null ? command.getSince() : null;
+
+            ApplicationChangesResponse response =
+                    scholarshipApplicationService.getApplicationChangesSince(authenticatedUserId, since);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.APPLICATION_CHANGES_RETRIEVED, response));
+            logger.info("Sent {} changed and {} deleted applications to user: {}",
+                    response.getChanged().size(), response.getRemovedIds().size(), authenticatedUserId);
+        } catch (Exception e) {
+            logger.error("Error handling GET_APPLICATION_CHANGES_SINCE command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
     /**
      * Handles getting academic periods.
      *
@@ -511,12 +822,18 @@ public class ClientProcessingThread extends Thread {
         logger.debug("Handling GET_ACADEMIC_PERIODS command");
 
         try {
+            long version = dataVersions.get(DataSet.ACADEMIC_PERIODS);
+            if (sendNotModifiedIfCurrent(commandWrapper, version)) {
+                return;
+            }
+
             // Get academic periods from the database
             List<AcademicPeriodDTO> periods = academicPeriodService.getAllAcademicPeriods();
 
             // Create response with the periods list
             AcademicPeriodsResponse periodsResponse = new AcademicPeriodsResponse(periods);
             ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SUCCESS, periodsResponse);
+            response.setDataVersion(version);
 
             logger.info("Returning {} academic periods", periods.size());
             sendObject(response);
@@ -801,6 +1118,67 @@ public class ClientProcessingThread extends Thread {
         }
     }
 
+    /**
+     * Handles the GET_RECENT_ACTIVITY command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetRecentActivity(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_RECENT_ACTIVITY command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            GetRecentActivityCommand command = commandWrapper.getData();
+
+            RecentActivityResponse response =
+                    scholarshipApplicationService.getRecentActivityForAdmin(authenticatedUserId, command.getLimit());
+
+            sendObject(new ResponseWrapper(ResponseFromServer.RECENT_ACTIVITY_RETRIEVED, response));
+            logger.info("Sent {} recent applications to user: {}",
+                    response.getRecentApplications().size(), authenticatedUserId);
+        } catch (Exception e) {
+            logger.error("Error handling GET_RECENT_ACTIVITY command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the GET_APPLICATIONS_PAGE command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetApplicationsPage(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_APPLICATIONS_PAGE command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            PageRequest request = commandWrapper.getData();
+            PageDTO<ScholarshipApplicationDTO> page =
+                    scholarshipApplicationService.getApplicationsPage(authenticatedUserId, request);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.PAGE_RETRIEVED, page));
+            logger.info("Sent {} of {} applications to user: {}",
+                    page.getItems().size(), page.getTotalCount(), authenticatedUserId);
+        } catch (Exception e) {
+            logger.error("Error handling GET_APPLICATIONS_PAGE command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
     /**
      * Handles the APPROVE_APPLICATION command.
      *
@@ -857,6 +1235,37 @@ public class ClientProcessingThread extends Thread {
         }
     }
 
+    /**
+     * Handles the GET_APPLICATION_SHORTLIST command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetApplicationShortlist(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_APPLICATION_SHORTLIST command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            GetApplicationShortlistCommand command = commandWrapper.getData();
+            ApplicationShortlistResponse response = rankingService.getShortlistPage(authenticatedUserId,
+                    command.getProgramId(), command.getPeriodId(), command.getPage(), command.getPageSize());
+
+            sendObject(new ResponseWrapper(ResponseFromServer.APPLICATION_SHORTLIST_RETRIEVED, response));
+            logger.info("Sent shortlist page {} of program {} to user: {}",
+                    command.getPage(), command.getProgramId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling GET_APPLICATION_SHORTLIST command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
     /**
      * Handles the GET_ALL_BUDGETS command.
      *
@@ -873,12 +1282,18 @@ public class ClientProcessingThread extends Thread {
                 return;
             }
 
+            long version = dataVersions.get(DataSet.BUDGETS);
+            if (sendNotModifiedIfCurrent(commandWrapper, version)) {
+                return;
+            }
+
             // Get all budgets
             List<BudgetDTO> budgets = fundManagementService.getAllBudgets();
 
             // Send response
-            BudgetsResponse response = new BudgetsResponse(budgets);
-            sendObject(new ResponseWrapper(ResponseFromServer.SUCCESS, response));
+            ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SUCCESS, new BudgetsResponse(budgets));
+            response.setDataVersion(version);
+            sendObject(response);
             logger.info("Sent {} budgets to user: {}", budgets.size(), authenticatedUserId);
 
         } catch (Exception e) {
@@ -1138,6 +1553,166 @@ public class ClientProcessingThread extends Thread {
         }
     }
 
+    /**
+     * Handles the PLAN_ALLOCATIONS command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handlePlanAllocations(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling PLAN_ALLOCATIONS command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            PlanAllocationsCommand command = commandWrapper.getData();
+            AllocationPlanDTO plan = fundManagementService.planAllocations(
+                    command.getBudgetId(),
+                    command.getStrategy(),
+                    command.getAmount(),
+                    authenticatedUserId
+            );
+
+            sendObject(new ResponseWrapper(ResponseFromServer.ALLOCATION_PLAN_CREATED, plan));
+            logger.info("Sent allocation plan for budget {} to user: {}", command.getBudgetId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling PLAN_ALLOCATIONS command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the APPLY_ALLOCATION_PLAN command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleApplyAllocationPlan(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling APPLY_ALLOCATION_PLAN command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            ApplyAllocationPlanCommand command = commandWrapper.getData();
+            if (command == null || command.getPlan() == null) {
+                logger.warn("Allocation plan data is missing");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "Allocation plan data is missing"));
+                return;
+            }
+
+            List<FundAllocationDTO> allocations = fundManagementService.applyAllocationPlan(
+                    command.getPlan(), command.getNotes(), authenticatedUserId);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.ALLOCATION_PLAN_APPLIED, new ArrayList<>(allocations)));
+            logger.info("Applied allocation plan with {} allocations for user: {}", allocations.size(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling APPLY_ALLOCATION_PLAN command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the START_PAYMENT_RUN command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleStartPaymentRun(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling START_PAYMENT_RUN command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            StartPaymentRunCommand command = commandWrapper.getData();
+            boolean resume = command != null && command.isResume();
+            PaymentRunStatusDTO status = paymentRunService.startRun(authenticatedUserId, resume);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.PAYMENT_RUN_STARTED, status));
+            logger.info("Payment run {} started by user: {}", status.getRunId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling START_PAYMENT_RUN command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the GET_PAYMENT_RUN_STATUS command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetPaymentRunStatus(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_PAYMENT_RUN_STATUS command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            Long runId = commandWrapper.getData();
+            PaymentRunStatusDTO status = paymentRunService.getRunStatus(authenticatedUserId, runId);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.PAYMENT_RUN_STATUS_RETRIEVED, status));
+            logger.debug("Sent status of payment run {} to user: {}", status.getRunId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling GET_PAYMENT_RUN_STATUS command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the GET_QUERY_STATISTICS command.
+     *
+     * @param commandWrapper the command wrapper holding the maximum number of statements
+     * @throws IOException if an I/O error occurs
+     */
+    private void handleGetQueryStatistics(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_QUERY_STATISTICS command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            Integer limit = commandWrapper.getData();
+            List<QueryStatisticDTO> statements = diagnosticsService.getQueryStatistics(
+                    authenticatedUserId, limit == null ? 20 : limit);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.QUERY_STATISTICS_RETRIEVED, new ArrayList<>(statements)));
+            logger.info("Sent statistics of {} statements to user: {}", statements.size(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling GET_QUERY_STATISTICS command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
     /**
      * Handles the GET_ALLOCATIONS_BY_BUDGET command.
      *
@@ -1538,12 +2113,19 @@ public class ClientProcessingThread extends Thread {
                 return;
             }
 
+            long version = dataVersions.get(DataSet.USERS);
+            if (sendNotModifiedIfCurrent(commandWrapper, version)) {
+                return;
+            }
+
             // Get all users
             List<UserDTO> users = userService.getAllUsersForAdminManagement();
 
             // Send response
-            GetAllUsersResponse response = new GetAllUsersResponse(users);
-            sendObject(new ResponseWrapper(ResponseFromServer.USERS_LIST_RETRIEVED, response));
+            ResponseWrapper response = new ResponseWrapper(ResponseFromServer.USERS_LIST_RETRIEVED,
+                    new GetAllUsersResponse(users));
+            response.setDataVersion(version);
+            sendObject(response);
             logger.info("Sent {} users to admin: {}", users.size(), authenticatedUserId);
 
         } catch (Exception e) {
@@ -1552,6 +2134,212 @@ public class ClientProcessingThread extends Thread {
         }
     }
 
+    /**
+     * Handles the GET_USERS_PAGE command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetUsersPage(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_USERS_PAGE command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            PageRequest request = commandWrapper.getData();
+            PageDTO<UserDTO> page = userService.getUsersPage(authenticatedUserId, request);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.PAGE_RETRIEVED, page));
+            logger.info("Sent {} of {} users to admin: {}",
+                    page.getItems().size(), page.getTotalCount(), authenticatedUserId);
+        } catch (Exception e) {
+            logger.error("Error handling GET_USERS_PAGE command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the REBUILD_REPORT_ROLLUPS command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleRebuildReportRollups(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling REBUILD_REPORT_ROLLUPS command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            reportService.rebuildReportRollups(authenticatedUserId);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.SUCCESS, "Report rollups rebuilt successfully", null));
+            logger.info("Report rollups rebuilt by user: {}", authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling REBUILD_REPORT_ROLLUPS command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the SUBMIT_REPORT_JOB command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleSubmitReportJob(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling SUBMIT_REPORT_JOB command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            var command = (SubmitReportJobCommand)commandWrapper.getData();
+            var status = reportJobService.submitJob(authenticatedUserId, command);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.REPORT_JOB_SUBMITTED, new ReportJobStatusResponse(status)));
+            logger.info("Report job {} submitted by user: {}", status.getJobId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling SUBMIT_REPORT_JOB command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the GET_REPORT_JOB_STATUS command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleGetReportJobStatus(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling GET_REPORT_JOB_STATUS command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            var command = (GetReportJobStatusCommand)commandWrapper.getData();
+            var status = reportJobService.getJobStatus(authenticatedUserId, command.getJobId());
+
+            sendObject(new ResponseWrapper(ResponseFromServer.REPORT_JOB_STATUS_RETRIEVED, new ReportJobStatusResponse(status)));
+
+        } catch (Exception e) {
+            logger.error("Error handling GET_REPORT_JOB_STATUS command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the FETCH_REPORT_RESULT command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleFetchReportResult(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling FETCH_REPORT_RESULT command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            var command = (FetchReportResultCommand)commandWrapper.getData();
+            var rows = reportJobService.getJobResult(authenticatedUserId, command.getJobId());
+            var status = reportJobService.getJobStatus(authenticatedUserId, command.getJobId());
+
+            sendObject(new ResponseWrapper(ResponseFromServer.REPORT_RESULT_RETRIEVED, new ReportJobResultResponse(status, rows)));
+            logger.info("Sent result of report job {} to user: {}", command.getJobId(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling FETCH_REPORT_RESULT command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the EXPORT_DATA command.
+     * The CSV is streamed as EXPORT_CHUNK responses; an ERROR response ends the stream early.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleExportData(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling EXPORT_DATA command");
+
+        ExportChunkOutputStream chunks = new ExportChunkOutputStream(objectOutputStream, EXPORT_CHUNK_SIZE);
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            var command = (ExportDataCommand)commandWrapper.getData();
+            OutputStream out = command.isCompressed() ? new GZIPOutputStream(chunks, 8192) : chunks;
+            long rows = exportService.exportCsv(authenticatedUserId, command.getExportType(), out);
+            if (out instanceof GZIPOutputStream gzip) {
+                gzip.finish();
+            }
+            chunks.finish(rows);
+            logger.info("Exported {} {} rows to user: {}", rows, command.getExportType(), authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling EXPORT_DATA command (chunks already sent: {})", chunks.hasSentChunks(), e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
+    /**
+     * Handles the RECOMPUTE_GPA command.
+     *
+     * @param commandWrapper the command wrapper
+     */
+    private void handleRecomputeGpa(CommandWrapper commandWrapper) throws IOException {
+        logger.debug("Handling RECOMPUTE_GPA command");
+
+        try {
+            if (authenticatedUserId == null) {
+                logger.warn("User not authenticated");
+                sendObject(new ResponseWrapper(ResponseFromServer.ERROR, "User not authenticated"));
+                return;
+            }
+
+            int students = gpaService.recomputeAll(authenticatedUserId);
+
+            sendObject(new ResponseWrapper(ResponseFromServer.SUCCESS, "Recomputed GPAs of " + students + " students", students));
+            logger.info("GPAs recomputed by user: {}", authenticatedUserId);
+
+        } catch (Exception e) {
+            logger.error("Error handling RECOMPUTE_GPA command", e);
+            var response = new ResponseWrapper(ResponseFromServer.ERROR, e.getMessage());
+            response.setMessage(e.getMessage());
+            sendObject(response);
+        }
+    }
+
     /**
      * Handles the UPDATE_USER_STATUS command.
      *
@@ -0,0 +1,86 @@
+package com.kasperovich.serverinfo;
+
+import com.kasperovich.commands.fromserver.ExportChunkResponse;
+import com.kasperovich.commands.fromserver.ResponseFromServer;
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Output stream that sends everything written to it to the client as a sequence of
+ * EXPORT_CHUNK responses of a fixed size. The object stream is reset after every chunk
+ * so it does not keep references to the chunks that were already sent.
+ */
+class ExportChunkOutputStream extends OutputStream {
+    private final ObjectOutputStream objectOutputStream;
+    private final byte[] buffer;
+    private int position;
+    private int sequence;
+    private boolean finished;
+
+    /**
+     * Creates a chunked output stream.
+     *
+     * @param objectOutputStream the stream to the client
+     * @param chunkSize the number of bytes per chunk
+     */
+    ExportChunkOutputStream(ObjectOutputStream objectOutputStream, int chunkSize) {
+        this.objectOutputStream = objectOutputStream;
+        this.buffer = new byte[chunkSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position == buffer.length) {
+            sendChunk(false, 0);
+        }
+        buffer[position++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            if (position == buffer.length) {
+                sendChunk(false, 0);
+            }
+            int count = Math.min(length, buffer.length - position);
+            System.arraycopy(bytes, offset, buffer, position, count);
+            position += count;
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Returns whether at least one chunk has been sent to the client.
+     *
+     * @return true if the client has started receiving the export
+     */
+    boolean hasSentChunks() {
+        return sequence > 0;
+    }
+
+    /**
+     * Sends the remaining bytes as the last chunk.
+     *
+     * @param rowCount the total number of exported rows
+     * @throws IOException if an I/O error occurs
+     */
+    void finish(long rowCount) throws IOException {
+        if (!finished) {
+            sendChunk(true, rowCount);
+            finished = true;
+        }
+    }
+
+    private void sendChunk(boolean last, long rowCount) throws IOException {
+        ExportChunkResponse chunk = new ExportChunkResponse(sequence++, Arrays.copyOf(buffer, position), last, rowCount);
+        objectOutputStream.writeObject(new ResponseWrapper(ResponseFromServer.EXPORT_CHUNK, chunk));
+        objectOutputStream.flush();
+        objectOutputStream.reset();
+        position = 0;
+    }
+}
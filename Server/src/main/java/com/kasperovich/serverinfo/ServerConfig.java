@@ -1,6 +1,7 @@
 package com.kasperovich.serverinfo;
 
 import com.kasperovich.config.ConnectedClientConfig;
+import com.kasperovich.service.ServerContext;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
@@ -8,6 +9,7 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class ServerConfig {
     private static final Logger logger = LoggerUtil.getLogger(ServerConfig.class);
@@ -20,6 +22,12 @@ public class ServerConfig {
 
     private final List<ClientProcessingThread> processingThreads;
 
+    // Services shared by all client threads
+    private final ServerContext context;
+
+    // Completes once the server is warmed up and may accept clients
+    private final CompletableFuture<Void> ready;
+
     Thread.UncaughtExceptionHandler exceptionHandler = new Thread.UncaughtExceptionHandler() {
         public void uncaughtException(Thread thread, Throwable exception) {
             int threadIndex = Integer.parseInt(thread.getName());
@@ -36,7 +44,13 @@ public class ServerConfig {
     };
 
     public ServerConfig(int serverPort) throws IOException {
+        this(serverPort, ServerContext.getInstance(), CompletableFuture.completedFuture(null));
+    }
+
+    public ServerConfig(int serverPort, ServerContext context, CompletableFuture<Void> ready) throws IOException {
         this.serverPort = serverPort;
+        this.context = context;
+        this.ready = ready;
         logger.info("Creating server socket on port: {}", serverPort);
         acceptingSocket = new ServerSocket(serverPort);
         processingThreads = new ArrayList<>();
@@ -44,6 +58,11 @@ public class ServerConfig {
     }
 
     public void runServer() throws IOException {
+        if (!ready.isDone()) {
+            logger.info("Waiting for startup to finish before accepting clients on port: {}", serverPort);
+            // Connections made meanwhile wait in the socket backlog
+            ready.exceptionally(e -> null).join();
+        }
         logger.info("Server started and listening on port: {}", serverPort);
         
         while (true) {
@@ -54,7 +73,7 @@ public class ServerConfig {
             
             try {
                 var newClient = new ConnectedClientConfig(newClientSocket);
-                var newThread = new ClientProcessingThread(newClient);
+                var newThread = new ClientProcessingThread(newClient, context);
                 
                 String threadName = String.valueOf(processingThreads.size());
                 newThread.setName(threadName);
@@ -92,6 +111,10 @@ public class ServerConfig {
             }
         }
         
+        if (context.getReportJobService() != null) {
+            context.getReportJobService().shutdown();
+        }
+        
         logger.info("Server stopped successfully");
     }
 
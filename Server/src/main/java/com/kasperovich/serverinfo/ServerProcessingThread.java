@@ -1,9 +1,11 @@
 package com.kasperovich.serverinfo;
 
+import com.kasperovich.service.ServerContext;
 import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 public class ServerProcessingThread extends Thread {
 
@@ -15,6 +17,11 @@ public class ServerProcessingThread extends Thread {
         server = new ServerConfig(port);
     }
 
+    public ServerProcessingThread(int port, ServerContext context, CompletableFuture<Void> ready) throws Exception {
+        logger.info("Initializing server processing thread on port: {}", port);
+        server = new ServerConfig(port, context, ready);
+    }
+
     @Override
     public void run() {
         try {
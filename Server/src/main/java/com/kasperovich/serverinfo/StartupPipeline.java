@@ -0,0 +1,168 @@
+package com.kasperovich.serverinfo;
+
+import com.kasperovich.commands.fromserver.AcademicPeriodsResponse;
+import com.kasperovich.commands.fromserver.ResponseFromServer;
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+import com.kasperovich.database.DatabaseConnectionTest;
+import com.kasperovich.database.HibernateUtil;
+import com.kasperovich.dto.scholarship.AcademicPeriodDTO;
+import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
+import com.kasperovich.service.ServerContext;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Prepares the server for traffic while the listen socket is being bound.
+ * The SessionFactory is built first; the connection pool is then pre-filled while the
+ * programs and periods are loaded, and the hot read handlers are run a number of times so the
+ * JIT has compiled them before the first client arrives. Failed phases are logged and skipped,
+ * so the server still starts when the database is unavailable.
+ */
+public class StartupPipeline {
+    private static final Logger logger = LoggerUtil.getLogger(StartupPipeline.class);
+    private static final int WARM_UP_ITERATIONS = 50;
+
+    private final ServerContext context;
+    private final Map<String, Long> phaseMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final long startNanos = System.nanoTime();
+    private CompletableFuture<Void> ready;
+
+    /**
+     * Creates a startup pipeline.
+     *
+     * @param context the context whose services are warmed up
+     */
+    public StartupPipeline(ServerContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Starts the startup phases in the background.
+     *
+     * @return a future that completes once the server is ready for traffic
+     */
+    public synchronized CompletableFuture<Void> start() {
+        if (ready != null) {
+            return ready;
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<Boolean> sessionFactory = CompletableFuture.supplyAsync(
+                () -> phase("session factory", HibernateUtil::getSessionFactory), executor);
+        CompletableFuture<Boolean> pool = sessionFactory.thenApplyAsync(
+                built -> built && phase("connection pool", this::prefillPool), executor);
+        CompletableFuture<Boolean> data = sessionFactory.thenApplyAsync(
+                built -> built && phase("program and period load", this::loadReferenceData), executor);
+        CompletableFuture<Boolean> handlers = data.thenApplyAsync(
+                loaded -> loaded && phase("handler warm-up", this::warmUpHandlers), executor);
+
+        ready = CompletableFuture.allOf(pool, handlers)
+                .whenComplete((ignored, error) -> {
+                    executor.shutdown();
+                    logBreakdown();
+                });
+        return ready;
+    }
+
+    /**
+     * Runs a step as a timed phase of the startup.
+     *
+     * @param name the phase name used in the timing breakdown
+     * @param step the step to run
+     * @return true if the step succeeded
+     */
+    public boolean phase(String name, Step step) {
+        long start = System.nanoTime();
+        try {
+            step.run();
+            return true;
+        } catch (Throwable e) {
+            logger.warn("Startup phase '{}' failed; continuing without it", name, e);
+            return false;
+        } finally {
+            record(name, start);
+        }
+    }
+
+    /**
+     * Records the duration of a phase that was run outside the pipeline.
+     *
+     * @param name the phase name used in the timing breakdown
+     * @param startNanos the {@link System#nanoTime()} at which the phase started
+     */
+    public void record(String name, long startNanos) {
+        phaseMillis.put(name, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+
+    /**
+     * Gets the recorded phase durations in milliseconds, in completion order.
+     *
+     * @return the phase durations
+     */
+    public Map<String, Long> getPhaseMillis() {
+        synchronized (phaseMillis) {
+            return new LinkedHashMap<>(phaseMillis);
+        }
+    }
+
+    private void prefillPool() throws Exception {
+        HibernateUtil.prefillConnectionPool();
+        if (!DatabaseConnectionTest.testConnection()) {
+            throw new IllegalStateException("Database connection test failed");
+        }
+    }
+
+    private void loadReferenceData() {
+        List<ScholarshipProgramDTO> programs = context.getScholarshipService().getAllScholarshipPrograms();
+        List<AcademicPeriodDTO> periods = context.getAcademicPeriodService().getAllAcademicPeriods();
+        logger.info("Loaded {} scholarship programs and {} academic periods", programs.size(), periods.size());
+    }
+
+    /**
+     * Runs the read paths of the most frequent requests, including response serialization,
+     * against a discarding stream.
+     */
+    private void warmUpHandlers() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(OutputStream.nullOutputStream())) {
+            for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+                List<ScholarshipProgramDTO> programs = context.getScholarshipService().getAllScholarshipPrograms();
+                out.writeObject(new ResponseWrapper(ResponseFromServer.SCHOLARSHIP_PROGRAMS_FOUND, new ArrayList<>(programs)));
+                List<AcademicPeriodDTO> periods = context.getAcademicPeriodService().getAllAcademicPeriods();
+                out.writeObject(new ResponseWrapper(ResponseFromServer.SUCCESS, new AcademicPeriodsResponse(periods)));
+                out.reset();
+            }
+        }
+    }
+
+    private void logBreakdown() {
+        StringBuilder breakdown = new StringBuilder();
+        getPhaseMillis().forEach((name, millis) -> breakdown.append(String.format("%n  %-24s %6d ms", name, millis)));
+        logger.info("Startup finished in {} ms:{}", (System.nanoTime() - startNanos) / 1_000_000, breakdown);
+    }
+
+    /**
+     * A startup step that may fail.
+     */
+    @FunctionalInterface
+    public interface Step {
+        void run() throws Exception;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
 import com.kasperovich.dao.AcademicPeriodDao;
 import com.kasperovich.dao.impl.AcademicPeriodDaoImpl;
 import com.kasperovich.database.HibernateUtil;
@@ -23,13 +24,27 @@ public class AcademicPeriodService {
     private static final Logger logger = LoggerUtil.getLogger(AcademicPeriodService.class);
     private final AcademicPeriodDao academicPeriodDao;
     private final DTOConverter dtoConverter;
+    private final CacheInvalidator cacheInvalidator;
 
     /**
      * Constructs a new AcademicPeriodService
      */
     public AcademicPeriodService() {
-        this.academicPeriodDao = new AcademicPeriodDaoImpl();
-        this.dtoConverter = new DTOConverter();
+        this(new AcademicPeriodDaoImpl(), new DTOConverter(), CacheInvalidator.getInstance());
+    }
+
+    /**
+     * Constructs an AcademicPeriodService on shared dependencies.
+     *
+     * @param academicPeriodDao the academic period DAO
+     * @param dtoConverter the DTO converter
+     * @param cacheInvalidator updates the caches after periods change
+     */
+    public AcademicPeriodService(AcademicPeriodDao academicPeriodDao, DTOConverter dtoConverter,
+                                 CacheInvalidator cacheInvalidator) {
+        this.academicPeriodDao = academicPeriodDao;
+        this.dtoConverter = dtoConverter;
+        this.cacheInvalidator = cacheInvalidator;
     }
 
     /**
@@ -108,6 +123,7 @@ public class AcademicPeriodService {
             // The active status is derived from start and end dates, not set directly
 
             AcademicPeriod savedPeriod = academicPeriodDao.save(period);
+            cacheInvalidator.onPeriodsChanged();
             logger.info("Created new academic period with ID: {}", savedPeriod.getId());
 
             return dtoConverter.convertToDTO(savedPeriod);
@@ -154,6 +170,7 @@ public class AcademicPeriodService {
             // The active status is derived from start and end dates, not set directly
 
             AcademicPeriod updatedPeriod = academicPeriodDao.save(existingPeriod);
+            cacheInvalidator.onPeriodsChanged();
             logger.info("Updated academic period with ID: {}", updatedPeriod.getId());
 
             return dtoConverter.convertToDTO(updatedPeriod);
@@ -202,6 +219,7 @@ public class AcademicPeriodService {
             }
 
             AcademicPeriod updatedPeriod = academicPeriodDao.save(existingPeriod);
+            cacheInvalidator.onPeriodsChanged();
             logger.info("Updated academic period dates to change active status: ID={}, active={}", id, updatedPeriod.isActive());
 
             return dtoConverter.convertToDTO(updatedPeriod);
@@ -234,6 +252,7 @@ public class AcademicPeriodService {
 
             try {
                 academicPeriodDao.delete(existingPeriod);
+                cacheInvalidator.onPeriodsChanged();
                 logger.info("Deleted academic period with ID: {}", id);
                 return true;
             } catch (Exception e) {
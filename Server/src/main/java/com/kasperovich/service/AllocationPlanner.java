@@ -0,0 +1,117 @@
+package com.kasperovich.service;
+
+import com.kasperovich.dto.scholarship.AllocationPlanEntryDTO;
+import com.kasperovich.dto.scholarship.AllocationStrategy;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Splits an available amount across scholarship programs by their demand.
+ * Amounts are distributed in whole cents, no program receives more than its demand
+ * and the proposed amounts never add up to more than the available amount.
+ */
+public final class AllocationPlanner {
+    private static final int SCALE = 2;
+
+    private AllocationPlanner() {
+    }
+
+    /**
+     * Fills in the proposed amount of every entry.
+     *
+     * @param entries the plan entries with their demand amounts set
+     * @param availableAmount the amount to distribute
+     * @param strategy how to split the amount
+     * @return the total proposed amount
+     */
+    public static BigDecimal plan(List<AllocationPlanEntryDTO> entries, BigDecimal availableAmount,
+                                  AllocationStrategy strategy) {
+        long available = toCents(availableAmount);
+        long[] demands = new long[entries.size()];
+        long totalDemand = 0;
+        for (int i = 0; i < demands.length; i++) {
+            demands[i] = Math.max(0, toCents(entries.get(i).getDemandAmount()));
+            totalDemand += demands[i];
+        }
+
+        long[] proposed;
+        if (totalDemand <= available) {
+            proposed = demands.clone();
+        } else if (strategy == AllocationStrategy.GREEDY) {
+            proposed = greedy(demands, available);
+        } else {
+            proposed = proportional(demands, totalDemand, available);
+        }
+
+        long total = 0;
+        for (int i = 0; i < proposed.length; i++) {
+            entries.get(i).setProposedAmount(fromCents(proposed[i]));
+            total += proposed[i];
+        }
+        return fromCents(total);
+    }
+
+    private static long[] greedy(long[] demands, long available) {
+        long[] proposed = new long[demands.length];
+        long remaining = available;
+        for (int i : byDemandDescending(demands)) {
+            if (remaining == 0) {
+                break;
+            }
+            proposed[i] = Math.min(demands[i], remaining);
+            remaining -= proposed[i];
+        }
+        return proposed;
+    }
+
+    private static long[] proportional(long[] demands, long totalDemand, long available) {
+        long[] proposed = new long[demands.length];
+        long distributed = 0;
+        BigDecimal scale = BigDecimal.valueOf(available);
+        BigDecimal total = BigDecimal.valueOf(totalDemand);
+        for (int i = 0; i < demands.length; i++) {
+            proposed[i] = BigDecimal.valueOf(demands[i]).multiply(scale)
+                    .divide(total, 0, RoundingMode.DOWN)
+                    .longValue();
+            distributed += proposed[i];
+        }
+
+        // Hand out the cents lost to rounding, largest demands first
+        long leftover = available - distributed;
+        for (int i : byDemandDescending(demands)) {
+            if (leftover == 0) {
+                break;
+            }
+            if (proposed[i] < demands[i]) {
+                proposed[i]++;
+                leftover--;
+            }
+        }
+        return proposed;
+    }
+
+    private static List<Integer> byDemandDescending(long[] demands) {
+        List<Integer> order = new ArrayList<>(demands.length);
+        for (int i = 0; i < demands.length; i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.<Integer>comparingLong(i -> demands[i]).reversed()
+                .thenComparingInt(i -> i));
+        return order;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0;
+        }
+        return amount.setScale(SCALE, RoundingMode.DOWN).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+}
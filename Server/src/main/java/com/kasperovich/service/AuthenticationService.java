@@ -1,5 +1,6 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
 import com.kasperovich.dao.UserDao;
 import com.kasperovich.dao.impl.UserDaoImpl;
 import com.kasperovich.dto.auth.LoginRequest;
@@ -24,13 +25,26 @@ public class AuthenticationService {
     
     private final UserDao userDao;
     private final TokenManager tokenManager;
+    private final CacheInvalidator cacheInvalidator;
     
     /**
-     * Private constructor to enforce singleton pattern.
+     * Private constructor for the singleton instance.
      */
     private AuthenticationService() {
-        this.userDao = new UserDaoImpl();
-        this.tokenManager = TokenManager.getInstance();
+        this(new UserDaoImpl(), TokenManager.getInstance(), CacheInvalidator.getInstance());
+    }
+    
+    /**
+     * Creates an authentication service on shared dependencies.
+     *
+     * @param userDao the user DAO
+     * @param tokenManager the manager of session tokens
+     * @param cacheInvalidator updates the caches after users register
+     */
+    public AuthenticationService(UserDao userDao, TokenManager tokenManager, CacheInvalidator cacheInvalidator) {
+        this.userDao = userDao;
+        this.tokenManager = tokenManager;
+        this.cacheInvalidator = cacheInvalidator;
     }
     
     /**
@@ -85,6 +99,7 @@ public class AuthenticationService {
             
             // Save user
             User savedUser = userDao.save(user);
+            cacheInvalidator.onUserRegistered(savedUser);
             logger.info("User registered successfully: {}", savedUser.getUsername());
             
             // Create and return user DTO
@@ -170,6 +185,23 @@ public class AuthenticationService {
         logger.info("User logged out successfully");
     }
     
+    /**
+     * Resumes the session of a client that reconnected with a valid token, without checking
+     * the password again.
+     *
+     * @param userId the user ID the token belongs to
+     * @return the user DTO, or null if the user no longer exists or is not active
+     */
+    public UserDTO resumeSession(Long userId) {
+        Optional<User> userOpt = userDao.findById(userId);
+        if (userOpt.isEmpty() || !userOpt.get().isActive()) {
+            logger.warn("Session not resumed: user missing or not active, ID: {}", userId);
+            return null;
+        }
+        logger.info("Session resumed for user: {}", userOpt.get().getUsername());
+        return convertToDTO(userOpt.get());
+    }
+    
     /**
      * Gets a user by ID.
      *
@@ -0,0 +1,57 @@
+package com.kasperovich.service;
+
+import com.kasperovich.database.QueryStatistics;
+import com.kasperovich.dto.report.QueryStatisticDTO;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.List;
+
+/**
+ * Service exposing runtime diagnostics of the server to administrators.
+ */
+public class DiagnosticsService {
+    private static final Logger logger = LoggerUtil.getLogger(DiagnosticsService.class);
+    private static final int MAX_STATEMENTS = 100;
+
+    private final UserService userService;
+    private final QueryStatistics queryStatistics;
+
+    /**
+     * Creates a new diagnostics service
+     */
+    public DiagnosticsService() {
+        this(new UserService(), QueryStatistics.getInstance());
+    }
+
+    /**
+     * Creates a diagnostics service on shared dependencies
+     *
+     * @param userService the service used to check permissions
+     * @param queryStatistics the recorded statement statistics
+     */
+    public DiagnosticsService(UserService userService, QueryStatistics queryStatistics) {
+        this.userService = userService;
+        this.queryStatistics = queryStatistics;
+    }
+
+    /**
+     * Gets the SQL statements with the highest total execution time.
+     *
+     * @param userId the ID of the requesting user
+     * @param limit the maximum number of statements, capped at 100
+     * @return the statement statistics, most expensive first
+     * @throws Exception if the user is not an administrator
+     */
+    public List<QueryStatisticDTO> getQueryStatistics(Long userId, int limit) throws Exception {
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            throw new Exception("Only administrators can view query statistics");
+        }
+        List<QueryStatisticDTO> statements = queryStatistics.getTopStatements(Math.min(Math.max(limit, 1), MAX_STATEMENTS));
+        logger.debug("Returning statistics of {} statements to user {}", statements.size(), userId);
+        return statements;
+    }
+}
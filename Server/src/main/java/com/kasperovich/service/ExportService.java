@@ -0,0 +1,124 @@
+package com.kasperovich.service;
+
+import com.kasperovich.dao.ExportDao;
+import com.kasperovich.dao.impl.ExportDaoImpl;
+import com.kasperovich.dto.export.ExportType;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Service for exporting complete data sets as CSV.
+ * Rows are encoded as they are read from the database and written straight to the given stream.
+ */
+public class ExportService {
+    private static final Logger logger = LoggerUtil.getLogger(ExportService.class);
+    
+    private static final String[] APPLICATION_HEADER = {
+        "ID", "Username", "First Name", "Last Name", "Program", "Period",
+        "Submission Date", "Status", "Decision Date", "Reviewer", "Decision Comments"
+    };
+    private static final String[] ALLOCATION_HEADER = {
+        "ID", "Fiscal Year", "Fiscal Period", "Program", "Amount", "Previous Amount",
+        "Allocation Date", "Status", "Allocated By", "Notes"
+    };
+    private static final String[] USER_HEADER = {
+        "ID", "Username", "First Name", "Last Name", "Email", "Role", "Created At", "Last Login", "Active"
+    };
+    
+    private final ExportDao exportDao;
+    private final UserService userService;
+    
+    /**
+     * Creates a new export service
+     */
+    public ExportService() {
+        this(new ExportDaoImpl(), new UserService());
+    }
+    
+    /**
+     * Creates an export service on shared dependencies
+     *
+     * @param exportDao the DAO that streams export rows
+     * @param userService the service used to check permissions
+     */
+    public ExportService(ExportDao exportDao, UserService userService) {
+        this.exportDao = exportDao;
+        this.userService = userService;
+    }
+    
+    /**
+     * Writes a complete data set as UTF-8 CSV to the given stream.
+     * The stream is flushed but not closed.
+     *
+     * @param userId the ID of the user requesting the export
+     * @param exportType the data set to export
+     * @param out the stream to write to
+     * @return the number of exported rows
+     * @throws Exception if the user is not an administrator or the export fails
+     */
+    public long exportCsv(Long userId, ExportType exportType, OutputStream out) throws Exception {
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to export data. User ID: {}", userId);
+            throw new Exception("Only administrators can export data");
+        }
+        if (exportType == null) {
+            throw new Exception("Export type is required");
+        }
+        
+        logger.info("Exporting {} requested by user ID: {}", exportType, userId);
+        
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long rows = switch (exportType) {
+            case APPLICATIONS -> {
+                writeLine(writer, APPLICATION_HEADER);
+                yield exportDao.streamApplications(row -> writeLine(writer, row));
+            }
+            case ALLOCATIONS -> {
+                writeLine(writer, ALLOCATION_HEADER);
+                yield exportDao.streamAllocations(row -> writeLine(writer, row));
+            }
+            case USERS -> {
+                writeLine(writer, USER_HEADER);
+                yield exportDao.streamUsers(row -> writeLine(writer, row));
+            }
+        };
+        writer.flush();
+        
+        logger.info("Exported {} {} rows", rows, exportType);
+        return rows;
+    }
+    
+    /**
+     * Writes one CSV line, quoting values that contain separators, quotes or line breaks
+     */
+    static void writeLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
@@ -1,13 +1,19 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
 import com.kasperovich.dao.BudgetDao;
 import com.kasperovich.dao.FundAllocationDao;
+import com.kasperovich.dao.ScholarshipApplicationDao;
 import com.kasperovich.dao.ScholarshipProgramDao;
 import com.kasperovich.dao.UserDao;
 import com.kasperovich.dao.impl.BudgetDaoImpl;
 import com.kasperovich.dao.impl.FundAllocationDaoImpl;
+import com.kasperovich.dao.impl.ScholarshipApplicationDaoImpl;
 import com.kasperovich.dao.impl.ScholarshipProgramDaoImpl;
 import com.kasperovich.dao.impl.UserDaoImpl;
+import com.kasperovich.dto.scholarship.AllocationPlanDTO;
+import com.kasperovich.dto.scholarship.AllocationPlanEntryDTO;
+import com.kasperovich.dto.scholarship.AllocationStrategy;
 import com.kasperovich.dto.scholarship.BudgetDTO;
 import com.kasperovich.dto.scholarship.FundAllocationDTO;
 import com.kasperovich.entities.AllocationStatus;
@@ -25,7 +31,10 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -38,18 +47,42 @@ public class FundManagementService {
     private final BudgetDao budgetDao;
     private final FundAllocationDao fundAllocationDao;
     private final ScholarshipProgramDao scholarshipProgramDao;
+    private final ScholarshipApplicationDao scholarshipApplicationDao;
     private final UserDao userDao;
     private final DTOConverter dtoConverter;
+    private final CacheInvalidator cacheInvalidator;
     
     /**
      * Constructs a new FundManagementService with default implementations.
      */
     public FundManagementService() {
-        this.budgetDao = new BudgetDaoImpl();
-        this.fundAllocationDao = new FundAllocationDaoImpl();
-        this.scholarshipProgramDao = new ScholarshipProgramDaoImpl();
-        this.userDao = new UserDaoImpl();
-        this.dtoConverter = new DTOConverter();
+        this(new BudgetDaoImpl(), new FundAllocationDaoImpl(), new ScholarshipProgramDaoImpl(),
+                new ScholarshipApplicationDaoImpl(), new UserDaoImpl(), new DTOConverter(),
+                CacheInvalidator.getInstance());
+    }
+    
+    /**
+     * Constructs a FundManagementService on shared dependencies.
+     *
+     * @param budgetDao the budget DAO
+     * @param fundAllocationDao the fund allocation DAO
+     * @param scholarshipProgramDao the scholarship program DAO
+     * @param scholarshipApplicationDao the scholarship application DAO
+     * @param userDao the user DAO
+     * @param dtoConverter the DTO converter
+     * @param cacheInvalidator updates the caches after budgets, allocations and program funds change
+     */
+    public FundManagementService(BudgetDao budgetDao, FundAllocationDao fundAllocationDao,
+                                 ScholarshipProgramDao scholarshipProgramDao,
+                                 ScholarshipApplicationDao scholarshipApplicationDao,
+                                 UserDao userDao, DTOConverter dtoConverter, CacheInvalidator cacheInvalidator) {
+        this.budgetDao = budgetDao;
+        this.fundAllocationDao = fundAllocationDao;
+        this.scholarshipProgramDao = scholarshipProgramDao;
+        this.scholarshipApplicationDao = scholarshipApplicationDao;
+        this.userDao = userDao;
+        this.dtoConverter = dtoConverter;
+        this.cacheInvalidator = cacheInvalidator;
     }
     
     // Budget Management Methods
@@ -171,6 +204,7 @@ public class FundManagementService {
         
         // Save the budget
         Budget savedBudget = budgetDao.save(budget);
+        cacheInvalidator.onBudgetsChanged();
         logger.info("Created new budget with ID: {}", savedBudget.getId());
         
         // Return as DTO
@@ -254,6 +288,7 @@ public class FundManagementService {
         
         // Save the budget
         Budget updatedBudget = budgetDao.update(budget);
+        cacheInvalidator.onBudgetsChanged();
         logger.info("Updated budget with ID: {}", updatedBudget.getId());
         
         // Return as DTO
@@ -305,6 +340,7 @@ public class FundManagementService {
         
         // Save the budget
         Budget updatedBudget = budgetDao.update(budget);
+        cacheInvalidator.onBudgetsChanged();
         logger.info("Activated budget with ID: {}", updatedBudget.getId());
         
         // Return as DTO
@@ -350,6 +386,7 @@ public class FundManagementService {
         
         // Save the budget
         Budget updatedBudget = budgetDao.update(budget);
+        cacheInvalidator.onBudgetsChanged();
         logger.info("Closed budget with ID: {}", updatedBudget.getId());
         
         // Return as DTO
@@ -475,12 +512,123 @@ public class FundManagementService {
         
         // Save the allocation
         FundAllocation savedAllocation = fundAllocationDao.save(allocation);
+        cacheInvalidator.onAllocationsChanged();
         logger.info("Created new fund allocation with ID: {}", savedAllocation.getId());
         
         // Return as DTO
         return dtoConverter.convertToDTO(savedAllocation);
     }
     
+    /**
+     * Proposes a split of a budget across all active scholarship programs.
+     * The demand of a program is the amount needed to award every pending application
+     * minus the funds the program already holds. Nothing is written.
+     *
+     * @param budgetId the ID of the budget
+     * @param strategy how to split the amount
+     * @param amount the amount to distribute, or null for the whole remaining budget
+     * @param userId the ID of the user requesting the plan
+     * @return the proposed plan
+     * @throws Exception if the user is not an admin, the budget is not found or not active, or the amount is invalid
+     */
+    public AllocationPlanDTO planAllocations(Long budgetId, AllocationStrategy strategy, BigDecimal amount, Long userId) throws Exception {
+        logger.debug("Planning allocations from budget ID: {} using {}", budgetId, strategy);
+        
+        // Validate user is admin
+        Optional<User> user = userDao.findById(userId);
+        if (user.isEmpty() || user.get().getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to plan allocations. User ID: {}", userId);
+            throw new Exception("Only administrators can plan allocations");
+        }
+        
+        Budget budget = budgetDao.findById(budgetId)
+                .orElseThrow(() -> new Exception("Budget not found with ID: " + budgetId));
+        if (budget.getStatus() != BudgetStatus.ACTIVE) {
+            throw new Exception("Cannot allocate funds from a budget that is not active");
+        }
+        
+        BigDecimal available = amount != null ? amount : budget.getRemainingAmount();
+        if (available == null || available.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new Exception("Allocation amount must be greater than zero");
+        }
+        if (!budget.hasSufficientFunds(available)) {
+            throw new Exception("Insufficient funds in the budget. Available: " + budget.getRemainingAmount());
+        }
+        
+        Map<Long, Long> pendingByProgram = new HashMap<>();
+        for (Object[] row : scholarshipApplicationDao.countPendingByProgram()) {
+            pendingByProgram.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        
+        List<AllocationPlanEntryDTO> entries = new ArrayList<>();
+        BigDecimal totalDemand = BigDecimal.ZERO;
+        for (ScholarshipProgram program : scholarshipProgramDao.findAllActive()) {
+            long pending = pendingByProgram.getOrDefault(program.getId(), 0L);
+            BigDecimal held = program.getRemainingAmount() != null ? program.getRemainingAmount() : BigDecimal.ZERO;
+            BigDecimal demand = BigDecimal.ZERO;
+            if (program.getFundingAmount() != null) {
+                demand = program.getFundingAmount().multiply(BigDecimal.valueOf(pending)).subtract(held).max(BigDecimal.ZERO);
+            }
+            totalDemand = totalDemand.add(demand);
+            entries.add(new AllocationPlanEntryDTO(program.getId(), program.getName(), pending,
+                    program.getFundingAmount(), held, demand, BigDecimal.ZERO));
+        }
+        
+        AllocationStrategy effectiveStrategy = strategy != null ? strategy : AllocationStrategy.PROPORTIONAL;
+        BigDecimal totalProposed = AllocationPlanner.plan(entries, available, effectiveStrategy);
+        logger.info("Planned {} of {} across {} programs from budget ID: {}",
+                totalProposed, available, entries.size(), budgetId);
+        
+        return new AllocationPlanDTO(budgetId, effectiveStrategy, available, totalDemand, totalProposed, entries);
+    }
+    
+    /**
+     * Writes every non-zero allocation of a plan, together with the budget and program totals,
+     * in one transaction.
+     *
+     * @param plan the plan to apply
+     * @param notes notes stored on every allocation
+     * @param userId the ID of the user applying the plan
+     * @return the created fund allocations as DTOs
+     * @throws Exception if the user is not an admin, the plan is empty, or the budget no longer covers the plan
+     */
+    public List<FundAllocationDTO> applyAllocationPlan(AllocationPlanDTO plan, String notes, Long userId) throws Exception {
+        logger.debug("Applying allocation plan for budget ID: {}", plan.getBudgetId());
+        
+        // Validate user is admin
+        Optional<User> user = userDao.findById(userId);
+        if (user.isEmpty() || user.get().getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to apply an allocation plan. User ID: {}", userId);
+            throw new Exception("Only administrators can allocate funds");
+        }
+        
+        Map<Long, BigDecimal> amounts = new LinkedHashMap<>();
+        for (AllocationPlanEntryDTO entry : plan.getEntries()) {
+            BigDecimal proposed = entry.getProposedAmount();
+            if (proposed == null || proposed.signum() == 0) {
+                continue;
+            }
+            if (proposed.signum() < 0) {
+                throw new Exception("Allocation amount must be greater than zero");
+            }
+            amounts.merge(entry.getProgramId(), proposed, BigDecimal::add);
+        }
+        if (amounts.isEmpty()) {
+            throw new Exception("The allocation plan does not allocate any funds");
+        }
+        
+        List<FundAllocation> allocations;
+        try {
+            allocations = fundAllocationDao.saveAll(plan.getBudgetId(), amounts, userId, notes);
+        } catch (IllegalStateException e) {
+            throw new Exception(e.getMessage(), e);
+        }
+        cacheInvalidator.onAllocationsChanged();
+        logger.info("Applied allocation plan with {} allocations for budget ID: {}", allocations.size(), plan.getBudgetId());
+        
+        return convertToAllocationDTOs(allocations);
+    }
+    
     /**
      * Records fund usage for a scholarship program.
      *
@@ -527,6 +675,7 @@ public class FundManagementService {
         
         // Save the program
         scholarshipProgramDao.update(program);
+        cacheInvalidator.onProgramFundsChanged();
         logger.info("Recorded fund usage of {} for program ID: {}", amount, programId);
     }
     
@@ -0,0 +1,173 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.dao.CourseGradeDao;
+import com.kasperovich.dao.GpaAggregateDao;
+import com.kasperovich.dao.StudentProfileDao;
+import com.kasperovich.dao.impl.CourseGradeDaoImpl;
+import com.kasperovich.dao.impl.GpaAggregateDaoImpl;
+import com.kasperovich.dao.impl.StudentProfileDaoImpl;
+import com.kasperovich.entities.CourseGrade;
+import com.kasperovich.entities.ScholarshipProgram;
+import com.kasperovich.entities.StudentGpaAggregate;
+import com.kasperovich.entities.StudentProfile;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Service for student GPAs.
+ * GPAs are kept as running weighted sums per student and period that are updated whenever a grade
+ * is saved, so reading a GPA never rescans the transcript. The stored current GPA of the student
+ * profile is refreshed from those sums in the same transaction.
+ * No client command saves or deletes grades yet; grades written to the database directly are
+ * brought into the sums by {@link #recomputeAll(Long)}.
+ */
+public class GpaService {
+    private static final Logger logger = LoggerUtil.getLogger(GpaService.class);
+    private static final int RECOMPUTE_CHUNK_SIZE = 200;
+    private static final int RECOMPUTE_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    
+    private final CourseGradeDao courseGradeDao;
+    private final GpaAggregateDao gpaAggregateDao;
+    private final StudentProfileDao studentProfileDao;
+    private final UserService userService;
+    private final CacheInvalidator cacheInvalidator;
+    
+    /**
+     * Creates a new GPA service
+     */
+    public GpaService() {
+        this(new CourseGradeDaoImpl(), new GpaAggregateDaoImpl(), new StudentProfileDaoImpl(), new UserService(),
+                CacheInvalidator.getInstance());
+    }
+    
+    /**
+     * Creates a GPA service on shared dependencies
+     *
+     * @param courseGradeDao the course grade DAO
+     * @param gpaAggregateDao the DAO that stores the GPA sums
+     * @param studentProfileDao the student profile DAO
+     * @param userService the service used to check permissions
+     * @param cacheInvalidator updates the caches after grades change
+     */
+    public GpaService(CourseGradeDao courseGradeDao, GpaAggregateDao gpaAggregateDao,
+                      StudentProfileDao studentProfileDao, UserService userService,
+                      CacheInvalidator cacheInvalidator) {
+        this.courseGradeDao = courseGradeDao;
+        this.gpaAggregateDao = gpaAggregateDao;
+        this.studentProfileDao = studentProfileDao;
+        this.userService = userService;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+    
+    /**
+     * Saves a new or changed grade and updates the GPA sums of its student.
+     *
+     * @param grade the grade to save
+     * @return the saved grade
+     */
+    public CourseGrade saveGrade(CourseGrade grade) {
+        CourseGrade saved = courseGradeDao.save(grade);
+        invalidateReport(grade.getStudent().getId());
+        return saved;
+    }
+    
+    /**
+     * Deletes a grade and removes it from the GPA sums of its student.
+     *
+     * @param grade the grade to delete
+     */
+    public void deleteGrade(CourseGrade grade) {
+        courseGradeDao.delete(grade);
+        invalidateReport(grade.getStudent().getId());
+    }
+    
+    /**
+     * Gets the GPA of a student per academic period.
+     *
+     * @param studentId the ID of the student profile
+     * @return the aggregates of every period with graded credits
+     */
+    public List<StudentGpaAggregate> getPeriodGpas(Long studentId) {
+        return gpaAggregateDao.findByStudentId(studentId);
+    }
+    
+    /**
+     * Gets the current GPA of a user.
+     *
+     * @param userId the ID of the user
+     * @return the GPA, or empty if the user has no student profile or no graded credits
+     */
+    public Optional<Double> getCurrentGpa(Long userId) {
+        return studentProfileDao.findByUserId(userId).map(StudentProfile::getCurrentGpa);
+    }
+    
+    /**
+     * Checks whether a user meets the minimum GPA of a scholarship program.
+     * Students without a recorded GPA are not rejected, since their eligibility cannot be judged yet.
+     *
+     * @param userId the ID of the user
+     * @param program the scholarship program
+     * @return true if the program has no minimum, the user has no GPA yet, or the GPA meets the minimum
+     */
+    public boolean meetsMinimumGpa(Long userId, ScholarshipProgram program) {
+        if (program.getMinGpa() == null) {
+            return true;
+        }
+        Optional<Double> gpa = getCurrentGpa(userId);
+        return gpa.isEmpty() || gpa.get() >= program.getMinGpa().doubleValue();
+    }
+    
+    /**
+     * Recomputes the GPA sums of all students from their grades.
+     * Students are processed in chunks on several threads; each chunk is its own transaction.
+     *
+     * @param userId the ID of the user requesting the recompute
+     * @return the number of students processed
+     * @throws Exception if the user is not an administrator or a chunk fails
+     */
+    public int recomputeAll(Long userId) throws Exception {
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to recompute GPAs. User ID: {}", userId);
+            throw new Exception("Only administrators can recompute GPAs");
+        }
+        
+        List<Long> studentIds = gpaAggregateDao.findAllStudentIds();
+        logger.info("Recomputing GPAs of {} students requested by user ID: {}", studentIds.size(), userId);
+        
+        ExecutorService executor = Executors.newFixedThreadPool(RECOMPUTE_THREADS);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < studentIds.size(); from += RECOMPUTE_CHUNK_SIZE) {
+                List<Long> chunk = studentIds.subList(from, Math.min(from + RECOMPUTE_CHUNK_SIZE, studentIds.size()));
+                chunks.add(executor.submit(() -> gpaAggregateDao.recomputeForStudents(chunk)));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        
+        cacheInvalidator.onGradesChanged(null);
+        logger.info("Recomputed GPAs of {} students", studentIds.size());
+        return studentIds.size();
+    }
+    
+    private void invalidateReport(Long studentId) {
+        Long userId = studentProfileDao.findById(studentId)
+                .map(profile -> profile.getUser().getId())
+                .orElse(null);
+        cacheInvalidator.onGradesChanged(userId);
+    }
+}
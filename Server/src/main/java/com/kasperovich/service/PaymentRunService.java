@@ -0,0 +1,327 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.dao.PaymentDao;
+import com.kasperovich.dao.PaymentRunDao;
+import com.kasperovich.dto.scholarship.PaymentRunStatusDTO;
+import com.kasperovich.entities.PaymentRun;
+import com.kasperovich.entities.PaymentRunStatus;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that turns approved, unpaid applications into payments.
+ * A coordinator thread walks the approved applications in keyset chunks and hands each chunk
+ * to a small pool of writers, which insert its payments as one JDBC batch and advance the run
+ * counters in the same transaction. The checkpoint only moves past a chunk once every earlier
+ * chunk has been written, so a failed or interrupted run can be resumed from it; applications
+ * paid in the meantime are skipped by the insert itself.
+ * A run holds a database lock while it executes, so only one run executes at a time even when
+ * several servers share the database; a unique index on payments backs this up.
+ * Program fund usage is recorded when an application is approved, so payments do not change it again.
+ */
+public class PaymentRunService {
+    private static final Logger logger = LoggerUtil.getLogger(PaymentRunService.class);
+    private static final int CHUNK_SIZE = 1000;
+    private static final int WRITER_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final int LOG_EVERY_CHUNKS = 10;
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentDao paymentDao;
+    private final PaymentRunDao paymentRunDao;
+    private final UserService userService;
+    private final CacheInvalidator cacheInvalidator;
+    private final int chunkSize;
+    private final int writerThreads;
+
+    private ActiveRun activeRun;
+
+    /**
+     * Creates a payment run service with the default chunk size and writer count.
+     *
+     * @param paymentDao the DAO that reads applications and writes payments
+     * @param paymentRunDao the DAO that stores run progress
+     * @param userService the service used to check permissions
+     * @param cacheInvalidator updates the caches after payments are written
+     */
+    PaymentRunService(PaymentDao paymentDao, PaymentRunDao paymentRunDao, UserService userService,
+                      CacheInvalidator cacheInvalidator) {
+        this(paymentDao, paymentRunDao, userService, cacheInvalidator, CHUNK_SIZE, WRITER_THREADS);
+    }
+
+    /**
+     * Creates a payment run service.
+     *
+     * @param paymentDao the DAO that reads applications and writes payments
+     * @param paymentRunDao the DAO that stores run progress
+     * @param userService the service used to check permissions
+     * @param cacheInvalidator updates the caches after payments are written
+     * @param chunkSize the number of applications per chunk
+     * @param writerThreads the number of threads writing chunks
+     */
+    PaymentRunService(PaymentDao paymentDao, PaymentRunDao paymentRunDao, UserService userService,
+                      CacheInvalidator cacheInvalidator, int chunkSize, int writerThreads) {
+        this.paymentDao = paymentDao;
+        this.paymentRunDao = paymentRunDao;
+        this.userService = userService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.chunkSize = chunkSize;
+        this.writerThreads = writerThreads;
+    }
+
+    /**
+     * Starts a payment run in the background.
+     *
+     * @param userId the ID of the user starting the run
+     * @param resume whether to continue the last unfinished run from its checkpoint
+     * @return the status of the started run
+     * @throws Exception if the user is not an admin, a run is already in progress on any server,
+     *         or there is nothing to resume
+     */
+    public synchronized PaymentRunStatusDTO startRun(Long userId, boolean resume) throws Exception {
+        checkAdmin(userId, "start payment runs");
+        if (activeRun != null) {
+            throw new Exception("Payment run " + activeRun.run.getId() + " is already in progress");
+        }
+        PaymentRunDao.RunLock lock = paymentRunDao.tryLockRuns()
+                .orElseThrow(() -> new Exception("A payment run is already in progress on another server"));
+
+        PaymentRun run;
+        try {
+            run = createOrResumeRun(userId, resume);
+        } catch (Exception e) {
+            lock.close();
+            throw e;
+        }
+
+        ActiveRun active = new ActiveRun(run, lock);
+        activeRun = active;
+        Thread coordinator = new Thread(() -> execute(active), "payment-run-" + run.getId());
+        coordinator.setDaemon(true);
+        coordinator.start();
+        return toStatus(run, active);
+    }
+
+    /**
+     * Stores a new run, or marks the last unfinished run as running again.
+     * A run left marked as running can be resumed, since the caller holds the run lock and
+     * the server that was executing it has therefore stopped.
+     */
+    private PaymentRun createOrResumeRun(Long userId, boolean resume) throws Exception {
+        PaymentRun run;
+        if (resume) {
+            run = paymentRunDao.findLatest()
+                    .filter(latest -> latest.getStatus() != PaymentRunStatus.COMPLETED)
+                    .orElseThrow(() -> new Exception("There is no unfinished payment run to resume"));
+            run.setStatus(PaymentRunStatus.RUNNING);
+            run.setErrorMessage(null);
+            run.setFinishedAt(null);
+            paymentRunDao.save(run);
+            logger.info("Resuming payment run {} after application ID: {}", run.getId(), run.getLastApplicationId());
+        } else {
+            run = new PaymentRun();
+            run.setStatus(PaymentRunStatus.RUNNING);
+            run.setStartedById(userId);
+            run.setStartedAt(LocalDateTime.now());
+            run.setTotalAmount(BigDecimal.ZERO);
+            run = paymentRunDao.save(run);
+            logger.info("Starting payment run {}", run.getId());
+        }
+        return run;
+    }
+
+    /**
+     * Gets the status of a payment run.
+     *
+     * @param userId the ID of the requesting user
+     * @param runId the ID of the run, or null for the latest run
+     * @return the run status
+     * @throws Exception if the user is not an admin or the run does not exist
+     */
+    public PaymentRunStatusDTO getRunStatus(Long userId, Long runId) throws Exception {
+        checkAdmin(userId, "view payment runs");
+        PaymentRun run = (runId != null ? paymentRunDao.findById(runId) : paymentRunDao.findLatest())
+                .orElseThrow(() -> new Exception("Payment run not found"));
+        ActiveRun active;
+        synchronized (this) {
+            active = activeRun != null && activeRun.run.getId().equals(run.getId()) ? activeRun : null;
+        }
+        return toStatus(run, active);
+    }
+
+    /**
+     * Pays every approved, unpaid application after the checkpoint of a run.
+     */
+    private void execute(ActiveRun active) {
+        PaymentRun run = active.run;
+        Long runId = run.getId();
+        ExecutorService writers = Executors.newFixedThreadPool(writerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-writer-" + runId);
+            thread.setDaemon(true);
+            return thread;
+        });
+        Deque<Chunk> inFlight = new ArrayDeque<>();
+        long cursor = run.getLastApplicationId();
+        long checkpoint = cursor;
+        int chunks = 0;
+
+        try {
+            while (true) {
+                List<Object[]> rows = paymentDao.findUnpaidApproved(cursor, chunkSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                long[] applicationIds = new long[rows.size()];
+                BigDecimal[] amounts = new BigDecimal[rows.size()];
+                for (int i = 0; i < rows.size(); i++) {
+                    applicationIds[i] = (Long) rows.get(i)[0];
+                    amounts[i] = (BigDecimal) rows.get(i)[1];
+                }
+                cursor = applicationIds[applicationIds.length - 1];
+
+                Future<Integer> written = writers.submit(() ->
+                        paymentDao.insertChunk(runId, run.getStartedById(), applicationIds, amounts));
+                inFlight.addLast(new Chunk(written, cursor));
+
+                // Keep at most one chunk queued per writer and checkpoint finished chunks in order
+                while (!inFlight.isEmpty() && (inFlight.size() > writerThreads || inFlight.peekFirst().written.isDone())) {
+                    checkpoint = complete(active, inFlight.removeFirst());
+                    if (++chunks % LOG_EVERY_CHUNKS == 0) {
+                        logProgress(active);
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                checkpoint = complete(active, inFlight.removeFirst());
+            }
+
+            paymentRunDao.finish(runId, PaymentRunStatus.COMPLETED, null, active.elapsedMillis());
+            logger.info("Payment run {} completed: {} payments in {} ms ({} payments/s)",
+                    runId, active.processed.get(), active.elapsedMillis(), String.format("%.1f", active.paymentsPerSecond()));
+        } catch (Exception e) {
+            Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+            logger.error("Payment run {} failed after application ID: {}", runId, checkpoint, cause);
+            for (Chunk chunk : inFlight) {
+                chunk.written.cancel(false);
+            }
+            String message = String.valueOf(cause.getMessage());
+            try {
+                paymentRunDao.finish(runId, PaymentRunStatus.FAILED,
+                        message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                        active.elapsedMillis());
+            } catch (Exception finishError) {
+                logger.error("Could not mark payment run {} as failed", runId, finishError);
+            }
+        } finally {
+            writers.shutdownNow();
+            active.lock.close();
+            synchronized (this) {
+                if (activeRun == active) {
+                    activeRun = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for a chunk, adds it to the metrics and moves the checkpoint past it.
+     */
+    private long complete(ActiveRun active, Chunk chunk) throws Exception {
+        int inserted = chunk.written.get();
+        active.processed.addAndGet(inserted);
+        active.chunks.incrementAndGet();
+        paymentRunDao.updateCheckpoint(active.run.getId(), chunk.lastApplicationId, active.elapsedMillis());
+        if (inserted > 0) {
+            cacheInvalidator.onPaymentsChanged();
+        }
+        return chunk.lastApplicationId;
+    }
+
+    private void logProgress(ActiveRun active) {
+        logger.info("Payment run {}: {} payments in {} chunks, {} payments/s",
+                active.run.getId(), active.processed.get(), active.chunks.get(),
+                String.format("%.1f", active.paymentsPerSecond()));
+    }
+
+    private void checkAdmin(Long userId, String action) throws Exception {
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            throw new Exception("Only administrators can " + action);
+        }
+    }
+
+    private PaymentRunStatusDTO toStatus(PaymentRun run, ActiveRun active) {
+        long elapsed = active != null ? active.elapsedMillis() : run.getElapsedMillis();
+        long processed = active != null ? active.processed.get() : run.getProcessedCount();
+        double rate = elapsed > 0 ? processed * 1000.0 / elapsed : 0;
+        return new PaymentRunStatusDTO(
+                run.getId(),
+                active != null ? PaymentRunStatus.RUNNING : run.getStatus(),
+                run.getStartedAt(),
+                run.getFinishedAt(),
+                run.getLastApplicationId(),
+                processed,
+                run.getTotalAmount(),
+                active != null ? active.chunks.get() : run.getChunkCount(),
+                elapsed,
+                rate,
+                run.getErrorMessage());
+    }
+
+    /**
+     * In-memory progress of the run being executed.
+     * Counters continue from the persisted values when a run is resumed.
+     */
+    private static final class ActiveRun {
+        private final PaymentRun run;
+        private final PaymentRunDao.RunLock lock;
+        private final long startNanos = System.nanoTime();
+        private final long previousElapsedMillis;
+        private final AtomicLong processed;
+        private final AtomicInteger chunks;
+
+        ActiveRun(PaymentRun run, PaymentRunDao.RunLock lock) {
+            this.run = run;
+            this.lock = lock;
+            this.previousElapsedMillis = run.getElapsedMillis();
+            this.processed = new AtomicLong(run.getProcessedCount());
+            this.chunks = new AtomicInteger(run.getChunkCount());
+        }
+
+        long elapsedMillis() {
+            return previousElapsedMillis + (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        double paymentsPerSecond() {
+            long elapsed = elapsedMillis();
+            return elapsed > 0 ? processed.get() * 1000.0 / elapsed : 0;
+        }
+    }
+
+    /**
+     * A chunk handed to a writer, with the highest application ID it covers.
+     */
+    private static final class Chunk {
+        private final Future<Integer> written;
+        private final long lastApplicationId;
+
+        Chunk(Future<Integer> written, long lastApplicationId) {
+            this.written = written;
+            this.lastApplicationId = lastApplicationId;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.ShortlistCache;
+import com.kasperovich.commands.fromserver.ApplicationShortlistResponse;
+import com.kasperovich.dao.ScholarshipApplicationDao;
+import com.kasperovich.dao.ScholarshipProgramDao;
+import com.kasperovich.dao.impl.ScholarshipApplicationDaoImpl;
+import com.kasperovich.dao.impl.ScholarshipProgramDaoImpl;
+import com.kasperovich.dto.scholarship.RankedApplicationDTO;
+import com.kasperovich.entities.ScholarshipApplication;
+import com.kasperovich.entities.ScholarshipProgram;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.ranking.RankingEngine;
+import com.kasperovich.utils.DTOConverter;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for ranking pending scholarship applications.
+ * Candidates are loaded as one projection of application IDs and GPAs, ranked by
+ * {@link RankingEngine} and cached per program and period, so fetching further pages
+ * only loads the applications shown on that page.
+ */
+public class RankingService {
+    private static final Logger logger = LoggerUtil.getLogger(RankingService.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    
+    private final ScholarshipApplicationDao applicationDao;
+    private final ScholarshipProgramDao programDao;
+    private final UserService userService;
+    private final DTOConverter dtoConverter;
+    private final RankingEngine rankingEngine;
+    private final ShortlistCache shortlistCache;
+    
+    /**
+     * Creates a new ranking service
+     */
+    public RankingService() {
+        this(new ScholarshipApplicationDaoImpl(), new ScholarshipProgramDaoImpl(), new UserService(),
+                new DTOConverter(), new RankingEngine(), ShortlistCache.getInstance());
+    }
+    
+    /**
+     * Creates a ranking service on shared dependencies
+     *
+     * @param applicationDao the scholarship application DAO
+     * @param programDao the scholarship program DAO
+     * @param userService the service used to check permissions
+     * @param dtoConverter the DTO converter
+     * @param rankingEngine the engine that orders the candidates
+     * @param shortlistCache the cache of ranked shortlists
+     */
+    public RankingService(ScholarshipApplicationDao applicationDao, ScholarshipProgramDao programDao,
+                          UserService userService, DTOConverter dtoConverter, RankingEngine rankingEngine,
+                          ShortlistCache shortlistCache) {
+        this.applicationDao = applicationDao;
+        this.programDao = programDao;
+        this.userService = userService;
+        this.dtoConverter = dtoConverter;
+        this.rankingEngine = rankingEngine;
+        this.shortlistCache = shortlistCache;
+    }
+    
+    /**
+     * Gets one page of the ranked shortlist of a program.
+     *
+     * @param userId the ID of the requesting user
+     * @param programId the ID of the program
+     * @param periodId the ID of the academic period, or null for all periods
+     * @param page the 0-based page number
+     * @param pageSize the number of entries per page
+     * @return the page of the shortlist
+     * @throws Exception if the user is not an admin or the program is not found
+     */
+    public ApplicationShortlistResponse getShortlistPage(Long userId, Long programId, Long periodId,
+                                                         int page, int pageSize) throws Exception {
+        logger.debug("Getting shortlist page {} for program ID: {}, period ID: {}", page, programId, periodId);
+        
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            throw new Exception("Only administrators can view application shortlists");
+        }
+        if (page < 0 || pageSize <= 0) {
+            throw new Exception("Invalid page request");
+        }
+        int size = Math.min(pageSize, MAX_PAGE_SIZE);
+        
+        Shortlist shortlist = shortlistCache.get(programId, periodId,
+                () -> buildShortlist(programId, periodId));
+        RankingEngine.Ranking ranking = shortlist.ranking;
+        
+        int from = (int) Math.min((long) page * size, ranking.eligibleCount());
+        int to = Math.min(from + size, ranking.eligibleCount());
+        
+        List<Long> pageIds = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            pageIds.add(shortlist.applicationIds[ranking.candidateAt(rank)]);
+        }
+        Map<Long, ScholarshipApplication> applications = new HashMap<>();
+        for (ScholarshipApplication application : applicationDao.findByIds(pageIds)) {
+            applications.put(application.getId(), application);
+        }
+        
+        List<RankedApplicationDTO> entries = new ArrayList<>(to - from);
+        for (int rank = from; rank < to; rank++) {
+            int candidate = ranking.candidateAt(rank);
+            ScholarshipApplication application = applications.get(shortlist.applicationIds[candidate]);
+            if (application == null) {
+                // Removed since the ranking was computed
+                continue;
+            }
+            double gpa = shortlist.gpas[candidate];
+            BigDecimal cumulativeAmount = shortlist.fundingAmount == null
+                    ? null
+                    : shortlist.fundingAmount.multiply(BigDecimal.valueOf(rank + 1L));
+            entries.add(new RankedApplicationDTO(
+                    rank + 1,
+                    dtoConverter.convertToDTO(application),
+                    Double.isNaN(gpa) ? null : gpa,
+                    rank < ranking.fundedCount(),
+                    cumulativeAmount));
+        }
+        
+        return new ApplicationShortlistResponse(entries, page, size, ranking.candidateCount(),
+                ranking.eligibleCount(), ranking.fundedCount(), shortlist.remainingAmount);
+    }
+    
+    /**
+     * Loads the candidates of a program and ranks them.
+     */
+    private Shortlist buildShortlist(Long programId, Long periodId) throws Exception {
+        ScholarshipProgram program = programDao.findById(programId);
+        if (program == null) {
+            throw new Exception("Scholarship program not found with ID: " + programId);
+        }
+        
+        long start = System.nanoTime();
+        List<Object[]> rows = applicationDao.findRankingCandidates(programId, periodId);
+        long[] applicationIds = new long[rows.size()];
+        double[] gpas = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            applicationIds[i] = (Long) row[0];
+            gpas[i] = row[1] != null ? ((Number) row[1]).doubleValue() : Double.NaN;
+        }
+        
+        double minGpa = program.getMinGpa() != null ? program.getMinGpa().doubleValue() : Double.NaN;
+        BigDecimal remainingAmount = program.getRemainingAmount() != null
+                ? program.getRemainingAmount()
+                : BigDecimal.ZERO;
+        RankingEngine.Ranking ranking = rankingEngine.rank(gpas, minGpa,
+                fundedSlots(program.getFundingAmount(), remainingAmount, rows.size()));
+        
+        logger.info("Ranked {} candidates of program ID: {} in {} ms ({} eligible, {} funded)",
+                rows.size(), programId, (System.nanoTime() - start) / 1_000_000,
+                ranking.eligibleCount(), ranking.fundedCount());
+        return new Shortlist(applicationIds, gpas, ranking, program.getFundingAmount(), remainingAmount);
+    }
+    
+    /**
+     * Computes how many awards of the given amount the remaining funds cover.
+     * Every candidate is covered when the program has no per-award amount.
+     */
+    static int fundedSlots(BigDecimal fundingAmount, BigDecimal remainingAmount, int candidateCount) {
+        if (fundingAmount == null || fundingAmount.signum() <= 0) {
+            return candidateCount;
+        }
+        if (remainingAmount.signum() <= 0) {
+            return 0;
+        }
+        BigDecimal slots = remainingAmount.divideToIntegralValue(fundingAmount);
+        return slots.compareTo(BigDecimal.valueOf(candidateCount)) >= 0 ? candidateCount : slots.intValue();
+    }
+    
+    /**
+     * A ranked set of candidates with the program funds it was ranked against.
+     */
+    private static final class Shortlist {
+        private final long[] applicationIds;
+        private final double[] gpas;
+        private final RankingEngine.Ranking ranking;
+        private final BigDecimal fundingAmount;
+        private final BigDecimal remainingAmount;
+        
+        Shortlist(long[] applicationIds, double[] gpas, RankingEngine.Ranking ranking,
+                  BigDecimal fundingAmount, BigDecimal remainingAmount) {
+            this.applicationIds = applicationIds;
+            this.gpas = gpas;
+            this.ranking = ranking;
+            this.fundingAmount = fundingAmount;
+            this.remainingAmount = remainingAmount;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.kasperovich.service;
+
+import com.kasperovich.commands.toserver.SubmitReportJobCommand;
+import com.kasperovich.dto.report.ReportJobState;
+import com.kasperovich.dto.report.ReportJobStatusDTO;
+import com.kasperovich.dto.report.ReportJobType;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that generates reports asynchronously on a bounded pool of report workers.
+ * Queued jobs are ordered by estimated cost so short reports are not stuck behind long ones.
+ * Each user may only have a limited number of unfinished jobs, and finished jobs are
+ * retained for a limited time so their results can be fetched.
+ */
+public class ReportJobService {
+    private static final Logger logger = LoggerUtil.getLogger(ReportJobService.class);
+    private static final int WORKER_THREADS = 2;
+    private static final int MAX_QUEUED_JOBS = 50;
+    private static final int MAX_ACTIVE_JOBS_PER_USER = 3;
+    private static final Duration RESULT_TTL = Duration.ofMinutes(10);
+
+    private final ReportService reportService;
+    private final int maxQueuedJobs;
+    private final int maxActiveJobsPerUser;
+    private final Duration resultTtl;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService cleaner;
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Creates a report job service with the default pool and limits.
+     *
+     * @param reportService the service that generates the reports
+     */
+    ReportJobService(ReportService reportService) {
+        this(reportService, WORKER_THREADS, MAX_QUEUED_JOBS, MAX_ACTIVE_JOBS_PER_USER, RESULT_TTL);
+    }
+
+    /**
+     * Creates a report job service.
+     *
+     * @param reportService the service that generates the reports
+     * @param workerThreads the number of report worker threads
+     * @param maxQueuedJobs the maximum number of jobs waiting for a worker
+     * @param maxActiveJobsPerUser the maximum number of unfinished jobs per user
+     * @param resultTtl how long finished jobs are retained
+     */
+    ReportJobService(ReportService reportService, int workerThreads, int maxQueuedJobs,
+                     int maxActiveJobsPerUser, Duration resultTtl) {
+        this.reportService = reportService;
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.maxActiveJobsPerUser = maxActiveJobsPerUser;
+        this.resultTtl = resultTtl;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-job-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        cleaner.scheduleAtFixedRate(this::removeExpiredJobs, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Stops the report workers and the removal of expired jobs.
+     * Jobs that have not finished are abandoned, and no new jobs are accepted.
+     */
+    public void shutdown() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+        logger.info("Report job service shut down");
+    }
+
+    /**
+     * Submits a report for asynchronous generation.
+     *
+     * @param userId the ID of the user submitting the job
+     * @param command the report type and parameters
+     * @return the status of the queued job
+     * @throws Exception if the parameters are invalid or a job limit has been reached
+     */
+    public ReportJobStatusDTO submitJob(Long userId, SubmitReportJobCommand command) throws Exception {
+        validate(command);
+
+        ReportJob job;
+        synchronized (this) {
+            long activeJobs = jobs.values().stream()
+                    .filter(existing -> existing.userId.equals(userId) && !existing.isFinished())
+                    .count();
+            if (activeJobs >= maxActiveJobsPerUser) {
+                throw new Exception("You already have " + activeJobs + " reports in progress. Please wait for them to finish");
+            }
+            if (executor.isShutdown()) {
+                throw new Exception("The server is shutting down. Please try again later");
+            }
+            if (executor.getQueue().size() >= maxQueuedJobs) {
+                throw new Exception("The report queue is full. Please try again later");
+            }
+
+            job = new ReportJob(UUID.randomUUID().toString(), userId, command, estimateCost(command), sequence.incrementAndGet());
+            jobs.put(job.id, job);
+            executor.execute(new ReportJobTask(job));
+        }
+
+        logger.info("Queued report job {} of type {} for user {}", job.id, command.getReportType(), userId);
+        return job.toStatus();
+    }
+
+    /**
+     * Gets the status of a report job.
+     *
+     * @param userId the ID of the user who owns the job
+     * @param jobId the ID of the job
+     * @return the job status
+     * @throws Exception if the job does not exist, has expired or belongs to another user
+     */
+    public ReportJobStatusDTO getJobStatus(Long userId, String jobId) throws Exception {
+        return findJob(userId, jobId).toStatus();
+    }
+
+    /**
+     * Gets the rows of a completed report job.
+     *
+     * @param userId the ID of the user who owns the job
+     * @param jobId the ID of the job
+     * @return the report rows
+     * @throws Exception if the job does not exist, belongs to another user or has not completed successfully
+     */
+    public List<? extends Serializable> getJobResult(Long userId, String jobId) throws Exception {
+        ReportJob job = findJob(userId, jobId);
+        if (job.state == ReportJobState.FAILED) {
+            throw new Exception("Report generation failed: " + job.message);
+        }
+        if (job.state != ReportJobState.COMPLETED) {
+            throw new Exception("Report is not ready yet");
+        }
+        return job.result;
+    }
+
+    /**
+     * Removes finished jobs whose retention period has elapsed.
+     */
+    void removeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(resultTtl);
+        int before = jobs.size();
+        jobs.values().removeIf(job -> job.isFinished() && job.completedAt.isBefore(cutoff));
+        int removed = before - jobs.size();
+        if (removed > 0) {
+            logger.debug("Removed {} expired report jobs", removed);
+        }
+    }
+
+    private ReportJob findJob(Long userId, String jobId) throws Exception {
+        ReportJob job = jobId != null ? jobs.get(jobId) : null;
+        if (job == null || !job.userId.equals(userId)) {
+            throw new Exception("Report job not found or expired");
+        }
+        return job;
+    }
+
+    private void validate(SubmitReportJobCommand command) throws Exception {
+        if (command == null || command.getReportType() == null) {
+            throw new Exception("Report type is required");
+        }
+        if (command.getReportType() != ReportJobType.APPLICATION_STATUS) {
+            if (command.getStartDate() == null || command.getEndDate() == null) {
+                throw new Exception("Start date and end date are required");
+            }
+            if (command.getEndDate().isBefore(command.getStartDate())) {
+                throw new Exception("End date must not be before start date");
+            }
+        }
+    }
+
+    /**
+     * Estimates the relative cost of a report; cheaper reports are started first.
+     */
+    private long estimateCost(SubmitReportJobCommand command) {
+        if (command.getReportType() == ReportJobType.APPLICATION_STATUS) {
+            return 1;
+        }
+        return ChronoUnit.MONTHS.between(command.getStartDate(), command.getEndDate()) + 1;
+    }
+
+    private List<? extends Serializable> generate(ReportJob job) throws Exception {
+        SubmitReportJobCommand command = job.command;
+        return switch (command.getReportType()) {
+            case SCHOLARSHIP_DISTRIBUTION ->
+                    reportService.getScholarshipDistributionReport(command.getStartDate(), command.getEndDate());
+            case APPLICATION_STATUS ->
+                    reportService.getApplicationStatusReport(command.getProgramId(), command.getPeriodId());
+            case USER_ACTIVITY ->
+                    reportService.getUserActivityReport(command.getStartDate(), command.getEndDate());
+        };
+    }
+
+    /**
+     * Queue entry that runs a report job, ordered by estimated cost and then by submission order.
+     */
+    private class ReportJobTask implements Runnable, Comparable<ReportJobTask> {
+        private final ReportJob job;
+
+        ReportJobTask(ReportJob job) {
+            this.job = job;
+        }
+
+        @Override
+        public void run() {
+            job.state = ReportJobState.RUNNING;
+            try {
+                List<? extends Serializable> rows = generate(job);
+                job.result = rows;
+                job.message = rows.size() + " rows";
+                job.state = ReportJobState.COMPLETED;
+                logger.info("Report job {} completed with {} rows", job.id, rows.size());
+            } catch (Exception e) {
+                logger.error("Report job {} failed", job.id, e);
+                job.message = e.getMessage();
+                job.state = ReportJobState.FAILED;
+            } finally {
+                job.completedAt = LocalDateTime.now();
+            }
+        }
+
+        @Override
+        public int compareTo(ReportJobTask other) {
+            int byCost = Long.compare(job.cost, other.job.cost);
+            return byCost != 0 ? byCost : Long.compare(job.sequence, other.job.sequence);
+        }
+    }
+
+    /**
+     * State of a single report job.
+     */
+    private static class ReportJob {
+        private final String id;
+        private final Long userId;
+        private final SubmitReportJobCommand command;
+        private final long cost;
+        private final long sequence;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private volatile ReportJobState state = ReportJobState.QUEUED;
+        private volatile String message;
+        private volatile LocalDateTime completedAt;
+        private volatile List<? extends Serializable> result;
+
+        ReportJob(String id, Long userId, SubmitReportJobCommand command, long cost, long sequence) {
+            this.id = id;
+            this.userId = userId;
+            this.command = command;
+            this.cost = cost;
+            this.sequence = sequence;
+        }
+
+        boolean isFinished() {
+            return completedAt != null;
+        }
+
+        ReportJobStatusDTO toStatus() {
+            return new ReportJobStatusDTO(id, command.getReportType(), state, message, submittedAt, completedAt);
+        }
+    }
+}
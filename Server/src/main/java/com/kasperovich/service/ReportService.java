@@ -1,10 +1,24 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.ReportCache;
+import com.kasperovich.cache.ReportCache.ReportType;
+import com.kasperovich.cache.StudentReportCache;
+import com.kasperovich.dao.CourseGradeDao;
+import com.kasperovich.dao.PaymentDao;
+import com.kasperovich.dao.ReportRollupDao;
+import com.kasperovich.dao.ScholarshipApplicationDao;
+import com.kasperovich.dao.StudentProfileDao;
+import com.kasperovich.dao.impl.CourseGradeDaoImpl;
+import com.kasperovich.dao.impl.PaymentDaoImpl;
+import com.kasperovich.dao.impl.ReportRollupDaoImpl;
+import com.kasperovich.dao.impl.ScholarshipApplicationDaoImpl;
+import com.kasperovich.dao.impl.StudentProfileDaoImpl;
 import com.kasperovich.dto.auth.UserDTO;
 import com.kasperovich.dto.report.*;
-import com.kasperovich.dto.scholarship.AcademicPeriodDTO;
 import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
-import com.kasperovich.dto.scholarship.ScholarshipProgramDTO;
+import com.kasperovich.entities.CourseGrade;
+import com.kasperovich.entities.Payment;
+import com.kasperovich.entities.StudentProfile;
 import com.kasperovich.entities.User;
 import com.kasperovich.entities.UserRole;
 import com.kasperovich.utils.DTOConverter;
@@ -13,32 +27,67 @@ import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Service for generating various reports
  */
 public class ReportService {
     private static final Logger logger = LoggerUtil.getLogger(ReportService.class);
-    private final ScholarshipService scholarshipService;
     private final ScholarshipApplicationService applicationService;
     private final UserService userService;
-    private final AcademicPeriodService academicPeriodService;
+    private final ScholarshipApplicationDao applicationDao;
+    private final ReportRollupDao rollupDao;
+    private final StudentProfileDao studentProfileDao;
+    private final CourseGradeDao courseGradeDao;
+    private final PaymentDao paymentDao;
     private final DTOConverter dtoConverter;
+    private final ReportCache reportCache;
+    private final StudentReportCache studentReportCache;
+    // Set once the rollups are known to be built; they stay built, so the check is not repeated
+    private volatile boolean rollupsBuilt;
 
     /**
      * Creates a new report service
      */
     public ReportService() {
-        this.scholarshipService = new ScholarshipService();
-        this.applicationService = new ScholarshipApplicationService();
-        this.userService = new UserService();
-        this.academicPeriodService = new AcademicPeriodService();
-        this.dtoConverter = new DTOConverter();
+        this(new ScholarshipApplicationService(), new UserService(), new ScholarshipApplicationDaoImpl(),
+                new ReportRollupDaoImpl(), new StudentProfileDaoImpl(), new CourseGradeDaoImpl(),
+                new PaymentDaoImpl(), new DTOConverter(), ReportCache.getInstance(), StudentReportCache.getInstance());
+    }
+
+    /**
+     * Creates a report service on shared dependencies
+     *
+     * @param applicationService the scholarship application service
+     * @param userService the service used to check permissions
+     * @param applicationDao the scholarship application DAO
+     * @param rollupDao the DAO that reads the report rollups
+     * @param studentProfileDao the student profile DAO
+     * @param courseGradeDao the course grade DAO
+     * @param paymentDao the payment DAO
+     * @param dtoConverter the DTO converter
+     * @param reportCache the cache of report results
+     * @param studentReportCache the cache of per-student academic reports
+     */
+    public ReportService(ScholarshipApplicationService applicationService, UserService userService,
+                         ScholarshipApplicationDao applicationDao, ReportRollupDao rollupDao,
+                         StudentProfileDao studentProfileDao, CourseGradeDao courseGradeDao,
+                         PaymentDao paymentDao, DTOConverter dtoConverter, ReportCache reportCache,
+                         StudentReportCache studentReportCache) {
+        this.applicationService = applicationService;
+        this.userService = userService;
+        this.applicationDao = applicationDao;
+        this.rollupDao = rollupDao;
+        this.studentProfileDao = studentProfileDao;
+        this.courseGradeDao = courseGradeDao;
+        this.paymentDao = paymentDao;
+        this.dtoConverter = dtoConverter;
+        this.reportCache = reportCache;
+        this.studentReportCache = studentReportCache;
         logger.debug("ReportService initialized");
     }
 
@@ -50,53 +99,35 @@ public class ReportService {
      * @return a list of scholarship distribution data
      */
     public List<ScholarshipDistributionDTO> getScholarshipDistributionReport(LocalDate startDate, LocalDate endDate) throws Exception {
+        return reportCache.get(ReportType.SCHOLARSHIP_DISTRIBUTION, Arrays.asList(startDate, endDate),
+            () -> generateScholarshipDistributionReport(startDate, endDate));
+    }
+    
+    /**
+     * Computes the scholarship distribution report without consulting the cache
+     */
+    private List<ScholarshipDistributionDTO> generateScholarshipDistributionReport(LocalDate startDate, LocalDate endDate) {
         logger.debug("Generating scholarship distribution report from {} to {}", startDate, endDate);
         
-        // Get all scholarship programs
-        List<ScholarshipProgramDTO> programs = scholarshipService.getAllScholarshipPrograms();
-        
-        // Get all applications within the date range
-        List<ScholarshipApplicationDTO> applications = applicationService.getAllApplications().stream()
-            .filter(app -> {
-                LocalDateTime submissionDate = app.getSubmissionDate();
-                return submissionDate != null && 
-                       !submissionDate.toLocalDate().isBefore(startDate) && 
-                       !submissionDate.toLocalDate().isAfter(endDate);
-            })
-            .toList();
-        
-        // Group applications by program
-        Map<Long, List<ScholarshipApplicationDTO>> applicationsByProgram = new HashMap<>();
-        for (ScholarshipApplicationDTO app : applications) {
-            Long programId = app.getProgramId();
-            if (!applicationsByProgram.containsKey(programId)) {
-                applicationsByProgram.put(programId, new ArrayList<>());
-            }
-            applicationsByProgram.get(programId).add(app);
-        }
+        // Aggregate per program in the database, bounded by the half-open range [startDate, endDate + 1 day)
+        List<Object[]> rows = applicationDao.countByProgramSubmittedBetween(
+            startDate.atStartOfDay(),
+            endDate.plusDays(1).atStartOfDay()
+        );
         
         // Generate report data
-        List<ScholarshipDistributionDTO> reportData = new ArrayList<>();
-        for (ScholarshipProgramDTO program : programs) {
-            Long programId = program.getId();
-            List<ScholarshipApplicationDTO> programApplications = applicationsByProgram.getOrDefault(programId, new ArrayList<>());
-            
-            int totalApplications = programApplications.size();
-            if (totalApplications == 0) {
-                continue; // Skip programs with no applications in the period
-            }
-            
-            int approvedApplications = (int) programApplications.stream()
-                .filter(app -> "APPROVED".equals(app.getStatus()))
-                .count();
+        List<ScholarshipDistributionDTO> reportData = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            int totalApplications = ((Number) row[2]).intValue();
+            int approvedApplications = row[3] != null ? ((Number) row[3]).intValue() : 0;
             
             double approvalRate = totalApplications > 0 
                 ? (double) approvedApplications / totalApplications * 100 
                 : 0;
             
             reportData.add(new ScholarshipDistributionDTO(
-                program.getName(),
-                program.getFundingAmount(),
+                (String) row[0],
+                (BigDecimal) row[1],
                 totalApplications,
                 approvedApplications,
                 approvalRate
@@ -115,57 +146,33 @@ public class ReportService {
      * @return a list of application status data
      */
     public List<ApplicationStatusDTO> getApplicationStatusReport(Long programId, Long periodId) throws Exception {
+        return reportCache.get(ReportType.APPLICATION_STATUS, Arrays.asList(programId, periodId),
+            () -> generateApplicationStatusReport(programId, periodId));
+    }
+    
+    /**
+     * Computes the application status report without consulting the cache
+     */
+    private List<ApplicationStatusDTO> generateApplicationStatusReport(Long programId, Long periodId) {
         logger.debug("Generating application status report for programId: {}, periodId: {}", programId, periodId);
         
-        // Get all applications
-        List<ScholarshipApplicationDTO> allApplications = applicationService.getAllApplications();
-        
-        // Filter applications by program and period if specified
-        List<ScholarshipApplicationDTO> filteredApplications = allApplications.stream()
-            .filter(app -> programId == null || app.getProgramId().equals(programId))
-            .filter(app -> periodId == null || app.getPeriodId().equals(periodId))
-            .toList();
+        ensureRollups();
         
-        // Group applications by program and period
-        Map<String, ApplicationStatusDTO> reportMap = new HashMap<>();
+        // Read the precomputed program x period counts
+        List<Object[]> rows = rollupDao.findApplicationStatusRollups(programId, periodId);
         
-        for (ScholarshipApplicationDTO app : filteredApplications) {
-            String programName = Optional.ofNullable(scholarshipService.getScholarshipProgramById(app.getProgramId()))
-                .map(ScholarshipProgramDTO::getName)
-                .orElse("Unknown Program");
-                
-            String periodName = Optional.ofNullable(academicPeriodService.getAcademicPeriodById(app.getPeriodId()))
-                .map(AcademicPeriodDTO::getName)
-                .orElse("Unknown Period");
-            
-            String key = programName + "|" + periodName;
-            
-            ApplicationStatusDTO statusDTO = reportMap.getOrDefault(key, 
-                new ApplicationStatusDTO(programName, periodName, 0, 0, 0, BigDecimal.ZERO));
-            
-            // Update counts based on application status
-            switch (app.getStatus()) {
-                case "PENDING":
-                    statusDTO.setPendingCount(statusDTO.getPendingCount() + 1);
-                    break;
-                case "APPROVED":
-                    statusDTO.setApprovedCount(statusDTO.getApprovedCount() + 1);
-                    // Add funding amount for approved applications
-                    BigDecimal currentTotal = statusDTO.getTotalAmount();
-                    BigDecimal programAmount = Optional.ofNullable(scholarshipService.getScholarshipProgramById(app.getProgramId()))
-                        .map(ScholarshipProgramDTO::getFundingAmount)
-                        .orElse(BigDecimal.ZERO);
-                    statusDTO.setTotalAmount(currentTotal.add(programAmount));
-                    break;
-                case "REJECTED":
-                    statusDTO.setRejectedCount(statusDTO.getRejectedCount() + 1);
-                    break;
-            }
-            
-            reportMap.put(key, statusDTO);
+        List<ApplicationStatusDTO> reportData = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            reportData.add(new ApplicationStatusDTO(
+                (String) row[0],
+                (String) row[1],
+                ((Number) row[2]).intValue(),
+                ((Number) row[3]).intValue(),
+                ((Number) row[4]).intValue(),
+                (BigDecimal) row[5]
+            ));
         }
         
-        List<ApplicationStatusDTO> reportData = new ArrayList<>(reportMap.values());
         logger.debug("Generated application status report with {} entries", reportData.size());
         return reportData;
     }
@@ -178,54 +185,39 @@ public class ReportService {
      * @return a list of user activity data
      */
     public List<UserActivityDTO> getUserActivityReport(LocalDate startDate, LocalDate endDate) throws Exception {
+        return reportCache.get(ReportType.USER_ACTIVITY, Arrays.asList(startDate, endDate),
+            () -> generateUserActivityReport(startDate, endDate));
+    }
+    
+    /**
+     * Computes the user activity report without consulting the cache
+     */
+    private List<UserActivityDTO> generateUserActivityReport(LocalDate startDate, LocalDate endDate) {
         logger.debug("Generating user activity report from {} to {}", startDate, endDate);
         
-        // Get all users and their creation dates
-        Map<String, LocalDate> userCreationDates = userService.getAllUsers().stream()
-            .filter(user -> UserRole.STUDENT.name().equals(user.getRole()))
-            .collect(Collectors.toMap(
-                user -> user.getId().toString(),
-                user -> user.getCreatedAt().toLocalDate()
-            ));
+        YearMonth startYearMonth = YearMonth.from(startDate);
+        YearMonth endYearMonth = YearMonth.from(endDate);
+        if (endYearMonth.isBefore(startYearMonth)) {
+            return new ArrayList<>();
+        }
+        ensureRollups();
         
-        // Get all applications and their submission dates
-        Map<String, LocalDateTime> applicationSubmissionDates = applicationService.getAllApplications().stream()
-            .collect(Collectors.toMap(
-                app -> app.getId().toString(),
-                    ScholarshipApplicationDTO::getSubmissionDate
-            ));
+        // Bucket the precomputed monthly counts by their offset from the first month of the range
+        List<Object[]> rows = rollupDao.findMonthlyActivityRollups(startYearMonth, endYearMonth);
+        int months = (int) startYearMonth.until(endYearMonth, ChronoUnit.MONTHS) + 1;
+        int[] newUserCounts = new int[months];
+        int[] applicationCounts = new int[months];
+        addMonthlyCounts(newUserCounts, startYearMonth, rows, 2);
+        addMonthlyCounts(applicationCounts, startYearMonth, rows, 3);
         
-        // Generate monthly data points between start and end dates
+        // Generate monthly data points, skipping months without any activity
         List<UserActivityDTO> reportData = new ArrayList<>();
-        YearMonth currentYearMonth = YearMonth.from(startDate);
-        YearMonth endYearMonth = YearMonth.from(endDate);
-        
-        while (!currentYearMonth.isAfter(endYearMonth)) {
-            LocalDate monthStart = currentYearMonth.atDay(1);
-            LocalDate monthEnd = currentYearMonth.atEndOfMonth();
-            
-            // Count new users in this month
-            int newUserCount = (int) userCreationDates.values().stream()
-                .filter(date -> !date.isBefore(monthStart) && !date.isAfter(monthEnd))
-                .count();
-            
-            // Count applications in this month
-            int applicationCount = (int) applicationSubmissionDates.values().stream()
-                .filter(Objects::nonNull)
-                .filter(dateTime -> {
-                    LocalDate date = dateTime.toLocalDate();
-                    return !date.isBefore(monthStart) && !date.isAfter(monthEnd);
-                })
-                .count();
-            
-            // Add data point if there was any activity
-            if (newUserCount > 0 || applicationCount > 0) {
-                String monthLabel = currentYearMonth.format(DateTimeFormatter.ofPattern("yyyy-MM"));
-                reportData.add(new UserActivityDTO(monthLabel, newUserCount, applicationCount));
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("yyyy-MM");
+        for (int offset = 0; offset < months; offset++) {
+            if (newUserCounts[offset] > 0 || applicationCounts[offset] > 0) {
+                String monthLabel = startYearMonth.plusMonths(offset).format(monthFormatter);
+                reportData.add(new UserActivityDTO(monthLabel, newUserCounts[offset], applicationCounts[offset]));
             }
-            
-            // Move to next month
-            currentYearMonth = currentYearMonth.plusMonths(1);
         }
         
         logger.debug("Generated user activity report with {} entries", reportData.size());
@@ -233,95 +225,155 @@ public class ReportService {
     }
     
     /**
-     * Generates an academic performance report for the specified user
+     * Adds one count column of monthly rows starting with (year, month) to the bucket array
+     *
+     * @param buckets the counts indexed by month offset from the first month
+     * @param firstMonth the month stored at offset zero
+     * @param rows the monthly rows
+     * @param countColumn the index of the count column in each row
+     */
+    private void addMonthlyCounts(int[] buckets, YearMonth firstMonth, List<Object[]> rows, int countColumn) {
+        for (Object[] row : rows) {
+            YearMonth month = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            int offset = (int) firstMonth.until(month, ChronoUnit.MONTHS);
+            if (offset >= 0 && offset < buckets.length) {
+                buckets[offset] += ((Number) row[countColumn]).intValue();
+            }
+        }
+    }
+    
+    /**
+     * Recomputes all report rollup tables from the source tables
+     *
+     * @param userId the ID of the user requesting the rebuild
+     * @throws Exception if the user is not an administrator or the rebuild fails
+     */
+    public void rebuildReportRollups(Long userId) throws Exception {
+        User user = userService.getUserById(userId);
+        if (user == null || user.getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to rebuild report rollups. User ID: {}", userId);
+            throw new Exception("Only administrators can rebuild report rollups");
+        }
+        
+        logger.info("Rebuilding report rollups requested by user ID: {}", userId);
+        rollupDao.rebuild();
+        rollupsBuilt = true;
+        reportCache.clear();
+    }
+    
+    /**
+     * Populates the rollup tables on first use, e.g. right after they were created on an existing database
+     */
+    private void ensureRollups() {
+        if (rollupsBuilt) {
+            return;
+        }
+        synchronized (this) {
+            if (!rollupsBuilt && !rollupDao.isBuilt()) {
+                logger.info("Report rollups have never been built, rebuilding from source tables");
+                rollupDao.rebuild();
+            }
+            rollupsBuilt = true;
+        }
+    }
+    
+    /**
+     * Gets the academic performance report for the specified user.
+     * Reports are cached per student until their grades, payments, applications or profile change.
      *
      * @param userId the ID of the user to generate the report for
      * @return the academic performance report data
      * @throws Exception if an error occurs while generating the report
      */
     public AcademicPerformanceReportDTO getAcademicPerformanceReport(Long userId) throws Exception {
+        return studentReportCache.get(userId, () -> generateAcademicPerformanceReport(userId));
+    }
+    
+    private AcademicPerformanceReportDTO generateAcademicPerformanceReport(Long userId) throws Exception {
         logger.debug("Generating academic performance report for user ID: {}", userId);
         
         // Get user information
-        User u= userService.getUserById(userId);
-        UserDTO user = dtoConverter.convertToDTO(u);
-        if (user == null) {
+        User u = userService.getUserById(userId);
+        if (u == null) {
             throw new Exception("User not found");
         }
+        UserDTO user = dtoConverter.convertToDTO(u);
         
         // Create a new report DTO
         AcademicPerformanceReportDTO report = new AcademicPerformanceReportDTO();
         report.setUser(user);
         
         try {
-            // Get student profile information
-            // In a real implementation, this would fetch from a StudentProfileRepository
-            // For now, we'll use placeholder data based on the user
-            report.setStudentId("STU" + userId);
-            report.setMajor("Computer Science");
-            report.setDepartment("Information Technology");
-            report.setAcademicYear(3);
-            report.setEnrollmentDate(LocalDate.now().minusYears(3));
-            report.setExpectedGraduationDate(LocalDate.now().plusYears(1));
-            report.setCurrentGpa(3.75);
-            
-            // Get course grades
-            // In a real implementation, this would fetch from a CourseGradeRepository
-            // For now, we'll use placeholder data
+            // Student profile and transcript; users without a profile have no grades
+            Optional<StudentProfile> profile = studentProfileDao.findByUserId(userId);
             List<CourseGradeDTO> courseGrades = new ArrayList<>();
-            courseGrades.add(new CourseGradeDTO("CS101", "Introduction to Programming", 4, 4.0, "A", "Fall 2022", LocalDate.of(2022, 12, 15), true));
-            courseGrades.add(new CourseGradeDTO("CS201", "Data Structures", 4, 3.7, "A-", "Spring 2023", LocalDate.of(2023, 5, 10), true));
-            courseGrades.add(new CourseGradeDTO("CS301", "Algorithms", 3, 3.3, "B+", "Fall 2023", LocalDate.of(2023, 12, 15), true));
-            courseGrades.add(new CourseGradeDTO("CS401", "Database Systems", 4, 3.7, "A-", "Spring 2024", LocalDate.of(2024, 5, 10), true));
-            report.setCourseGrades(courseGrades);
+            double weightedGradeSum = 0;
+            long gpaCredits = 0;
+            long completedCredits = 0;
+            long creditsInProgress = 0;
             
-            // Get scholarship applications
-            List<ScholarshipApplicationDTO> applications = applicationService.getUserApplications(userId);
-            report.setScholarshipApplications(applications);
-            
-            // Get payment information
-            // In a real implementation, this would fetch from a PaymentRepository
-            // For now, we'll use placeholder data based on approved applications
-            List<PaymentDTO> payments = new ArrayList<>();
-            for (ScholarshipApplicationDTO app : applications) {
-                if ("APPROVED".equals(app.getStatus())) {
-                    ScholarshipProgramDTO program = scholarshipService.getScholarshipProgramById(app.getProgramId());
-                    if (program != null) {
-                        payments.add(new PaymentDTO(
-                            (long) payments.size() + 1,
-                            program.getName(),
-                            program.getFundingAmount(),
-                            app.getDecisionDate() != null ? app.getDecisionDate().plusDays(7) : LocalDateTime.now(),
-                            "PROCESSED",
-                            "REF" + (1000 + payments.size())
-                        ));
-                    }
+            if (profile.isPresent()) {
+                StudentProfile studentProfile = profile.get();
+                report.setStudentId(studentProfile.getStudentId());
+                report.setMajor(studentProfile.getMajor());
+                report.setDepartment(studentProfile.getDepartment());
+                report.setAcademicYear(studentProfile.getAcademicYear());
+                report.setEnrollmentDate(studentProfile.getEnrollmentDate());
+                report.setExpectedGraduationDate(studentProfile.getExpectedGraduationDate());
+                
+                for (CourseGrade grade : courseGradeDao.findByStudentId(studentProfile.getId())) {
+                    courseGrades.add(new CourseGradeDTO(
+                        grade.getCourse().getCode(),
+                        grade.getCourse().getName(),
+                        grade.getCourse().getCredits(),
+                        grade.getGradeValue(),
+                        grade.getGradeLetter(),
+                        grade.getAcademicPeriod().getName(),
+                        grade.getCompletionDate(),
+                        grade.isIncludedInGpa()
+                    ));
                 }
+                
+                Object[] totals = courseGradeDao.summarizeByStudentId(studentProfile.getId());
+                weightedGradeSum = ((Number) totals[0]).doubleValue();
+                gpaCredits = ((Number) totals[1]).longValue();
+                completedCredits = ((Number) totals[2]).longValue();
+                creditsInProgress = ((Number) totals[3]).longValue();
             }
-            report.setPayments(payments);
-            
-            // Calculate summary statistics
-            int totalCredits = courseGrades.stream().mapToInt(CourseGradeDTO::getCredits).sum();
-            report.setTotalCreditsCompleted(totalCredits);
-            report.setTotalCreditsInProgress(0); // Placeholder
+            report.setCourseGrades(courseGrades);
             
-            double averageGpa = courseGrades.stream()
-                .filter(CourseGradeDTO::isIncludedInGpa)
-                .mapToDouble(grade -> grade.getGradeValue() * grade.getCredits())
-                .sum() / courseGrades.stream()
-                    .filter(CourseGradeDTO::isIncludedInGpa)
-                    .mapToInt(CourseGradeDTO::getCredits)
-                    .sum();
+            Double averageGpa = gpaCredits > 0 ? weightedGradeSum / gpaCredits : null;
             report.setAverageGpa(averageGpa);
+            // The stored GPA takes precedence; fall back to the transcript when it has not been set
+            report.setCurrentGpa(profile.map(StudentProfile::getCurrentGpa).orElse(averageGpa));
+            report.setTotalCreditsCompleted((int) completedCredits);
+            report.setTotalCreditsInProgress((int) creditsInProgress);
             
+            // Get scholarship applications
+            List<ScholarshipApplicationDTO> applications = applicationService.getUserApplications(userId);
+            report.setScholarshipApplications(applications);
             report.setScholarshipsApplied(applications.size());
             report.setScholarshipsApproved((int) applications.stream()
                 .filter(app -> "APPROVED".equals(app.getStatus()))
                 .count());
             
-            BigDecimal totalAmount = payments.stream()
-                .map(PaymentDTO::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+            // Get payments with their programs in one query
+            List<PaymentDTO> payments = new ArrayList<>();
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (Payment payment : paymentDao.findByApplicantId(userId)) {
+                payments.add(new PaymentDTO(
+                    payment.getId(),
+                    payment.getApplication().getProgram().getName(),
+                    payment.getAmount(),
+                    payment.getPaymentDate(),
+                    payment.getStatus(),
+                    payment.getReferenceNumber()
+                ));
+                if ("PROCESSED".equals(payment.getStatus())) {
+                    totalAmount = totalAmount.add(payment.getAmount());
+                }
+            }
+            report.setPayments(payments);
             report.setTotalScholarshipAmount(totalAmount);
             
             logger.debug("Generated academic performance report for user ID: {}", userId);
@@ -1,5 +1,9 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.cache.SearchIndex;
+import com.kasperovich.commands.fromserver.ApplicationChangesResponse;
+import com.kasperovich.commands.fromserver.RecentActivityResponse;
 import com.kasperovich.dao.AcademicPeriodDao;
 import com.kasperovich.dao.ScholarshipApplicationDao;
 import com.kasperovich.dao.ScholarshipProgramDao;
@@ -8,6 +12,8 @@ import com.kasperovich.dao.impl.AcademicPeriodDaoImpl;
 import com.kasperovich.dao.impl.ScholarshipApplicationDaoImpl;
 import com.kasperovich.dao.impl.ScholarshipProgramDaoImpl;
 import com.kasperovich.dao.impl.UserDaoImpl;
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
 import com.kasperovich.dto.scholarship.ScholarshipApplicationDTO;
 import com.kasperovich.entities.*;
 import com.kasperovich.utils.DTOConverter;
@@ -15,7 +21,10 @@ import com.kasperovich.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -25,6 +34,8 @@ import java.util.stream.Collectors;
  */
 public class ScholarshipApplicationService {
     private static final Logger logger = LoggerUtil.getLogger(ScholarshipApplicationService.class);
+    static final Duration SYNC_OVERLAP = Duration.ofSeconds(5);
+    static final int MAX_RECENT_ACTIVITY = 50;
     
     private final ScholarshipApplicationDao applicationDao;
     private final ScholarshipProgramDao programDao;
@@ -32,17 +43,45 @@ public class ScholarshipApplicationService {
     private final UserDao userDao;
     private final DTOConverter dtoConverter;
     private final FundManagementService fundManagementService;
+    private final GpaService gpaService;
+    private final CacheInvalidator cacheInvalidator;
+    private final SearchIndex<Long> applicationIndex;
     
     /**
      * Constructs a new ScholarshipApplicationService with default DAOs.
      */
     public ScholarshipApplicationService() {
-        this.applicationDao = new ScholarshipApplicationDaoImpl();
-        this.programDao = new ScholarshipProgramDaoImpl();
-        this.periodDao = new AcademicPeriodDaoImpl();
-        this.userDao = new UserDaoImpl();
-        this.dtoConverter = new DTOConverter();
-        this.fundManagementService = new FundManagementService();
+        this(new ScholarshipApplicationDaoImpl(), new ScholarshipProgramDaoImpl(), new AcademicPeriodDaoImpl(),
+                new UserDaoImpl(), new DTOConverter(), new FundManagementService(), new GpaService(),
+                CacheInvalidator.getInstance(), SearchIndex.applications());
+    }
+    
+    /**
+     * Constructs a ScholarshipApplicationService on shared dependencies.
+     *
+     * @param applicationDao the scholarship application DAO
+     * @param programDao the scholarship program DAO
+     * @param periodDao the academic period DAO
+     * @param userDao the user DAO
+     * @param dtoConverter the DTO converter
+     * @param fundManagementService the service that reserves program funds
+     * @param gpaService the service that provides student GPAs
+     * @param cacheInvalidator updates the caches after applications change
+     * @param applicationIndex the search index of applications
+     */
+    public ScholarshipApplicationService(ScholarshipApplicationDao applicationDao, ScholarshipProgramDao programDao,
+                                         AcademicPeriodDao periodDao, UserDao userDao, DTOConverter dtoConverter,
+                                         FundManagementService fundManagementService, GpaService gpaService,
+                                         CacheInvalidator cacheInvalidator, SearchIndex<Long> applicationIndex) {
+        this.applicationDao = applicationDao;
+        this.programDao = programDao;
+        this.periodDao = periodDao;
+        this.userDao = userDao;
+        this.dtoConverter = dtoConverter;
+        this.fundManagementService = fundManagementService;
+        this.gpaService = gpaService;
+        this.cacheInvalidator = cacheInvalidator;
+        this.applicationIndex = applicationIndex;
     }
     
     /**
@@ -97,6 +136,11 @@ public class ScholarshipApplicationService {
                 throw new Exception("You have already applied for this program in the selected period");
             }
             
+            // Check the minimum GPA against the precomputed GPA of the student
+            if (!gpaService.meetsMinimumGpa(userId, program)) {
+                throw new Exception("Your GPA does not meet the minimum of " + program.getMinGpa() + " required by this program");
+            }
+            
             // Create and save the application
             ScholarshipApplication application = new ScholarshipApplication();
             application.setApplicant(user);
@@ -104,8 +148,10 @@ public class ScholarshipApplicationService {
             application.setPeriod(period.get());
             application.setSubmissionDate(LocalDateTime.now());
             application.setStatus("PENDING");
+            application.setLastModified(application.getSubmissionDate());
             
             ScholarshipApplication savedApplication = applicationDao.save(application);
+            cacheInvalidator.onApplicationSubmitted(savedApplication);
             logger.info("Scholarship application submitted successfully. ID: {}", savedApplication.getId());
             
             return dtoConverter.convertToDTO(savedApplication);
@@ -270,6 +316,144 @@ public class ScholarshipApplicationService {
         }
     }
     
+    /**
+     * Gets one page of scholarship applications for the review screen.
+     * The filter is an application status; the sort fields are those of
+     * {@link ScholarshipApplicationDao#findPage}.
+     *
+     * @param userId the ID of the user requesting the page
+     * @param request the page to get
+     * @return the applications on the page and the number of applications matching the filter and search
+     * @throws Exception if the user is not an admin or any error occurs while retrieving applications
+     */
+    public PageDTO<ScholarshipApplicationDTO> getApplicationsPage(Long userId, PageRequest request) throws Exception {
+        logger.debug("Getting scholarship applications page at offset {} for admin user: {}", request.getOffset(), userId);
+        
+        try {
+            User user = userDao.findById(userId)
+                    .orElseThrow(() -> new Exception("User not found with ID: " + userId));
+            
+            if (!UserRole.ADMIN.equals(user.getRole())) {
+                logger.warn("Non-admin user attempted to page through applications: {}", userId);
+                throw new Exception("Only administrators can view all applications");
+            }
+            
+            int offset = Math.max(0, request.getOffset());
+            int limit = Math.max(0, Math.min(request.getLimit(), PageRequest.MAX_LIMIT));
+            
+            // The index finds the matches; a short match list replaces the LIKE scan of the database
+            String search = request.getSearch();
+            List<Long> ids = null;
+            if (search != null && !search.isBlank()) {
+                List<Long> matches = applicationIndex.search(search, applicationDao::findSearchTexts);
+                if (matches.isEmpty()) {
+                    return new PageDTO<>(new ArrayList<>(), offset, 0);
+                }
+                if (matches.size() <= SearchIndex.MAX_ID_RESTRICTION) {
+                    ids = matches;
+                    search = null;
+                }
+            }
+            
+            long totalCount = applicationDao.countMatching(request.getFilter(), search, ids);
+            List<ScholarshipApplicationDTO> applications = offset >= totalCount || limit == 0 ? new ArrayList<>()
+                    : applicationDao.findPage(request.getFilter(), search, ids, request.getSortField(),
+                                    request.isAscending(), offset, limit).stream()
+                            .map(dtoConverter::convertToDTO)
+                            .collect(Collectors.toCollection(ArrayList::new));
+            
+            logger.info("Retrieved {} of {} scholarship applications at offset {}", applications.size(), totalCount, offset);
+            return new PageDTO<>(applications, offset, totalCount);
+        } catch (Exception e) {
+            logger.error("Error getting applications page", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Gets the most recently submitted or reviewed applications and the number of pending
+     * applications for the admin dashboard, without loading every application.
+     *
+     * @param userId the ID of the user requesting the activity
+     * @param limit the maximum number of applications to return, capped at {@link #MAX_RECENT_ACTIVITY}
+     * @return the recent applications, newest modification first, and the pending count
+     * @throws Exception if the user is not an admin or any error occurs while retrieving applications
+     */
+    public RecentActivityResponse getRecentActivityForAdmin(Long userId, int limit) throws Exception {
+        logger.debug("Getting the {} most recent scholarship applications for admin user: {}", limit, userId);
+        
+        try {
+            User user = userDao.findById(userId)
+                    .orElseThrow(() -> new Exception("User not found with ID: " + userId));
+            
+            if (!UserRole.ADMIN.equals(user.getRole())) {
+                logger.warn("Non-admin user attempted to get recent activity: {}", userId);
+                throw new Exception("Only administrators can view recent activity");
+            }
+            
+            int capped = Math.max(0, Math.min(limit, MAX_RECENT_ACTIVITY));
+            List<ScholarshipApplicationDTO> recent = capped == 0 ? new ArrayList<>()
+                    : applicationDao.findMostRecentlyModified(capped).stream()
+                            .map(dtoConverter::convertToDTO)
+                            .collect(Collectors.toCollection(ArrayList::new));
+            long pendingCount = applicationDao.countByStatus("PENDING");
+            
+            logger.info("Retrieved {} recent scholarship applications and {} pending for user: {}",
+                    recent.size(), pendingCount, userId);
+            return new RecentActivityResponse(recent, pendingCount);
+        } catch (Exception e) {
+            logger.error("Error getting recent activity", e);
+            throw e;
+        }
+    }
+    
+    /**
+     * Gets the applications that changed after a watermark, and the IDs of those deleted since.
+     * Administrators get the changes of all applications, other users those of their own.
+     * The returned watermark is the time the lookup started; the lookup itself reaches back by
+     * {@link #SYNC_OVERLAP}, so a change whose transaction committed after a previous lookup
+     * started is not missed even though its timestamp is older. Such changes may be returned
+     * twice, which is harmless since clients replace applications by ID.
+     *
+     * @param userId the ID of the requesting user
+     * @param since the watermark of the previous lookup, or null for all applications
+     * @return the changed applications, the deleted application IDs and the new watermark
+     * @throws Exception if the user is not found or any error occurs while retrieving applications
+     */
+    public ApplicationChangesResponse getApplicationChangesSince(Long userId, LocalDateTime since) throws Exception {
+        logger.debug("Getting scholarship application changes since {} for user: {}", since, userId);
+        
+        try {
+            User user = userDao.findById(userId)
+                    .orElseThrow(() -> new Exception("User not found with ID: " + userId));
+            Long applicantId = UserRole.ADMIN.equals(user.getRole()) ? null : user.getId();
+            
+            LocalDateTime watermark = LocalDateTime.now();
+            LocalDateTime from = since != null ? since.minus(SYNC_OVERLAP) : null;
+            
+            List<ScholarshipApplication> applications;
+            if (from != null) {
+                applications = applicationDao.findModifiedSince(from, applicantId);
+            } else {
+                applications = applicantId == null ? applicationDao.findAll() : applicationDao.findByApplicant(user);
+                applications.sort(Comparator.comparing(ScholarshipApplication::getId));
+            }
+            List<ScholarshipApplicationDTO> changed = applications.stream()
+                    .map(dtoConverter::convertToDTO)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            List<Long> removedIds = from != null
+                    ? new ArrayList<>(applicationDao.findRemovedIdsSince(from, applicantId))
+                    : new ArrayList<>();
+            
+            logger.info("Retrieved {} changed and {} deleted scholarship applications since {} for user: {}",
+                    changed.size(), removedIds.size(), since, userId);
+            return new ApplicationChangesResponse(changed, removedIds, watermark);
+        } catch (Exception e) {
+            logger.error("Error getting application changes", e);
+            throw e;
+        }
+    }
+    
     /**
      * Approves a scholarship application.
      *
@@ -315,6 +499,7 @@ public class ScholarshipApplicationService {
             
             // Update the application
             ScholarshipApplication updatedApplication = applicationDao.update(application);
+            cacheInvalidator.onApplicationChanged(application.getApplicant().getId());
             
             // Record the fund usage
             fundManagementService.recordFundUsage(program.getId(), scholarshipAmount, reviewerId);
@@ -365,6 +550,7 @@ public class ScholarshipApplicationService {
             
             // Update the application
             ScholarshipApplication updatedApplication = applicationDao.update(application);
+            cacheInvalidator.onApplicationChanged(application.getApplicant().getId());
             logger.info("Scholarship application with ID: {} has been rejected", applicationId);
             
             return dtoConverter.convertToDTO(updatedApplication);
@@ -1,5 +1,6 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
 import com.kasperovich.dao.ScholarshipProgramDao;
 import com.kasperovich.dao.impl.ScholarshipProgramDaoImpl;
 import com.kasperovich.dao.UserDao;
@@ -29,14 +30,29 @@ public class ScholarshipService {
     private final ScholarshipProgramDao scholarshipProgramDao;
     private final UserDao userDao;
     private final DTOConverter dtoConverter;
+    private final CacheInvalidator cacheInvalidator;
     
     /**
      * Constructs a new ScholarshipService with default implementations.
      */
     public ScholarshipService() {
-        this.scholarshipProgramDao = new ScholarshipProgramDaoImpl();
-        this.userDao = new UserDaoImpl();
-        this.dtoConverter = new DTOConverter();
+        this(new ScholarshipProgramDaoImpl(), new UserDaoImpl(), new DTOConverter(), CacheInvalidator.getInstance());
+    }
+    
+    /**
+     * Constructs a ScholarshipService on shared dependencies.
+     *
+     * @param scholarshipProgramDao the scholarship program DAO
+     * @param userDao the user DAO
+     * @param dtoConverter the DTO converter
+     * @param cacheInvalidator updates the caches after programs change
+     */
+    public ScholarshipService(ScholarshipProgramDao scholarshipProgramDao, UserDao userDao, DTOConverter dtoConverter,
+                              CacheInvalidator cacheInvalidator) {
+        this.scholarshipProgramDao = scholarshipProgramDao;
+        this.userDao = userDao;
+        this.dtoConverter = dtoConverter;
+        this.cacheInvalidator = cacheInvalidator;
     }
     
     /**
@@ -141,6 +157,7 @@ public class ScholarshipService {
         
         // Save the program
         ScholarshipProgram savedProgram = scholarshipProgramDao.save(program);
+        cacheInvalidator.onProgramsChanged();
         logger.info("Created new scholarship program with ID: {}", savedProgram.getId());
         
         // Return as DTO
@@ -203,6 +220,7 @@ public class ScholarshipService {
         
         // Save the updated program
         ScholarshipProgram updatedProgram = scholarshipProgramDao.update(program);
+        cacheInvalidator.onProgramsChanged();
         logger.info("Updated scholarship program with ID: {}", updatedProgram.getId());
         
         // Return as DTO
@@ -238,6 +256,7 @@ public class ScholarshipService {
         boolean deleted = scholarshipProgramDao.delete(program);
         
         if (deleted) {
+            cacheInvalidator.onProgramsChanged();
             logger.info("Deleted scholarship program with ID: {}", programId);
         } else {
             logger.warn("Failed to delete scholarship program with ID: {}", programId);
@@ -0,0 +1,391 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.cache.DataVersions;
+import com.kasperovich.cache.ReportCache;
+import com.kasperovich.cache.SearchIndex;
+import com.kasperovich.cache.ShortlistCache;
+import com.kasperovich.cache.StudentReportCache;
+import com.kasperovich.dao.*;
+import com.kasperovich.dao.impl.*;
+import com.kasperovich.database.QueryStatistics;
+import com.kasperovich.ranking.RankingEngine;
+import com.kasperovich.security.TokenManager;
+import com.kasperovich.utils.DTOConverter;
+import com.kasperovich.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Application context of the server.
+ * Builds the DAOs and services once and hands the same instances to every client connection,
+ * so accepting a connection does not build a service graph of its own.
+ * The services only keep their dependencies in final fields and are safe to share between threads.
+ * The caches are registered here as well and handed to the services that read them; the services
+ * that write report their changes to the shared {@link CacheInvalidator}.
+ * Tests can build a context from fakes with {@link #builder()}.
+ */
+public class ServerContext {
+    private static final Logger logger = LoggerUtil.getLogger(ServerContext.class);
+
+    private static ServerContext instance;
+
+    private final AuthenticationService authenticationService;
+    private final UserService userService;
+    private final ScholarshipService scholarshipService;
+    private final ScholarshipApplicationService scholarshipApplicationService;
+    private final AcademicPeriodService academicPeriodService;
+    private final FundManagementService fundManagementService;
+    private final ReportService reportService;
+    private final ReportJobService reportJobService;
+    private final ExportService exportService;
+    private final GpaService gpaService;
+    private final RankingService rankingService;
+    private final PaymentRunService paymentRunService;
+    private final DiagnosticsService diagnosticsService;
+    private final DataVersions dataVersions;
+    private final ReportCache reportCache;
+    private final ShortlistCache shortlistCache;
+    private final StudentReportCache studentReportCache;
+    private final SearchIndex<Long> userIndex;
+    private final SearchIndex<Long> applicationIndex;
+    private final CacheInvalidator cacheInvalidator;
+
+    private ServerContext(Builder builder) {
+        this.authenticationService = builder.authenticationService;
+        this.userService = builder.userService;
+        this.scholarshipService = builder.scholarshipService;
+        this.scholarshipApplicationService = builder.scholarshipApplicationService;
+        this.academicPeriodService = builder.academicPeriodService;
+        this.fundManagementService = builder.fundManagementService;
+        this.reportService = builder.reportService;
+        this.reportJobService = builder.reportJobService;
+        this.exportService = builder.exportService;
+        this.gpaService = builder.gpaService;
+        this.rankingService = builder.rankingService;
+        this.paymentRunService = builder.paymentRunService;
+        this.diagnosticsService = builder.diagnosticsService;
+        this.dataVersions = builder.dataVersions;
+        this.reportCache = builder.reportCache;
+        this.shortlistCache = builder.shortlistCache;
+        this.studentReportCache = builder.studentReportCache;
+        this.userIndex = builder.userIndex;
+        this.applicationIndex = builder.applicationIndex;
+        this.cacheInvalidator = builder.cacheInvalidator;
+    }
+
+    /**
+     * Gets the context of the running server, creating the default one on first use.
+     *
+     * @return the server context
+     */
+    public static synchronized ServerContext getInstance() {
+        if (instance == null) {
+            instance = createDefault();
+        }
+        return instance;
+    }
+
+    /**
+     * Sets the context of the running server.
+     * Called at startup, before the first client connects.
+     *
+     * @param context the context to use
+     */
+    public static synchronized void initialize(ServerContext context) {
+        instance = context;
+    }
+
+    /**
+     * Creates a builder for a context. Services and caches that are not set stay null.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a context backed by the Hibernate DAOs.
+     * Each DAO, the DTO converter and each service are created exactly once, on the process-wide caches.
+     *
+     * @return the default context
+     */
+    public static ServerContext createDefault() {
+        logger.info("Wiring server services");
+        DTOConverter dtoConverter = new DTOConverter();
+
+        ReportRollupDao rollupDao = new ReportRollupDaoImpl();
+        GpaAggregateDao gpaAggregateDao = new GpaAggregateDaoImpl();
+        PaymentRunDao paymentRunDao = new PaymentRunDaoImpl();
+        UserDao userDao = new UserDaoImpl(rollupDao);
+        ScholarshipProgramDao programDao = new ScholarshipProgramDaoImpl();
+        ScholarshipApplicationDao applicationDao = new ScholarshipApplicationDaoImpl(rollupDao);
+        AcademicPeriodDao periodDao = new AcademicPeriodDaoImpl();
+        BudgetDao budgetDao = new BudgetDaoImpl();
+        FundAllocationDao fundAllocationDao = new FundAllocationDaoImpl();
+        CourseGradeDao courseGradeDao = new CourseGradeDaoImpl(gpaAggregateDao);
+        StudentProfileDao studentProfileDao = new StudentProfileDaoImpl();
+        PaymentDao paymentDao = new PaymentDaoImpl(paymentRunDao);
+        ExportDao exportDao = new ExportDaoImpl();
+
+        DataVersions dataVersions = DataVersions.getInstance();
+        ReportCache reportCache = ReportCache.getInstance();
+        ShortlistCache shortlistCache = ShortlistCache.getInstance();
+        StudentReportCache studentReportCache = StudentReportCache.getInstance();
+        SearchIndex<Long> userIndex = SearchIndex.users();
+        SearchIndex<Long> applicationIndex = SearchIndex.applications();
+        CacheInvalidator cacheInvalidator = new CacheInvalidator(dataVersions, reportCache, shortlistCache,
+                studentReportCache, userIndex, applicationIndex);
+
+        UserService userService = new UserService(userDao, dtoConverter, cacheInvalidator, userIndex);
+        FundManagementService fundManagementService = new FundManagementService(
+                budgetDao, fundAllocationDao, programDao, applicationDao, userDao, dtoConverter, cacheInvalidator);
+        GpaService gpaService = new GpaService(courseGradeDao, gpaAggregateDao, studentProfileDao, userService,
+                cacheInvalidator);
+        ScholarshipApplicationService applicationService = new ScholarshipApplicationService(
+                applicationDao, programDao, periodDao, userDao, dtoConverter, fundManagementService, gpaService,
+                cacheInvalidator, applicationIndex);
+        ReportService reportService = new ReportService(applicationService, userService, applicationDao,
+                rollupDao, studentProfileDao, courseGradeDao, paymentDao, dtoConverter, reportCache,
+                studentReportCache);
+
+        ServerContext context = builder()
+                .authenticationService(new AuthenticationService(userDao, TokenManager.getInstance(), cacheInvalidator))
+                .userService(userService)
+                .scholarshipService(new ScholarshipService(programDao, userDao, dtoConverter, cacheInvalidator))
+                .scholarshipApplicationService(applicationService)
+                .academicPeriodService(new AcademicPeriodService(periodDao, dtoConverter, cacheInvalidator))
+                .fundManagementService(fundManagementService)
+                .reportService(reportService)
+                .reportJobService(new ReportJobService(reportService))
+                .exportService(new ExportService(exportDao, userService))
+                .gpaService(gpaService)
+                .rankingService(new RankingService(applicationDao, programDao, userService, dtoConverter,
+                        new RankingEngine(), shortlistCache))
+                .paymentRunService(new PaymentRunService(paymentDao, paymentRunDao, userService, cacheInvalidator))
+                .diagnosticsService(new DiagnosticsService(userService, QueryStatistics.getInstance()))
+                .dataVersions(dataVersions)
+                .reportCache(reportCache)
+                .shortlistCache(shortlistCache)
+                .studentReportCache(studentReportCache)
+                .userIndex(userIndex)
+                .applicationIndex(applicationIndex)
+                .cacheInvalidator(cacheInvalidator)
+                .build();
+        logger.info("Server services wired");
+        return context;
+    }
+
+    public AuthenticationService getAuthenticationService() {
+        return authenticationService;
+    }
+
+    public UserService getUserService() {
+        return userService;
+    }
+
+    public ScholarshipService getScholarshipService() {
+        return scholarshipService;
+    }
+
+    public ScholarshipApplicationService getScholarshipApplicationService() {
+        return scholarshipApplicationService;
+    }
+
+    public AcademicPeriodService getAcademicPeriodService() {
+        return academicPeriodService;
+    }
+
+    public FundManagementService getFundManagementService() {
+        return fundManagementService;
+    }
+
+    public ReportService getReportService() {
+        return reportService;
+    }
+
+    public ReportJobService getReportJobService() {
+        return reportJobService;
+    }
+
+    public ExportService getExportService() {
+        return exportService;
+    }
+
+    public GpaService getGpaService() {
+        return gpaService;
+    }
+
+    public RankingService getRankingService() {
+        return rankingService;
+    }
+
+    public PaymentRunService getPaymentRunService() {
+        return paymentRunService;
+    }
+
+    public DiagnosticsService getDiagnosticsService() {
+        return diagnosticsService;
+    }
+
+    public DataVersions getDataVersions() {
+        return dataVersions;
+    }
+
+    public ReportCache getReportCache() {
+        return reportCache;
+    }
+
+    public ShortlistCache getShortlistCache() {
+        return shortlistCache;
+    }
+
+    public StudentReportCache getStudentReportCache() {
+        return studentReportCache;
+    }
+
+    public SearchIndex<Long> getUserIndex() {
+        return userIndex;
+    }
+
+    public SearchIndex<Long> getApplicationIndex() {
+        return applicationIndex;
+    }
+
+    public CacheInvalidator getCacheInvalidator() {
+        return cacheInvalidator;
+    }
+
+    /**
+     * Builder for a server context.
+     */
+    public static class Builder {
+        private AuthenticationService authenticationService;
+        private UserService userService;
+        private ScholarshipService scholarshipService;
+        private ScholarshipApplicationService scholarshipApplicationService;
+        private AcademicPeriodService academicPeriodService;
+        private FundManagementService fundManagementService;
+        private ReportService reportService;
+        private ReportJobService reportJobService;
+        private ExportService exportService;
+        private GpaService gpaService;
+        private RankingService rankingService;
+        private PaymentRunService paymentRunService;
+        private DiagnosticsService diagnosticsService;
+        private DataVersions dataVersions;
+        private ReportCache reportCache;
+        private ShortlistCache shortlistCache;
+        private StudentReportCache studentReportCache;
+        private SearchIndex<Long> userIndex;
+        private SearchIndex<Long> applicationIndex;
+        private CacheInvalidator cacheInvalidator;
+
+        private Builder() {
+        }
+
+        public Builder authenticationService(AuthenticationService authenticationService) {
+            this.authenticationService = authenticationService;
+            return this;
+        }
+
+        public Builder userService(UserService userService) {
+            this.userService = userService;
+            return this;
+        }
+
+        public Builder scholarshipService(ScholarshipService scholarshipService) {
+            this.scholarshipService = scholarshipService;
+            return this;
+        }
+
+        public Builder scholarshipApplicationService(ScholarshipApplicationService scholarshipApplicationService) {
+            this.scholarshipApplicationService = scholarshipApplicationService;
+            return this;
+        }
+
+        public Builder academicPeriodService(AcademicPeriodService academicPeriodService) {
+            this.academicPeriodService = academicPeriodService;
+            return this;
+        }
+
+        public Builder fundManagementService(FundManagementService fundManagementService) {
+            this.fundManagementService = fundManagementService;
+            return this;
+        }
+
+        public Builder reportService(ReportService reportService) {
+            this.reportService = reportService;
+            return this;
+        }
+
+        public Builder reportJobService(ReportJobService reportJobService) {
+            this.reportJobService = reportJobService;
+            return this;
+        }
+
+        public Builder exportService(ExportService exportService) {
+            this.exportService = exportService;
+            return this;
+        }
+
+        public Builder gpaService(GpaService gpaService) {
+            this.gpaService = gpaService;
+            return this;
+        }
+
+        public Builder rankingService(RankingService rankingService) {
+            this.rankingService = rankingService;
+            return this;
+        }
+
+        public Builder paymentRunService(PaymentRunService paymentRunService) {
+            this.paymentRunService = paymentRunService;
+            return this;
+        }
+
+        public Builder diagnosticsService(DiagnosticsService diagnosticsService) {
+            this.diagnosticsService = diagnosticsService;
+            return this;
+        }
+
+        public Builder dataVersions(DataVersions dataVersions) {
+            this.dataVersions = dataVersions;
+            return this;
+        }
+
+        public Builder reportCache(ReportCache reportCache) {
+            this.reportCache = reportCache;
+            return this;
+        }
+
+        public Builder shortlistCache(ShortlistCache shortlistCache) {
+            this.shortlistCache = shortlistCache;
+            return this;
+        }
+
+        public Builder studentReportCache(StudentReportCache studentReportCache) {
+            this.studentReportCache = studentReportCache;
+            return this;
+        }
+
+        public Builder userIndex(SearchIndex<Long> userIndex) {
+            this.userIndex = userIndex;
+            return this;
+        }
+
+        public Builder applicationIndex(SearchIndex<Long> applicationIndex) {
+            this.applicationIndex = applicationIndex;
+            return this;
+        }
+
+        public Builder cacheInvalidator(CacheInvalidator cacheInvalidator) {
+            this.cacheInvalidator = cacheInvalidator;
+            return this;
+        }
+
+        public ServerContext build() {
+            return new ServerContext(this);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.kasperovich.service;
 
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.cache.SearchIndex;
 import com.kasperovich.dao.UserDao;
 import com.kasperovich.dao.impl.UserDaoImpl;
 import com.kasperovich.dto.auth.UserDTO;
+import com.kasperovich.dto.paging.PageDTO;
+import com.kasperovich.dto.paging.PageRequest;
 import com.kasperovich.entities.User;
 import com.kasperovich.entities.UserRole;
 import com.kasperovich.utils.DTOConverter;
@@ -11,6 +15,7 @@ import com.kasperovich.utils.PasswordUtils;
 import org.apache.logging.log4j.Logger;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -23,16 +28,33 @@ public class UserService {
     private final UserDao userDao;
     private final Map<String, Long> authTokens; // token -> userId
     private final DTOConverter dtoConverter;
+    private final CacheInvalidator cacheInvalidator;
+    private final SearchIndex<Long> userIndex;
     
     private static UserService instance;
     
     /**
-     * Private constructor for singleton pattern.
+     * Creates a user service with its own DAO and converter.
      */
     public UserService() {
-        this.userDao = new UserDaoImpl();
-        this.authTokens = new HashMap<>();
-        this.dtoConverter = new DTOConverter();
+        this(new UserDaoImpl(), new DTOConverter(), CacheInvalidator.getInstance(), SearchIndex.users());
+    }
+    
+    /**
+     * Creates a user service on shared dependencies.
+     *
+     * @param userDao the user DAO
+     * @param dtoConverter the DTO converter
+     * @param cacheInvalidator updates the caches after users change
+     * @param userIndex the search index of users
+     */
+    public UserService(UserDao userDao, DTOConverter dtoConverter, CacheInvalidator cacheInvalidator,
+                       SearchIndex<Long> userIndex) {
+        this.userDao = userDao;
+        this.authTokens = new ConcurrentHashMap<>();
+        this.dtoConverter = dtoConverter;
+        this.cacheInvalidator = cacheInvalidator;
+        this.userIndex = userIndex;
     }
     
     /**
@@ -79,7 +101,9 @@ public class UserService {
         user.setRole(UserRole.STUDENT);
         user.setActive(true);
         
-        return userDao.save(user);
+        User savedUser = userDao.save(user);
+        cacheInvalidator.onUserRegistered(savedUser);
+        return savedUser;
     }
     
     /**
@@ -215,6 +239,54 @@ public class UserService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Gets one page of users for the user management screen.
+     * The filter is a role name; the sort fields are those of {@link UserDao#findPage}.
+     *
+     * @param adminId the ID of the user requesting the page
+     * @param request the page to get
+     * @return the users on the page and the number of users matching the filter and search
+     * @throws Exception if the user is not an admin or the filter is not a role
+     */
+    public PageDTO<UserDTO> getUsersPage(Long adminId, PageRequest request) throws Exception {
+        logger.debug("Getting users page at offset {} for admin: {}", request.getOffset(), adminId);
+        
+        User admin = userDao.findById(adminId)
+                .orElseThrow(() -> new Exception("User not found with ID: " + adminId));
+        if (admin.getRole() != UserRole.ADMIN) {
+            logger.warn("Non-admin user attempted to page through users: {}", adminId);
+            throw new Exception("Only administrators can view all users");
+        }
+        
+        UserRole role = request.getFilter() != null ? UserRole.valueOf(request.getFilter()) : null;
+        int offset = Math.max(0, request.getOffset());
+        int limit = Math.max(0, Math.min(request.getLimit(), PageRequest.MAX_LIMIT));
+        
+        // The index finds the matches; a short match list replaces the LIKE scan of the database
+        String search = request.getSearch();
+        List<Long> ids = null;
+        if (search != null && !search.isBlank()) {
+            List<Long> matches = userIndex.search(search, userDao::findSearchTexts);
+            if (matches.isEmpty()) {
+                return new PageDTO<>(new ArrayList<>(), offset, 0);
+            }
+            if (matches.size() <= SearchIndex.MAX_ID_RESTRICTION) {
+                ids = matches;
+                search = null;
+            }
+        }
+        
+        long totalCount = userDao.countMatching(role, search, ids);
+        List<UserDTO> users = offset >= totalCount || limit == 0 ? new ArrayList<>()
+                : userDao.findPage(role, search, ids, request.getSortField(), request.isAscending(), offset, limit)
+                        .stream()
+                        .map(dtoConverter::convertToDTO)
+                        .collect(Collectors.toCollection(ArrayList::new));
+        
+        logger.info("Retrieved {} of {} users at offset {}", users.size(), totalCount, offset);
+        return new PageDTO<>(users, offset, totalCount);
+    }
+    
     /**
      * Updates a user's profile with the provided information.
      * Only updates the fields that are not null.
@@ -261,6 +333,7 @@ public class UserService {
         }
         
         User updatedUser = userDao.save(user);
+        cacheInvalidator.onUserProfileChanged(updatedUser);
         return dtoConverter.convertToDTO(updatedUser);
     }
     
@@ -287,6 +360,7 @@ public class UserService {
         user.setActive(active);
         
         User updatedUser = userDao.save(user);
+        cacheInvalidator.onUserStatusChanged(userId);
         return dtoConverter.convertToDTO(updatedUser);
     }
     
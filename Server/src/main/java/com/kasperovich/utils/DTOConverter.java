@@ -106,6 +106,7 @@ public class DTOConverter {
         dto.setStatus(application.getStatus());
         dto.setDecisionDate(application.getDecisionDate());
         dto.setDecisionComments(application.getDecisionComments());
+        dto.setLastModified(application.getLastModified());
         
         // Set applicant information
         User applicant = application.getApplicant();
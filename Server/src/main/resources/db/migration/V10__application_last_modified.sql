@@ -0,0 +1,32 @@
+-- Migration script for incremental synchronization of application lists
+
+-- Time of the last submit or review of each application
+IF COL_LENGTH('scholarship_applications', 'last_modified') IS NULL
+    ALTER TABLE scholarship_applications ADD last_modified DATETIME2 NULL;
+GO
+
+UPDATE scholarship_applications
+    SET last_modified = COALESCE(decision_date, submission_date)
+    WHERE last_modified IS NULL;
+GO
+
+ALTER TABLE scholarship_applications ALTER COLUMN last_modified DATETIME2 NOT NULL;
+GO
+
+-- Index for finding the applications changed after a watermark
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_last_modified')
+    CREATE INDEX idx_scholarship_applications_last_modified
+        ON scholarship_applications(last_modified);
+
+-- Deleted applications, so incremental synchronization can remove them from client lists
+IF OBJECT_ID('application_tombstones', 'U') IS NULL
+    CREATE TABLE application_tombstones (
+        application_id BIGINT NOT NULL PRIMARY KEY,
+        applicant_id BIGINT NOT NULL,
+        deleted_at DATETIME2 NOT NULL
+    );
+
+-- Index for finding the deletions after a watermark
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_application_tombstones_deleted_at')
+    CREATE INDEX idx_application_tombstones_deleted_at
+        ON application_tombstones(deleted_at);
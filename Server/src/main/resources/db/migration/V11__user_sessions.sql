@@ -0,0 +1,17 @@
+-- Migration script for resuming sessions after a reconnect or a server restart
+
+-- Authentication tokens issued at login, stored as SHA-256 hashes
+IF OBJECT_ID('user_sessions', 'U') IS NULL
+    CREATE TABLE user_sessions (
+        token_hash VARCHAR(64) NOT NULL PRIMARY KEY,
+        user_id BIGINT NOT NULL,
+        created_at DATETIME2 NOT NULL,
+        expires_at DATETIME2 NOT NULL,
+        CONSTRAINT fk_user_sessions_user FOREIGN KEY (user_id) REFERENCES users(id)
+    );
+GO
+
+-- Index for removing expired sessions
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_user_sessions_expires_at')
+    CREATE INDEX idx_user_sessions_expires_at
+        ON user_sessions(expires_at);
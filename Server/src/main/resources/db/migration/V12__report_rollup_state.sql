@@ -0,0 +1,15 @@
+-- Migration script recording when the report rollups were built
+
+-- A single row written by every full rebuild, so reports know the rollups have been populated
+-- even when the source tables are empty
+IF OBJECT_ID('report_rollup_state', 'U') IS NULL
+    CREATE TABLE report_rollup_state (
+        id INT NOT NULL PRIMARY KEY,
+        rebuilt_at DATETIME2 NOT NULL,
+        CONSTRAINT ck_report_rollup_state_single_row CHECK (id = 1)
+    );
+GO
+
+-- Budget totals are kept on the budgets themselves, so this rollup was never read
+IF OBJECT_ID('report_budget_allocation_rollup', 'U') IS NOT NULL
+    DROP TABLE report_budget_allocation_rollup;
@@ -0,0 +1,14 @@
+-- Migration script for sharing session inactivity between servers
+
+-- Time a session was last used on any server, so a server does not end a session
+-- that is idle on it but in use on another
+IF COL_LENGTH('user_sessions', 'last_used_at') IS NULL
+    ALTER TABLE user_sessions ADD last_used_at DATETIME2 NULL;
+GO
+
+UPDATE user_sessions
+    SET last_used_at = created_at
+    WHERE last_used_at IS NULL;
+GO
+
+ALTER TABLE user_sessions ALTER COLUMN last_used_at DATETIME2 NOT NULL;
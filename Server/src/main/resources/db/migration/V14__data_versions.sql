@@ -0,0 +1,16 @@
+-- Migration script for data set versions shared by all servers
+
+-- Current version of each data set clients cache. Every server bumps and reads these rows,
+-- so a change made through one server is seen by clients connected to any other
+IF OBJECT_ID('data_versions', 'U') IS NULL
+    CREATE TABLE data_versions (
+        data_set VARCHAR(50) NOT NULL PRIMARY KEY,
+        version BIGINT NOT NULL
+    );
+GO
+
+-- Versions start at the current time, above any version a server issued from its own clock before
+INSERT INTO data_versions (data_set, version)
+SELECT s.data_set, DATEDIFF_BIG(MILLISECOND, '1970-01-01', SYSUTCDATETIME())
+FROM (VALUES ('SCHOLARSHIP_PROGRAMS'), ('ACADEMIC_PERIODS'), ('BUDGETS'), ('USERS')) AS s(data_set)
+WHERE NOT EXISTS (SELECT 1 FROM data_versions v WHERE v.data_set = s.data_set);
@@ -0,0 +1,8 @@
+-- Migration script guarding payments made by servers sharing the database
+
+-- At most one payment that has not failed per application, so two payment runs writing the same
+-- application at once cannot both pay it. Creating it fails if an application was already paid twice.
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'ux_payments_application_not_failed')
+    CREATE UNIQUE INDEX ux_payments_application_not_failed
+        ON payments(application_id)
+        WHERE status <> 'FAILED';
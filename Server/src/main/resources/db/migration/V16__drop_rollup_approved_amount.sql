@@ -0,0 +1,16 @@
+-- Migration script dropping the stored approved amount from the status rollup
+
+-- The amount is computed from the current program funding when the report is read, so a changed
+-- funding amount applies to every approved application instead of only to later status changes
+IF COL_LENGTH('report_application_status_rollup', 'approved_amount') IS NOT NULL
+BEGIN
+    DECLARE @constraint NVARCHAR(256) = (
+        SELECT dc.name
+        FROM sys.default_constraints dc
+        JOIN sys.columns c ON c.object_id = dc.parent_object_id AND c.column_id = dc.parent_column_id
+        WHERE dc.parent_object_id = OBJECT_ID('report_application_status_rollup')
+          AND c.name = 'approved_amount');
+    IF @constraint IS NOT NULL
+        EXEC('ALTER TABLE report_application_status_rollup DROP CONSTRAINT ' + @constraint);
+    ALTER TABLE report_application_status_rollup DROP COLUMN approved_amount;
+END
@@ -0,0 +1,32 @@
+-- Migration script guaranteeing the indexes of the initial schemas
+
+-- A database built by hbm2ddl is baselined at version 4, so the indexes V1 and V4 create were
+-- never added to it, and SQL Server does not index foreign keys by itself
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_student_profiles_user_id')
+    CREATE INDEX idx_student_profiles_user_id ON student_profiles(user_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_course_grades_student_id')
+    CREATE INDEX idx_course_grades_student_id ON course_grades(student_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_course_grades_course_id')
+    CREATE INDEX idx_course_grades_course_id ON course_grades(course_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_course_grades_period_id')
+    CREATE INDEX idx_course_grades_period_id ON course_grades(period_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_applicant_id')
+    CREATE INDEX idx_scholarship_applications_applicant_id ON scholarship_applications(applicant_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_program_id')
+    CREATE INDEX idx_scholarship_applications_program_id ON scholarship_applications(program_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_period_id')
+    CREATE INDEX idx_scholarship_applications_period_id ON scholarship_applications(period_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_payments_application_id')
+    CREATE INDEX idx_payments_application_id ON payments(application_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_budgets_fiscal_year')
+    CREATE INDEX idx_budgets_fiscal_year ON budgets(fiscal_year);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_budgets_status')
+    CREATE INDEX idx_budgets_status ON budgets(status);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_budgets_created_by')
+    CREATE INDEX idx_budgets_created_by ON budgets(created_by);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_fund_allocations_budget_id')
+    CREATE INDEX idx_fund_allocations_budget_id ON fund_allocations(budget_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_fund_allocations_program_id')
+    CREATE INDEX idx_fund_allocations_program_id ON fund_allocations(program_id);
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_fund_allocations_allocated_by')
+    CREATE INDEX idx_fund_allocations_allocated_by ON fund_allocations(allocated_by);
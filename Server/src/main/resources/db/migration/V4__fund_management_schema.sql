@@ -47,6 +47,7 @@ ALTER TABLE scholarship_programs
 ADD allocated_amount DECIMAL(12,2) DEFAULT 0.00,
     used_amount DECIMAL(12,2) DEFAULT 0.00,
     remaining_amount DECIMAL(12,2) DEFAULT 0.00;
+GO
 
 -- Update existing records to use the default values
 UPDATE scholarship_programs 
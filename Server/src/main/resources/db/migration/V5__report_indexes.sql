@@ -0,0 +1,6 @@
+-- Migration script for report query indexes
+
+-- Covering index for date-range report aggregates grouped by program and status
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_submission_program_status')
+    CREATE INDEX idx_scholarship_applications_submission_program_status
+        ON scholarship_applications(submission_date, program_id, status);
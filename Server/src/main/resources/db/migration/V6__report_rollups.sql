@@ -0,0 +1,34 @@
+-- Migration script for report rollup tables
+
+-- Application status counts per program and academic period
+IF OBJECT_ID('report_application_status_rollup', 'U') IS NULL
+    CREATE TABLE report_application_status_rollup (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        program_id BIGINT NOT NULL,
+        period_id BIGINT NOT NULL,
+        pending_count INT NOT NULL DEFAULT 0,
+        approved_count INT NOT NULL DEFAULT 0,
+        rejected_count INT NOT NULL DEFAULT 0,
+        approved_amount DECIMAL(14,2) NOT NULL DEFAULT 0.00,
+        CONSTRAINT uq_report_application_status_rollup UNIQUE (program_id, period_id)
+    );
+
+-- New students and submitted applications per calendar month
+IF OBJECT_ID('report_monthly_activity_rollup', 'U') IS NULL
+    CREATE TABLE report_monthly_activity_rollup (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        activity_year INT NOT NULL,
+        activity_month INT NOT NULL,
+        new_user_count INT NOT NULL DEFAULT 0,
+        application_count INT NOT NULL DEFAULT 0,
+        CONSTRAINT uq_report_monthly_activity_rollup UNIQUE (activity_year, activity_month)
+    );
+
+-- Allocation totals per budget
+IF OBJECT_ID('report_budget_allocation_rollup', 'U') IS NULL
+    CREATE TABLE report_budget_allocation_rollup (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        budget_id BIGINT NOT NULL UNIQUE,
+        allocation_count INT NOT NULL DEFAULT 0,
+        allocated_total DECIMAL(14,2) NOT NULL DEFAULT 0.00
+    );
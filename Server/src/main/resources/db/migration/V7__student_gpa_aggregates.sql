@@ -0,0 +1,29 @@
+-- Migration script for precomputed student GPA sums
+
+-- Running weighted grade sums per student and academic period
+IF OBJECT_ID('student_gpa_aggregates', 'U') IS NULL
+    CREATE TABLE student_gpa_aggregates (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        student_id BIGINT NOT NULL,
+        period_id BIGINT NOT NULL,
+        weighted_grade_sum DECIMAL(12,4) NOT NULL DEFAULT 0,
+        gpa_credits INT NOT NULL DEFAULT 0,
+        CONSTRAINT uq_student_gpa_aggregates UNIQUE (student_id, period_id)
+    );
+
+-- Backfill from existing grades when the table is still empty
+INSERT INTO student_gpa_aggregates (student_id, period_id, weighted_grade_sum, gpa_credits)
+SELECT g.student_id, g.period_id, SUM(g.grade_value * c.credits), SUM(c.credits)
+FROM course_grades g
+JOIN courses c ON c.id = g.course_id
+WHERE g.included_in_gpa = 1
+  AND NOT EXISTS (SELECT 1 FROM student_gpa_aggregates)
+GROUP BY g.student_id, g.period_id;
+
+-- Bring the stored GPA of every student in line with the sums
+UPDATE student_profiles
+SET current_gpa = (
+    SELECT CASE WHEN SUM(a.gpa_credits) > 0 THEN SUM(a.weighted_grade_sum) / SUM(a.gpa_credits) END
+    FROM student_gpa_aggregates a
+    WHERE a.student_id = student_profiles.id
+);
@@ -0,0 +1,6 @@
+-- Migration script for application ranking indexes
+
+-- Index for loading the pending applications of a program in submission order
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_program_status_submission')
+    CREATE INDEX idx_scholarship_applications_program_status_submission
+        ON scholarship_applications(program_id, status, submission_date);
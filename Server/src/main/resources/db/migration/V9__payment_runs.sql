@@ -0,0 +1,28 @@
+-- Migration script for payment runs
+
+-- Progress and checkpoint of each payment run
+IF OBJECT_ID('payment_runs', 'U') IS NULL
+    CREATE TABLE payment_runs (
+        id BIGINT IDENTITY(1,1) PRIMARY KEY,
+        status VARCHAR(20) NOT NULL,
+        started_by BIGINT NOT NULL,
+        started_at DATETIME2 NOT NULL,
+        finished_at DATETIME2 NULL,
+        last_application_id BIGINT NOT NULL DEFAULT 0,
+        processed_count BIGINT NOT NULL DEFAULT 0,
+        total_amount DECIMAL(14,2) NOT NULL DEFAULT 0,
+        chunk_count INT NOT NULL DEFAULT 0,
+        elapsed_millis BIGINT NOT NULL DEFAULT 0,
+        error_message NVARCHAR(500) NULL,
+        CONSTRAINT fk_payment_runs_started_by FOREIGN KEY (started_by) REFERENCES users(id)
+    );
+
+-- Index for walking approved applications in keyset chunks
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_scholarship_applications_status_id')
+    CREATE INDEX idx_scholarship_applications_status_id
+        ON scholarship_applications(status, id);
+
+-- Index for checking whether an application has already been paid
+IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'idx_payments_application_status')
+    CREATE INDEX idx_payments_application_status
+        ON payments(application_id, status);
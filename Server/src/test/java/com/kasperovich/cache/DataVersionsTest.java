@@ -0,0 +1,87 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.dao.DataVersionDao;
+import com.kasperovich.dto.sync.DataSet;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the data set version counters.
+ */
+public class DataVersionsTest {
+
+    private final DataVersions versions = new DataVersions(1_000);
+
+    @Test
+    void bumpOnlyAdvancesTheChangedDataSets() {
+        versions.bump(DataSet.BUDGETS, DataSet.USERS);
+        versions.bump(DataSet.BUDGETS);
+
+        assertEquals(1_002, versions.get(DataSet.BUDGETS));
+        assertEquals(1_001, versions.get(DataSet.USERS));
+        long programs = versions.get(DataSet.SCHOLARSHIP_PROGRAMS);
+        versions.bump(DataSet.SCHOLARSHIP_PROGRAMS);
+        assertNotEquals(programs, versions.get(DataSet.SCHOLARSHIP_PROGRAMS));
+    }
+
+    @Test
+    void snapshotIsNotAffectedByLaterChanges() {
+        EnumMap<DataSet, Long> snapshot = versions.snapshot();
+        versions.bump(DataSet.BUDGETS);
+
+        assertEquals(DataSet.values().length, snapshot.size());
+        assertEquals(1_000L, snapshot.get(DataSet.BUDGETS));
+        assertEquals(1_001, versions.get(DataSet.BUDGETS));
+    }
+
+    @Test
+    void changeThroughAnotherServerIsSeenAfterTheRefreshInterval() {
+        Map<DataSet, Long> shared = new EnumMap<>(DataSet.class);
+        shared.put(DataSet.BUDGETS, 5_000L);
+        DataVersionDao dao = new DataVersionDao() {
+            @Override
+            public Map<DataSet, Long> findAll() {
+                return new EnumMap<>(shared);
+            }
+
+            @Override
+            public void increment(DataSet... dataSets) {
+                for (DataSet dataSet : dataSets) {
+                    shared.merge(dataSet, 1L, Long::sum);
+                }
+            }
+        };
+        AtomicLong now = new AtomicLong();
+        DataVersions server = new DataVersions(dao, 1_000, now::get);
+        DataVersions otherServer = new DataVersions(dao, 2_000, now::get);
+
+        assertEquals(5_000, server.get(DataSet.BUDGETS));
+        otherServer.bump(DataSet.BUDGETS);
+        assertEquals(5_001, otherServer.get(DataSet.BUDGETS));
+        assertEquals(5_000, server.get(DataSet.BUDGETS));
+
+        now.addAndGet(DataVersions.REFRESH_MILLIS);
+        assertEquals(5_001, server.get(DataSet.BUDGETS));
+    }
+
+    @Test
+    void dateDependentVersionsChangeWithTheDay() {
+        AtomicLong now = new AtomicLong(Duration.ofDays(20_000).toMillis());
+        DataVersions dated = new DataVersions(null, 1_000, now::get);
+        long programs = dated.get(DataSet.SCHOLARSHIP_PROGRAMS);
+        long periods = dated.get(DataSet.ACADEMIC_PERIODS);
+
+        now.addAndGet(Duration.ofDays(1).toMillis());
+
+        assertNotEquals(programs, dated.get(DataSet.SCHOLARSHIP_PROGRAMS));
+        assertNotEquals(periods, dated.get(DataSet.ACADEMIC_PERIODS));
+        assertEquals(1_000, dated.get(DataSet.BUDGETS));
+        assertEquals(dated.get(DataSet.ACADEMIC_PERIODS), dated.snapshot().get(DataSet.ACADEMIC_PERIODS));
+    }
+}
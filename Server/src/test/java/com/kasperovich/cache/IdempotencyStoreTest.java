@@ -0,0 +1,101 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.commands.fromserver.ResponseFromServer;
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the store of responses to commands sent with an idempotency key.
+ */
+public class IdempotencyStoreTest {
+
+    private static final long TTL_MILLIS = 1000;
+
+    private AtomicLong now;
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        store = new IdempotencyStore(3, TTL_MILLIS, now::get);
+    }
+
+    @Test
+    void testRepeatedKeyGetsTheOriginalResponse() throws Exception {
+        assertNull(store.claim("a"));
+        ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SUCCESS, "created");
+        store.complete("a", response);
+
+        CompletableFuture<ResponseWrapper> original = store.claim("a");
+
+        assertNotNull(original);
+        assertSame(response, original.get());
+        assertNull(store.claim("b"));
+    }
+
+    @Test
+    void testRepeatedKeyWaitsForTheRunningCommand() throws Exception {
+        assertNull(store.claim("a"));
+
+        CompletableFuture<ResponseWrapper> original = store.claim("a");
+        assertFalse(original.isDone());
+
+        ResponseWrapper response = new ResponseWrapper(ResponseFromServer.SUCCESS);
+        store.complete("a", response);
+        assertSame(response, original.get());
+    }
+
+    @Test
+    void testAbandonedKeyCanBeClaimedAgain() {
+        assertNull(store.claim("a"));
+        CompletableFuture<ResponseWrapper> waiting = store.claim("a");
+
+        store.abandon("a");
+
+        assertTrue(waiting.isCompletedExceptionally());
+        assertNull(store.claim("a"));
+    }
+
+    @Test
+    void testExpiredResponsesAreDropped() {
+        assertNull(store.claim("a"));
+        store.complete("a", new ResponseWrapper(ResponseFromServer.SUCCESS));
+        assertNull(store.claim("running"));
+
+        now.set(TTL_MILLIS);
+
+        assertNull(store.claim("a"));
+        assertNotNull(store.claim("running"));
+    }
+
+    @Test
+    void testOldestKeyIsDroppedWhenFull() {
+        for (String key : new String[] {"a", "b", "c", "d"}) {
+            assertNull(store.claim(key));
+            store.complete(key, new ResponseWrapper(ResponseFromServer.SUCCESS));
+        }
+
+        assertEquals(3, store.size());
+        assertNotNull(store.claim("d"));
+        assertNull(store.claim("a"));
+    }
+
+    @Test
+    void testRunningKeyIsNotDroppedWhenFull() {
+        assertNull(store.claim("running"));
+        for (String key : new String[] {"a", "b", "c"}) {
+            assertNull(store.claim(key));
+            store.complete(key, new ResponseWrapper(ResponseFromServer.SUCCESS));
+        }
+
+        assertEquals(3, store.size());
+        assertNotNull(store.claim("running"));
+        assertNull(store.claim("a"));
+    }
+}
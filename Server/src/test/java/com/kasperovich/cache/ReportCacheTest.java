@@ -0,0 +1,136 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.cache.ReportCache.ReportType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the report result cache.
+ */
+public class ReportCacheTest {
+
+    private ReportCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportCache(3, 10);
+        loads = new AtomicInteger();
+    }
+
+    private List<String> load(String... rows) {
+        loads.incrementAndGet();
+        return new ArrayList<>(Arrays.asList(rows));
+    }
+
+    @Test
+    void testSameParametersAreLoadedOnce() throws Exception {
+        List<String> first = cache.get(ReportType.USER_ACTIVITY, List.of("2024-01-01", "2024-12-31"), () -> load("a", "b"));
+        List<String> second = cache.get(ReportType.USER_ACTIVITY, List.of("2024-01-01", "2024-12-31"), () -> load("c"));
+
+        assertEquals(1, loads.get());
+        assertEquals(first, second);
+        assertEquals(List.of("a", "b"), second);
+    }
+
+    @Test
+    void testNullParametersAreSupported() throws Exception {
+        cache.get(ReportType.APPLICATION_STATUS, Arrays.asList(null, 5L), () -> load("a"));
+        cache.get(ReportType.APPLICATION_STATUS, Arrays.asList(null, 5L), () -> load("a"));
+        cache.get(ReportType.APPLICATION_STATUS, Arrays.asList(null, null), () -> load("b"));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidationOnlyAffectsGivenTypes() throws Exception {
+        cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("a"));
+        cache.get(ReportType.SCHOLARSHIP_DISTRIBUTION, List.of(1), () -> load("b"));
+
+        cache.onUsersChanged();
+
+        cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("a"));
+        cache.get(ReportType.SCHOLARSHIP_DISTRIBUTION, List.of(1), () -> load("b"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvictedWhenRowLimitIsExceeded() throws Exception {
+        cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("1", "2", "3", "4"));
+        cache.get(ReportType.USER_ACTIVITY, List.of(2), () -> load("1", "2", "3", "4"));
+        // Touch the first entry so the second one becomes the eldest
+        cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("x"));
+        cache.get(ReportType.USER_ACTIVITY, List.of(3), () -> load("1", "2", "3", "4"));
+
+        assertEquals(2, cache.size());
+        cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("x"));
+        assertEquals(3, loads.get());
+        cache.get(ReportType.USER_ACTIVITY, List.of(2), () -> load("1"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> cache.get(ReportType.SCHOLARSHIP_DISTRIBUTION, List.of("q"), () -> {
+                    started.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                    return load("row");
+                })));
+            }
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            // Give the other requests time to join the running computation
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<List<String>> future : futures) {
+                assertEquals(List.of("row"), future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedComputationIsNotCached() {
+        assertThrows(IllegalStateException.class, () -> cache.get(ReportType.USER_ACTIVITY, List.of(1), () -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testReportOlderThanMaxAgeIsComputedAgain() throws Exception {
+        AtomicLong now = new AtomicLong();
+        ReportCache agingCache = new ReportCache(3, 10, 1000, now::get);
+        agingCache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("old"));
+
+        now.set(999);
+        assertEquals(List.of("old"), agingCache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("new")));
+        now.set(1000);
+        assertEquals(List.of("new"), agingCache.get(ReportType.USER_ACTIVITY, List.of(1), () -> load("new")));
+
+        assertEquals(2, loads.get());
+        assertEquals(1, agingCache.size());
+    }
+}
@@ -0,0 +1,123 @@
+package com.kasperovich.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the in-memory substring search index.
+ */
+public class SearchIndexTest {
+
+    private SearchIndex<Long> index;
+    private Map<Long, String[]> rows;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex<>("test");
+        rows = new HashMap<>();
+        rows.put(1L, new String[] {"jsmith", "John", "Smith", "john@uni.edu"});
+        rows.put(2L, new String[] {"asmithers", "Anna", "Smithers", null});
+        rows.put(3L, new String[] {"bjones", "Bob", "Jones", "bob@uni.edu"});
+        loads = new AtomicInteger();
+    }
+
+    private List<Long> search(String text) throws Exception {
+        return index.search(text, () -> {
+            loads.incrementAndGet();
+            return rows;
+        }).stream().sorted().toList();
+    }
+
+    @Test
+    void testMatchesAnyFieldIgnoringCase() throws Exception {
+        assertEquals(List.of(1L, 2L), search("SMITH"));
+        assertEquals(List.of(2L), search("smithers"));
+        assertEquals(List.of(1L, 3L), search("uni.edu"));
+        assertEquals(List.of(3L), search("bo"));
+        assertEquals(List.of(), search("xyz"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testMatchesDoNotSpanFields() throws Exception {
+        assertEquals(List.of(), search("johnsmith"));
+        assertEquals(List.of(), search("nsm"));
+    }
+
+    @Test
+    void testGrowingQueryNarrowsThePreviousMatches() throws Exception {
+        assertEquals(List.of(1L, 2L), search("sm"));
+        assertEquals(List.of(1L, 2L), search("smi"));
+        assertEquals(List.of(2L), search("smithe"));
+        assertEquals(List.of(1L, 2L), search("smit"));
+    }
+
+    @Test
+    void testPutAndRemoveUpdateTheLoadedIndex() throws Exception {
+        assertEquals(List.of(1L, 2L), search("smith"));
+
+        index.put(3L, "bsmith", "Bob", "Smith", null);
+        index.remove(2L);
+        index.put(4L, "new", null, null, null);
+
+        assertEquals(List.of(1L, 3L), search("smith"));
+        assertEquals(List.of(), search("jones"));
+        assertEquals(List.of(4L), search("new"));
+        assertEquals(3, index.size());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testRemovedEntriesAreCompactedAway() throws Exception {
+        for (long id = 10; id < 3000; id++) {
+            rows.put(id, new String[] {"user" + id});
+        }
+        search("user");
+        for (long id = 10; id < 3000; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(List.of(), search("user"));
+        assertEquals(List.of(1L), search("jsmith"));
+    }
+
+    @Test
+    void testIndexChangedDuringLoadIsNotKept() throws Exception {
+        List<Long> matches = index.search("smith", () -> {
+            index.invalidate();
+            return rows;
+        });
+
+        assertEquals(2, matches.size());
+        assertEquals(0, index.size());
+
+        search("smith");
+        assertEquals(1, loads.get());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testIndexOlderThanMaxAgeIsLoadedAgain() throws Exception {
+        AtomicLong now = new AtomicLong();
+        index = new SearchIndex<>("test", 1000, now::get);
+        assertEquals(List.of(3L), search("jones"));
+
+        rows.put(4L, new String[] {"cjones", "Carl", "Jones", null});
+        now.set(999);
+        assertEquals(List.of(3L), search("jones"));
+        now.set(1000);
+        assertEquals(List.of(3L, 4L), search("jones"));
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,101 @@
+package com.kasperovich.cache;
+
+import com.kasperovich.dto.report.AcademicPerformanceReportDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-student academic performance report cache.
+ */
+public class StudentReportCacheTest {
+
+    private StudentReportCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new StudentReportCache(2);
+        loads = new AtomicInteger();
+    }
+
+    private AcademicPerformanceReportDTO load(String studentId) {
+        loads.incrementAndGet();
+        AcademicPerformanceReportDTO report = new AcademicPerformanceReportDTO();
+        report.setStudentId(studentId);
+        return report;
+    }
+
+    @Test
+    void testReportIsLoadedOncePerStudent() throws Exception {
+        AcademicPerformanceReportDTO first = cache.get(1L, () -> load("S1"));
+        AcademicPerformanceReportDTO second = cache.get(1L, () -> load("other"));
+        cache.get(2L, () -> load("S2"));
+
+        assertEquals(2, loads.get());
+        assertSame(first, second);
+    }
+
+    @Test
+    void testInvalidateOnlyDropsGivenStudent() throws Exception {
+        cache.get(1L, () -> load("S1"));
+        cache.get(2L, () -> load("S2"));
+
+        cache.invalidate(1L);
+        cache.get(1L, () -> load("S1"));
+        cache.get(2L, () -> load("S2"));
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedReportIsEvicted() throws Exception {
+        cache.get(1L, () -> load("S1"));
+        cache.get(2L, () -> load("S2"));
+        cache.get(1L, () -> load("S1"));
+        cache.get(3L, () -> load("S3"));
+
+        assertEquals(2, cache.size());
+        cache.get(1L, () -> load("S1"));
+        assertEquals(3, loads.get());
+        cache.get(2L, () -> load("S2"));
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testReportLoadedDuringInvalidationIsNotStored() throws Exception {
+        AcademicPerformanceReportDTO report = cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load("stale");
+        });
+
+        assertEquals("stale", report.getStudentId());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        assertThrows(Exception.class, () -> cache.get(1L, () -> {
+            throw new Exception("boom");
+        }));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testReportOlderThanMaxAgeIsComputedAgain() throws Exception {
+        AtomicLong now = new AtomicLong();
+        StudentReportCache agingCache = new StudentReportCache(2, 1000, now::get);
+        agingCache.get(1L, () -> load("old"));
+
+        now.set(999);
+        assertEquals("old", agingCache.get(1L, () -> load("new")).getStudentId());
+        now.set(1000);
+        assertEquals("new", agingCache.get(1L, () -> load("new")).getStudentId());
+
+        assertEquals(2, loads.get());
+    }
+}
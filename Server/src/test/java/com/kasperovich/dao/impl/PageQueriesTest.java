@@ -0,0 +1,31 @@
+package com.kasperovich.dao.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the paged query helpers.
+ */
+public class PageQueriesTest {
+
+    private static final Map<String, String> SORT_FIELDS = Map.of("id", "u.id", "name", "u.lastName");
+
+    @Test
+    void searchTextIsLowercasedAndItsWildcardsEscaped() {
+        assertEquals("%smith%", PageQueries.containsPattern("  Smith "));
+        assertEquals("%50\\%\\_off\\[a]\\\\%", PageQueries.containsPattern("50%_off[a]\\"));
+        assertNull(PageQueries.containsPattern(null));
+        assertNull(PageQueries.containsPattern("   "));
+    }
+
+    @Test
+    void onlyAllowedSortFieldsAreUsedAndTheIdBreaksTies() {
+        assertEquals(" ORDER BY u.lastName DESC, u.id DESC", PageQueries.orderBy(SORT_FIELDS, "name", false, "u.id"));
+        assertEquals(" ORDER BY u.id ASC", PageQueries.orderBy(SORT_FIELDS, "id", true, "u.id"));
+        assertEquals(" ORDER BY u.id ASC", PageQueries.orderBy(SORT_FIELDS, "u.passwordHash", true, "u.id"));
+        assertEquals(" ORDER BY u.id DESC", PageQueries.orderBy(SORT_FIELDS, null, false, "u.id"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.kasperovich.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for locating and parsing migration scripts.
+ * The test that applies the scripts needs a SQL Server; it runs when {@code migration.test.url}
+ * holds a JDBC URL, including credentials, of a server on which databases may be created.
+ */
+public class MigrationRunnerTest {
+
+    private static final String TEST_URL_PROPERTY = "migration.test.url";
+
+    @Test
+    void parsesVersionAndDescriptionFromFileName() {
+        MigrationRunner.Script script = MigrationRunner.parse("V12__report_indexes.sql", "SELECT 1");
+
+        assertNotNull(script);
+        assertEquals(12, script.getVersion());
+        assertEquals("report indexes", script.getDescription());
+        assertEquals("V12__report_indexes.sql", script.getFileName());
+    }
+
+    @Test
+    void ignoresFilesThatAreNotMigrations() {
+        assertNull(MigrationRunner.parse("README.md", ""));
+        assertNull(MigrationRunner.parse("V1_missing_separator.sql", ""));
+    }
+
+    @Test
+    void checksumIgnoresLineEndings() {
+        int unix = MigrationRunner.parse("V1__a.sql", "SELECT 1\nSELECT 2\n").getChecksum();
+        int windows = MigrationRunner.parse("V1__a.sql", "SELECT 1\r\nSELECT 2\r\n").getChecksum();
+        int changed = MigrationRunner.parse("V1__a.sql", "SELECT 1\nSELECT 3\n").getChecksum();
+
+        assertEquals(unix, windows);
+        assertNotEquals(unix, changed);
+    }
+
+    @Test
+    void splitsBatchesOnGoLinesAndSkipsEmptyBatches() {
+        String sql = "-- header\nCREATE TABLE a (id INT)\nGO\n\nINSERT INTO a VALUES (1)\r\ngo\r\n-- trailing comment\n";
+
+        List<String> batches = MigrationRunner.splitBatches(sql);
+
+        assertEquals(2, batches.size());
+        assertTrue(batches.get(0).endsWith("CREATE TABLE a (id INT)"));
+        assertEquals("INSERT INTO a VALUES (1)", batches.get(1));
+    }
+
+    @Test
+    void findsBundledScriptsInVersionOrder() throws Exception {
+        List<MigrationRunner.Script> scripts = new MigrationRunner(
+                MigrationRunner.DEFAULT_LOCATION, MigrationRunner.DEFAULT_BASELINE_VERSION).findScripts();
+
+        assertTrue(scripts.size() >= 9);
+        for (int i = 0; i < scripts.size(); i++) {
+            assertEquals(i + 1, scripts.get(i).getVersion());
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = TEST_URL_PROPERTY, matches = ".+")
+    void appliesAllScriptsToAnEmptyDatabase() throws Exception {
+        String url = System.getProperty(TEST_URL_PROPERTY);
+        String database = "migration_test_" + UUID.randomUUID().toString().replace("-", "");
+        try (Connection server = DriverManager.getConnection(url);
+             Statement statement = server.createStatement()) {
+            statement.execute("CREATE DATABASE " + database);
+            try {
+                MigrationRunner runner = new MigrationRunner(
+                        MigrationRunner.DEFAULT_LOCATION, MigrationRunner.DEFAULT_BASELINE_VERSION);
+                int scripts = runner.findScripts().size();
+                try (Connection connection = DriverManager.getConnection(url + ";databaseName=" + database)) {
+                    assertEquals(scripts, runner.migrate(connection));
+                    assertEquals(0, runner.migrate(connection));
+
+                    try (Statement query = connection.createStatement();
+                         ResultSet rs = query.executeQuery("SELECT MAX(version) FROM schema_history")) {
+                        rs.next();
+                        assertEquals(scripts, rs.getInt(1));
+                    }
+                    try (Statement query = connection.createStatement();
+                         ResultSet rs = query.executeQuery(
+                                 "SELECT allocated_amount FROM scholarship_programs WHERE id = 1")) {
+                        assertTrue(rs.next());
+                        assertEquals(0, rs.getBigDecimal(1).compareTo(new BigDecimal("50000.00")));
+                    }
+                    try (Statement query = connection.createStatement();
+                         ResultSet rs = query.executeQuery("SELECT COUNT(*) FROM sys.indexes " +
+                                 "WHERE name IN ('idx_payments_application_id', 'idx_fund_allocations_program_id')")) {
+                        rs.next();
+                        assertEquals(2, rs.getInt(1));
+                    }
+                }
+            } finally {
+                statement.execute("ALTER DATABASE " + database + " SET SINGLE_USER WITH ROLLBACK IMMEDIATE");
+                statement.execute("DROP DATABASE " + database);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.kasperovich.database;
+
+import com.kasperovich.dto.report.QueryStatisticDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for statement statistics.
+ */
+public class QueryStatisticsTest {
+
+    private final QueryStatistics statistics = new QueryStatistics(50);
+
+    @Test
+    void literalsAndInListsShareOneShape() {
+        String first = QueryStatistics.normalize("SELECT * FROM users WHERE id = 5 AND name = 'a''b'");
+        String second = QueryStatistics.normalize("SELECT *  FROM users\n WHERE id = 17 AND name = 'x'");
+        String list = QueryStatistics.normalize("select a1_0.id from scholarship_applications a1_0 where a1_0.id in (?, ?, ?)");
+
+        assertEquals(first, second);
+        assertEquals("SELECT * FROM users WHERE id = ? AND name = ?", first);
+        assertEquals("select a1_0.id from scholarship_applications a1_0 where a1_0.id in (...)", list);
+    }
+
+    @Test
+    void histogramBucketsCoverEveryDuration() {
+        for (long micros = 0; micros < 100_000; micros++) {
+            int bucket = QueryStatistics.bucketOf(micros);
+            assertTrue(micros < QueryStatistics.upperBoundOf(bucket), "upper bound of " + micros);
+            assertTrue(bucket == 0 || micros >= QueryStatistics.upperBoundOf(bucket - 1), "lower bound of " + micros);
+        }
+    }
+
+    @Test
+    void topStatementsAreOrderedByTotalTimeWithP99() {
+        for (int i = 0; i < 99; i++) {
+            statistics.record("SELECT 1 FROM users WHERE id = " + i, 1_000_000);
+        }
+        statistics.record("SELECT 1 FROM users WHERE id = 100", 40_000_000);
+        statistics.record("UPDATE budgets SET status = 'ACTIVE'", 100_000_000);
+
+        List<QueryStatisticDTO> top = statistics.getTopStatements(10);
+
+        assertEquals(2, top.size());
+        QueryStatisticDTO lookup = top.get(0);
+        assertEquals("SELECT ? FROM users WHERE id = ?", lookup.getStatement());
+        assertEquals(100, lookup.getExecutionCount());
+        assertEquals(139.0, lookup.getTotalMillis(), 0.001);
+        assertEquals(40.0, lookup.getMaxMillis(), 0.001);
+        assertTrue(lookup.getP99Millis() >= 1.0 && lookup.getP99Millis() < 1.3, "p99 " + lookup.getP99Millis());
+        assertEquals(0, lookup.getSlowCount());
+        assertEquals(1, top.get(1).getSlowCount());
+
+        assertEquals(1, statistics.getTopStatements(1).size());
+    }
+}
@@ -0,0 +1,105 @@
+package com.kasperovich.ranking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the application ranking engine.
+ */
+public class RankingEngineTest {
+
+    private final RankingEngine engine = new RankingEngine();
+
+    @Test
+    void testHigherGpaRanksFirstAndTiesKeepSubmissionOrder() {
+        double[] gpas = {3.2, 3.9, 3.2, 3.5};
+
+        RankingEngine.Ranking ranking = engine.rank(gpas, Double.NaN, 4);
+
+        assertEquals(4, ranking.eligibleCount());
+        assertEquals(1, ranking.candidateAt(0));
+        assertEquals(3, ranking.candidateAt(1));
+        assertEquals(0, ranking.candidateAt(2));
+        assertEquals(2, ranking.candidateAt(3));
+    }
+
+    @Test
+    void testCandidatesBelowMinimumGpaAreExcluded() {
+        double[] gpas = {2.9, 3.0, 3.7, 2.5};
+
+        RankingEngine.Ranking ranking = engine.rank(gpas, 3.0, 10);
+
+        assertEquals(4, ranking.candidateCount());
+        assertEquals(2, ranking.eligibleCount());
+        assertEquals(2, ranking.candidateAt(0));
+        assertEquals(1, ranking.candidateAt(1));
+        assertEquals(2, ranking.fundedCount());
+    }
+
+    @Test
+    void testCandidatesWithoutGpaRankLast() {
+        double[] gpas = {Double.NaN, 2.0, Double.NaN, 3.0};
+
+        RankingEngine.Ranking ranking = engine.rank(gpas, 2.5, 1);
+
+        assertEquals(3, ranking.eligibleCount());
+        assertEquals(3, ranking.candidateAt(0));
+        assertEquals(0, ranking.candidateAt(1));
+        assertEquals(2, ranking.candidateAt(2));
+        assertEquals(1, ranking.fundedCount());
+    }
+
+    @Test
+    void testEmptyCandidateList() {
+        RankingEngine.Ranking ranking = engine.rank(new double[0], 3.0, 5);
+
+        assertEquals(0, ranking.candidateCount());
+        assertEquals(0, ranking.eligibleCount());
+        assertEquals(0, ranking.fundedCount());
+    }
+
+    @Test
+    void testRankingOneHundredThousandApplications() {
+        int count = 100_000;
+        Random random = new Random(42);
+        double[] gpas = new double[count];
+        for (int i = 0; i < count; i++) {
+            gpas[i] = i % 50 == 0 ? Double.NaN : Math.round(random.nextDouble() * 400) / 100.0;
+        }
+
+        // Warm up before measuring
+        for (int i = 0; i < 3; i++) {
+            engine.rank(gpas, 2.0, 1000);
+        }
+        long start = System.nanoTime();
+        RankingEngine.Ranking ranking = engine.rank(gpas, 2.0, 1000);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int expectedEligible = 0;
+        for (double gpa : gpas) {
+            if (Double.isNaN(gpa) || gpa >= 2.0) {
+                expectedEligible++;
+            }
+        }
+        assertEquals(expectedEligible, ranking.eligibleCount());
+        assertEquals(1000, ranking.fundedCount());
+
+        for (int rank = 1; rank < ranking.eligibleCount(); rank++) {
+            double previous = gpas[ranking.candidateAt(rank - 1)];
+            double current = gpas[ranking.candidateAt(rank)];
+            if (Double.isNaN(previous)) {
+                assertTrue(Double.isNaN(current), "Candidates without GPA must rank last");
+            } else if (!Double.isNaN(current)) {
+                assertTrue(previous >= current, "Candidates must be ordered by GPA");
+                if (previous == current) {
+                    assertTrue(ranking.candidateAt(rank - 1) < ranking.candidateAt(rank),
+                            "Ties must keep submission order");
+                }
+            }
+        }
+        assertTrue(elapsedMillis < 5_000, "Ranking 100k applications took " + elapsedMillis + " ms");
+    }
+}
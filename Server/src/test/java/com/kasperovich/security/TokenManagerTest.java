@@ -0,0 +1,207 @@
+package com.kasperovich.security;
+
+import com.kasperovich.dao.UserSessionDao;
+import com.kasperovich.entities.UserSession;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for token validation and session resumption.
+ */
+public class TokenManagerTest {
+
+    /**
+     * Keeps sessions in memory, standing in for the sessions table.
+     */
+    private static class InMemorySessionDao implements UserSessionDao {
+        private final Map<String, UserSession> sessions = new HashMap<>();
+
+        @Override
+        public UserSession save(UserSession session) {
+            sessions.put(session.getTokenHash(), session);
+            return session;
+        }
+
+        @Override
+        public Optional<UserSession> findById(String tokenHash) {
+            return Optional.ofNullable(sessions.get(tokenHash));
+        }
+
+        @Override
+        public List<UserSession> findAll() {
+            return new ArrayList<>(sessions.values());
+        }
+
+        @Override
+        public void delete(UserSession session) {
+            sessions.remove(session.getTokenHash());
+        }
+
+        @Override
+        public boolean deleteById(String tokenHash) {
+            return sessions.remove(tokenHash) != null;
+        }
+
+        @Override
+        public boolean existsById(String tokenHash) {
+            return sessions.containsKey(tokenHash);
+        }
+
+        @Override
+        public long count() {
+            return sessions.size();
+        }
+
+        @Override
+        public int deleteByUserId(Long userId) {
+            int before = sessions.size();
+            sessions.values().removeIf(session -> session.getUserId().equals(userId));
+            return before - sessions.size();
+        }
+
+        @Override
+        public boolean touch(String tokenHash, LocalDateTime lastUsedAt) {
+            UserSession session = sessions.get(tokenHash);
+            if (session == null) {
+                return false;
+            }
+            session.setLastUsedAt(lastUsedAt);
+            return true;
+        }
+
+        @Override
+        public int deleteExpired(LocalDateTime now, LocalDateTime idleBefore) {
+            int before = sessions.size();
+            sessions.values().removeIf(session -> session.getExpiresAt().isBefore(now)
+                    || session.getLastUsedAt().isBefore(idleBefore));
+            return before - sessions.size();
+        }
+    }
+
+    /**
+     * Clock that tests move forward by hand.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant = Instant.now();
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+
+    private InMemorySessionDao sessionDao;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        sessionDao = new InMemorySessionDao();
+        clock = new MutableClock();
+    }
+
+    @Test
+    void testTokenIsStoredOnlyAsAHash() {
+        String token = new TokenManager(sessionDao).generateToken(7L);
+
+        assertEquals(1, sessionDao.count());
+        assertFalse(sessionDao.existsById(token));
+        assertTrue(sessionDao.existsById(TokenManager.hash(token)));
+    }
+
+    @Test
+    void testSessionIsResumedAfterRestart() {
+        String token = new TokenManager(sessionDao).generateToken(7L);
+
+        TokenManager restarted = new TokenManager(sessionDao);
+
+        assertEquals(7L, restarted.validateToken(token));
+        assertNull(restarted.validateToken("unknown"));
+    }
+
+    @Test
+    void testExpiredStoredSessionIsNotResumed() {
+        String token = new TokenManager(sessionDao).generateToken(7L);
+        UserSession session = sessionDao.findById(TokenManager.hash(token)).orElseThrow();
+        session.setExpiresAt(LocalDateTime.now().minusMinutes(1));
+
+        assertNull(new TokenManager(sessionDao).validateToken(token));
+        assertEquals(0, sessionDao.count());
+    }
+
+    @Test
+    void testLoggedOutTokenCannotBeResumed() {
+        TokenManager tokenManager = new TokenManager(sessionDao);
+        String token = tokenManager.generateToken(7L);
+
+        tokenManager.invalidateToken(token);
+
+        assertNull(tokenManager.validateToken(token));
+        assertNull(new TokenManager(sessionDao).validateToken(token));
+    }
+
+    @Test
+    void testLogoutOnOneServerReachesTheOthersAtTheNextCheck() {
+        TokenManager first = new TokenManager(sessionDao, clock);
+        TokenManager second = new TokenManager(sessionDao, clock);
+        String token = first.generateToken(7L);
+        assertEquals(7L, second.validateToken(token));
+
+        first.invalidateToken(token);
+        clock.advance(Duration.ofSeconds(TokenManager.STORED_SESSION_CHECK_SECONDS + 1));
+
+        assertNull(second.validateToken(token));
+    }
+
+    @Test
+    void testSessionIdleOnOneServerStaysAliveWhileUsedOnAnother() {
+        TokenManager first = new TokenManager(sessionDao, clock);
+        TokenManager second = new TokenManager(sessionDao, clock);
+        String token = first.generateToken(7L);
+
+        clock.advance(Duration.ofMinutes(40));
+        assertEquals(7L, second.validateToken(token));
+        clock.advance(Duration.ofMinutes(30));
+        first.cleanupExpiredTokens();
+
+        assertEquals(7L, first.validateToken(token));
+        assertEquals(1, sessionDao.count());
+    }
+
+    @Test
+    void testSessionUnusedOnAllServersExpires() {
+        TokenManager tokenManager = new TokenManager(sessionDao, clock);
+        String token = tokenManager.generateToken(7L);
+
+        clock.advance(Duration.ofMinutes(TokenManager.TOKEN_EXPIRATION_MINUTES + 1));
+
+        assertNull(new TokenManager(sessionDao, clock).validateToken(token));
+        assertEquals(0, sessionDao.count());
+    }
+}
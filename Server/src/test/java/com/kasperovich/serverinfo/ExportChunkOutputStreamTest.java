@@ -0,0 +1,74 @@
+package com.kasperovich.serverinfo;
+
+import com.kasperovich.commands.fromserver.ExportChunkResponse;
+import com.kasperovich.commands.fromserver.ResponseFromServer;
+import com.kasperovich.commands.fromserver.ResponseWrapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for streaming exports to the client in chunks.
+ */
+public class ExportChunkOutputStreamTest {
+
+    private List<ExportChunkResponse> readChunks(byte[] stream) throws Exception {
+        List<ExportChunkResponse> chunks = new ArrayList<>();
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stream))) {
+            while (true) {
+                ResponseWrapper wrapper = (ResponseWrapper) in.readObject();
+                assertEquals(ResponseFromServer.EXPORT_CHUNK, wrapper.getResponse());
+                ExportChunkResponse chunk = wrapper.getData();
+                chunks.add(chunk);
+                if (chunk.isLast()) {
+                    return chunks;
+                }
+            }
+        }
+    }
+
+    @Test
+    void testDataIsSplitIntoSequencedChunks() throws Exception {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        ObjectOutputStream objectOutputStream = new ObjectOutputStream(sink);
+        ExportChunkOutputStream chunks = new ExportChunkOutputStream(objectOutputStream, 4);
+
+        chunks.write("abcdefghij".getBytes(StandardCharsets.UTF_8));
+        chunks.write('k');
+        chunks.finish(3);
+
+        List<ExportChunkResponse> received = readChunks(sink.toByteArray());
+        assertEquals(3, received.size());
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i, received.get(i).getSequence());
+            content.write(received.get(i).getData());
+        }
+        assertEquals("abcdefghijk", content.toString(StandardCharsets.UTF_8));
+        assertTrue(received.get(2).isLast());
+        assertEquals(3, received.get(2).getRowCount());
+    }
+
+    @Test
+    void testEmptyExportSendsSingleLastChunk() throws Exception {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        ExportChunkOutputStream chunks = new ExportChunkOutputStream(new ObjectOutputStream(sink), 4);
+
+        assertFalse(chunks.hasSentChunks());
+        chunks.finish(0);
+        chunks.finish(0);
+
+        List<ExportChunkResponse> received = readChunks(sink.toByteArray());
+        assertEquals(1, received.size());
+        assertEquals(0, received.get(0).getData().length);
+    }
+}
@@ -0,0 +1,37 @@
+package com.kasperovich.serverinfo;
+
+import com.kasperovich.service.ServerContext;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the startup phase bookkeeping.
+ */
+public class StartupPipelineTest {
+
+    private final StartupPipeline pipeline = new StartupPipeline(ServerContext.builder().build());
+
+    @Test
+    void phasesAreTimedInCompletionOrder() {
+        assertTrue(pipeline.phase("first", () -> Thread.sleep(5)));
+        pipeline.record("second", System.nanoTime());
+
+        Map<String, Long> phases = pipeline.getPhaseMillis();
+        assertEquals(List.of("first", "second"), List.copyOf(phases.keySet()));
+        assertTrue(phases.get("first") >= 5);
+    }
+
+    @Test
+    void failedPhaseIsRecordedAndReported() {
+        boolean succeeded = pipeline.phase("broken", () -> {
+            throw new IllegalStateException("Database unavailable");
+        });
+
+        assertFalse(succeeded);
+        assertTrue(pipeline.getPhaseMillis().containsKey("broken"));
+    }
+}
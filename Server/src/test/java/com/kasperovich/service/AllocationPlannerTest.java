@@ -0,0 +1,87 @@
+package com.kasperovich.service;
+
+import com.kasperovich.dto.scholarship.AllocationPlanEntryDTO;
+import com.kasperovich.dto.scholarship.AllocationStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for splitting a budget across programs.
+ */
+public class AllocationPlannerTest {
+
+    private static List<AllocationPlanEntryDTO> entries(String... demands) {
+        List<AllocationPlanEntryDTO> entries = new ArrayList<>();
+        long id = 1;
+        for (String demand : demands) {
+            entries.add(new AllocationPlanEntryDTO(id, "Program " + id, 0, null, BigDecimal.ZERO,
+                    new BigDecimal(demand), BigDecimal.ZERO));
+            id++;
+        }
+        return entries;
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "Expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void testEveryDemandIsCoveredWhenFundsSuffice() {
+        List<AllocationPlanEntryDTO> entries = entries("1000.00", "500.00");
+
+        BigDecimal total = AllocationPlanner.plan(entries, new BigDecimal("5000.00"), AllocationStrategy.PROPORTIONAL);
+
+        assertAmount("1500.00", total);
+        assertAmount("1000.00", entries.get(0).getProposedAmount());
+        assertAmount("500.00", entries.get(1).getProposedAmount());
+    }
+
+    @Test
+    void testProportionalSplitUsesTheWholeAmount() {
+        List<AllocationPlanEntryDTO> entries = entries("100.00", "100.00", "100.00");
+
+        BigDecimal total = AllocationPlanner.plan(entries, new BigDecimal("100.00"), AllocationStrategy.PROPORTIONAL);
+
+        assertAmount("100.00", total);
+        assertAmount("33.34", entries.get(0).getProposedAmount());
+        assertAmount("33.33", entries.get(1).getProposedAmount());
+        assertAmount("33.33", entries.get(2).getProposedAmount());
+    }
+
+    @Test
+    void testProportionalSplitFollowsDemand() {
+        List<AllocationPlanEntryDTO> entries = entries("3000.00", "1000.00", "0.00");
+
+        AllocationPlanner.plan(entries, new BigDecimal("2000.00"), AllocationStrategy.PROPORTIONAL);
+
+        assertAmount("1500.00", entries.get(0).getProposedAmount());
+        assertAmount("500.00", entries.get(1).getProposedAmount());
+        assertAmount("0.00", entries.get(2).getProposedAmount());
+    }
+
+    @Test
+    void testGreedyFundsLargestDemandFirst() {
+        List<AllocationPlanEntryDTO> entries = entries("300.00", "800.00", "500.00");
+
+        BigDecimal total = AllocationPlanner.plan(entries, new BigDecimal("1000.00"), AllocationStrategy.GREEDY);
+
+        assertAmount("1000.00", total);
+        assertAmount("0.00", entries.get(0).getProposedAmount());
+        assertAmount("800.00", entries.get(1).getProposedAmount());
+        assertAmount("200.00", entries.get(2).getProposedAmount());
+    }
+
+    @Test
+    void testNothingIsProposedWithoutDemand() {
+        List<AllocationPlanEntryDTO> entries = entries("0.00", "0.00");
+
+        BigDecimal total = AllocationPlanner.plan(entries, new BigDecimal("1000.00"), AllocationStrategy.GREEDY);
+
+        assertAmount("0.00", total);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kasperovich.service;
+
+import com.kasperovich.entities.ScholarshipProgram;
+import com.kasperovich.entities.StudentGpaAggregate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GPA eligibility checks.
+ */
+public class GpaServiceTest {
+
+    /**
+     * GPA service that returns a fixed GPA instead of reading the student profile.
+     */
+    private static class TestGpaService extends GpaService {
+        private final Double gpa;
+
+        TestGpaService(Double gpa) {
+            this.gpa = gpa;
+        }
+
+        @Override
+        public Optional<Double> getCurrentGpa(Long userId) {
+            return Optional.ofNullable(gpa);
+        }
+    }
+
+    private ScholarshipProgram programWithMinGpa(String minGpa) {
+        ScholarshipProgram program = new ScholarshipProgram();
+        program.setMinGpa(minGpa != null ? new BigDecimal(minGpa) : null);
+        return program;
+    }
+
+    @Test
+    void testProgramWithoutMinimumAcceptsEveryone() {
+        assertTrue(new TestGpaService(1.0).meetsMinimumGpa(1L, programWithMinGpa(null)));
+    }
+
+    @Test
+    void testGpaIsComparedWithMinimum() {
+        assertTrue(new TestGpaService(3.5).meetsMinimumGpa(1L, programWithMinGpa("3.5")));
+        assertFalse(new TestGpaService(3.49).meetsMinimumGpa(1L, programWithMinGpa("3.5")));
+    }
+
+    @Test
+    void testStudentWithoutGpaIsNotRejected() {
+        assertTrue(new TestGpaService(null).meetsMinimumGpa(1L, programWithMinGpa("3.0")));
+    }
+
+    @Test
+    void testPeriodGpaIsWeightedByCredits() {
+        StudentGpaAggregate aggregate = new StudentGpaAggregate();
+        aggregate.setWeightedGradeSum(new BigDecimal("26.8"));  // 4.0 x 4 credits + 3.6 x 3 credits
+        aggregate.setGpaCredits(7);
+        assertEquals(26.8 / 7, aggregate.getGpa(), 1e-9);
+
+        assertNull(new StudentGpaAggregate().getGpa());
+    }
+}
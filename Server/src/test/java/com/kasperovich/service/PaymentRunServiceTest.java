@@ -0,0 +1,275 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.dao.PaymentDao;
+import com.kasperovich.dao.PaymentRunDao;
+import com.kasperovich.dto.scholarship.PaymentRunStatusDTO;
+import com.kasperovich.entities.Payment;
+import com.kasperovich.entities.PaymentRun;
+import com.kasperovich.entities.PaymentRunStatus;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for chunked payment runs.
+ */
+public class PaymentRunServiceTest {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("500.00");
+
+    /**
+     * In-memory store of approved applications and their payments.
+     */
+    private static class FakePaymentDao implements PaymentDao {
+        private final NavigableMap<Long, BigDecimal> approved = new ConcurrentSkipListMap<>();
+        private final Set<Long> paid = ConcurrentHashMap.newKeySet();
+        private final FakePaymentRunDao runDao;
+        private final AtomicInteger chunkCalls = new AtomicInteger();
+        private volatile int failOnChunk = -1;
+
+        FakePaymentDao(FakePaymentRunDao runDao, int applications) {
+            this.runDao = runDao;
+            for (long id = 1; id <= applications; id++) {
+                approved.put(id, AMOUNT);
+            }
+        }
+
+        @Override
+        public List<Object[]> findUnpaidApproved(long afterApplicationId, int limit) {
+            List<Object[]> rows = new ArrayList<>();
+            for (Map.Entry<Long, BigDecimal> entry : approved.tailMap(afterApplicationId, false).entrySet()) {
+                if (rows.size() == limit) {
+                    break;
+                }
+                if (!paid.contains(entry.getKey())) {
+                    rows.add(new Object[]{entry.getKey(), entry.getValue()});
+                }
+            }
+            return rows;
+        }
+
+        @Override
+        public int insertChunk(Long runId, Long approvedById, long[] applicationIds, BigDecimal[] amounts) {
+            if (chunkCalls.getAndIncrement() == failOnChunk) {
+                throw new RuntimeException("Connection reset");
+            }
+            int inserted = 0;
+            BigDecimal total = BigDecimal.ZERO;
+            for (int i = 0; i < applicationIds.length; i++) {
+                if (paid.add(applicationIds[i])) {
+                    inserted++;
+                    total = total.add(amounts[i]);
+                }
+            }
+            runDao.recordChunk(null, runId, inserted, total);
+            return inserted;
+        }
+
+        @Override public List<Payment> findByApplicantId(Long userId) { return List.of(); }
+        @Override public Payment save(Payment entity) { return entity; }
+        @Override public Optional<Payment> findById(Long id) { return Optional.empty(); }
+        @Override public List<Payment> findAll() { return List.of(); }
+        @Override public void delete(Payment entity) { }
+        @Override public boolean deleteById(Long id) { return false; }
+        @Override public boolean existsById(Long id) { return false; }
+        @Override public long count() { return paid.size(); }
+    }
+
+    /**
+     * In-memory store of payment runs.
+     */
+    private static class FakePaymentRunDao implements PaymentRunDao {
+        private final Map<Long, PaymentRun> runs = new ConcurrentHashMap<>();
+        private final AtomicInteger ids = new AtomicInteger();
+        private boolean locked;
+
+        @Override
+        public synchronized Optional<RunLock> tryLockRuns() {
+            if (locked) {
+                return Optional.empty();
+            }
+            locked = true;
+            return Optional.of(() -> {
+                synchronized (this) {
+                    locked = false;
+                }
+            });
+        }
+
+        @Override
+        public synchronized PaymentRun save(PaymentRun run) {
+            if (run.getId() == null) {
+                run.setId((long) ids.incrementAndGet());
+            }
+            runs.put(run.getId(), copy(run));
+            return run;
+        }
+
+        @Override
+        public synchronized Optional<PaymentRun> findById(Long id) {
+            return Optional.ofNullable(runs.get(id)).map(this::copy);
+        }
+
+        @Override
+        public synchronized Optional<PaymentRun> findLatest() {
+            return runs.keySet().stream().max(Long::compare).flatMap(this::findById);
+        }
+
+        @Override
+        public synchronized void recordChunk(Session session, Long runId, int payments, BigDecimal amount) {
+            PaymentRun run = runs.get(runId);
+            run.setProcessedCount(run.getProcessedCount() + payments);
+            run.setTotalAmount(run.getTotalAmount().add(amount));
+            run.setChunkCount(run.getChunkCount() + 1);
+        }
+
+        @Override
+        public synchronized void updateCheckpoint(Long runId, long lastApplicationId, long elapsedMillis) {
+            PaymentRun run = runs.get(runId);
+            run.setLastApplicationId(Math.max(run.getLastApplicationId(), lastApplicationId));
+            run.setElapsedMillis(elapsedMillis);
+        }
+
+        @Override
+        public synchronized void finish(Long runId, PaymentRunStatus status, String errorMessage, long elapsedMillis) {
+            PaymentRun run = runs.get(runId);
+            run.setStatus(status);
+            run.setErrorMessage(errorMessage);
+            run.setElapsedMillis(elapsedMillis);
+            run.setFinishedAt(LocalDateTime.now());
+        }
+
+        private PaymentRun copy(PaymentRun run) {
+            return new PaymentRun(run.getId(), run.getStatus(), run.getStartedById(), run.getStartedAt(),
+                    run.getFinishedAt(), run.getLastApplicationId(), run.getProcessedCount(), run.getTotalAmount(),
+                    run.getChunkCount(), run.getElapsedMillis(), run.getErrorMessage());
+        }
+
+        @Override public List<PaymentRun> findAll() { return new ArrayList<>(runs.values()); }
+        @Override public void delete(PaymentRun entity) { }
+        @Override public boolean deleteById(Long id) { return false; }
+        @Override public boolean existsById(Long id) { return runs.containsKey(id); }
+        @Override public long count() { return runs.size(); }
+    }
+
+    /**
+     * User service that knows one administrator and one student.
+     */
+    private static class TestUserService extends UserService {
+        @Override
+        public User getUserById(Long userId) {
+            User user = new User();
+            user.setId(userId);
+            user.setRole(userId == 1L ? UserRole.ADMIN : UserRole.STUDENT);
+            return user;
+        }
+    }
+
+    private final FakePaymentRunDao runDao = new FakePaymentRunDao();
+
+    private PaymentRunStatusDTO awaitFinished(PaymentRunService service, Long runId) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            PaymentRunStatusDTO status = service.getRunStatus(1L, runId);
+            if (status.getStatus() != PaymentRunStatus.RUNNING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Payment run did not finish");
+        return null;
+    }
+
+    @Test
+    void testRunPaysEveryApprovedApplicationOnce() throws Exception {
+        FakePaymentDao paymentDao = new FakePaymentDao(runDao, 2_345);
+        PaymentRunService service = new PaymentRunService(paymentDao, runDao, new TestUserService(),
+                CacheInvalidator.getInstance(), 100, 3);
+
+        PaymentRunStatusDTO started = service.startRun(1L, false);
+        PaymentRunStatusDTO finished = awaitFinished(service, started.getRunId());
+
+        assertEquals(PaymentRunStatus.COMPLETED, finished.getStatus());
+        assertEquals(2_345, finished.getProcessedCount());
+        assertEquals(0, AMOUNT.multiply(BigDecimal.valueOf(2_345)).compareTo(finished.getTotalAmount()));
+        assertEquals(24, finished.getChunkCount());
+        assertEquals(2_345, finished.getLastApplicationId());
+        assertEquals(2_345, paymentDao.paid.size());
+    }
+
+    @Test
+    void testFailedRunResumesFromCheckpoint() throws Exception {
+        FakePaymentDao paymentDao = new FakePaymentDao(runDao, 1_000);
+        paymentDao.failOnChunk = 4;
+        PaymentRunService service = new PaymentRunService(paymentDao, runDao, new TestUserService(),
+                CacheInvalidator.getInstance(), 100, 1);
+
+        Long runId = service.startRun(1L, false).getRunId();
+        PaymentRunStatusDTO failed = awaitFinished(service, runId);
+
+        assertEquals(PaymentRunStatus.FAILED, failed.getStatus());
+        assertEquals("Connection reset", failed.getErrorMessage());
+        assertTrue(failed.getLastApplicationId() < 1_000);
+        assertTrue(failed.getProcessedCount() >= failed.getLastApplicationId());
+
+        paymentDao.failOnChunk = -1;
+        assertEquals(runId, service.startRun(1L, true).getRunId());
+        PaymentRunStatusDTO resumed = awaitFinished(service, runId);
+
+        assertEquals(PaymentRunStatus.COMPLETED, resumed.getStatus());
+        assertEquals(1_000, resumed.getProcessedCount());
+        assertEquals(1_000, paymentDao.paid.size());
+    }
+
+    @Test
+    void testCompletedRunCannotBeResumed() throws Exception {
+        FakePaymentDao paymentDao = new FakePaymentDao(runDao, 10);
+        PaymentRunService service = new PaymentRunService(paymentDao, runDao, new TestUserService(),
+                CacheInvalidator.getInstance(), 100, 1);
+
+        awaitFinished(service, service.startRun(1L, false).getRunId());
+
+        assertThrows(Exception.class, () -> service.startRun(1L, true));
+    }
+
+    @Test
+    void testOnlyAdministratorsCanStartRuns() {
+        FakePaymentDao paymentDao = new FakePaymentDao(runDao, 10);
+        PaymentRunService service = new PaymentRunService(paymentDao, runDao, new TestUserService(),
+                CacheInvalidator.getInstance(), 100, 1);
+
+        assertThrows(Exception.class, () -> service.startRun(2L, false));
+        assertEquals(0, runDao.count());
+    }
+
+    @Test
+    void testRunIsRefusedWhileAnotherServerHoldsTheLock() throws Exception {
+        FakePaymentDao paymentDao = new FakePaymentDao(runDao, 10);
+        PaymentRunService service = new PaymentRunService(paymentDao, runDao, new TestUserService(),
+                CacheInvalidator.getInstance(), 100, 1);
+        PaymentRunDao.RunLock otherServer = runDao.tryLockRuns().orElseThrow();
+
+        assertThrows(Exception.class, () -> service.startRun(1L, false));
+        assertEquals(0, runDao.count());
+
+        otherServer.close();
+        PaymentRunStatusDTO finished = awaitFinished(service, service.startRun(1L, false).getRunId());
+        assertEquals(PaymentRunStatus.COMPLETED, finished.getStatus());
+    }
+}
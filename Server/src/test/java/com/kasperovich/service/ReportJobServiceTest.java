@@ -0,0 +1,168 @@
+package com.kasperovich.service;
+
+import com.kasperovich.commands.toserver.SubmitReportJobCommand;
+import com.kasperovich.dto.report.ApplicationStatusDTO;
+import com.kasperovich.dto.report.ReportJobState;
+import com.kasperovich.dto.report.ReportJobStatusDTO;
+import com.kasperovich.dto.report.ReportJobType;
+import com.kasperovich.dto.report.UserActivityDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for asynchronous report jobs.
+ */
+public class ReportJobServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<ReportJobType> executionOrder = new CopyOnWriteArrayList<>();
+
+    /**
+     * Report service that records the order reports are generated in and can hold workers back.
+     */
+    private class TestReportService extends ReportService {
+        private volatile boolean blocking = false;
+
+        @Override
+        public List<ApplicationStatusDTO> getApplicationStatusReport(Long programId, Long periodId) throws Exception {
+            awaitRelease();
+            executionOrder.add(ReportJobType.APPLICATION_STATUS);
+            return List.of(new ApplicationStatusDTO());
+        }
+
+        @Override
+        public List<UserActivityDTO> getUserActivityReport(LocalDate startDate, LocalDate endDate) throws Exception {
+            awaitRelease();
+            executionOrder.add(ReportJobType.USER_ACTIVITY);
+            if (startDate.getYear() < 2000) {
+                throw new Exception("Invalid period");
+            }
+            return List.of(new UserActivityDTO(), new UserActivityDTO());
+        }
+
+        private void awaitRelease() throws InterruptedException {
+            if (blocking) {
+                release.await(5, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private final TestReportService reportService = new TestReportService();
+    private final List<ReportJobService> services = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        services.forEach(ReportJobService::shutdown);
+    }
+
+    private ReportJobService createService(int workers, int maxActiveJobsPerUser) {
+        ReportJobService service = new ReportJobService(reportService, workers, 10, maxActiveJobsPerUser, Duration.ofMinutes(10));
+        services.add(service);
+        return service;
+    }
+
+    private SubmitReportJobCommand activityCommand(LocalDate start, LocalDate end) {
+        return new SubmitReportJobCommand(ReportJobType.USER_ACTIVITY, start, end, null, null);
+    }
+
+    private ReportJobStatusDTO awaitFinished(ReportJobService service, Long userId, String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReportJobStatusDTO status = service.getJobStatus(userId, jobId);
+        while ((status.getState() == ReportJobState.QUEUED || status.getState() == ReportJobState.RUNNING)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = service.getJobStatus(userId, jobId);
+        }
+        return status;
+    }
+
+    @Test
+    void testCompletedJobResultCanBeFetchedByOwnerOnly() throws Exception {
+        ReportJobService service = createService(1, 3);
+
+        ReportJobStatusDTO submitted = service.submitJob(1L, activityCommand(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30)));
+        ReportJobStatusDTO finished = awaitFinished(service, 1L, submitted.getJobId());
+
+        assertEquals(ReportJobState.COMPLETED, finished.getState());
+        List<? extends Serializable> rows = service.getJobResult(1L, submitted.getJobId());
+        assertEquals(2, rows.size());
+        assertThrows(Exception.class, () -> service.getJobStatus(2L, submitted.getJobId()));
+    }
+
+    @Test
+    void testFailedJobReportsError() throws Exception {
+        ReportJobService service = createService(1, 3);
+
+        ReportJobStatusDTO submitted = service.submitJob(1L, activityCommand(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 2, 1)));
+        ReportJobStatusDTO finished = awaitFinished(service, 1L, submitted.getJobId());
+
+        assertEquals(ReportJobState.FAILED, finished.getState());
+        assertEquals("Invalid period", finished.getMessage());
+        assertThrows(Exception.class, () -> service.getJobResult(1L, submitted.getJobId()));
+    }
+
+    @Test
+    void testInvalidDateRangeIsRejected() {
+        ReportJobService service = createService(1, 3);
+
+        assertThrows(Exception.class,
+                () -> service.submitJob(1L, activityCommand(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 1, 1))));
+        assertThrows(Exception.class, () -> service.submitJob(1L, activityCommand(null, LocalDate.of(2024, 1, 1))));
+    }
+
+    @Test
+    void testActiveJobsPerUserAreLimited() throws Exception {
+        reportService.blocking = true;
+        ReportJobService service = createService(1, 2);
+        SubmitReportJobCommand command = activityCommand(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1));
+
+        service.submitJob(1L, command);
+        service.submitJob(1L, command);
+
+        assertThrows(Exception.class, () -> service.submitJob(1L, command));
+        assertNotNull(service.submitJob(2L, command));
+    }
+
+    @Test
+    void testNoJobsAreAcceptedAfterShutdown() {
+        ReportJobService service = createService(1, 3);
+
+        service.shutdown();
+
+        assertThrows(Exception.class,
+                () -> service.submitJob(1L, activityCommand(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1))));
+    }
+
+    @Test
+    void testCheaperJobsRunFirst() throws Exception {
+        reportService.blocking = true;
+        ReportJobService service = createService(1, 5);
+
+        // Occupies the only worker until released
+        ReportJobStatusDTO first = service.submitJob(1L, activityCommand(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31)));
+        Thread.sleep(100);
+        ReportJobStatusDTO expensive = service.submitJob(1L, activityCommand(LocalDate.of(2020, 1, 1), LocalDate.of(2024, 12, 31)));
+        ReportJobStatusDTO cheap = service.submitJob(1L,
+                new SubmitReportJobCommand(ReportJobType.APPLICATION_STATUS, null, null, null, null));
+        release.countDown();
+
+        awaitFinished(service, 1L, first.getJobId());
+        awaitFinished(service, 1L, expensive.getJobId());
+        awaitFinished(service, 1L, cheap.getJobId());
+
+        assertEquals(List.of(ReportJobType.USER_ACTIVITY, ReportJobType.APPLICATION_STATUS, ReportJobType.USER_ACTIVITY),
+                executionOrder);
+    }
+}
@@ -0,0 +1,59 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.cache.SearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared server context.
+ */
+public class ServerContextTest {
+
+    @AfterEach
+    void tearDown() {
+        ServerContext.initialize(null);
+    }
+
+    @Test
+    void builderKeepsInjectedServices() {
+        UserService userService = new UserService();
+        GpaService gpaService = new GpaService();
+        CacheInvalidator cacheInvalidator = CacheInvalidator.getInstance();
+        ServerContext context = ServerContext.builder()
+                .userService(userService)
+                .gpaService(gpaService)
+                .cacheInvalidator(cacheInvalidator)
+                .userIndex(SearchIndex.users())
+                .build();
+
+        assertSame(userService, context.getUserService());
+        assertSame(gpaService, context.getGpaService());
+        assertSame(cacheInvalidator, context.getCacheInvalidator());
+        assertSame(SearchIndex.users(), context.getUserIndex());
+        assertNull(context.getReportService());
+        assertNull(context.getDataVersions());
+    }
+
+    @Test
+    void getInstanceReturnsInitializedContext() {
+        ReportJobService reportJobService = new ReportJobService(new ReportService(), 1, 10, 3, Duration.ofMinutes(1));
+        PaymentRunService paymentRunService = new PaymentRunService(null, null, new UserService(),
+                CacheInvalidator.getInstance(), 100, 1);
+        ServerContext context = ServerContext.builder()
+                .reportJobService(reportJobService)
+                .paymentRunService(paymentRunService)
+                .build();
+
+        ServerContext.initialize(context);
+
+        assertSame(context, ServerContext.getInstance());
+        assertSame(reportJobService, ServerContext.getInstance().getReportJobService());
+        assertSame(paymentRunService, ServerContext.getInstance().getPaymentRunService());
+        reportJobService.shutdown();
+    }
+}
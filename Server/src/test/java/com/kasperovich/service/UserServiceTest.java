@@ -0,0 +1,160 @@
+package com.kasperovich.service;
+
+import com.kasperovich.cache.CacheInvalidator;
+import com.kasperovich.cache.DataVersions;
+import com.kasperovich.cache.ReportCache;
+import com.kasperovich.cache.SearchIndex;
+import com.kasperovich.cache.ShortlistCache;
+import com.kasperovich.cache.StudentReportCache;
+import com.kasperovich.dao.UserDao;
+import com.kasperovich.entities.User;
+import com.kasperovich.entities.UserRole;
+import com.kasperovich.utils.DTOConverter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for user registration and search.
+ */
+public class UserServiceTest {
+
+    /**
+     * In-memory user store that assigns IDs to new users the way a persist does.
+     */
+    private static class FakeUserDao implements UserDao {
+        private final Map<Long, User> users = new ConcurrentHashMap<>();
+        private final AtomicLong nextId = new AtomicLong(1);
+
+        @Override
+        public User save(User user) {
+            if (user.getId() == null) {
+                user.setId(nextId.getAndIncrement());
+            }
+            users.put(user.getId(), user);
+            return user;
+        }
+
+        @Override
+        public Optional<User> findById(Long id) {
+            return Optional.ofNullable(users.get(id));
+        }
+
+        @Override
+        public List<User> findAll() {
+            return new ArrayList<>(users.values());
+        }
+
+        @Override
+        public void delete(User user) {
+            users.remove(user.getId());
+        }
+
+        @Override
+        public boolean deleteById(Long id) {
+            return users.remove(id) != null;
+        }
+
+        @Override
+        public boolean existsById(Long id) {
+            return users.containsKey(id);
+        }
+
+        @Override
+        public long count() {
+            return users.size();
+        }
+
+        @Override
+        public Optional<User> findByUsername(String username) {
+            return users.values().stream().filter(u -> u.getUsername().equals(username)).findFirst();
+        }
+
+        @Override
+        public Optional<User> findByEmail(String email) {
+            return users.values().stream().filter(u -> email.equals(u.getEmail())).findFirst();
+        }
+
+        @Override
+        public boolean existsByUsername(String username) {
+            return findByUsername(username).isPresent();
+        }
+
+        @Override
+        public boolean existsByEmail(String email) {
+            return findByEmail(email).isPresent();
+        }
+
+        @Override
+        public void updateLastLogin(Long userId) {
+        }
+
+        @Override
+        public List<User> findPage(UserRole role, String search, Collection<Long> ids, String sortField,
+                                   boolean ascending, int offset, int limit) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long countMatching(UserRole role, String search, Collection<Long> ids) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<Long, String[]> findSearchTexts() {
+            Map<Long, String[]> texts = new ConcurrentHashMap<>();
+            users.forEach((id, u) -> texts.put(id,
+                    new String[] {u.getUsername(), u.getFirstName(), u.getLastName(), u.getEmail()}));
+            return texts;
+        }
+    }
+
+    private FakeUserDao userDao;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        SearchIndex.users().invalidate();
+        userDao = new FakeUserDao();
+        CacheInvalidator cacheInvalidator = new CacheInvalidator(new DataVersions(1_000), ReportCache.getInstance(),
+                ShortlistCache.getInstance(), StudentReportCache.getInstance(), SearchIndex.users(),
+                SearchIndex.applications());
+        userService = new UserService(userDao, new DTOConverter(), cacheInvalidator, SearchIndex.users());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SearchIndex.users().invalidate();
+    }
+
+    private List<Long> search(String text) throws Exception {
+        return SearchIndex.users().search(text, userDao::findSearchTexts).stream().sorted().toList();
+    }
+
+    @Test
+    void registeredUsersAreFoundInLoadedIndexUnderTheirOwnIds() throws Exception {
+        User existing = userService.registerUser("jsmith", "secret", "John", "Smith", "john@uni.edu");
+        assertEquals(List.of(existing.getId()), search("jsmith"));
+
+        User first = userService.registerUser("akowalski", "secret", "Anna", "Kowalski", "anna@uni.edu");
+        User second = userService.registerUser("bnowak", "secret", "Bob", "Nowak", "bob@uni.edu");
+
+        assertNotNull(first.getId());
+        assertNotNull(second.getId());
+        assertNotEquals(first.getId(), second.getId());
+        assertEquals(List.of(first.getId()), search("kowalski"));
+        assertEquals(List.of(second.getId()), search("nowak"));
+        assertEquals(List.of(existing.getId(), first.getId(), second.getId()), search("uni.edu"));
+        assertEquals(3, SearchIndex.users().size());
+    }
+}